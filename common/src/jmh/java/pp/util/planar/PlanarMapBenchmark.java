@@ -0,0 +1,104 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.planar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@linkplain PlanarMap#locate(float, float)} and {@linkplain Ray#findHit(PlanarMap)}
+ * on a square that contains a grid of square holes. Each benchmark invocation performs
+ * {@value #QUERIES} queries at fixed random positions. The lidar benchmarks cast unit rays,
+ * once using the {@linkplain EdgeGrid edge grid} of the map and once by a linear scan of the map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanarMapBenchmark {
+    private static final int QUERIES = 1000;
+
+    /**
+     * The number of holes along each side of the square.
+     */
+    @Param({"4", "16", "32", "128"})
+    public int holes;
+
+    private PlanarMap map;
+    private final float[] x = new float[QUERIES];
+    private final float[] y = new float[QUERIES];
+    private final Ray[] rays = new Ray[QUERIES];
+    private final Ray[] unitRays = new Ray[QUERIES];
+
+    @Setup
+    public void setup() {
+        map = new PlanarMap();
+        final Face square = map.addPolygon(List.of(new Vertex("o1", 0f, 0f), //NON-NLS
+                                                   new Vertex("o2", holes, 0f), //NON-NLS
+                                                   new Vertex("o3", holes, holes), //NON-NLS
+                                                   new Vertex("o4", 0f, holes)), //NON-NLS
+                                           map.getOuter(), "square"); //NON-NLS
+        for (int i = 0; i < holes; i++)
+            for (int j = 0; j < holes; j++) {
+                final String id = i + "/" + j;
+                map.addPolygon(List.of(new Vertex("a" + id, i + 0.25f, j + 0.25f), //NON-NLS
+                                       new Vertex("b" + id, i + 0.25f, j + 0.75f), //NON-NLS
+                                       new Vertex("c" + id, i + 0.75f, j + 0.75f), //NON-NLS
+                                       new Vertex("d" + id, i + 0.75f, j + 0.25f)), //NON-NLS
+                               square, "hole" + id); //NON-NLS
+            }
+        final Random random = new Random(42);
+        for (int i = 0; i < QUERIES; i++) {
+            x[i] = holes * random.nextFloat();
+            y[i] = holes * random.nextFloat();
+            rays[i] = new Ray(x[i], y[i], random.nextFloat() - 0.5f, random.nextFloat() - 0.5f);
+            final double angle = 2. * Math.PI * random.nextDouble();
+            unitRays[i] = new Ray(x[i], y[i], (float) Math.cos(angle), (float) Math.sin(angle));
+        }
+    }
+
+    @Benchmark
+    public void locate(Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; i++)
+            blackhole.consume(map.locate(x[i], y[i]));
+    }
+
+    @Benchmark
+    public void findHit(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(ray.findHit(map));
+    }
+
+    @Benchmark
+    public void lidar(Blackhole blackhole) {
+        for (Ray ray : unitRays)
+            blackhole.consume(ray.findHit(map));
+    }
+
+    @Benchmark
+    public void lidarLinear(Blackhole blackhole) {
+        for (Ray ray : unitRays)
+            blackhole.consume(ray.findHit(map, map.getVertices(), map.getHalfEdges(), true));
+    }
+}
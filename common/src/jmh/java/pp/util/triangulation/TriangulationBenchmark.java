@@ -0,0 +1,83 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.triangulation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pp.util.FloatMath;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.Triangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@linkplain Polygon#triangulate()} and {@linkplain Triangulator#triangulate(List, List)}
+ * for a wavy polygon with a grid of square holes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriangulationBenchmark {
+    /**
+     * The number of vertices of the outer polygon. There is one square hole per 20 outer vertices.
+     */
+    @Param({"100", "1000", "10000", "50000"})
+    public int vertices;
+
+    private List<Position> outer;
+    private final List<List<Position>> holes = new ArrayList<>();
+    private final Triangulator triangulator = new Triangulator();
+
+    @Setup
+    public void setup() {
+        outer = new ArrayList<>();
+        for (int i = 0; i < vertices; i++) {
+            final float angle = FloatMath.TWO_PI * i / vertices;
+            final float r = 20f + 2f * FloatMath.sin(9f * angle);
+            outer.add(new FloatPoint(r * FloatMath.cos(angle), r * FloatMath.sin(angle)));
+        }
+        // square holes on a grid within the circle of radius 17, which lies inside the outer polygon
+        final int n = (int) Math.ceil(Math.sqrt(vertices / 20.));
+        final float cell = 24f / n;
+        final float size = 0.5f * cell;
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++) {
+                final float x = -12f + i * cell;
+                final float y = -12f + j * cell;
+                holes.add(List.of(new FloatPoint(x, y), new FloatPoint(x, y + size),
+                                  new FloatPoint(x + size, y + size), new FloatPoint(x + size, y)));
+            }
+    }
+
+    @Benchmark
+    public List<Triangle> triangulate() {
+        final Polygon polygon = new Polygon(outer);
+        holes.forEach(polygon::addHole);
+        return polygon.triangulate();
+    }
+
+    @Benchmark
+    public List<Triangle> triangulator() {
+        return triangulator.triangulate(outer, holes);
+    }
+}
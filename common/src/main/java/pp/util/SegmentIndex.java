@@ -0,0 +1,423 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static pp.util.FloatMath.sqr;
+import static pp.util.FloatMath.sqrt;
+
+/**
+ * A static bounding volume hierarchy (an AABB tree) over a fixed collection of segments.
+ * <p>
+ * The tree is built once when the index is created and supports queries for segments
+ * close to a point, segments close to another segment, the nearest segment to a point,
+ * and the first segment hit by a ray. The segments must not change after the index has
+ * been built.
+ * </p>
+ *
+ * @param <S> the type of the indexed segments
+ */
+public class SegmentIndex<S extends SegmentLike> {
+    /**
+     * Computes the distance from the start of a ray to the point where it hits the
+     * specified segment.
+     *
+     * @param <S> the type of the segments
+     */
+    @FunctionalInterface
+    public interface HitFunction<S> {
+        /**
+         * Returns the distance from the start of the ray to the hit point on the specified
+         * segment, or {@code Float.NaN} if the ray does not hit the segment. The hit point
+         * must lie on the segment.
+         *
+         * @param segment a segment whose bounding box is intersected by the ray
+         * @return the distance of the hit point or NaN
+         */
+        float distance(S segment);
+    }
+
+    /**
+     * The maximum number of segments in a leaf node.
+     */
+    private static final int LEAF_SIZE = 4;
+
+    /**
+     * The amount by which bounding boxes are enlarged when pruning subtrees. This makes
+     * sure that rounding errors never prune a segment that an exact test would accept.
+     */
+    private static final float BOX_EPS = FloatMath.ZERO_TOLERANCE;
+
+    /**
+     * The segments, reordered such that each leaf refers to a contiguous range.
+     */
+    private final List<S> segments;
+
+    /**
+     * Bounding boxes of all nodes; node i occupies indexes 4*i to 4*i+3 (minX, minY, maxX, maxY).
+     */
+    private final float[] bounds;
+
+    /**
+     * For leaf nodes, the index of its first segment; for inner nodes, the index of the left child.
+     */
+    private final int[] first;
+
+    /**
+     * For leaf nodes, the number of its segments; for inner nodes, the negated index of the right child.
+     */
+    private final int[] count;
+
+    private int numNodes;
+
+    /**
+     * Builds an index over the specified segments.
+     *
+     * @param segments the segments to be indexed
+     */
+    public SegmentIndex(Collection<? extends S> segments) {
+        final List<S> list = new ArrayList<>(segments);
+        final int n = list.size();
+        final int maxNodes = max(1, 2 * n);
+        bounds = new float[4 * maxNodes];
+        first = new int[maxNodes];
+        count = new int[maxNodes];
+        final int[] perm = new int[n];
+        final float[] centers = new float[2 * n];
+        for (int i = 0; i < n; i++) {
+            perm[i] = i;
+            final S s = list.get(i);
+            centers[2 * i] = 0.5f * (s.from().getX() + s.to().getX());
+            centers[2 * i + 1] = 0.5f * (s.from().getY() + s.to().getY());
+        }
+        build(list, perm, centers, 0, n);
+        this.segments = new ArrayList<>(n);
+        for (int i : perm)
+            this.segments.add(list.get(i));
+    }
+
+    /**
+     * Returns the number of indexed segments.
+     */
+    public int size() {
+        return segments.size();
+    }
+
+    /**
+     * Returns all indexed segments.
+     */
+    public List<S> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Builds the subtree for the segments perm[lo..hi) and returns the index of its root node.
+     */
+    private int build(List<S> list, int[] perm, float[] centers, int lo, int hi) {
+        final int node = numNodes++;
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float cMinX = Float.POSITIVE_INFINITY;
+        float cMinY = Float.POSITIVE_INFINITY;
+        float cMaxX = Float.NEGATIVE_INFINITY;
+        float cMaxY = Float.NEGATIVE_INFINITY;
+        for (int i = lo; i < hi; i++) {
+            final S s = list.get(perm[i]);
+            minX = min(minX, min(s.from().getX(), s.to().getX()));
+            minY = min(minY, min(s.from().getY(), s.to().getY()));
+            maxX = max(maxX, max(s.from().getX(), s.to().getX()));
+            maxY = max(maxY, max(s.from().getY(), s.to().getY()));
+            cMinX = min(cMinX, centers[2 * perm[i]]);
+            cMinY = min(cMinY, centers[2 * perm[i] + 1]);
+            cMaxX = max(cMaxX, centers[2 * perm[i]]);
+            cMaxY = max(cMaxY, centers[2 * perm[i] + 1]);
+        }
+        bounds[4 * node] = minX;
+        bounds[4 * node + 1] = minY;
+        bounds[4 * node + 2] = maxX;
+        bounds[4 * node + 3] = maxY;
+        if (hi - lo <= LEAF_SIZE) {
+            first[node] = lo;
+            count[node] = hi - lo;
+            return node;
+        }
+        // split at the median center along the longer extent of the centers
+        final int axis = cMaxX - cMinX >= cMaxY - cMinY ? 0 : 1;
+        final int mid = (lo + hi) >>> 1;
+        select(perm, centers, axis, lo, hi - 1, mid);
+        first[node] = build(list, perm, centers, lo, mid);
+        count[node] = -build(list, perm, centers, mid, hi);
+        return node;
+    }
+
+    /**
+     * Partially sorts perm[lo..hi] such that the element at index k is the one that would be
+     * there if the range was sorted by the specified coordinate of the centers (quickselect).
+     */
+    private static void select(int[] perm, float[] centers, int axis, int lo, int hi, int k) {
+        while (lo < hi) {
+            final float pivot = centers[2 * perm[(lo + hi) >>> 1] + axis];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (centers[2 * perm[i] + axis] < pivot) i++;
+                while (centers[2 * perm[j] + axis] > pivot) j--;
+                if (i <= j) {
+                    final int tmp = perm[i];
+                    perm[i++] = perm[j];
+                    perm[j--] = tmp;
+                }
+            }
+            if (k <= j)
+                hi = j;
+            else if (k >= i)
+                lo = i;
+            else
+                return;
+        }
+    }
+
+    private boolean isLeaf(int node) {
+        return count[node] >= 0;
+    }
+
+    private float boxDistanceSquared(int node, float x, float y) {
+        final float dx = max(0f, max(bounds[4 * node] - x, x - bounds[4 * node + 2]));
+        final float dy = max(0f, max(bounds[4 * node + 1] - y, y - bounds[4 * node + 3]));
+        return dx * dx + dy * dy;
+    }
+
+    private boolean boxIntersects(int node, float minX, float minY, float maxX, float maxY) {
+        return bounds[4 * node] <= maxX && minX <= bounds[4 * node + 2] &&
+               bounds[4 * node + 1] <= maxY && minY <= bounds[4 * node + 3];
+    }
+
+    /**
+     * Checks whether any segment is at most the specified distance away from the specified point.
+     *
+     * @param x      x-coordinate of the point
+     * @param y      y-coordinate of the point
+     * @param radius the maximal distance
+     * @return true if there is such a segment
+     */
+    public boolean anyWithin(float x, float y, float radius) {
+        if (segments.isEmpty()) return false;
+        final float r2 = sqr(radius + BOX_EPS);
+        final int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int node = stack[--top];
+            if (boxDistanceSquared(node, x, y) > r2) continue;
+            if (isLeaf(node)) {
+                for (int i = first[node]; i < first[node] + count[node]; i++)
+                    if (segments.get(i).distanceTo(x, y) <= radius)
+                        return true;
+            }
+            else {
+                stack[top++] = -count[node];
+                stack[top++] = first[node];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns all segments that are at most the specified distance away from the specified point.
+     *
+     * @param x      x-coordinate of the point
+     * @param y      y-coordinate of the point
+     * @param radius the maximal distance
+     * @return a new list of all such segments
+     */
+    public List<S> segmentsWithin(float x, float y, float radius) {
+        final List<S> result = new ArrayList<>();
+        if (segments.isEmpty()) return result;
+        final float r2 = sqr(radius + BOX_EPS);
+        final int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int node = stack[--top];
+            if (boxDistanceSquared(node, x, y) > r2) continue;
+            if (isLeaf(node)) {
+                for (int i = first[node]; i < first[node] + count[node]; i++)
+                    if (segments.get(i).distanceTo(x, y) <= radius)
+                        result.add(segments.get(i));
+            }
+            else {
+                stack[top++] = -count[node];
+                stack[top++] = first[node];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether any segment is at most the specified distance away from the specified segment.
+     *
+     * @param segment  the segment, e.g., the path of a moving circle
+     * @param distance the maximal distance
+     * @return true if there is such a segment
+     */
+    public boolean anyWithin(SegmentLike segment, float distance) {
+        if (segments.isEmpty()) return false;
+        final float minX = min(segment.from().getX(), segment.to().getX()) - distance - BOX_EPS;
+        final float minY = min(segment.from().getY(), segment.to().getY()) - distance - BOX_EPS;
+        final float maxX = max(segment.from().getX(), segment.to().getX()) + distance + BOX_EPS;
+        final float maxY = max(segment.from().getY(), segment.to().getY()) + distance + BOX_EPS;
+        final float dist2 = sqr(distance);
+        final int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int node = stack[--top];
+            if (!boxIntersects(node, minX, minY, maxX, maxY)) continue;
+            if (isLeaf(node)) {
+                for (int i = first[node]; i < first[node] + count[node]; i++)
+                    if (segment.minDistanceSquared(segments.get(i)) <= dist2)
+                        return true;
+            }
+            else {
+                stack[top++] = -count[node];
+                stack[top++] = first[node];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the segment that is closest to the specified point, or null if there are no segments.
+     *
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return the closest segment or null
+     */
+    public S nearest(float x, float y) {
+        if (segments.isEmpty()) return null;
+        S best = null;
+        float bestDist = Float.POSITIVE_INFINITY;
+        final int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int node = stack[--top];
+            if (boxDistanceSquared(node, x, y) > sqr(bestDist)) continue;
+            if (isLeaf(node)) {
+                for (int i = first[node]; i < first[node] + count[node]; i++) {
+                    final float d = segments.get(i).distanceTo(x, y);
+                    if (d < bestDist) {
+                        bestDist = d;
+                        best = segments.get(i);
+                    }
+                }
+            }
+            else {
+                // visit the closer child first
+                final int left = first[node];
+                final int right = -count[node];
+                if (boxDistanceSquared(left, x, y) <= boxDistanceSquared(right, x, y)) {
+                    stack[top++] = right;
+                    stack[top++] = left;
+                }
+                else {
+                    stack[top++] = left;
+                    stack[top++] = right;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Shoots a ray from the specified point in the specified direction and returns the smallest
+     * distance reported by the specified hit function for any segment, or {@code Float.NaN} if
+     * the hit function does not report a hit for any segment. Segments whose bounding box is
+     * not intersected by the ray, or lies farther away than a hit already found, are skipped.
+     *
+     * @param x   x-coordinate of the start point of the ray
+     * @param y   y-coordinate of the start point of the ray
+     * @param dx  x-component of the ray direction
+     * @param dy  y-component of the ray direction
+     * @param hit computes the distance of the hit point for a single segment
+     * @return the distance to the closest hit point, or NaN
+     */
+    public float firstHit(float x, float y, float dx, float dy, HitFunction<? super S> hit) {
+        if (segments.isEmpty()) return Float.NaN;
+        final float len = sqrt(dx * dx + dy * dy);
+        if (len == 0f) return Float.NaN;
+        final float ux = dx / len;
+        final float uy = dy / len;
+        float best = Float.POSITIVE_INFINITY;
+        final int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int node = stack[--top];
+            if (!(entryDistance(node, x, y, ux, uy) <= best)) continue;
+            if (isLeaf(node)) {
+                for (int i = first[node]; i < first[node] + count[node]; i++) {
+                    final float d = hit.distance(segments.get(i));
+                    if (d < best)
+                        best = d;
+                }
+            }
+            else {
+                // visit the child hit first
+                final int left = first[node];
+                final int right = -count[node];
+                if (entryDistance(left, x, y, ux, uy) <= entryDistance(right, x, y, ux, uy)) {
+                    stack[top++] = right;
+                    stack[top++] = left;
+                }
+                else {
+                    stack[top++] = left;
+                    stack[top++] = right;
+                }
+            }
+        }
+        return best == Float.POSITIVE_INFINITY ? Float.NaN : best;
+    }
+
+    /**
+     * Returns the distance from the ray start to the point where the ray enters the bounding box
+     * of the specified node (0 if it starts inside), or NaN if the ray misses the box.
+     */
+    private float entryDistance(int node, float x, float y, float ux, float uy) {
+        final float minX = bounds[4 * node] - BOX_EPS;
+        final float minY = bounds[4 * node + 1] - BOX_EPS;
+        final float maxX = bounds[4 * node + 2] + BOX_EPS;
+        final float maxY = bounds[4 * node + 3] + BOX_EPS;
+        float tMin = 0f;
+        float tMax = Float.POSITIVE_INFINITY;
+        if (ux != 0f) {
+            final float t1 = (minX - x) / ux;
+            final float t2 = (maxX - x) / ux;
+            tMin = max(tMin, min(t1, t2));
+            tMax = min(tMax, max(t1, t2));
+        }
+        else if (x < minX || x > maxX)
+            return Float.NaN;
+        if (uy != 0f) {
+            final float t1 = (minY - y) / uy;
+            final float t2 = (maxY - y) / uy;
+            tMin = max(tMin, min(t1, t2));
+            tMax = min(tMax, max(t1, t2));
+        }
+        else if (y < minY || y > maxY)
+            return Float.NaN;
+        return tMin <= tMax ? tMin : Float.NaN;
+    }
+}
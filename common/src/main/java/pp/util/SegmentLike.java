@@ -393,4 +393,83 @@ public interface SegmentLike {
 
         return pointAt(mu1).distanceSquaredTo(other.pointAt(mu2));
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the point of this segment that is closest to the specified point.
+     *
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return the closest point
+     */
+    default Position closestPoint(float x, float y) {
+        final float len2 = lengthSquared();
+        if (len2 == 0f) return from();
+        final float q = ((x - from().getX()) * diffX() + (y - from().getY()) * diffY()) / len2;
+        return pointAt(min(max(q, 0f), 1f));
+    }
+
+    /**
+     * Returns the fraction of the straight movement from {@code from} to {@code to} after which a circle with
+     * the specified radius that moves along it touches the specified point for the first time. This is the
+     * least t in [0,1] such that the point is at most {@code radius} away from {@code from + t * (to - from)}.
+     *
+     * @param from   start of the movement
+     * @param to     end of the movement
+     * @param p      the point
+     * @param radius the radius of the moving circle
+     * @return the fraction, or {@code Float.NaN} if the circle does not touch the point
+     */
+    static float sweep(Position from, Position to, Position p, float radius) {
+        final float dx = to.getX() - from.getX();
+        final float dy = to.getY() - from.getY();
+        final float rx = from.getX() - p.getX();
+        final float ry = from.getY() - p.getY();
+        final float c = rx * rx + ry * ry - radius * radius;
+        if (c <= 0f) return 0f;
+        final float a = dx * dx + dy * dy;
+        final float b = rx * dx + ry * dy;
+        // the circle does not move or moves away from the point
+        if (a == 0f || b >= 0f) return Float.NaN;
+        final float disc = b * b - a * c;
+        if (disc < 0f) return Float.NaN;
+        final float t = (-b - sqrt(disc)) / a;
+        return t <= 1f ? t : Float.NaN;
+    }
+
+    /**
+     * Returns the fraction of the straight movement from {@code from} to {@code to} after which a circle with
+     * the specified radius that moves along it touches this segment for the first time, i.e., the least t in
+     * [0,1] such that this segment is at most {@code radius} away from {@code from + t * (to - from)}.
+     * In contrast to {@linkplain #minDistanceSquared(SegmentLike)}, this tells where the circle
+     * hits this segment.
+     *
+     * @param from   start of the movement
+     * @param to     end of the movement
+     * @param radius the radius of the moving circle
+     * @return the fraction, or {@code Float.NaN} if the circle does not touch this segment
+     */
+    default float sweep(Position from, Position to, float radius) {
+        if (distanceTo(from) <= radius) return 0f;
+        float best = sweep(from, to, from(), radius);
+        final float atEnd = sweep(from, to, to(), radius);
+        if (Float.isNaN(best) || atEnd < best)
+            best = atEnd;
+        // the circle may touch the interior of this segment before any end point
+        final float len2 = lengthSquared();
+        if (len2 == 0f) return best;
+        final float len = sqrt(len2);
+        final float nx = -diffY() / len;
+        final float ny = diffX() / len;
+        final float dx = to.getX() - from.getX();
+        final float dy = to.getY() - from.getY();
+        // signed distances of the start from the line through this segment, and its change
+        final float dist = (from.getX() - from().getX()) * nx + (from.getY() - from().getY()) * ny;
+        final float change = dx * nx + dy * ny;
+        if (dist * change >= 0f) return best;
+        final float t = (abs(dist) - radius) / abs(change);
+        if (t < 0f || t > 1f || t >= best) return best;
+        final float q = ((from.getX() + t * dx - from().getX()) * diffX() +
+                         (from.getY() + t * dy - from().getY()) * diffY()) / len2;
+        return q >= 0f && q <= 1f ? t : best;
+    }
+}
@@ -0,0 +1,176 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * A point location structure for a fixed list of triangles.
+ * <p>
+ * The bounding box of all triangles is divided into a uniform grid of roughly as many
+ * cells as there are triangles. Each cell refers to all triangles whose bounding box
+ * overlaps with the cell. Locating a point therefore only requires testing the few
+ * triangles of a single cell. If several triangles contain a point, the one that comes
+ * first in the list of triangles is returned, i.e., the result is the same as the result
+ * of a linear scan of the list.
+ * </p>
+ *
+ * @param <T> the type of the triangles
+ */
+public class TriangleLocator<T extends Triangle> {
+    /**
+     * The maximal number of cells along each axis.
+     */
+    private static final int MAX_CELLS = 1024;
+
+    private final List<T> triangles;
+    private final float eps;
+    private final float minX;
+    private final float minY;
+    private final float maxX;
+    private final float maxY;
+    private final float cellSize;
+    private final int numX;
+    private final int numY;
+
+    /**
+     * Triangle indexes of cell i are stored in cellTriangles[cellStart[i]] to cellTriangles[cellStart[i+1]-1].
+     */
+    private final int[] cellStart;
+    private final int[] cellTriangles;
+
+    /**
+     * Creates a point location structure for the specified triangles.
+     *
+     * @param triangles the triangles; the list must not be changed afterwards
+     * @param eps       the tolerance passed to {@linkplain Triangle#contains(float, float, float)}
+     */
+    public TriangleLocator(List<T> triangles, float eps) {
+        this.triangles = triangles;
+        this.eps = eps;
+        final int n = triangles.size();
+        final float[] boxes = new float[4 * n];
+        float x1 = Float.POSITIVE_INFINITY;
+        float y1 = Float.POSITIVE_INFINITY;
+        float x2 = Float.NEGATIVE_INFINITY;
+        float y2 = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            final T t = triangles.get(i);
+            final float margin = margin(t);
+            boxes[4 * i] = min(t.a().getX(), min(t.b().getX(), t.c().getX())) - margin;
+            boxes[4 * i + 1] = min(t.a().getY(), min(t.b().getY(), t.c().getY())) - margin;
+            boxes[4 * i + 2] = max(t.a().getX(), max(t.b().getX(), t.c().getX())) + margin;
+            boxes[4 * i + 3] = max(t.a().getY(), max(t.b().getY(), t.c().getY())) + margin;
+            x1 = min(x1, boxes[4 * i]);
+            y1 = min(y1, boxes[4 * i + 1]);
+            x2 = max(x2, boxes[4 * i + 2]);
+            y2 = max(y2, boxes[4 * i + 3]);
+        }
+        if (n == 0) {
+            minX = minY = maxX = maxY = 0f;
+            cellSize = 1f;
+            numX = numY = 0;
+            cellStart = new int[1];
+            cellTriangles = new int[0];
+            return;
+        }
+        minX = x1;
+        minY = y1;
+        maxX = x2;
+        maxY = y2;
+        final float width = max(x2 - x1, FloatMath.ZERO_TOLERANCE);
+        final float height = max(y2 - y1, FloatMath.ZERO_TOLERANCE);
+        // aim at about one cell per triangle
+        final float size = FloatMath.sqrt(width * height / n);
+        cellSize = max(size, max(width, height) / MAX_CELLS);
+        numX = min(MAX_CELLS, (int) (width / cellSize) + 1);
+        numY = min(MAX_CELLS, (int) (height / cellSize) + 1);
+
+        // first pass: count the triangles of each cell; second pass: fill in the triangles
+        cellStart = new int[numX * numY + 1];
+        for (int i = 0; i < n; i++)
+            forEachCell(boxes, i, cell -> cellStart[cell + 1]++);
+        for (int i = 0; i < numX * numY; i++)
+            cellStart[i + 1] += cellStart[i];
+        cellTriangles = new int[cellStart[numX * numY]];
+        final int[] fill = cellStart.clone();
+        for (int i = 0; i < n; i++) {
+            final int tri = i;
+            forEachCell(boxes, i, cell -> cellTriangles[fill[cell]++] = tri);
+        }
+    }
+
+    /**
+     * Returns the distance by which a point may lie outside the specified triangle and still
+     * be considered to be contained by it with respect to {@linkplain #eps}. The margin is
+     * capped for (almost) degenerate triangles.
+     */
+    private float margin(Triangle t) {
+        final float minLen = min(SegmentLike.length(t.a(), t.b()),
+                                 min(SegmentLike.length(t.b(), t.c()), SegmentLike.length(t.c(), t.a())));
+        return minLen > 0f ? min(1f, Math.abs(eps) / minLen) : 1f;
+    }
+
+    private void forEachCell(float[] boxes, int i, IntConsumer action) {
+        final int cx1 = cellX(boxes[4 * i]);
+        final int cy1 = cellY(boxes[4 * i + 1]);
+        final int cx2 = cellX(boxes[4 * i + 2]);
+        final int cy2 = cellY(boxes[4 * i + 3]);
+        for (int cy = cy1; cy <= cy2; cy++)
+            for (int cx = cx1; cx <= cx2; cx++)
+                action.accept(cy * numX + cx);
+    }
+
+    private int cellX(float x) {
+        final float c = (x - minX) / cellSize;
+        return c <= 0f ? 0 : min(numX - 1, (int) c);
+    }
+
+    private int cellY(float y) {
+        final float c = (y - minY) / cellSize;
+        return c <= 0f ? 0 : min(numY - 1, (int) c);
+    }
+
+    /**
+     * Returns the first triangle that contains the specified point, or null if there is no such triangle.
+     *
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return the containing triangle or null
+     */
+    public T locate(float x, float y) {
+        if (numX == 0 || !(x >= minX && x <= maxX && y >= minY && y <= maxY))
+            return null;
+        final int cell = cellY(y) * numX + cellX(x);
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            final T t = triangles.get(cellTriangles[i]);
+            if (t.contains(x, y, eps))
+                return t;
+        }
+        return null;
+    }
+
+    /**
+     * Returns a triangle that contains the specified point, or null if there is no such triangle.
+     * The specified hint, typically the triangle found for a nearby point, is checked first.
+     *
+     * @param x    x-coordinate of the point
+     * @param y    y-coordinate of the point
+     * @param hint a triangle that is likely to contain the point, or null
+     * @return the containing triangle or null
+     */
+    public T locate(float x, float y, T hint) {
+        if (hint != null && hint.contains(x, y, eps))
+            return hint;
+        return locate(x, y);
+    }
+}
@@ -0,0 +1,340 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.navigation;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.Arrays;
+
+/**
+ * Base class for computing an optimal path from a start to a target position using the A* algorithm,
+ * where positions are numbered from 0 to {@linkplain #getNumPositions()} - 1.
+ * <p>
+ * In contrast to {@link AbstractNavigator}, the search does not create any objects per position.
+ * Costs and predecessors are kept in arrays indexed by position numbers, and the open positions are
+ * kept in an indexed binary heap that supports decreasing the costs of a position in logarithmic time.
+ * These arrays are reused by all searches of the same thread. Subclasses may keep further information per
+ * position in the same way by means of {@linkplain #getMark(int)} and {@linkplain #setMark(int, byte)}.
+ * </p>
+ * Shortcuts as in {@link AbstractNavigator#shortcut(Object, Object, Object)} are not supported.
+ */
+public abstract class AbstractIndexedNavigator {
+    /**
+     * Logger used for debugging and tracing pathfinding operations.
+     */
+    private static final Logger LOGGER = System.getLogger(AbstractIndexedNavigator.class.getName());
+
+    /**
+     * Denotes a missing position, e.g., the predecessor of the start position.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The maximal number of positions for which the arrays of a search are kept for later searches.
+     */
+    public static final int MAX_CACHED_POSITIONS = 1 << 22;
+
+    /**
+     * The arrays of the last search of each thread.
+     */
+    private static final ThreadLocal<SearchState> CACHED_STATE = new ThreadLocal<>();
+
+    /**
+     * Receives the reachable positions of a position.
+     */
+    private final int[] reachable;
+
+    /**
+     * The arrays of the running search, or null if no search is running.
+     */
+    private SearchState state;
+
+    /**
+     * Creates a navigator.
+     *
+     * @param maxReachable the maximal number of positions that are directly reachable from any position
+     */
+    protected AbstractIndexedNavigator(int maxReachable) {
+        this.reachable = new int[maxReachable];
+    }
+
+    /**
+     * Returns the number of positions. Positions are numbered from 0 to this number - 1.
+     */
+    protected abstract int getNumPositions();
+
+    /**
+     * Checks whether a given position is a valid target.
+     *
+     * @param pos the position to check
+     * @return {@code true} if the position is a target; {@code false} otherwise
+     */
+    protected abstract boolean isTargetPosition(int pos);
+
+    /**
+     * Stores all directly reachable positions from the given one in the specified array.
+     *
+     * @param pos       the current position
+     * @param reachable the array receiving the reachable positions; its length is the
+     *                  maximal number of reachable positions specified in the constructor
+     * @return the number of reachable positions
+     */
+    protected abstract int reachablePositions(int pos, int[] reachable);
+
+    /**
+     * Computes the cost for moving from {@code prevPos} to {@code nextPos}.
+     * If {@code prevPos} is {@linkplain #NONE}, this is considered an initial cost for the start position.
+     *
+     * @param prevPos the previous position, or {@linkplain #NONE}
+     * @param nextPos the next position
+     * @return the step cost
+     */
+    protected abstract float costsForStep(int prevPos, int nextPos);
+
+    /**
+     * Estimates the remaining cost from a given position to any target.
+     *
+     * @param pos the position to estimate from
+     * @return an optimistic estimate of remaining path cost
+     */
+    protected abstract float estimateCostsToTarget(int pos);
+
+    /**
+     * Computes a minimal cost path from the given start position to a target using A*.
+     *
+     * @param start the starting position
+     * @return the positions of the path, or an empty array if no path was found
+     */
+    public int[] findPathFrom(int start) {
+        LOGGER.log(Level.TRACE, "find path from {0}", start); //NON-NLS
+        final SearchState state = acquireState(getNumPositions());
+        this.state = state;
+        int checked = 0;
+        try {
+            state.reach(start, NONE, costsForStep(NONE, start), estimateCostsToTarget(start));
+            while (state.heapSize > 0) {
+                final int best = state.poll();
+                checked++;
+                if (isTargetPosition(best))
+                    return state.buildPath(best);
+
+                final float costs = state.costFromStart[best];
+                final int num = reachablePositions(best, reachable);
+                for (int i = 0; i < num; i++) {
+                    final int next = reachable[i];
+                    final boolean known = state.isKnown(next);
+                    if (known && state.isClosed(next))
+                        continue;
+                    final float newCosts = costs + costsForStep(best, next);
+                    if (!known)
+                        state.reach(next, best, newCosts, estimateCostsToTarget(next));
+                    else if (newCosts < state.costFromStart[next]) {
+                        LOGGER.log(Level.TRACE, "better path to {0} via {1}", next, best); //NON-NLS
+                        state.reach(next, best, newCosts, state.costToEnd[next]);
+                    }
+                }
+            }
+
+            // No path found
+            return new int[0];
+        }
+        finally {
+            LOGGER.log(Level.DEBUG, "navigator produced {0} and checked {1} positions", //NON-NLS
+                       checked + state.heapSize, checked);
+            this.state = null;
+            releaseState(state);
+        }
+    }
+
+    /**
+     * Returns the mark of the specified position set by {@linkplain #setMark(int, byte)} during the running
+     * search, or 0 if no mark has been set. This method may only be called while a search is running.
+     *
+     * @param pos a position
+     * @return the mark of the position
+     */
+    protected byte getMark(int pos) {
+        return state.markStamp[pos] == state.generation ? state.mark[pos] : 0;
+    }
+
+    /**
+     * Sets the mark of the specified position for the rest of the running search. This method may only be
+     * called while a search is running.
+     *
+     * @param pos  a position
+     * @param mark the mark of the position
+     */
+    protected void setMark(int pos, byte mark) {
+        state.markStamp[pos] = state.generation;
+        state.mark[pos] = mark;
+    }
+
+    /**
+     * Returns the cached arrays of the current thread if they are large enough and not in use by
+     * another search of the same thread, and new arrays otherwise.
+     */
+    private static SearchState acquireState(int numPositions) {
+        SearchState state = CACHED_STATE.get();
+        if (state == null || state.inUse) {
+            state = new SearchState();
+            if (numPositions <= MAX_CACHED_POSITIONS && CACHED_STATE.get() == null)
+                CACHED_STATE.set(state);
+        }
+        state.start(numPositions);
+        return state;
+    }
+
+    private static void releaseState(SearchState state) {
+        state.inUse = false;
+        if (state.costFromStart.length > MAX_CACHED_POSITIONS && CACHED_STATE.get() == state)
+            CACHED_STATE.remove();
+    }
+
+    /**
+     * The arrays of a search. The arrays are indexed by position numbers, except for {@linkplain #heap}.
+     * The entries of a position are valid only if its {@linkplain #stamp} equals {@linkplain #generation};
+     * this avoids clearing the arrays before each search.
+     */
+    private static class SearchState {
+        private static final int CLOSED = -1;
+
+        boolean inUse;
+        int generation;
+        int[] stamp = new int[0];
+        float[] costFromStart = new float[0];
+        float[] costToEnd = new float[0];
+        int[] predecessor = new int[0];
+        /**
+         * The index of each open position in {@linkplain #heap}, or {@linkplain #CLOSED}.
+         */
+        int[] heapIndex = new int[0];
+        /**
+         * A binary min-heap of the open positions ordered by their overall costs.
+         */
+        int[] heap = new int[0];
+        int heapSize;
+        /**
+         * The marks of the positions, valid only if their {@linkplain #markStamp} equals {@linkplain #generation}.
+         */
+        int[] markStamp = new int[0];
+        byte[] mark = new byte[0];
+
+        void start(int numPositions) {
+            inUse = true;
+            if (stamp.length < numPositions) {
+                final int size = Math.max(numPositions, 2 * stamp.length);
+                stamp = new int[size];
+                costFromStart = new float[size];
+                costToEnd = new float[size];
+                predecessor = new int[size];
+                heapIndex = new int[size];
+                heap = new int[size];
+                markStamp = new int[size];
+                mark = new byte[size];
+                generation = 0;
+            }
+            if (++generation == 0) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(markStamp, 0);
+                generation = 1;
+            }
+            heapSize = 0;
+        }
+
+        boolean isKnown(int pos) {
+            return stamp[pos] == generation;
+        }
+
+        boolean isClosed(int pos) {
+            return heapIndex[pos] == CLOSED;
+        }
+
+        /**
+         * Records that pos can be reached via pred with the specified costs, and inserts pos into the heap
+         * or moves it up in the heap.
+         */
+        void reach(int pos, int pred, float costs, float estimate) {
+            predecessor[pos] = pred;
+            costFromStart[pos] = costs;
+            costToEnd[pos] = estimate;
+            if (stamp[pos] != generation) {
+                stamp[pos] = generation;
+                heap[heapSize] = pos;
+                heapIndex[pos] = heapSize;
+                heapSize++;
+            }
+            siftUp(heapIndex[pos]);
+        }
+
+        /**
+         * Removes the open position with the least overall costs from the heap and marks it closed.
+         */
+        int poll() {
+            final int best = heap[0];
+            heapSize--;
+            if (heapSize > 0) {
+                heap[0] = heap[heapSize];
+                heapIndex[heap[0]] = 0;
+                siftDown(0);
+            }
+            heapIndex[best] = CLOSED;
+            return best;
+        }
+
+        private float overallCost(int pos) {
+            return costFromStart[pos] + costToEnd[pos];
+        }
+
+        private void siftUp(int i) {
+            final int pos = heap[i];
+            final float cost = overallCost(pos);
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (overallCost(heap[parent]) <= cost)
+                    break;
+                heap[i] = heap[parent];
+                heapIndex[heap[i]] = i;
+                i = parent;
+            }
+            heap[i] = pos;
+            heapIndex[pos] = i;
+        }
+
+        private void siftDown(int i) {
+            final int pos = heap[i];
+            final float cost = overallCost(pos);
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize)
+                    break;
+                if (child + 1 < heapSize && overallCost(heap[child + 1]) < overallCost(heap[child]))
+                    child++;
+                if (cost <= overallCost(heap[child]))
+                    break;
+                heap[i] = heap[child];
+                heapIndex[heap[i]] = i;
+                i = child;
+            }
+            heap[i] = pos;
+            heapIndex[pos] = i;
+        }
+
+        /**
+         * Reconstructs the full path from the specified position by following its predecessors.
+         */
+        int[] buildPath(int end) {
+            int length = 0;
+            for (int p = end; p != NONE; p = predecessor[p])
+                length++;
+            final int[] path = new int[length];
+            for (int p = end; p != NONE; p = predecessor[p])
+                path[--length] = p;
+            return path;
+        }
+    }
+}
@@ -0,0 +1,520 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.navigation;
+
+import pp.util.FloatMath;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.Triangle;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A navigation mesh consisting of the triangles of a triangulated polygon. Two triangles are
+ * adjacent if they share an edge, the so-called portal.
+ * <p>
+ * Paths are computed in two steps: First, an A* search over the portals yields the corridor,
+ * i.e., the sequence of triangles from the start to the target. The end points of the portals
+ * are moved along the portals such that they keep the radius of the moving item from the
+ * boundary, and portals where the moved end points would cross are not passable. Second, the
+ * funnel algorithm ("string pulling") computes the shortest path within the corridor, which
+ * consists of the start, some moved portal end points, and the target.
+ * </p>
+ * <p>
+ * Note that the clearance is approximate: Paths may cut corners slightly between two moved
+ * portal end points. Callers that need exact collision checks must check the path themselves.
+ * </p>
+ * The mesh caches the moved portal end points for each radius, but it may nevertheless be
+ * used by several threads at the same time.
+ *
+ * @param <T> the type of the triangles
+ */
+public class NavMesh<T extends Triangle> {
+    private static final Logger LOGGER = System.getLogger(NavMesh.class.getName());
+    /**
+     * The sine of the minimal angle between a portal and the line of a wall that is used when moving the portal
+     * end points away from walls that the portal leads away from.
+     */
+    private static final float MIN_SINE = FloatMath.sqrt(0.5f);
+    /**
+     * The maximal number of boundary edges in each direction that are considered when moving a portal end point.
+     */
+    private static final int MAX_WALLS = 32;
+
+    private final List<T> triangles;
+    private final Map<T, Integer> indexOf = new IdentityHashMap<>();
+
+    /**
+     * The corners of triangle i in counterclockwise order are corners[3i], corners[3i+1], and corners[3i+2].
+     * Edge 3i+k of triangle i leads from corner 3i+k to the next corner of the triangle.
+     */
+    private final Position[] corners;
+
+    /**
+     * For each edge, the edge with the same end points of the adjacent triangle, or -1 if the edge is
+     * part of the boundary.
+     */
+    private final int[] twin;
+
+    /**
+     * Maps each end point of a boundary edge to the previous and the next point along the boundary.
+     */
+    private final Map<Position, Position> wallBefore = new HashMap<>();
+    private final Map<Position, Position> wallAfter = new HashMap<>();
+
+    /**
+     * Maps the radius of moving items to the distances computed by {@link #clearance(int, boolean, float)}.
+     */
+    private final Map<Float, float[]> clearanceCache = new ConcurrentHashMap<>();
+
+    /**
+     * An undirected edge specified by its end points.
+     */
+    private record EdgeKey(float x1, float y1, float x2, float y2) {
+        static EdgeKey of(Position p, Position q) {
+            if (p.getX() < q.getX() || p.getX() == q.getX() && p.getY() < q.getY())
+                return new EdgeKey(p.getX(), p.getY(), q.getX(), q.getY());
+            return new EdgeKey(q.getX(), q.getY(), p.getX(), p.getY());
+        }
+    }
+
+    /**
+     * Creates a navigation mesh of the specified triangles.
+     *
+     * @param triangles the triangles; the list must not be changed afterwards
+     */
+    public NavMesh(List<T> triangles) {
+        this.triangles = triangles;
+        final int n = triangles.size();
+        corners = new Position[3 * n];
+        twin = new int[3 * n];
+        final Map<EdgeKey, Integer> open = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            final T t = triangles.get(i);
+            indexOf.put(t, i);
+            corners[3 * i] = t.a();
+            // turnsLeft() assumes y growing downwards, i.e., it is true for clockwise triangles
+            corners[3 * i + 1] = t.turnsLeft() ? t.c() : t.b();
+            corners[3 * i + 2] = t.turnsLeft() ? t.b() : t.c();
+            for (int k = 0; k < 3; k++) {
+                final int edge = 3 * i + k;
+                twin[edge] = -1;
+                final Integer other = open.remove(EdgeKey.of(corners[edge], corners[next(edge)]));
+                if (other == null)
+                    open.put(EdgeKey.of(corners[edge], corners[next(edge)]), edge);
+                else {
+                    twin[edge] = other;
+                    twin[other] = edge;
+                }
+            }
+        }
+        computeWalls();
+    }
+
+    /**
+     * Computes {@linkplain #wallBefore} and {@linkplain #wallAfter} from the boundary edges, i.e., the edges without twin.
+     */
+    private void computeWalls() {
+        for (int edge = 0; edge < twin.length; edge++)
+            if (twin[edge] < 0) {
+                final Position p = key(corners[edge]);
+                final Position q = key(corners[next(edge)]);
+                wallAfter.put(p, q);
+                wallBefore.put(q, p);
+            }
+    }
+
+    /**
+     * Returns the key of the specified point in {@linkplain #wallBefore} and {@linkplain #wallAfter}.
+     */
+    private static Position key(Position p) {
+        return p instanceof FloatPoint ? p : new FloatPoint(p.getX(), p.getY());
+    }
+
+    /**
+     * Returns the triangles of this mesh.
+     */
+    public List<T> getTriangles() {
+        return triangles;
+    }
+
+    /**
+     * Returns the number of the triangle of the specified edge.
+     */
+    private static int triangle(int edge) {
+        return edge / 3;
+    }
+
+    /**
+     * Returns the next edge of the same triangle in counterclockwise order.
+     */
+    private static int next(int edge) {
+        return edge % 3 == 2 ? edge - 2 : edge + 1;
+    }
+
+    /**
+     * Computes a shortest path of a circular item with the specified radius from {@code from}
+     * to {@code to} within this mesh. The path starts with {@code from} and ends with {@code to}.
+     *
+     * @param from         the start position
+     * @param fromTriangle the triangle of this mesh that contains the start position
+     * @param to           the target position
+     * @param toTriangle   the triangle of this mesh that contains the target position
+     * @param radius       the radius of the moving item
+     * @return the path, or an empty list if there is no path
+     */
+    public List<Position> findPath(Position from, T fromTriangle, Position to, T toTriangle, float radius) {
+        final Integer fromIndex = indexOf.get(fromTriangle);
+        final Integer toIndex = indexOf.get(toTriangle);
+        if (fromIndex == null || toIndex == null)
+            return Collections.emptyList();
+        final CorridorSearch search = new CorridorSearch(from, fromIndex, to, toIndex, radius);
+        final int[] corridor = search.findPathFrom(search.start);
+        if (corridor.length == 0)
+            return Collections.emptyList();
+        // the corridor consists of the start, the crossed edges, and the target
+        final List<Position> lefts = new ArrayList<>(corridor.length);
+        final List<Position> rights = new ArrayList<>(corridor.length);
+        lefts.add(from);
+        rights.add(from);
+        for (int i = 1; i < corridor.length - 1; i++) {
+            final int edge = corridor[i];
+            // leaving a counterclockwise triangle, the edge's end point is on the left, its start point on the right
+            final int left = next(edge);
+            lefts.add(inset(corners[left], corners[edge], clearance(edge, true, radius)));
+            rights.add(inset(corners[edge], corners[left], clearance(edge, false, radius)));
+        }
+        lefts.add(to);
+        rights.add(to);
+        final List<Position> path = stringPull(lefts, rights);
+        LOGGER.log(Level.DEBUG, "corridor of {0} portals yields path {1}", corridor.length - 2, path); //NON-NLS
+        return path;
+    }
+
+    /**
+     * Returns the distance from the start or end point of the specified edge along the edge such that the point
+     * at this distance keeps the specified distance from the boundary. Distances are computed on demand and then
+     * cached for each radius.
+     *
+     * @param edge     the edge
+     * @param atEnd    true if the distance is measured from the end point, false if from the start point
+     * @param distance the distance from the boundary
+     */
+    private float clearance(int edge, boolean atEnd, float distance) {
+        if (distance <= 0f)
+            return 0f;
+        final float[] cache = clearanceCache.computeIfAbsent(distance, d -> {
+            final float[] values = new float[2 * corners.length];
+            Arrays.fill(values, Float.NaN);
+            return values;
+        });
+        final int index = 2 * edge + (atEnd ? 1 : 0);
+        float value = cache[index];
+        if (Float.isNaN(value)) {
+            value = atEnd ? clearance(next(edge), edge, distance) : clearance(edge, next(edge), distance);
+            // concurrent searches may compute the same value; storing it is therefore safe
+            cache[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the distance from the specified corner along the portal to the other corner such that the point
+     * at this distance and all points of the portal beyond it keep the specified distance from the boundary
+     * near the corner.
+     *
+     * @param corner   the corner where the distance is measured
+     * @param other    the other corner of the portal
+     * @param distance the distance from the boundary
+     */
+    private float clearance(int corner, int other, float distance) {
+        if (distance <= 0f)
+            return 0f;
+        final Position p = key(corners[corner]);
+        final Position q = corners[other];
+        final float len = p.distanceTo(q);
+        if (len <= 0f)
+            return distance;
+        final float ux = (q.getX() - p.getX()) / len;
+        final float uy = (q.getY() - p.getY()) / len;
+        // the walls that may be within the specified distance from the portal
+        final List<Position> walls = new ArrayList<>();
+        collectWalls(p, wallAfter, len + distance, walls);
+        collectWalls(p, wallBefore, len + distance, walls);
+        float result = distance;
+        // If the portal leads away from a wall meeting at p, p is the nearest point of the wall. The item, however,
+        // will move around p along the wall. It therefore keeps some distance from the line of the wall, too.
+        for (Position w : List.of(wallAfter.getOrDefault(p, p), wallBefore.getOrDefault(p, p))) {
+            final float wx = w.getX() - p.getX();
+            final float wy = w.getY() - p.getY();
+            final float wLen = FloatMath.sqrt(wx * wx + wy * wy);
+            if (wLen > 0f && ux * wx + uy * wy <= 0f)
+                result = Math.max(result, distance * wLen / Math.max(Math.abs(ux * wy - uy * wx), MIN_SINE * wLen));
+        }
+        // move the point along the portal until it has left all walls that it is too close to
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < walls.size(); i += 2) {
+                final float exit = exitDistance(p, ux, uy, walls.get(i), walls.get(i + 1), distance, result);
+                if (exit > result) {
+                    result = exit;
+                    changed = true;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Follows the boundary from p using the specified map and adds the end points of each boundary edge to
+     * {@code walls} until the boundary is farther away from p than the specified reach.
+     */
+    private static void collectWalls(Position p, Map<Position, Position> successor, float reach, List<Position> walls) {
+        Position a = p;
+        for (int i = 0; i < MAX_WALLS; i++) {
+            final Position b = successor.get(a);
+            if (b == null || b.equals(p))
+                return;
+            walls.add(a);
+            walls.add(b);
+            if (p.distanceTo(b) > reach)
+                return;
+            a = b;
+        }
+    }
+
+    /**
+     * Considers the ray from p in direction (ux, uy) and all points of the ray that are closer than the
+     * specified distance to the segment from a to b. Returns the greatest distance of these points from p if
+     * the nearest of them has a distance of at most {@code limit}, and {@code limit} otherwise.
+     */
+    private static float exitDistance(Position p, float ux, float uy, Position a, Position b, float distance, float limit) {
+        // the points close to the segment form a capsule, i.e., the union of two discs and a rectangle
+        float entry = Float.POSITIVE_INFINITY;
+        float exit = Float.NEGATIVE_INFINITY;
+        for (Position c : List.of(a, b)) {
+            final float cx = c.getX() - p.getX();
+            final float cy = c.getY() - p.getY();
+            final float t = ux * cx + uy * cy;
+            final float h2 = distance * distance - (cx * cx + cy * cy - t * t);
+            if (h2 >= 0f) {
+                final float h = FloatMath.sqrt(h2);
+                entry = Math.min(entry, t - h);
+                exit = Math.max(exit, t + h);
+            }
+        }
+        final float len = a.distanceTo(b);
+        if (len > 0f) {
+            final float vx = (b.getX() - a.getX()) / len;
+            final float vy = (b.getY() - a.getY()) / len;
+            final float ax = p.getX() - a.getX();
+            final float ay = p.getY() - a.getY();
+            // the coordinate along the segment and the signed distance from its line are linear in the ray parameter
+            final float[] along = slab(ax * vx + ay * vy, ux * vx + uy * vy, 0f, len);
+            final float[] across = slab(ay * vx - ax * vy, uy * vx - ux * vy, -distance, distance);
+            final float lo = Math.max(along[0], across[0]);
+            final float hi = Math.min(along[1], across[1]);
+            if (lo <= hi) {
+                entry = Math.min(entry, lo);
+                exit = Math.max(exit, hi);
+            }
+        }
+        return entry <= limit ? exit : limit;
+    }
+
+    /**
+     * Returns the interval of all parameters s with min &le; v + s * dv &le; max. The interval is empty if its
+     * lower bound is greater than its upper bound.
+     */
+    private static float[] slab(float v, float dv, float min, float max) {
+        if (dv == 0f)
+            return v < min || v > max
+                   ? new float[]{Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY}
+                   : new float[]{Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY};
+        final float s1 = (min - v) / dv;
+        final float s2 = (max - v) / dv;
+        return new float[]{Math.min(s1, s2), Math.max(s1, s2)};
+    }
+
+    /**
+     * Returns the point on the segment from p to q that has the specified distance from p.
+     */
+    private static Position inset(Position p, Position q, float distance) {
+        final float len = p.distanceTo(q);
+        if (len <= 0f)
+            return p;
+        final float f = distance / len;
+        return new FloatPoint(p.getX() + f * (q.getX() - p.getX()), p.getY() + f * (q.getY() - p.getY()));
+    }
+
+    /**
+     * Returns twice the signed area of the triangle a, b, c, which is positive if c lies left of the line from a to b.
+     */
+    private static float cross(Position a, Position b, Position c) {
+        return (b.getX() - a.getX()) * (c.getY() - a.getY()) - (b.getY() - a.getY()) * (c.getX() - a.getX());
+    }
+
+    private static boolean same(Position p, Position q) {
+        return p.getX() == q.getX() && p.getY() == q.getY();
+    }
+
+    /**
+     * The funnel algorithm. Computes the shortest path through the specified sequence of portals, which are given
+     * by their left and right end points. The first and the last portal consist of the start and the target
+     * point, respectively.
+     */
+    static List<Position> stringPull(List<Position> lefts, List<Position> rights) {
+        final List<Position> path = new ArrayList<>();
+        Position apex = lefts.get(0);
+        Position left = apex;
+        Position right = apex;
+        int apexIndex = 0;
+        int leftIndex = 0;
+        int rightIndex = 0;
+        path.add(apex);
+        for (int i = 1; i < lefts.size(); i++) {
+            final Position newLeft = lefts.get(i);
+            final Position newRight = rights.get(i);
+            // try to narrow the funnel on the right side
+            if (cross(apex, right, newRight) >= 0f) {
+                if (same(apex, right) || cross(apex, left, newRight) < 0f) {
+                    right = newRight;
+                    rightIndex = i;
+                }
+                else {
+                    // the right side crosses the left side; the left point becomes the new apex
+                    addCorner(path, left);
+                    apex = right = left;
+                    apexIndex = rightIndex = leftIndex;
+                    i = apexIndex;
+                    continue;
+                }
+            }
+            // try to narrow the funnel on the left side
+            if (cross(apex, left, newLeft) <= 0f) {
+                if (same(apex, left) || cross(apex, right, newLeft) > 0f) {
+                    left = newLeft;
+                    leftIndex = i;
+                }
+                else {
+                    // the left side crosses the right side; the right point becomes the new apex
+                    addCorner(path, right);
+                    apex = left = right;
+                    apexIndex = leftIndex = rightIndex;
+                    i = apexIndex;
+                }
+            }
+        }
+        addCorner(path, lefts.get(lefts.size() - 1));
+        return path;
+    }
+
+    /**
+     * Adds the specified point to the path unless it is the last point of the path already.
+     */
+    private static void addCorner(List<Position> path, Position p) {
+        if (!same(path.get(path.size() - 1), p))
+            path.add(p);
+    }
+
+    /**
+     * An A* search for the corridor. Its positions are the edges crossed when moving from one triangle to the
+     * adjacent one, located at their midpoints, and the start and the target, which are numbered after the edges.
+     */
+    private class CorridorSearch extends AbstractIndexedNavigator {
+        final int start = corners.length;
+        final int target = corners.length + 1;
+        private final Position from;
+        private final int fromIndex;
+        private final Position to;
+        private final int toIndex;
+        private final float radius;
+
+        CorridorSearch(Position from, int fromIndex, Position to, int toIndex, float radius) {
+            super(4);
+            this.from = from;
+            this.fromIndex = fromIndex;
+            this.to = to;
+            this.toIndex = toIndex;
+            this.radius = radius;
+        }
+
+        private float x(int node) {
+            if (node == start) return from.getX();
+            if (node == target) return to.getX();
+            return 0.5f * (corners[node].getX() + corners[next(node)].getX());
+        }
+
+        private float y(int node) {
+            if (node == start) return from.getY();
+            if (node == target) return to.getY();
+            return 0.5f * (corners[node].getY() + corners[next(node)].getY());
+        }
+
+        private float distance(int node1, int node2) {
+            final float dx = x(node2) - x(node1);
+            final float dy = y(node2) - y(node1);
+            return FloatMath.sqrt(dx * dx + dy * dy);
+        }
+
+        /**
+         * Returns true if the item fits through the specified edge, i.e., if the portal is wider than the
+         * space the item needs next to the boundary at both end points.
+         */
+        private boolean isPassable(int edge) {
+            if (radius <= 0f)
+                return true;
+            final float needed = clearance(edge, false, radius) + clearance(edge, true, radius);
+            return needed < corners[edge].distanceTo(corners[next(edge)]);
+        }
+
+        @Override
+        protected int getNumPositions() {
+            return corners.length + 2;
+        }
+
+        @Override
+        protected boolean isTargetPosition(int node) {
+            return node == target;
+        }
+
+        @Override
+        protected int reachablePositions(int node, int[] reachable) {
+            final int tri = node == start ? fromIndex : triangle(twin[node]);
+            int num = 0;
+            if (tri == toIndex)
+                reachable[num++] = target;
+            for (int k = 0; k < 3; k++) {
+                final int edge = 3 * tri + k;
+                if (twin[edge] >= 0 && (node == start || edge != twin[node]) && isPassable(edge))
+                    reachable[num++] = edge;
+            }
+            return num;
+        }
+
+        @Override
+        protected float costsForStep(int prevPos, int nextPos) {
+            return prevPos == NONE ? 0f : distance(prevPos, nextPos);
+        }
+
+        @Override
+        protected float estimateCostsToTarget(int node) {
+            return distance(node, target);
+        }
+    }
+}
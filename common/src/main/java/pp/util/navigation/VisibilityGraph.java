@@ -0,0 +1,514 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.navigation;
+
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.Segment;
+import pp.util.SegmentIndex;
+import pp.util.SegmentLike;
+import pp.util.planar.Face;
+import pp.util.planar.HalfEdge;
+import pp.util.planar.PlanarMap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static pp.util.FloatMath.sqrt;
+
+/**
+ * A reduced visibility graph for circular items of a fixed radius that move among polygonal walls.
+ * <p>
+ * Walls are directed segments with the free space on their left side. The nodes of the graph are the
+ * reflex corners of the free space, i.e., the corners where the walls bend away from the free space,
+ * moved into the free space such that they keep the radius (plus a small margin) from both walls of
+ * the corner. Two nodes are connected if a circle with the radius can move between them without
+ * touching any wall and if the line between them is tangent to the walls at both corners; other
+ * edges are never part of a shortest path. A query connects the start and the target to the graph
+ * and looks for the shortest path by an A* search.
+ * </p>
+ * <p>
+ * The graph is computed once. It can be {@linkplain #write(DataOutput) written} to a stream and
+ * {@linkplain #read(DataInput, List, float) read} back; a graph read back is only accepted for the
+ * same walls and radius.
+ * </p>
+ * The graph is immutable and may be used by several threads at the same time.
+ */
+public class VisibilityGraph {
+    private static final Logger LOGGER = System.getLogger(VisibilityGraph.class.getName());
+
+    /**
+     * Marks the start of a graph written by {@linkplain #write(DataOutput)}.
+     */
+    private static final int MAGIC = 0x56495347;
+
+    /**
+     * Added to the radius when moving corners into the free space. Paths that just touch a wall
+     * would count as collisions otherwise.
+     */
+    private static final float MARGIN = 1e-3f;
+
+    /**
+     * Corners where the walls turn by more than 120 degrees get two nodes, one in front of each wall,
+     * because a single node keeping the distance from both walls would be far away from the corner.
+     */
+    private static final float SHARP_COS = -0.5f;
+
+    private final float radius;
+    private final SegmentIndex<Segment> wallIndex;
+    private final long signature;
+
+    /**
+     * The positions of the nodes.
+     */
+    private final float[] nodeX;
+    private final float[] nodeY;
+
+    /**
+     * The directions of the incoming and outgoing wall at the corner of each node. They are NaN for nodes
+     * where any line through the node is considered tangent.
+     */
+    private final float[] inX;
+    private final float[] inY;
+    private final float[] outX;
+    private final float[] outY;
+
+    /**
+     * The neighbors of node i are neighbors[first[i]] ... neighbors[first[i + 1] - 1].
+     */
+    private final int[] first;
+    private final int[] neighbors;
+
+    /**
+     * Creates the visibility graph of the free space bounded by the specified walls.
+     *
+     * @param walls  the walls, which have the free space on their left side
+     * @param radius the radius of the moving items
+     */
+    public VisibilityGraph(List<? extends SegmentLike> walls, float radius) {
+        final List<Segment> wallList = copy(walls);
+        this.radius = radius;
+        this.wallIndex = new SegmentIndex<>(wallList);
+        this.signature = signature(wallList, radius);
+        final Nodes nodes = new Nodes();
+        final Map<Position, Segment> outgoing = new HashMap<>();
+        for (Segment wall : wallList)
+            outgoing.putIfAbsent(wall.from(), wall);
+        final Set<Position> ends = new HashSet<>();
+        for (Segment wall : wallList) {
+            addCorner(nodes, wall, outgoing.get(wall.to()));
+            ends.add(wall.to());
+        }
+        // walls that do not continue another wall have to be passed around at their start, too
+        for (Segment wall : wallList)
+            if (!ends.contains(wall.from()))
+                addCorner(nodes, new Segment(wall.to(), wall.from()), null);
+        final int n = nodes.size;
+        nodeX = Arrays.copyOf(nodes.x, n);
+        nodeY = Arrays.copyOf(nodes.y, n);
+        inX = Arrays.copyOf(nodes.inX, n);
+        inY = Arrays.copyOf(nodes.inY, n);
+        outX = Arrays.copyOf(nodes.outX, n);
+        outY = Arrays.copyOf(nodes.outY, n);
+        // connect the nodes
+        final int[] degree = new int[n];
+        final List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++) {
+                final float dx = nodeX[j] - nodeX[i];
+                final float dy = nodeY[j] - nodeY[i];
+                if (isTangent(i, dx, dy) && isTangent(j, dx, dy) && isFree(nodeX[i], nodeY[i], nodeX[j], nodeY[j])) {
+                    edges.add(new int[]{i, j});
+                    degree[i]++;
+                    degree[j]++;
+                }
+            }
+        first = new int[n + 1];
+        for (int i = 0; i < n; i++)
+            first[i + 1] = first[i] + degree[i];
+        neighbors = new int[first[n]];
+        final int[] fill = Arrays.copyOf(first, n);
+        for (int[] e : edges) {
+            neighbors[fill[e[0]]++] = e[1];
+            neighbors[fill[e[1]]++] = e[0];
+        }
+        LOGGER.log(Level.DEBUG, "visibility graph with {0} nodes and {1} edges for {2} walls", //NON-NLS
+                   n, edges.size(), walls.size());
+    }
+
+    private VisibilityGraph(List<Segment> walls, float radius, long signature,
+                            float[] nodeX, float[] nodeY, float[] inX, float[] inY, float[] outX, float[] outY,
+                            int[] first, int[] neighbors) {
+        this.radius = radius;
+        this.wallIndex = new SegmentIndex<>(walls);
+        this.signature = signature;
+        this.nodeX = nodeX;
+        this.nodeY = nodeY;
+        this.inX = inX;
+        this.inY = inY;
+        this.outX = outX;
+        this.outY = outY;
+        this.first = first;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Creates the visibility graph of the specified faces of a planar map. The walls are the half edges
+     * that separate these faces from the other faces.
+     *
+     * @param map    the planar map
+     * @param isFree tells which faces are free space
+     * @param radius the radius of the moving items
+     * @return the visibility graph
+     */
+    public static VisibilityGraph of(PlanarMap map, Predicate<Face> isFree, float radius) {
+        return new VisibilityGraph(walls(map, isFree), radius);
+    }
+
+    /**
+     * Returns the walls of the specified faces of a planar map, i.e., all half edges of these faces
+     * whose twin belongs to another face. The incident face of a half edge is on its left side.
+     *
+     * @param map    the planar map
+     * @param isFree tells which faces are free space
+     * @return the walls with the free space on their left side
+     */
+    public static List<Segment> walls(PlanarMap map, Predicate<Face> isFree) {
+        final List<Segment> walls = new ArrayList<>();
+        for (HalfEdge e : map.getHalfEdges())
+            if (isFree.test(e.getIncidentFace()) && !isFree.test(e.getTwin().getIncidentFace()))
+                walls.add(new Segment(e.getOrigin(), e.getTarget()));
+        return walls;
+    }
+
+    /**
+     * Returns the radius of the moving items.
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    /**
+     * Returns the number of nodes.
+     */
+    public int getNumNodes() {
+        return nodeX.length;
+    }
+
+    /**
+     * Returns the number of (undirected) edges.
+     */
+    public int getNumEdges() {
+        return neighbors.length / 2;
+    }
+
+    /**
+     * Computes the shortest path from the specified start to the specified target.
+     *
+     * @param from the start position
+     * @param to   the target position
+     * @return the path starting with {@code from} and ending with {@code to}, or an empty list
+     *         if there is no path
+     */
+    public List<Position> findPath(Position from, Position to) {
+        if (isFree(from.getX(), from.getY(), to.getX(), to.getY()))
+            return List.of(from, to);
+        final Search search = new Search(from, to);
+        final int[] path = search.findPathFrom(search.start);
+        if (path.length == 0) {
+            LOGGER.log(Level.DEBUG, "no path from {0} to {1}", from, to); //NON-NLS
+            return Collections.emptyList();
+        }
+        final List<Position> result = new ArrayList<>(path.length);
+        for (int node : path)
+            result.add(node == search.start ? from : node == search.target ? to : new FloatPoint(nodeX[node], nodeY[node]));
+        return result;
+    }
+
+    /**
+     * Checks whether a circle with the radius of this graph can move along the specified straight line
+     * without touching any wall.
+     *
+     * @param x1 x-coordinate of the start point
+     * @param y1 y-coordinate of the start point
+     * @param x2 x-coordinate of the end point
+     * @param y2 y-coordinate of the end point
+     * @return true if the circle does not touch any wall
+     */
+    public boolean isFree(float x1, float y1, float x2, float y2) {
+        return !wallIndex.anyWithin(new Segment(new FloatPoint(x1, y1), new FloatPoint(x2, y2)), radius);
+    }
+
+    /**
+     * Writes this graph to the specified output. The walls are not written; they must be passed again
+     * when the graph is {@linkplain #read(DataInput, List, float) read}.
+     *
+     * @param out the output
+     * @throws IOException if writing fails
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(signature);
+        out.writeInt(nodeX.length);
+        for (float[] array : List.of(nodeX, nodeY, inX, inY, outX, outY))
+            for (float value : array)
+                out.writeFloat(value);
+        out.writeInt(neighbors.length);
+        for (int i = 1; i < first.length; i++)
+            out.writeInt(first[i]);
+        for (int neighbor : neighbors)
+            out.writeInt(neighbor);
+    }
+
+    /**
+     * Reads a graph written by {@linkplain #write(DataOutput)}. The graph is read completely even if it
+     * does not match the specified walls and radius.
+     *
+     * @param in     the input
+     * @param walls  the walls, which have the free space on their left side
+     * @param radius the radius of the moving items
+     * @return the graph, or null if it has been computed for other walls or another radius
+     * @throws IOException if reading fails or the input does not contain a graph
+     */
+    public static VisibilityGraph read(DataInput in, List<? extends SegmentLike> walls, float radius) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("no visibility graph"); //NON-NLS
+        final long signature = in.readLong();
+        final int n = in.readInt();
+        final float[][] arrays = new float[6][n];
+        for (float[] array : arrays)
+            for (int i = 0; i < n; i++)
+                array[i] = in.readFloat();
+        final int numNeighbors = in.readInt();
+        final int[] first = new int[n + 1];
+        for (int i = 1; i <= n; i++)
+            first[i] = in.readInt();
+        final int[] neighbors = new int[numNeighbors];
+        for (int i = 0; i < numNeighbors; i++)
+            neighbors[i] = in.readInt();
+        final List<Segment> wallList = copy(walls);
+        if (signature != signature(wallList, radius)) {
+            LOGGER.log(Level.DEBUG, "visibility graph has been computed for other walls"); //NON-NLS
+            return null;
+        }
+        return new VisibilityGraph(wallList, radius, signature,
+                                   arrays[0], arrays[1], arrays[2], arrays[3], arrays[4], arrays[5],
+                                   first, neighbors);
+    }
+
+    /**
+     * Adds the nodes of the corner where the specified walls meet, if it is a reflex corner of the free space.
+     *
+     * @param nodes    the nodes found so far
+     * @param incoming the wall ending at the corner
+     * @param outgoing the wall starting at the corner, or null if the incoming wall ends there
+     */
+    private void addCorner(Nodes nodes, Segment incoming, Segment outgoing) {
+        final float len1 = incoming.length();
+        if (len1 == 0f) return;
+        final float ax = incoming.diffX() / len1;
+        final float ay = incoming.diffY() / len1;
+        final float bx;
+        final float by;
+        if (outgoing == null) {
+            // the wall ends here; it has to be passed around like a spike
+            bx = -ax;
+            by = -ay;
+        }
+        else {
+            final float len2 = outgoing.length();
+            if (len2 == 0f) return;
+            bx = outgoing.diffX() / len2;
+            by = outgoing.diffY() / len2;
+        }
+        // the free space is on the left; corners where the walls turn left are convex
+        final float cross = ax * by - ay * bx;
+        final float cos = ax * bx + ay * by;
+        if (cross > 0f || cross == 0f && cos > 0f) return;
+        final float vx = incoming.to().getX();
+        final float vy = incoming.to().getY();
+        final float d = radius + MARGIN;
+        if (cos > SHARP_COS) {
+            // the point keeping distance d from the lines of both walls
+            final float q = d / (1f + cos);
+            addNode(nodes, vx + q * (-ay - by), vy + q * (ax + bx), ax, ay, bx, by);
+        }
+        else {
+            addNode(nodes, vx + d * (ax - ay), vy + d * (ay + ax), Float.NaN, Float.NaN, Float.NaN, Float.NaN);
+            addNode(nodes, vx + d * (-by - bx), vy + d * (bx - by), Float.NaN, Float.NaN, Float.NaN, Float.NaN);
+        }
+    }
+
+    /**
+     * Adds a node unless it is too close to a wall.
+     */
+    private void addNode(Nodes nodes, float x, float y, float ax, float ay, float bx, float by) {
+        if (!wallIndex.anyWithin(x, y, radius))
+            nodes.add(x, y, ax, ay, bx, by);
+    }
+
+    /**
+     * Checks whether the line through the specified node in the specified direction is tangent to the walls
+     * at the corner of the node, i.e., whether it does not enter the walls there.
+     */
+    private boolean isTangent(int node, float dx, float dy) {
+        if (Float.isNaN(inX[node]))
+            return true;
+        final float crossIn = dx * inY[node] - dy * inX[node];
+        final float crossOut = dx * outY[node] - dy * outX[node];
+        return crossIn * crossOut <= 0f;
+    }
+
+    private static List<Segment> copy(List<? extends SegmentLike> walls) {
+        final List<Segment> list = new ArrayList<>(walls.size());
+        for (SegmentLike wall : walls)
+            list.add(new Segment(new FloatPoint(wall.from().getX(), wall.from().getY()),
+                                 new FloatPoint(wall.to().getX(), wall.to().getY())));
+        return list;
+    }
+
+    private static long signature(List<Segment> walls, float radius) {
+        long hash = Float.floatToIntBits(radius);
+        for (Segment wall : walls) {
+            hash = 31L * hash + Float.floatToIntBits(wall.from().getX());
+            hash = 31L * hash + Float.floatToIntBits(wall.from().getY());
+            hash = 31L * hash + Float.floatToIntBits(wall.to().getX());
+            hash = 31L * hash + Float.floatToIntBits(wall.to().getY());
+        }
+        return hash;
+    }
+
+    /**
+     * The nodes collected while building the graph.
+     */
+    private static class Nodes {
+        float[] x = new float[16];
+        float[] y = new float[16];
+        float[] inX = new float[16];
+        float[] inY = new float[16];
+        float[] outX = new float[16];
+        float[] outY = new float[16];
+        int size;
+
+        void add(float px, float py, float ax, float ay, float bx, float by) {
+            if (size == x.length) {
+                x = Arrays.copyOf(x, 2 * size);
+                y = Arrays.copyOf(y, 2 * size);
+                inX = Arrays.copyOf(inX, 2 * size);
+                inY = Arrays.copyOf(inY, 2 * size);
+                outX = Arrays.copyOf(outX, 2 * size);
+                outY = Arrays.copyOf(outY, 2 * size);
+            }
+            x[size] = px;
+            y[size] = py;
+            inX[size] = ax;
+            inY[size] = ay;
+            outX[size] = bx;
+            outY[size] = by;
+            size++;
+        }
+    }
+
+    /**
+     * A search from a start to a target position. The nodes of the graph keep their numbers; the start and
+     * the target are numbered after them. The start and the target are connected to the nodes on demand.
+     */
+    private class Search extends AbstractIndexedNavigator {
+        final int start = nodeX.length;
+        final int target = nodeX.length + 1;
+        private final Position from;
+        private final Position to;
+
+        /**
+         * Tells for each node whether the target can be reached directly: 0 if not yet known, 1 if yes, 2 if no.
+         */
+        private final byte[] toTarget = new byte[nodeX.length];
+
+        Search(Position from, Position to) {
+            super(nodeX.length + 1);
+            this.from = from;
+            this.to = to;
+        }
+
+        private float x(int node) {
+            if (node == start) return from.getX();
+            if (node == target) return to.getX();
+            return nodeX[node];
+        }
+
+        private float y(int node) {
+            if (node == start) return from.getY();
+            if (node == target) return to.getY();
+            return nodeY[node];
+        }
+
+        private float distance(int node1, int node2) {
+            final float dx = x(node2) - x(node1);
+            final float dy = y(node2) - y(node1);
+            return sqrt(dx * dx + dy * dy);
+        }
+
+        /**
+         * Checks whether the specified node and the specified position can be connected.
+         */
+        private boolean connects(int node, Position pos) {
+            return isTangent(node, pos.getX() - nodeX[node], pos.getY() - nodeY[node]) &&
+                   isFree(nodeX[node], nodeY[node], pos.getX(), pos.getY());
+        }
+
+        @Override
+        protected int getNumPositions() {
+            return nodeX.length + 2;
+        }
+
+        @Override
+        protected boolean isTargetPosition(int node) {
+            return node == target;
+        }
+
+        @Override
+        protected int reachablePositions(int node, int[] reachable) {
+            int num = 0;
+            if (node == start) {
+                for (int i = 0; i < nodeX.length; i++)
+                    if (connects(i, from))
+                        reachable[num++] = i;
+                return num;
+            }
+            if (toTarget[node] == 0)
+                toTarget[node] = connects(node, to) ? (byte) 1 : (byte) 2;
+            if (toTarget[node] == 1)
+                reachable[num++] = target;
+            for (int i = first[node]; i < first[node + 1]; i++)
+                reachable[num++] = neighbors[i];
+            return num;
+        }
+
+        @Override
+        protected float costsForStep(int prevPos, int nextPos) {
+            return prevPos == NONE ? 0f : distance(prevPos, nextPos);
+        }
+
+        @Override
+        protected float estimateCostsToTarget(int node) {
+            return distance(node, target);
+        }
+    }
+}
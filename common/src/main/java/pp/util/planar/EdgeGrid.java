@@ -0,0 +1,325 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.planar;
+
+import pp.util.FloatMath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static pp.util.planar.PlanarMap.EPS;
+
+/**
+ * A uniform grid over the vertices and edges of a planar map, which is used for casting rays in the map.
+ * <p>
+ * The bounding box of the map is divided into roughly as many cells as there are edges. Each cell refers to
+ * all vertices and edges whose bounding box, enlarged by the tolerance of {@linkplain Ray}, overlaps with
+ * the cell. A ray is cast by walking along the cells that it passes (DDA traversal) and collecting their
+ * vertices and edges until the closest hit is known. The collected candidates are then passed to
+ * {@linkplain Ray#findHit(PlanarMap, java.util.Collection, java.util.Collection, boolean)}, i.e.,
+ * the result is the same as the result of a linear scan of the map.
+ * </p>
+ * Vertices and edges that are added to the map after the grid has been created are kept in a list
+ * and checked by every query. The map rebuilds the grid when this list becomes too long.
+ */
+class EdgeGrid {
+    /**
+     * The maximal number of cells along each axis.
+     */
+    private static final int MAX_CELLS = 1024;
+
+    /**
+     * The minimal squared length of the direction vector of rays that are traced through the grid.
+     * {@linkplain Ray} accepts vertices within a distance of {@code EPS} divided by this length,
+     * which must not exceed the margin of vertices in their cells.
+     */
+    private static final float MIN_LENGTH_SQ = 0.25f;
+
+    /**
+     * The margin of vertices in their cells.
+     */
+    private static final float VERTEX_MARGIN = 3f * EPS;
+
+    private final PlanarMap map;
+    private final List<Vertex> vertices;
+    /**
+     * One of the two half edges of each edge, namely the one considered by {@linkplain Ray}.
+     */
+    private final List<HalfEdge> edges;
+    private final float minX;
+    private final float minY;
+    private final float maxX;
+    private final float maxY;
+    private final float cellSize;
+    private final int numX;
+    private final int numY;
+
+    /**
+     * Entries of cell i are stored in cellEntries[cellStart[i]] to cellEntries[cellStart[i+1]-1].
+     * Entries less than the number of vertices refer to vertices, all others to edges.
+     */
+    private final int[] cellStart;
+    private final int[] cellEntries;
+
+    /**
+     * Vertices and edges added to the map after this grid has been created.
+     */
+    private final List<Vertex> extraVertices = new ArrayList<>();
+    private final List<HalfEdge> extraEdges = new ArrayList<>();
+
+    /**
+     * Creates a grid over all vertices and edges of the specified map.
+     */
+    EdgeGrid(PlanarMap map) {
+        this.map = map;
+        this.vertices = new ArrayList<>(map.getVertices());
+        this.edges = new ArrayList<>();
+        for (HalfEdge e : map.getHalfEdges())
+            if (e.hashCode() < e.getTwin().hashCode())
+                edges.add(e);
+        final int nv = vertices.size();
+        final int n = nv + edges.size();
+        final float[] boxes = new float[4 * n];
+        for (int i = 0; i < nv; i++) {
+            final Vertex v = vertices.get(i);
+            setBox(boxes, i, v.getX(), v.getY(), v.getX(), v.getY(), VERTEX_MARGIN);
+        }
+        for (int i = nv; i < n; i++) {
+            final HalfEdge e = edges.get(i - nv);
+            final Vertex o = e.getOrigin();
+            final Vertex t = e.getTarget();
+            // Ray tolerates hits slightly beyond the end points, relative to the length of the edge
+            final float margin = 2f * EPS * (1f + e.length());
+            setBox(boxes, i, min(o.getX(), t.getX()), min(o.getY(), t.getY()),
+                   max(o.getX(), t.getX()), max(o.getY(), t.getY()), margin);
+        }
+        float x1 = Float.POSITIVE_INFINITY;
+        float y1 = Float.POSITIVE_INFINITY;
+        float x2 = Float.NEGATIVE_INFINITY;
+        float y2 = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            x1 = min(x1, boxes[4 * i]);
+            y1 = min(y1, boxes[4 * i + 1]);
+            x2 = max(x2, boxes[4 * i + 2]);
+            y2 = max(y2, boxes[4 * i + 3]);
+        }
+        if (n == 0) {
+            minX = minY = maxX = maxY = 0f;
+            cellSize = 1f;
+            numX = numY = 0;
+            cellStart = new int[1];
+            cellEntries = new int[0];
+            return;
+        }
+        minX = x1;
+        minY = y1;
+        maxX = x2;
+        maxY = y2;
+        final float width = max(x2 - x1, FloatMath.ZERO_TOLERANCE);
+        final float height = max(y2 - y1, FloatMath.ZERO_TOLERANCE);
+        // aim at about one cell per edge
+        final float size = FloatMath.sqrt(width * height / max(1, edges.size()));
+        cellSize = max(size, max(width, height) / MAX_CELLS);
+        numX = min(MAX_CELLS, (int) (width / cellSize) + 1);
+        numY = min(MAX_CELLS, (int) (height / cellSize) + 1);
+
+        // first pass: count the entries of each cell; second pass: fill in the entries
+        cellStart = new int[numX * numY + 1];
+        for (int i = 0; i < n; i++)
+            forEachCell(boxes, i, cell -> cellStart[cell + 1]++);
+        for (int i = 0; i < numX * numY; i++)
+            cellStart[i + 1] += cellStart[i];
+        cellEntries = new int[cellStart[numX * numY]];
+        final int[] fill = cellStart.clone();
+        for (int i = 0; i < n; i++) {
+            final int entry = i;
+            forEachCell(boxes, i, cell -> cellEntries[fill[cell]++] = entry);
+        }
+    }
+
+    private static void setBox(float[] boxes, int i, float x1, float y1, float x2, float y2, float margin) {
+        boxes[4 * i] = x1 - margin;
+        boxes[4 * i + 1] = y1 - margin;
+        boxes[4 * i + 2] = x2 + margin;
+        boxes[4 * i + 3] = y2 + margin;
+    }
+
+    private void forEachCell(float[] boxes, int i, IntConsumer action) {
+        final int cx1 = cellX(boxes[4 * i]);
+        final int cy1 = cellY(boxes[4 * i + 1]);
+        final int cx2 = cellX(boxes[4 * i + 2]);
+        final int cy2 = cellY(boxes[4 * i + 3]);
+        for (int cy = cy1; cy <= cy2; cy++)
+            for (int cx = cx1; cx <= cx2; cx++)
+                action.accept(cy * numX + cx);
+    }
+
+    private int cellX(float x) {
+        final float c = (x - minX) / cellSize;
+        return c <= 0f ? 0 : min(numX - 1, (int) c);
+    }
+
+    private int cellY(float y) {
+        final float c = (y - minY) / cellSize;
+        return c <= 0f ? 0 : min(numY - 1, (int) c);
+    }
+
+    /**
+     * Called by the map when the specified vertex has been added after this grid has been created.
+     */
+    void add(Vertex v) {
+        extraVertices.add(v);
+    }
+
+    /**
+     * Called by the map when the specified half edge and its twin have been added after this grid has
+     * been created.
+     */
+    void add(HalfEdge e) {
+        extraEdges.add(e.hashCode() < e.getTwin().hashCode() ? e : e.getTwin());
+    }
+
+    /**
+     * Returns the number of vertices and edges that have been added after this grid has been created.
+     * They are checked by each query.
+     */
+    int getNumExtra() {
+        return extraVertices.size() + extraEdges.size();
+    }
+
+    /**
+     * Returns the closest hit of the specified ray within the map. The result is the same as the one of
+     * {@linkplain Ray#findHit(PlanarMap, boolean)} without a grid.
+     */
+    HitInfo findHit(Ray ray, boolean includeStart) {
+        // the tolerance of Ray for vertices grows beyond the margin of their cells for short direction vectors
+        if (ray.dx * ray.dx + ray.dy * ray.dy < MIN_LENGTH_SQ)
+            return ray.findHit(map, map.getVertices(), map.getHalfEdges(), includeStart);
+        final Query query = new Query(ray, includeStart);
+        query.traverse(ray.dx, ray.dy);
+        // Ray computes hits with edges as if almost axis-parallel rays were axis-parallel
+        if (abs(ray.dy) < EPS && ray.dy != 0f)
+            query.traverse(ray.dx, 0f);
+        else if (abs(ray.dx) < EPS && ray.dx != 0f)
+            query.traverse(0f, ray.dy);
+        query.vertices.addAll(extraVertices);
+        query.edges.addAll(extraEdges);
+        return ray.findHit(map, query.vertices, query.edges, includeStart);
+    }
+
+    /**
+     * Collects the vertices and edges that a ray may hit first.
+     */
+    private class Query {
+        private final Ray ray;
+        private final boolean includeStart;
+        private final List<Vertex> vertices = new ArrayList<>();
+        private final List<HalfEdge> edges = new ArrayList<>();
+
+        /**
+         * The ray parameter of the closest hit collected so far that counts with respect to {@code includeStart}.
+         */
+        private float best = Float.POSITIVE_INFINITY;
+
+        /**
+         * The maximal difference between the ray parameter that Ray computes for a vertex and the parameter
+         * of the points of the ray within the margin of the vertex.
+         */
+        private final float slack;
+
+        Query(Ray ray, boolean includeStart) {
+            this.ray = ray;
+            this.includeStart = includeStart;
+            // Ray computes the parameter of a vertex from one of its coordinates only
+            slack = EPS + VERTEX_MARGIN / (abs(ray.dx) < EPS ? abs(ray.dy) : abs(ray.dx));
+        }
+
+        /**
+         * Walks along all cells of the line from the starting point of the ray in the specified direction,
+         * which must be parallel to the direction of the ray such that both share their parameter, until
+         * the cells lie beyond the closest hit collected so far.
+         */
+        void traverse(float dx, float dy) {
+            if (numX == 0) return;
+            // clip the line to the grid, starting slightly before the ray, where Ray still accepts hits
+            float tEnter = -EPS;
+            float tExit = Float.POSITIVE_INFINITY;
+            if (dx != 0f) {
+                final float t1 = (minX - ray.x) / dx;
+                final float t2 = (maxX - ray.x) / dx;
+                tEnter = max(tEnter, min(t1, t2));
+                tExit = min(tExit, max(t1, t2));
+            }
+            else if (ray.x < minX || ray.x > maxX)
+                return;
+            if (dy != 0f) {
+                final float t1 = (minY - ray.y) / dy;
+                final float t2 = (maxY - ray.y) / dy;
+                tEnter = max(tEnter, min(t1, t2));
+                tExit = min(tExit, max(t1, t2));
+            }
+            else if (ray.y < minY || ray.y > maxY)
+                return;
+            if (tEnter > tExit)
+                return;
+            int cx = cellX(ray.x + tEnter * dx);
+            int cy = cellY(ray.y + tEnter * dy);
+            final int stepX = dx > 0f ? 1 : -1;
+            final int stepY = dy > 0f ? 1 : -1;
+            final float deltaX = dx == 0f ? Float.POSITIVE_INFINITY : cellSize / abs(dx);
+            final float deltaY = dy == 0f ? Float.POSITIVE_INFINITY : cellSize / abs(dy);
+            float nextX = dx == 0f ? Float.POSITIVE_INFINITY : (minX + (cx + (dx > 0f ? 1 : 0)) * cellSize - ray.x) / dx;
+            float nextY = dy == 0f ? Float.POSITIVE_INFINITY : (minY + (cy + (dy > 0f ? 1 : 0)) * cellSize - ray.y) / dy;
+            while (true) {
+                collect(cy * numX + cx);
+                // entries that have not been collected yet are hit beyond the exit of this cell
+                final float exit = min(nextX, nextY);
+                if (exit > best + slack || exit > tExit)
+                    return;
+                if (nextX < nextY) {
+                    cx += stepX;
+                    nextX += deltaX;
+                    if (cx < 0 || cx >= numX) return;
+                }
+                else {
+                    cy += stepY;
+                    nextY += deltaY;
+                    if (cy < 0 || cy >= numY) return;
+                }
+            }
+        }
+
+        private void collect(int cell) {
+            for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                final int entry = cellEntries[i];
+                if (entry < EdgeGrid.this.vertices.size()) {
+                    final Vertex v = EdgeGrid.this.vertices.get(entry);
+                    final float mu = ray.hitParameter(v);
+                    if (mu > -EPS) {
+                        vertices.add(v);
+                        if (includeStart || mu >= EPS)
+                            best = min(best, mu);
+                    }
+                }
+                else {
+                    final HalfEdge e = EdgeGrid.this.edges.get(entry - EdgeGrid.this.vertices.size());
+                    final float mu = ray.hitParameter(e);
+                    if (mu >= 0f) {
+                        edges.add(e);
+                        if (includeStart || mu >= EPS)
+                            best = min(best, mu);
+                    }
+                }
+            }
+        }
+    }
+}
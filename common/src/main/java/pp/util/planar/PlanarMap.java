@@ -14,7 +14,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import static java.lang.Math.max;
 import static pp.util.FloatMath.abs;
+import static pp.util.FloatMath.sqrt;
 import static pp.util.Util.getArea;
 import static pp.util.Util.reverse;
 
@@ -28,11 +30,29 @@ import static pp.util.Util.reverse;
  */
 public class PlanarMap {
     public static final float EPS = 1e-5f;
+
+    /**
+     * The minimal number of half edges for which rays are cast using an {@linkplain EdgeGrid}.
+     * Smaller maps are scanned linearly.
+     */
+    private static final int MIN_INDEXED_HALF_EDGES = 64;
+
+    /**
+     * The minimal number of vertices and edges added after creating the grid that cause the grid to be rebuilt.
+     * Larger maps tolerate up to the square root of the number of their half edges.
+     */
+    private static final int MIN_EXTRA = 16;
+
     private final List<Vertex> vertices = new ArrayList<>();
     private final List<HalfEdge> halfEdges = new ArrayList<>();
     private final Face outer;
     private final List<Face> faces = new ArrayList<>();
 
+    /**
+     * The grid for casting rays, which is created lazily by {@linkplain #getEdgeGrid()}.
+     */
+    private EdgeGrid edgeGrid;
+
     /**
      * Creates a new planar map with an implicitly created outer face.
      */
@@ -76,6 +96,20 @@ public class PlanarMap {
         return outer;
     }
 
+    /**
+     * Returns the grid for casting rays in this map, or null if this map is small enough to be scanned
+     * linearly. The grid is built when it is requested for the first time and rebuilt when too many
+     * vertices and edges have been added since.
+     */
+    EdgeGrid getEdgeGrid() {
+        if (halfEdges.size() < MIN_INDEXED_HALF_EDGES)
+            return null;
+        EdgeGrid grid = edgeGrid;
+        if (grid == null || grid.getNumExtra() > max(MIN_EXTRA, (int) sqrt(halfEdges.size())))
+            edgeGrid = grid = new EdgeGrid(this);
+        return grid;
+    }
+
     /**
      * Returns the face that contains the specified point.
      */
@@ -127,6 +161,8 @@ public class PlanarMap {
      * @return true if the vertices were successfully added, false otherwise
      */
     private boolean addVertices(List<Vertex> pVertices) {
+        if (edgeGrid != null)
+            pVertices.forEach(edgeGrid::add);
         return vertices.addAll(pVertices);
     }
 
@@ -201,6 +237,8 @@ public class PlanarMap {
         e.getTwin().setIncidentFace(right);
         halfEdges.add(e);
         halfEdges.add(e.getTwin());
+        if (edgeGrid != null)
+            edgeGrid.add(e);
         return e;
     }
 
@@ -222,6 +260,8 @@ public class PlanarMap {
             throw new InvalidMapException("diagonal hits another edge first");
         halfEdges.add(fEdge);
         halfEdges.add(bEdge);
+        if (edgeGrid != null)
+            edgeGrid.add(fEdge);
         // relink half edge cycles
         final HalfEdge toIn = toOut.getPrev();
         final HalfEdge fromIn = fromOut.getPrev();
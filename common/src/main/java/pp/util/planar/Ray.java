@@ -10,6 +10,8 @@ package pp.util.planar;
 import pp.util.FloatPoint;
 import pp.util.Position;
 
+import java.util.Collection;
+
 import static java.lang.Math.abs;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
@@ -79,12 +81,27 @@ public class Ray {
      * Returns the closest hit of this ray within the specified planar map. If the ray
      * starts at a half edge, this is returned as the closest hit if includeStart is
      * set to true, otherwise the closest hit with mu>0 is returned.
+     * <p>
+     * Large maps are searched using their {@linkplain EdgeGrid edge grid}, which yields the same result
+     * as checking all vertices and half edges.
      */
     public HitInfo findHit(PlanarMap map, boolean includeStart) {
-        final HitVertex hitVertex = findHitVertex(map, includeStart);
+        final EdgeGrid grid = map.getEdgeGrid();
+        if (grid != null)
+            return grid.findHit(this, includeStart);
+        return findHit(map, map.getVertices(), map.getHalfEdges(), includeStart);
+    }
+
+    /**
+     * Like {@linkplain #findHit(PlanarMap, boolean)}, but considers only the specified vertices and
+     * half edges of the map. The result is the same as for the entire map if the specified collections
+     * contain all vertices and half edges that this ray may hit first.
+     */
+    HitInfo findHit(PlanarMap map, Collection<Vertex> vertices, Collection<HalfEdge> halfEdges, boolean includeStart) {
+        final HitVertex hitVertex = findHitVertex(vertices, includeStart);
         if (hitVertex != null && hitVertex.mu == 0)
             return hitVertex.createHitInfo(this);
-        final HitHalfEdge hitHalfEdge = findHitHalfEdge(map, hitVertex, includeStart);
+        final HitHalfEdge hitHalfEdge = findHitHalfEdge(halfEdges, hitVertex, includeStart);
         if (hitHalfEdge != null)
             return hitHalfEdge.createHitInfo(this);
         if (hitVertex != null)
@@ -92,10 +109,29 @@ public class Ray {
         return HitInfo.noHit(map.getOuter(), this);
     }
 
-    private HitHalfEdge findHitHalfEdge(PlanarMap map, HitVertex hitVertex, boolean includeStart) {
+    /**
+     * Returns the ray parameter where this ray hits the specified half edge, or NaN if it does not hit it.
+     */
+    float hitParameter(HalfEdge e) {
+        final RayHit rayHit = computeHalfEdgeMu(e);
+        return rayHit == null ? Float.NaN : rayHit.mu;
+    }
+
+    /**
+     * Returns the ray parameter where this ray hits the specified vertex, or NaN if it does not hit it.
+     */
+    float hitParameter(Vertex v) {
+        final float x1 = v.getX();
+        final float y1 = v.getY();
+        if (abs(x1 * dy - y1 * dx - (x * dy - y * dx)) >= EPS)
+            return Float.NaN;
+        return abs(dx) < EPS ? (y1 - y) / dy : (x1 - x) / dx;
+    }
+
+    private HitHalfEdge findHitHalfEdge(Collection<HalfEdge> halfEdges, HitVertex hitVertex, boolean includeStart) {
         final Vertex hit = hitVertex == null ? null : hitVertex.v;
         HitHalfEdge hitEdge = null;
-        for (HalfEdge e : map.getHalfEdges())
+        for (HalfEdge e : halfEdges)
             if (hit != e.getOrigin() && hit != e.getTarget() && e.hashCode() < e.getTwin().hashCode()) {
                 // consider only edges that are not incident to hit, and only one of its half edges
                 final RayHit rayHit = computeHalfEdgeMu(e);
@@ -162,11 +198,11 @@ public class Ray {
         return new RayHit(mu, lambda);
     }
 
-    private HitVertex findHitVertex(PlanarMap map, boolean includeStart) {
+    private HitVertex findHitVertex(Collection<Vertex> vertices, boolean includeStart) {
         Vertex best = null;
         float minMu = 0;
         final float t = x * dy - y * dx;
-        for (final Vertex v : map.getVertices()) {
+        for (final Vertex v : vertices) {
             final float x1 = v.getX();
             final float y1 = v.getY();
             if (abs(x1 * dy - y1 * dx - t) < EPS) {
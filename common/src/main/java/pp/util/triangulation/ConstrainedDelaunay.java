@@ -0,0 +1,607 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.triangulation;
+
+import pp.util.Position;
+import pp.util.SimpleTriangle;
+import pp.util.Triangle;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns a triangulation of a polygon into its constrained Delaunay triangulation by Lawson's edge flips
+ * and optionally refines it by Ruppert's algorithm, i.e., by inserting Steiner points until no triangle
+ * is larger than a maximum area or has an angle smaller than a minimum angle. The segments of the polygon
+ * are the constraints; they are never flipped. Segments are split at their midpoints when they are
+ * encroached, i.e., when a vertex or a prospective Steiner point lies within their diametral circle,
+ * unless they are fixed. Fixed segments are never split, which keeps adjacent polygons that share these
+ * segments conforming when each of them is refined separately.
+ * <p>
+ * Triangles are stored as triples of vertex indexes in counterclockwise order (x to the right, y upward)
+ * together with the indexes of their neighbor triangles. Neighbor i of a triangle is the triangle on the
+ * opposite side of its vertex i, or -1 if there is no such triangle.
+ * </p>
+ * Used by {@linkplain Triangulator}, which provides the vertices and the initial triangles.
+ */
+class ConstrainedDelaunay {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Relative tolerance of the incircle test. Flipping cocircular configurations back and forth is
+     * avoided by flipping only if the fourth point is clearly within the circumcircle.
+     */
+    private static final double INCIRCLE_EPS = 1e-9;
+
+    /**
+     * The number of Steiner points per vertex of the polygon, and per multiple of the maximum area
+     * within the polygon, after which refinement stops. This ensures termination also for polygons
+     * with small angles, where Ruppert's algorithm need not terminate.
+     */
+    private static final int MAX_STEINER_POINTS = 8;
+
+    /**
+     * Segments are not split if they are shorter than this fraction of the extent of the polygon.
+     * Splitting them further would soon result in points that cannot be distinguished in float precision.
+     */
+    private static final double MIN_SEGMENT_LENGTH = 1e-4;
+
+    // vertices
+    private int numVertices;
+    private int numPolygonVertices;
+    private Position[] pos = new Position[INITIAL_CAPACITY];
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    /**
+     * The successor of each vertex along the segment it lies on, or -1 for Steiner points within the
+     * polygon. The segment from v to next[v] is a constraint.
+     */
+    private int[] next = new int[INITIAL_CAPACITY];
+    /**
+     * Whether the segment from v to next[v] may be split.
+     */
+    private boolean[] splittable = new boolean[INITIAL_CAPACITY];
+    /**
+     * The polygon vertex where the segment of the polygon starts that contains each vertex, or -1 for
+     * Steiner points within the polygon.
+     */
+    private int[] segment = new int[INITIAL_CAPACITY];
+    /**
+     * The successor of each polygon vertex along its point list.
+     */
+    private int[] ringNext = new int[INITIAL_CAPACITY];
+    /**
+     * The squared length of the shortest segment that may be split.
+     */
+    private double minSplitLength2;
+
+    // triangles
+    private int numTriangles;
+    private int[] corners = new int[3 * INITIAL_CAPACITY];
+    private int[] neighbors = new int[3 * INITIAL_CAPACITY];
+    /**
+     * Marks triangles when searching the triangles whose circumcircle contains a point.
+     */
+    private int[] marks = new int[INITIAL_CAPACITY];
+    private int mark;
+
+    /**
+     * The stack of triangle edges (3 * triangle + index of the opposite vertex) that must be checked by
+     * the incircle test, or whose triangles are searched.
+     */
+    private int[] edgeStack = new int[INITIAL_CAPACITY];
+    private int edgeStackSize;
+
+    /**
+     * The work list of triangles that must be checked for their quality and for encroached segments.
+     */
+    private int[] work = new int[INITIAL_CAPACITY];
+    private int workSize;
+
+    /**
+     * Starts a new triangulation of a polygon with the specified number of vertices.
+     */
+    void reset(int numPolygonVertices) {
+        ensureVertexCapacity(numPolygonVertices);
+        this.numPolygonVertices = numVertices = numPolygonVertices;
+        numTriangles = 0;
+    }
+
+    /**
+     * Sets polygon vertex v, whose successor along its point list is vertex {@code next}.
+     * The segment from v to {@code next} is split during refinement only if {@code splittable} is true.
+     */
+    void setVertex(int v, Position p, int next, boolean splittable) {
+        pos[v] = p;
+        xs[v] = p.getX();
+        ys[v] = p.getY();
+        this.next[v] = next;
+        this.splittable[v] = splittable;
+        segment[v] = v;
+        ringNext[v] = next;
+    }
+
+    /**
+     * Adds a triangle with the specified vertices in counterclockwise order.
+     */
+    void addTriangle(int a, int b, int c) {
+        ensureTriangleCapacity(numTriangles + 1);
+        final int t = 3 * numTriangles++;
+        corners[t] = a;
+        corners[t + 1] = b;
+        corners[t + 2] = c;
+    }
+
+    /**
+     * Connects the triangles that have been added since the last reset and flips edges until the
+     * triangulation is a constrained Delaunay triangulation.
+     */
+    void makeDelaunay() {
+        final Map<Long, Integer> edges = new HashMap<>(3 * numTriangles);
+        Arrays.fill(neighbors, 0, 3 * numTriangles, -1);
+        for (int t = 0; t < numTriangles; t++)
+            for (int i = 0; i < 3; i++) {
+                final int a = corners[3 * t + (i + 1) % 3];
+                final int b = corners[3 * t + (i + 2) % 3];
+                // the triangle on the other side contains the same edge in opposite direction
+                final Integer other = edges.remove(key(b, a));
+                if (other == null)
+                    edges.put(key(a, b), 3 * t + i);
+                else {
+                    neighbors[3 * t + i] = other / 3;
+                    neighbors[other] = t;
+                }
+            }
+        workSize = 0;
+        edgeStackSize = 0;
+        for (int e = 0; e < 3 * numTriangles; e++)
+            pushEdge(e);
+        legalize();
+    }
+
+    private static long key(int a, int b) {
+        return ((long) a << 32) | (b & 0xffffffffL);
+    }
+
+    /**
+     * Inserts Steiner points until each triangle has an area of at most {@code maxArea} and no angle smaller
+     * than {@code minAngle}, or until the maximum number of Steiner points has been inserted.
+     * Encroached segments are split first. A bad triangle is then split at its circumcenter unless the
+     * circumcenter encroaches upon a segment, which is split instead. If the circumcenter can only be
+     * reached by crossing a fixed segment, a triangle that is too large is split at its centroid, and a
+     * triangle that is just too thin is kept. {@linkplain #makeDelaunay()} must have been called before.
+     *
+     * @param maxArea  the maximum area of a triangle, or 0 if the area is not limited
+     * @param minAngle the minimum angle of a triangle in degrees, or 0 if angles are not limited
+     * @param factory  creates the Steiner points
+     */
+    void refine(float maxArea, float minAngle, Triangulator.PointFactory factory) {
+        if (maxArea <= 0f && minAngle <= 0f) return;
+        final double minSin = Math.sin(Math.toRadians(Math.min(minAngle, 60f)));
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < numPolygonVertices; v++) {
+            minX = Math.min(minX, xs[v]);
+            minY = Math.min(minY, ys[v]);
+            maxX = Math.max(maxX, xs[v]);
+            maxY = Math.max(maxY, ys[v]);
+        }
+        final double minLength = MIN_SEGMENT_LENGTH * Math.max(maxX - minX, maxY - minY);
+        minSplitLength2 = 4. * minLength * minLength;
+        workSize = 0;
+        double totalArea = 0.;
+        for (int t = 0; t < numTriangles; t++) {
+            totalArea += area(t);
+            pushWork(t);
+        }
+        final double areaMultiples = maxArea > 0f ? totalArea / maxArea : 0.;
+        final double maxSteinerPoints = MAX_STEINER_POINTS * (numPolygonVertices + areaMultiples);
+        final int maxVertices = (int) Math.min(numPolygonVertices + maxSteinerPoints, Integer.MAX_VALUE / 3.);
+        while (workSize > 0 && numVertices < maxVertices) {
+            final int t = work[--workSize];
+            final int encroached = encroachedSegment(t);
+            if (encroached >= 0) {
+                split(encroached, factory);
+                continue;
+            }
+            final double area = area(t);
+            // degenerate triangles have no circumcenter
+            if (area <= 0.) continue;
+            final boolean tooLarge = maxArea > 0f && area > maxArea;
+            if (!tooLarge && (minAngle <= 0f || minSin(t, area) >= minSin || inSmallAngle(t)))
+                continue;
+            final int a = corners[3 * t];
+            final int b = corners[3 * t + 1];
+            final int c = corners[3 * t + 2];
+            final double bx = xs[b] - xs[a];
+            final double by = ys[b] - ys[a];
+            final double cx = xs[c] - xs[a];
+            final double cy = ys[c] - ys[a];
+            final double d = 2. * (bx * cy - by * cx);
+            final double b2 = bx * bx + by * by;
+            final double c2 = cx * cx + cy * cy;
+            final double x = xs[a] + (cy * b2 - by * c2) / d;
+            final double y = ys[a] + (bx * c2 - cx * b2) / d;
+            final int host = locate(t, x, y);
+            final int segment = host >= 0 ? encroachedBy(host, x, y) : -host - 2;
+            if (segment >= 0 && isSplittable(segment)) {
+                split(segment, factory);
+                // try again with the smaller triangles
+                pushWork(t);
+            }
+            else if (host >= 0)
+                insert(host, x, y, factory);
+            else if (tooLarge)
+                insert(t, (xs[a] + xs[b] + xs[c]) / 3., (ys[a] + ys[b] + ys[c]) / 3., factory);
+        }
+    }
+
+    /**
+     * Adds all triangles to the specified list and releases the points.
+     */
+    void collect(List<Triangle> triangles) {
+        for (int t = 0; t < 3 * numTriangles; t += 3)
+            triangles.add(new SimpleTriangle(pos[corners[t]], pos[corners[t + 1]], pos[corners[t + 2]]));
+        Arrays.fill(pos, 0, numVertices, null);
+    }
+
+    private boolean isConstrained(int a, int b) {
+        return next[a] == b || next[b] == a;
+    }
+
+    /**
+     * Returns true if the specified triangle edge is a segment that may be split.
+     */
+    private boolean isSplittable(int e) {
+        final int a = corners[e - e % 3 + (e + 1) % 3];
+        final int b = corners[e - e % 3 + (e + 2) % 3];
+        if (dist2(a, b) < minSplitLength2) return false;
+        return next[a] == b ? splittable[a] : next[b] == a && splittable[b];
+    }
+
+    private double orient(int a, int b, double x, double y) {
+        return (xs[b] - xs[a]) * (y - ys[a]) - (ys[b] - ys[a]) * (x - xs[a]);
+    }
+
+    private double area(int t) {
+        final int a = corners[3 * t];
+        return 0.5 * orient(a, corners[3 * t + 1], xs[corners[3 * t + 2]], ys[corners[3 * t + 2]]);
+    }
+
+    /**
+     * Returns the sine of the smallest angle of the specified triangle, which is the angle opposite to its
+     * shortest side.
+     */
+    private double minSin(int t, double area) {
+        final double ab = dist2(corners[3 * t], corners[3 * t + 1]);
+        final double bc = dist2(corners[3 * t + 1], corners[3 * t + 2]);
+        final double ca = dist2(corners[3 * t + 2], corners[3 * t]);
+        final double shortest = Math.min(ab, Math.min(bc, ca));
+        final double longer = ab * bc * ca / shortest;
+        return longer > 0. ? 2. * area / Math.sqrt(longer) : 0.;
+    }
+
+    /**
+     * Returns true if the shortest edge of triangle t connects two Steiner points on adjacent segments.
+     * Such a triangle lies within a small angle of the polygon, and trying to improve it just causes
+     * an endless cascade of segment splits.
+     */
+    private boolean inSmallAngle(int t) {
+        int a = corners[3 * t + 2];
+        int b = corners[3 * t];
+        double shortest = dist2(a, b);
+        for (int i = 0; i < 2; i++) {
+            final double len = dist2(corners[3 * t + i], corners[3 * t + i + 1]);
+            if (len < shortest) {
+                shortest = len;
+                a = corners[3 * t + i];
+                b = corners[3 * t + i + 1];
+            }
+        }
+        if (a < numPolygonVertices || b < numPolygonVertices) return false;
+        final int sa = segment[a];
+        final int sb = segment[b];
+        return sa >= 0 && sb >= 0 && sa != sb && (ringNext[sa] == sb || ringNext[sb] == sa);
+    }
+
+    private double dist2(int a, int b) {
+        final double dx = xs[b] - xs[a];
+        final double dy = ys[b] - ys[a];
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Returns true if the specified point is clearly within the circumcircle of triangle t.
+     */
+    private boolean inCircumcircle(int t, double x, double y) {
+        final int a = corners[3 * t];
+        final int b = corners[3 * t + 1];
+        final int c = corners[3 * t + 2];
+        final double adx = xs[a] - x;
+        final double ady = ys[a] - y;
+        final double bdx = xs[b] - x;
+        final double bdy = ys[b] - y;
+        final double cdx = xs[c] - x;
+        final double cdy = ys[c] - y;
+        final double ad = adx * adx + ady * ady;
+        final double bd = bdx * bdx + bdy * bdy;
+        final double cd = cdx * cdx + cdy * cdy;
+        final double det = adx * (bdy * cd - bd * cdy) - ady * (bdx * cd - bd * cdx) + ad * (bdx * cdy - bdy * cdx);
+        return det > INCIRCLE_EPS * ad * bd * cd / Math.max(Math.min(ad, Math.min(bd, cd)), Double.MIN_NORMAL);
+    }
+
+    /**
+     * Returns true if the specified point lies within the diametral circle of the edge from a to b.
+     */
+    private boolean encroaches(int a, int b, double x, double y) {
+        return (xs[a] - x) * (xs[b] - x) + (ys[a] - y) * (ys[b] - y) < 0.;
+    }
+
+    /**
+     * Returns a splittable segment of triangle t that is encroached upon by the opposite vertex,
+     * or -1 if there is no such segment.
+     */
+    private int encroachedSegment(int t) {
+        for (int e = 3 * t; e < 3 * t + 3; e++) {
+            final int a = corners[3 * t + (e + 1) % 3];
+            final int b = corners[3 * t + (e + 2) % 3];
+            if (isSplittable(e) && encroaches(a, b, xs[corners[e]], ys[corners[e]]))
+                return e;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a segment that would be encroached upon by a new point inserted into triangle t, or -1 if
+     * there is no such segment. These segments are edges of the triangles whose circumcircles contain the
+     * point and that can be reached from t without crossing a segment.
+     */
+    private int encroachedBy(int t, double x, double y) {
+        mark++;
+        marks[t] = mark;
+        edgeStackSize = 0;
+        pushEdge(3 * t);
+        while (edgeStackSize > 0) {
+            final int u = edgeStack[--edgeStackSize] / 3;
+            for (int e = 3 * u; e < 3 * u + 3; e++) {
+                final int a = corners[3 * u + (e + 1) % 3];
+                final int b = corners[3 * u + (e + 2) % 3];
+                if (isConstrained(a, b)) {
+                    if (encroaches(a, b, x, y))
+                        return e;
+                }
+                else {
+                    final int n = neighbors[e];
+                    if (n >= 0 && marks[n] != mark && inCircumcircle(n, x, y)) {
+                        marks[n] = mark;
+                        pushEdge(3 * n);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Walks from triangle t toward the specified point and returns the triangle that contains the point in
+     * its interior. If the walk would cross a segment, -2 - e is returned, where e is the triangle edge of
+     * that segment. If the point lies on an edge, -1 is returned.
+     */
+    private int locate(int t, double x, double y) {
+        for (int steps = 0; steps <= numTriangles; steps++) {
+            int across = -1;
+            for (int i = 0; i < 3; i++) {
+                final double o = orient(corners[3 * t + (i + 1) % 3], corners[3 * t + (i + 2) % 3], x, y);
+                if (o < 0.) {
+                    across = i;
+                    break;
+                }
+                if (o == 0.) return -1;
+            }
+            if (across < 0) return t;
+            final int e = 3 * t + across;
+            if (neighbors[e] < 0 || isConstrained(corners[3 * t + (across + 1) % 3], corners[3 * t + (across + 2) % 3]))
+                return -2 - e;
+            t = neighbors[e];
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a Steiner point at the specified position, which lies within or on the border of triangle t.
+     */
+    private int addVertex(int t, double x, double y, int next, Triangulator.PointFactory factory) {
+        final int s = numVertices;
+        ensureVertexCapacity(s + 1);
+        final Triangle host = new SimpleTriangle(pos[corners[3 * t]], pos[corners[3 * t + 1]], pos[corners[3 * t + 2]]);
+        pos[s] = factory.create((float) x, (float) y, host);
+        xs[s] = x;
+        ys[s] = y;
+        this.next[s] = next;
+        segment[s] = -1;
+        numVertices++;
+        return s;
+    }
+
+    /**
+     * Splits triangle t into three triangles at a new Steiner point and restores the Delaunay property.
+     */
+    private void insert(int t, double x, double y, Triangulator.PointFactory factory) {
+        final int a = corners[3 * t];
+        final int b = corners[3 * t + 1];
+        final int c = corners[3 * t + 2];
+        final int s = addVertex(t, x, y, -1, factory);
+        ensureTriangleCapacity(numTriangles + 2);
+        final int t1 = numTriangles++;
+        final int t2 = numTriangles++;
+        final int nb = neighbors[3 * t + 1];
+        final int nc = neighbors[3 * t + 2];
+        set(t, s, b, c, neighbors[3 * t], t1, t2);
+        set(t1, a, s, c, t, nb, t2);
+        set(t2, a, b, s, t, t1, nc);
+        replaceNeighbor(nb, t, t1);
+        replaceNeighbor(nc, t, t2);
+        edgeStackSize = 0;
+        pushEdge(3 * t);
+        pushEdge(3 * t1 + 1);
+        pushEdge(3 * t2 + 2);
+        pushWork(t);
+        pushWork(t1);
+        pushWork(t2);
+        legalize();
+    }
+
+    /**
+     * Splits the segment that is the specified triangle edge at its midpoint and restores the Delaunay
+     * property.
+     */
+    private void split(int e, Triangulator.PointFactory factory) {
+        final int t = e / 3;
+        final int i = e % 3;
+        final int p = corners[e];
+        final int a = corners[3 * t + (i + 1) % 3];
+        final int b = corners[3 * t + (i + 2) % 3];
+        // the new vertex continues the segment in its direction
+        final int first = next[a] == b ? a : b;
+        final int second = first == a ? b : a;
+        final int m = addVertex(t, 0.5 * (xs[a] + xs[b]), 0.5 * (ys[a] + ys[b]), second, factory);
+        next[first] = m;
+        splittable[m] = splittable[first];
+        segment[m] = segment[first];
+        final int u = neighbors[e];
+        final int na = neighbors[3 * t + (i + 1) % 3];
+        final int nb = neighbors[3 * t + (i + 2) % 3];
+        ensureTriangleCapacity(numTriangles + 2);
+        final int t1 = numTriangles++;
+        final int u1 = u >= 0 ? numTriangles++ : -1;
+        set(t, p, a, m, u1, t1, nb);
+        set(t1, p, m, b, u, na, t);
+        replaceNeighbor(na, t, t1);
+        edgeStackSize = 0;
+        pushEdge(3 * t + 2);
+        pushEdge(3 * t1 + 1);
+        pushWork(t);
+        pushWork(t1);
+        if (u >= 0) {
+            final int j = oppositeIndex(u, a, b);
+            final int q = corners[3 * u + j];
+            final int nuB = neighbors[3 * u + (j + 1) % 3];
+            final int nuA = neighbors[3 * u + (j + 2) % 3];
+            set(u, q, b, m, t1, u1, nuA);
+            set(u1, q, m, a, t, nuB, u);
+            replaceNeighbor(nuB, u, u1);
+            pushEdge(3 * u + 2);
+            pushEdge(3 * u1 + 1);
+            pushWork(u);
+            pushWork(u1);
+        }
+        legalize();
+    }
+
+    private void set(int t, int a, int b, int c, int na, int nb, int nc) {
+        corners[3 * t] = a;
+        corners[3 * t + 1] = b;
+        corners[3 * t + 2] = c;
+        neighbors[3 * t] = na;
+        neighbors[3 * t + 1] = nb;
+        neighbors[3 * t + 2] = nc;
+    }
+
+    private void replaceNeighbor(int t, int old, int neighbor) {
+        if (t < 0) return;
+        for (int i = 3 * t; i < 3 * t + 3; i++)
+            if (neighbors[i] == old) {
+                neighbors[i] = neighbor;
+                return;
+            }
+    }
+
+    /**
+     * Flips edges on the edge stack until no edge violates the Delaunay property.
+     */
+    private void legalize() {
+        while (edgeStackSize > 0) {
+            final int e = edgeStack[--edgeStackSize];
+            final int t = e / 3;
+            final int i = e % 3;
+            final int u = neighbors[e];
+            if (u < 0) continue;
+            final int p = corners[e];
+            final int e1 = corners[3 * t + (i + 1) % 3];
+            final int e2 = corners[3 * t + (i + 2) % 3];
+            if (isConstrained(e1, e2)) continue;
+            final int j = oppositeIndex(u, e1, e2);
+            final int q = corners[3 * u + j];
+            if (!inCircumcircle(t, xs[q], ys[q])) continue;
+            // the quadrilateral p, e1, q, e2 must be strictly convex
+            if (orient(p, e1, xs[q], ys[q]) <= 0. || orient(q, e2, xs[p], ys[p]) <= 0.) continue;
+            final int ne1 = neighbors[3 * t + (i + 1) % 3];
+            final int ne2 = neighbors[3 * t + (i + 2) % 3];
+            final int nu1 = neighbors[3 * u + (j + 1) % 3];
+            final int nu2 = neighbors[3 * u + (j + 2) % 3];
+            // u contains edge e2, e1; its vertex after q is e2
+            set(t, p, e1, q, nu1, u, ne2);
+            set(u, q, e2, p, ne1, t, nu2);
+            replaceNeighbor(nu1, u, t);
+            replaceNeighbor(ne1, t, u);
+            pushEdge(3 * t);
+            pushEdge(3 * t + 2);
+            pushEdge(3 * u);
+            pushEdge(3 * u + 2);
+            pushWork(t);
+            pushWork(u);
+        }
+    }
+
+    /**
+     * Returns the index of the vertex of triangle u that is neither e1 nor e2.
+     */
+    private int oppositeIndex(int u, int e1, int e2) {
+        for (int j = 0; j < 2; j++) {
+            final int v = corners[3 * u + j];
+            if (v != e1 && v != e2) return j;
+        }
+        return 2;
+    }
+
+    private void pushEdge(int e) {
+        if (edgeStackSize == edgeStack.length)
+            edgeStack = Arrays.copyOf(edgeStack, 2 * edgeStackSize);
+        edgeStack[edgeStackSize++] = e;
+    }
+
+    private void pushWork(int t) {
+        if (workSize == work.length)
+            work = Arrays.copyOf(work, 2 * workSize);
+        work[workSize++] = t;
+    }
+
+    private void ensureVertexCapacity(int capacity) {
+        if (capacity <= pos.length) return;
+        final int len = Math.max(capacity, 2 * pos.length);
+        pos = Arrays.copyOf(pos, len);
+        xs = Arrays.copyOf(xs, len);
+        ys = Arrays.copyOf(ys, len);
+        next = Arrays.copyOf(next, len);
+        splittable = Arrays.copyOf(splittable, len);
+        segment = Arrays.copyOf(segment, len);
+        ringNext = Arrays.copyOf(ringNext, len);
+    }
+
+    private void ensureTriangleCapacity(int capacity) {
+        if (3 * capacity <= corners.length) return;
+        final int len = Math.max(3 * capacity, 2 * corners.length);
+        corners = Arrays.copyOf(corners, len);
+        neighbors = Arrays.copyOf(neighbors, len);
+        marks = Arrays.copyOf(marks, len / 3);
+    }
+}
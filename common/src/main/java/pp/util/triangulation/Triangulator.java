@@ -0,0 +1,682 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.triangulation;
+
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.SegmentLike;
+import pp.util.SimpleTriangle;
+import pp.util.Triangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static pp.util.Util.getArea;
+
+/**
+ * Triangulates polygons with holes using the same algorithm as {@linkplain Polygon}, i.e., by splitting
+ * them into monotone sub-polygons and triangulating each of these sub-polygons. In contrast to
+ * {@linkplain Polygon}, vertices and half-edges are represented by indexes into primitive arrays, and
+ * the sweep line status is a sorted array of vertex indexes. All arrays are kept and reused by
+ * subsequent triangulations, which makes this class suitable for polygons with tens of thousands of
+ * vertices and for triangulating many polygons.
+ * <p>
+ * The vertices of each point list get consecutive indexes, in reverse order if necessary such that the
+ * polygon lies to the left of its segments. Half-edge i &lt; {@code numVertices} is the segment of the
+ * polygon starting at vertex i. Diagonals are represented by pairs of half-edges with larger indexes.
+ * </p>
+ * <p>
+ * Optionally, the triangulation is turned into the constrained Delaunay triangulation of the polygon, i.e.,
+ * the triangulation that maximizes the minimum angle among all triangulations containing the segments of
+ * the polygon (see {@linkplain #setDelaunay(boolean)}). The Delaunay triangulation can be further refined
+ * by inserting Steiner points within the polygon until no triangle exceeds a maximum area and no angle
+ * is smaller than a minimum angle (see {@linkplain #setRefinement(float, float)}).
+ * </p>
+ * An instance must not be used by several threads concurrently.
+ * {@linkplain #triangulateAll(List, boolean)} uses one instance per thread.
+ */
+public class Triangulator {
+    /**
+     * The outer point list of a polygon together with the point lists of its holes.
+     * The orientation of the point lists does not matter.
+     *
+     * @param outer the points of the outer border
+     * @param holes the point lists of the holes
+     */
+    public record Outline(List<? extends Position> outer, List<? extends List<? extends Position>> holes) {}
+
+    /**
+     * Creates the Steiner points that are inserted when refining a Delaunay triangulation.
+     */
+    @FunctionalInterface
+    public interface PointFactory {
+        /**
+         * Creates the point at the specified coordinates.
+         *
+         * @param x    x-coordinate of the point
+         * @param y    y-coordinate of the point
+         * @param host the triangle that contains the point before it is inserted; its corners are points
+         *             of the polygon or previously created Steiner points
+         * @return the new point
+         */
+        Position create(float x, float y, Triangle host);
+    }
+
+    private static final ThreadLocal<Triangulator> TRIANGULATORS = ThreadLocal.withInitial(Triangulator::new);
+
+    /**
+     * The maximal number of vertices or half-edges for which the per-thread triangulators of
+     * {@linkplain #triangulateAll(List, boolean)} keep their buffers. Larger triangulators are discarded after use.
+     */
+    private static final int MAX_CACHED_CAPACITY = 1 << 16;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // vertices
+    private int numVertices;
+    private Position[] pos = new Position[INITIAL_CAPACITY];
+    private float[] xs = new float[INITIAL_CAPACITY];
+    private float[] ys = new float[INITIAL_CAPACITY];
+    private int[] prevVertex = new int[INITIAL_CAPACITY];
+    private int[] nextVertex = new int[INITIAL_CAPACITY];
+    private VertexType[] types = new VertexType[INITIAL_CAPACITY];
+    /**
+     * The half-edge starting at the helper vertex of the edge starting at each vertex.
+     */
+    private int[] helper = new int[INITIAL_CAPACITY];
+    private boolean[] isLeft = new boolean[INITIAL_CAPACITY];
+
+    // half-edges
+    private int numEdges;
+    private int[] from = new int[INITIAL_CAPACITY];
+    private int[] nextEdge = new int[INITIAL_CAPACITY];
+    private int[] prevEdge = new int[INITIAL_CAPACITY];
+    /**
+     * The twin half-edge, or -1 for segments of the original polygon.
+     */
+    private int[] twin = new int[INITIAL_CAPACITY];
+    private boolean[] visited = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * The vertices sorted from top to bottom and from left to right.
+     */
+    private int[] order = new int[INITIAL_CAPACITY];
+    private int[] sortBuffer = new int[INITIAL_CAPACITY];
+
+    /**
+     * The sweep line status, i.e., the vertices whose outgoing edges are currently intersected by the sweep
+     * line, sorted from left to right.
+     */
+    private int[] status = new int[INITIAL_CAPACITY];
+    private int statusSize;
+
+    /**
+     * The work queue of half-edges when looking for monotone sub-polygons.
+     */
+    private int[] queue = new int[INITIAL_CAPACITY + 1];
+
+    /**
+     * The sorted vertices of the monotone sub-polygon that is being triangulated.
+     */
+    private int[] chain = new int[INITIAL_CAPACITY];
+
+    /**
+     * The stack of vertices when triangulating a monotone sub-polygon.
+     */
+    private int[] stack = new int[INITIAL_CAPACITY];
+    private int stackSize;
+
+    private List<Triangle> triangles;
+
+    private boolean delaunay;
+    private float maxArea;
+    private float minAngle;
+    private PointFactory pointFactory = (x, y, host) -> new FloatPoint(x, y);
+    private BiPredicate<Position, Position> fixedSegments = (p, q) -> false;
+    private ConstrainedDelaunay constrainedDelaunay;
+
+    /**
+     * Sets whether subsequent triangulations are constrained Delaunay triangulations.
+     *
+     * @param delaunay true, if triangulations are constrained Delaunay triangulations
+     * @return this triangulator
+     */
+    public Triangulator setDelaunay(boolean delaunay) {
+        this.delaunay = delaunay;
+        return this;
+    }
+
+    /**
+     * Sets the quality bounds for refining Delaunay triangulations by Ruppert's algorithm. Refinement
+     * inserts Steiner points within the polygon and at the midpoints of its segments, and it stops after
+     * inserting a bounded number of points. Triangles with small angles may therefore remain, in particular
+     * close to small angles of the polygon and to fixed segments (see {@linkplain #setFixedSegments(BiPredicate)}).
+     * Refinement has no effect unless {@linkplain #setDelaunay(boolean)} has been called with true.
+     *
+     * @param maxArea  the maximum area of a triangle, or 0 if the area is not limited
+     * @param minAngle the minimum angle of a triangle in degrees, or 0 if angles are not limited.
+     *                 Angles of more than 30 degrees usually cannot be achieved.
+     * @return this triangulator
+     */
+    public Triangulator setRefinement(float maxArea, float minAngle) {
+        this.maxArea = maxArea;
+        this.minAngle = minAngle;
+        return this;
+    }
+
+    /**
+     * Sets the factory that creates Steiner points when refining Delaunay triangulations. By default,
+     * Steiner points are {@linkplain FloatPoint} instances.
+     *
+     * @param pointFactory the factory creating Steiner points
+     * @return this triangulator
+     */
+    public Triangulator setPointFactory(PointFactory pointFactory) {
+        this.pointFactory = pointFactory;
+        return this;
+    }
+
+    /**
+     * Sets the predicate that tells which segments of the polygon must not be split by Steiner points when
+     * refining Delaunay triangulations. This is necessary for segments that are shared with adjacent
+     * polygons that are triangulated separately. By default, all segments may be split.
+     *
+     * @param fixedSegments returns true for the end points of segments that must not be split
+     * @return this triangulator
+     */
+    public Triangulator setFixedSegments(BiPredicate<Position, Position> fixedSegments) {
+        this.fixedSegments = fixedSegments;
+        return this;
+    }
+
+    /**
+     * Triangulates each of the specified outlines and returns the lists of triangles in the same order.
+     * The outlines are triangulated concurrently if {@code parallel} is true; the result does not
+     * depend on {@code parallel}.
+     *
+     * @param outlines the polygons to be triangulated
+     * @param parallel whether the outlines are triangulated concurrently
+     * @return the list of triangles of each outline
+     */
+    public static List<List<Triangle>> triangulateAll(List<Outline> outlines, boolean parallel) {
+        return triangulateAll(outlines, parallel, TRIANGULATORS);
+    }
+
+    /**
+     * Triangulates each of the specified outlines like {@linkplain #triangulateAll(List, boolean)}, but
+     * using triangulators that are created by the specified supplier, at most one per thread. This
+     * allows for configuring the triangulators, e.g., for constrained Delaunay triangulations.
+     *
+     * @param outlines     the polygons to be triangulated
+     * @param parallel     whether the outlines are triangulated concurrently
+     * @param triangulator creates the triangulators
+     * @return the list of triangles of each outline
+     */
+    public static List<List<Triangle>> triangulateAll(List<Outline> outlines, boolean parallel,
+                                                      Supplier<Triangulator> triangulator) {
+        return triangulateAll(outlines, parallel, ThreadLocal.withInitial(triangulator));
+    }
+
+    private static List<List<Triangle>> triangulateAll(List<Outline> outlines, boolean parallel,
+                                                       ThreadLocal<Triangulator> triangulators) {
+        final IntStream indexes = IntStream.range(0, outlines.size());
+        return (parallel ? indexes.parallel() : indexes)
+                .mapToObj(i -> {
+                    final Triangulator triangulator = triangulators.get();
+                    final List<Triangle> triangles = triangulator.triangulate(outlines.get(i));
+                    // do not keep large buffers alive in the threads of the common pool
+                    if (triangulator.pos.length > MAX_CACHED_CAPACITY || triangulator.from.length > MAX_CACHED_CAPACITY)
+                        triangulators.remove();
+                    return triangles;
+                })
+                .toList();
+    }
+
+    /**
+     * Triangulates the specified outline.
+     *
+     * @param outline the polygon to be triangulated
+     * @return the list of triangles triangulating the polygon
+     */
+    public List<Triangle> triangulate(Outline outline) {
+        return triangulate(outline.outer(), outline.holes());
+    }
+
+    /**
+     * Triangulates the polygon with the specified outer points and holes. It is the caller's responsibility
+     * that the holes completely lie within the polygon and that no holes intersect. The triangles refer to
+     * the specified points.
+     *
+     * @param outer the points of the outer border
+     * @param holes the point lists of the holes
+     * @return the list of triangles triangulating the polygon
+     */
+    public List<Triangle> triangulate(List<? extends Position> outer, List<? extends List<? extends Position>> holes) {
+        numVertices = 0;
+        numEdges = 0;
+        statusSize = 0;
+        add(outer, false);
+        for (List<? extends Position> hole : holes)
+            add(hole, true);
+        Arrays.fill(isLeft, 0, numVertices, false);
+        triangles = new ArrayList<>(numVertices + 2 * holes.size());
+        if (delaunay) {
+            if (constrainedDelaunay == null)
+                constrainedDelaunay = new ConstrainedDelaunay();
+            constrainedDelaunay.reset(numVertices);
+            final boolean refine = maxArea > 0f || minAngle > 0f;
+            for (int v = 0; v < numVertices; v++) {
+                final int next = nextVertex[v];
+                constrainedDelaunay.setVertex(v, pos[v], next, refine && !fixedSegments.test(pos[v], pos[next]));
+            }
+        }
+        // Sort vertices from top to bottom and from left to right
+        for (int i = 0; i < numVertices; i++)
+            order[i] = i;
+        sort(0, numVertices);
+        // Sweep line algorithm for splitting the polygon into monotone sub-polygons by adding diagonals.
+        for (int i = 0; i < numVertices; i++)
+            handleVertex(order[i]);
+        // Finally triangulate each of the monotone sub-polygons
+        triangulateMonotoneSubPolygons();
+        if (delaunay) {
+            constrainedDelaunay.makeDelaunay();
+            constrainedDelaunay.refine(maxArea, minAngle, pointFactory);
+            constrainedDelaunay.collect(triangles);
+        }
+        final List<Triangle> result = triangles;
+        triangles = null;
+        Arrays.fill(pos, 0, numVertices, null);
+        return result;
+    }
+
+    private void add(List<? extends Position> pointList, boolean hole) {
+        final int n = pointList.size();
+        if (n < 3)
+            throw new IllegalArgumentException("list has just " + n + " points");
+        final int base = numVertices;
+        ensureVertexCapacity(base + n);
+        ensureEdgeCapacity(base + n);
+        // the polygon is always to the left of its segments
+        final boolean reverse = (getArea(pointList) >= 0) != hole;
+        for (int j = 0; j < n; j++) {
+            final Position p = pointList.get(reverse ? n - 1 - j : j);
+            final int v = base + j;
+            pos[v] = p;
+            xs[v] = p.getX();
+            ys[v] = p.getY();
+            prevVertex[v] = j == 0 ? base + n - 1 : v - 1;
+            nextVertex[v] = j == n - 1 ? base : v + 1;
+            from[v] = v;
+            nextEdge[v] = nextVertex[v];
+            prevEdge[v] = prevVertex[v];
+            twin[v] = -1;
+            visited[v] = false;
+        }
+        numVertices = numEdges = base + n;
+        for (int v = base; v < numVertices; v++)
+            types[v] = VertexType.type(pos[prevVertex[v]], pos[v], pos[nextVertex[v]]);
+    }
+
+    private void ensureVertexCapacity(int capacity) {
+        if (capacity <= pos.length) return;
+        final int len = Math.max(capacity, 2 * pos.length);
+        pos = Arrays.copyOf(pos, len);
+        xs = Arrays.copyOf(xs, len);
+        ys = Arrays.copyOf(ys, len);
+        prevVertex = Arrays.copyOf(prevVertex, len);
+        nextVertex = Arrays.copyOf(nextVertex, len);
+        types = Arrays.copyOf(types, len);
+        helper = Arrays.copyOf(helper, len);
+        isLeft = Arrays.copyOf(isLeft, len);
+        order = Arrays.copyOf(order, len);
+        sortBuffer = Arrays.copyOf(sortBuffer, len);
+        status = Arrays.copyOf(status, len);
+        chain = Arrays.copyOf(chain, len);
+        stack = Arrays.copyOf(stack, len);
+    }
+
+    private void ensureEdgeCapacity(int capacity) {
+        if (capacity <= from.length) return;
+        final int len = Math.max(capacity, 2 * from.length);
+        from = Arrays.copyOf(from, len);
+        nextEdge = Arrays.copyOf(nextEdge, len);
+        prevEdge = Arrays.copyOf(prevEdge, len);
+        twin = Arrays.copyOf(twin, len);
+        visited = Arrays.copyOf(visited, len);
+        queue = Arrays.copyOf(queue, len + 1);
+    }
+
+    /**
+     * Compares vertices like {@linkplain Vertex#comparePoints(Vertex, Vertex)}.
+     */
+    private int comparePoints(int v1, int v2) {
+        if (v1 == v2) return 0;
+        final int cmpY = Float.compare(ys[v1], ys[v2]);
+        if (cmpY != 0) return cmpY;
+        final int cmpX = Float.compare(xs[v1], xs[v2]);
+        if (cmpX != 0) return cmpX;
+        // if vertices have the same positions, consider a
+        // virtual wall between them
+        return corner(v1).compareTo(corner(v2));
+    }
+
+    private Position corner(int v) {
+        return Vertex.corner(pos[prevVertex[v]], pos[v], pos[nextVertex[v]]);
+    }
+
+    /**
+     * Compares edges and vertices on the sweep line like {@linkplain Vertex#treeCompare(Vertex, Vertex)}.
+     */
+    private int treeCompare(int v1, int v2) {
+        if (v1 == v2) return 0;
+        final int cmpY = Float.compare(ys[v1], ys[v2]);
+        if (cmpY < 0) {
+            // v1 indicates an edge, v2 is a vertex
+            return isRightTurn(v1, v2, nextVertex[v1]) ? -1 : 1;
+        }
+        if (cmpY > 0) {
+            // v2 indicates an edge, v1 is a vertex
+            return isRightTurn(v2, nextVertex[v2], v1) ? -1 : 1;
+        }
+        // we must compare x-coordinates
+        final int cmpX = Float.compare(xs[v1], xs[v2]);
+        if (cmpX != 0) return cmpX;
+        // v1 and v2 have the same position. We must check which of the outgoing
+        // segments is the left and which the right one
+        return Float.compare(dx(v1), dx(v2));
+    }
+
+    private float dx(int v) {
+        return (xs[nextVertex[v]] - xs[v]) / SegmentLike.length(pos[v], pos[nextVertex[v]]);
+    }
+
+    private boolean isRightTurn(int p1, int p2, int p3) {
+        return (xs[p2] - xs[p1]) * (ys[p3] - ys[p1]) > (ys[p2] - ys[p1]) * (xs[p3] - xs[p1]);
+    }
+
+    private boolean onLeftBorder(int v) {
+        final int prev = prevVertex[v];
+        final int c = Float.compare(ys[v], ys[prev]);
+        return (c != 0 ? c : Float.compare(xs[v], xs[prev])) >= 0;
+    }
+
+    /**
+     * Sorts order[lo] to order[hi-1] using a stable merge sort, like {@linkplain List#sort(java.util.Comparator)}.
+     */
+    private void sort(int lo, int hi) {
+        if (hi - lo < 2) return;
+        final int mid = (lo + hi) >>> 1;
+        sort(lo, mid);
+        sort(mid, hi);
+        if (comparePoints(order[mid - 1], order[mid]) <= 0) return;
+        System.arraycopy(order, lo, sortBuffer, lo, hi - lo);
+        int i = lo;
+        int j = mid;
+        for (int k = lo; k < hi; k++)
+            if (j >= hi || i < mid && comparePoints(sortBuffer[i], sortBuffer[j]) <= 0)
+                order[k] = sortBuffer[i++];
+            else
+                order[k] = sortBuffer[j++];
+    }
+
+    private void handleVertex(int v) {
+        switch (types[v]) {
+            case END -> handleEndVertex(v);
+            case SPLIT -> handleSplitVertex(v);
+            case MERGE -> handleMergeVertex(v);
+            case START -> handleStartVertex(v);
+            case REGULAR -> handleRegularVertex(v);
+        }
+    }
+
+    private void handleEndVertex(int v) {
+        final int prev = prevVertex[v];
+        if (types[from[helper[prev]]] == VertexType.MERGE)
+            addDiagonal(v, helper[prev]);
+        removeStatus(prev);
+    }
+
+    private void handleSplitVertex(int v1) {
+        final int v2 = floorStatus(v1);
+        assert v2 >= 0;
+        addDiagonal(v1, helper[v2]);
+        // the half-edge preceding v1's outgoing half-edge is the twin of the half-edge
+        // of the diagonal that has just been added and that points upward
+        helper[v2] = twin[prevEdge[v1]];
+        addStatus(v1);
+        helper[v1] = v1;
+    }
+
+    private void handleMergeVertex(int v) {
+        handleEndVertex(v);
+        redirectHelper(v);
+    }
+
+    private void handleRegularVertex(int v) {
+        if (onLeftBorder(v)) {
+            // interior is on the right of v
+            handleEndVertex(v);
+            handleStartVertex(v);
+        }
+        else
+            redirectHelper(v);
+    }
+
+    private void handleStartVertex(int v) {
+        addStatus(v);
+        helper[v] = v;
+    }
+
+    private void redirectHelper(int v1) {
+        final int v2 = floorStatus(v1);
+        assert v2 >= 0;
+        if (types[from[helper[v2]]] == VertexType.MERGE) {
+            addDiagonal(v1, helper[v2]);
+            helper[v2] = twin[prevEdge[v1]];
+        }
+        else
+            helper[v2] = v1;
+    }
+
+    /**
+     * Returns the index in the sweep line status where the specified vertex is to be inserted.
+     */
+    private int statusPosition(int v) {
+        int lo = 0;
+        int hi = statusSize;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (treeCompare(v, status[mid]) > 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    private void addStatus(int v) {
+        final int i = statusPosition(v);
+        if (i < statusSize && status[i] == v) return;
+        System.arraycopy(status, i, status, i + 1, statusSize - i);
+        status[i] = v;
+        statusSize++;
+    }
+
+    private void removeStatus(int v) {
+        final int i = statusPosition(v);
+        if (i >= statusSize || status[i] != v)
+            throw new IllegalStateException("edge of vertex " + pos[v] + " not found in sweep line status"); //NON-NLS
+        System.arraycopy(status, i + 1, status, i, statusSize - i - 1);
+        statusSize--;
+    }
+
+    /**
+     * Returns the greatest vertex of the sweep line status that is less than or equal to the specified
+     * vertex, or -1 if there is no such vertex.
+     */
+    private int floorStatus(int v) {
+        int lo = 0;
+        int hi = statusSize;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (treeCompare(v, status[mid]) >= 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo > 0 ? status[lo - 1] : -1;
+    }
+
+    /**
+     * Adds a diagonal between the specified vertex and the start vertex of the specified half-edge.
+     */
+    private void addDiagonal(int v, int e) {
+        ensureEdgeCapacity(numEdges + 2);
+        final int up = numEdges++;
+        final int down = numEdges++;
+        from[up] = v;
+        from[down] = from[e];
+        twin[up] = down;
+        twin[down] = up;
+        visited[up] = visited[down] = false;
+        prevEdge[up] = prevEdge[v];
+        nextEdge[up] = e;
+        prevEdge[down] = prevEdge[e];
+        nextEdge[down] = v;
+        prevEdge[nextEdge[up]] = up;
+        nextEdge[prevEdge[up]] = up;
+        prevEdge[nextEdge[down]] = down;
+        nextEdge[prevEdge[down]] = down;
+    }
+
+    /**
+     * Looks for all monotone sub-polygons and triangulates each.
+     */
+    private void triangulateMonotoneSubPolygons() {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = order[0];
+        while (head < tail) {
+            final int edge = queue[head++];
+            if (!visited[edge]) {
+                for (int e = edge; !visited[e]; e = nextEdge[e]) {
+                    visited[e] = true;
+                    if (twin[e] >= 0 && !visited[twin[e]])
+                        queue[tail++] = twin[e];
+                }
+                triangulate(edge);
+            }
+        }
+    }
+
+    /**
+     * Triangulates the monotone sub-polygon that has the specified half-edge on its border.
+     */
+    private void triangulate(int e) {
+        final int n = sortMonotonePolygon(topmostVertex(e));
+        stackSize = 0;
+        stack[stackSize++] = chain[0];
+        stack[stackSize++] = chain[1];
+        for (int i = 2; i < n; i++) {
+            final int cur = chain[i];
+            if (i < n - 1 && isLeft[cur] == isLeft[stack[stackSize - 1]])
+                sameChains(cur);
+            else
+                oppositeChains(cur);
+        }
+    }
+
+    /**
+     * Returns the half-edge that starts at the top-most vertex of the monotone sub-polygon that
+     * has the specified half-edge on its border.
+     */
+    private int topmostVertex(int edge) {
+        while (comparePoints(from[nextEdge[edge]], from[edge]) < 0)
+            edge = nextEdge[edge];
+        while (comparePoints(from[prevEdge[edge]], from[edge]) < 0)
+            edge = prevEdge[edge];
+        return edge;
+    }
+
+    /**
+     * Stores the sorted list (from top to bottom and then from left to right) of the vertices of the
+     * monotone sub-polygon whose top-most vertex is the start vertex of the specified half-edge in
+     * {@linkplain #chain} and returns the number of these vertices.
+     */
+    private int sortMonotonePolygon(int min) {
+        int n = 0;
+        chain[n++] = from[min];
+        int left = nextEdge[min];
+        int right = prevEdge[min];
+        while (from[left] != from[right]) {
+            final int c = comparePoints(from[left], from[right]);
+            assert c != 0;
+            if (c < 0) {
+                isLeft[from[left]] = true;
+                chain[n++] = from[left];
+                left = nextEdge[left];
+            }
+            else {
+                isLeft[from[right]] = false;
+                chain[n++] = from[right];
+                right = prevEdge[right];
+            }
+        }
+        chain[n++] = from[left];
+        return n;
+    }
+
+    /**
+     * The specified vertex is in the same chain as the top of the stack.
+     */
+    private void sameChains(int cur) {
+        int v = stack[--stackSize];
+        if (isLeft[v])
+            while (stackSize > 0 && isRightTurn(cur, v, stack[stackSize - 1])) {
+                addRightTriangle(cur, v, stack[stackSize - 1]);
+                v = stack[--stackSize];
+            }
+        else
+            while (stackSize > 0 && isRightTurn(cur, stack[stackSize - 1], v)) {
+                addRightTriangle(cur, stack[stackSize - 1], v);
+                v = stack[--stackSize];
+            }
+        stack[stackSize++] = v;
+        stack[stackSize++] = cur;
+    }
+
+    /**
+     * The specified vertex is not in the same chain as the top of the stack.
+     */
+    private void oppositeChains(int cur) {
+        final int top = stack[--stackSize];
+        for (int v = top; stackSize > 0; v = stack[--stackSize])
+            addTriangle(cur, v, stack[stackSize - 1]);
+        stack[stackSize++] = top;
+        stack[stackSize++] = cur;
+    }
+
+    private void addTriangle(int p1, int p2, int p3) {
+        if (isRightTurn(p1, p2, p3))
+            addRightTriangle(p1, p2, p3);
+        else
+            addRightTriangle(p1, p3, p2);
+    }
+
+    private void addRightTriangle(int p1, int p2, int p3) {
+        if (delaunay)
+            constrainedDelaunay.addTriangle(p1, p2, p3);
+        else
+            triangles.add(new SimpleTriangle(pos[p1], pos[p2], pos[p3]));
+    }
+}
@@ -79,10 +79,19 @@ class Vertex implements Position {
      * from the polygon border.
      */
     Position corner() {
+        return corner(prev, this, next);
+    }
+
+    /**
+     * Computes the corner of a virtual wall inside the polygon at the second of the specified
+     * consecutive polygon points, i.e., to the left of the border, with distance 1 from the
+     * polygon border.
+     */
+    static Position corner(Position prev, Position pos, Position next) {
         final float x1 = prev.getX();
         final float y1 = prev.getY();
-        final float x2 = getX();
-        final float y2 = getY();
+        final float x2 = pos.getX();
+        final float y2 = pos.getY();
         final float x3 = next.getX();
         final float y3 = next.getY();
         final float dx1 = x2 - x1;
@@ -0,0 +1,120 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.util.FloatMath.sqr;
+
+/**
+ * Compares the queries of {@linkplain SegmentIndex} with a linear scan of all segments.
+ */
+public class SegmentIndexTest {
+    private static final float SIZE = 100f;
+    private static final int NUM_QUERIES = 500;
+
+    private final Random random = new Random(42);
+    private final List<Segment> segments = makeSegments(1000);
+    private final SegmentIndex<Segment> index = new SegmentIndex<>(segments);
+
+    private List<Segment> makeSegments(int n) {
+        final List<Segment> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            final FloatPoint from = randomPoint();
+            final FloatPoint to = new FloatPoint(from.getX() + 5f * (random.nextFloat() - 0.5f),
+                                                 from.getY() + 5f * (random.nextFloat() - 0.5f));
+            list.add(new Segment(from, to));
+        }
+        return list;
+    }
+
+    private FloatPoint randomPoint() {
+        return new FloatPoint(SIZE * random.nextFloat(), SIZE * random.nextFloat());
+    }
+
+    @Test
+    public void emptyIndex() {
+        final SegmentIndex<Segment> empty = new SegmentIndex<>(List.of());
+        assertFalse(empty.anyWithin(0f, 0f, 10f));
+        assertNull(empty.nearest(0f, 0f));
+        assertTrue(Float.isNaN(empty.firstHit(0f, 0f, 1f, 0f, Segment::length)));
+    }
+
+    @Test
+    public void containsAllSegments() {
+        assertEquals(segments.size(), index.size());
+        assertEquals(new HashSet<>(segments), new HashSet<>(index.getSegments()));
+    }
+
+    @Test
+    public void segmentsWithin() {
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            final FloatPoint p = randomPoint();
+            final float radius = 3f * random.nextFloat();
+            final List<Segment> expected = segments.stream().filter(s -> s.distanceTo(p) <= radius).toList();
+            assertEquals(new HashSet<>(expected), new HashSet<>(index.segmentsWithin(p.getX(), p.getY(), radius)));
+            assertEquals(!expected.isEmpty(), index.anyWithin(p.getX(), p.getY(), radius));
+        }
+    }
+
+    @Test
+    public void segmentsWithinSegment() {
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            final FloatPoint from = randomPoint();
+            final Segment seg = new Segment(from, new FloatPoint(from.getX() + 2f, from.getY() - 1f));
+            final float distance = random.nextFloat();
+            final boolean expected = segments.stream().anyMatch(s -> seg.minDistanceSquared(s) <= sqr(distance));
+            assertEquals(expected, index.anyWithin(seg, distance));
+        }
+    }
+
+    @Test
+    public void nearest() {
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            final FloatPoint p = randomPoint();
+            final float expected = segments.stream().map(s -> s.distanceTo(p)).min(Float::compare).orElseThrow();
+            assertEquals(expected, index.nearest(p.getX(), p.getY()).distanceTo(p), 0f);
+        }
+    }
+
+    @Test
+    public void firstHit() {
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            final FloatPoint p = randomPoint();
+            final float dx = random.nextFloat() - 0.5f;
+            final float dy = random.nextFloat() - 0.5f;
+            final SegmentIndex.HitFunction<SegmentLike> hit = s -> hitDistance(s, p, dx, dy);
+            float expected = Float.NaN;
+            for (Segment s : segments) {
+                final float d = hit.distance(s);
+                if (Float.isNaN(expected) || d < expected)
+                    expected = d;
+            }
+            assertEquals(expected, index.firstHit(p.getX(), p.getY(), dx, dy, hit), 0f);
+        }
+    }
+
+    private static float hitDistance(SegmentLike segment, Position start, float dx, float dy) {
+        final float q = segment.quotient(start, dx, dy);
+        if (Float.isNaN(q) || q < 0f || q > 1f)
+            return Float.NaN;
+        final Position p = segment.pointAt(q);
+        if ((p.getX() - start.getX()) * dx + (p.getY() - start.getY()) * dy < 0f)
+            return Float.NaN;
+        return p.distanceTo(start);
+    }
+}
@@ -9,7 +9,10 @@ package pp.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static pp.util.FloatMath.FLT_EPSILON;
 import static pp.util.FloatMath.PI;
 import static pp.util.FloatMath.ZERO_TOLERANCE;
@@ -198,4 +201,56 @@ public class SegmentTest {
             assertEquals(dist, s2.minDistanceSquared(s1), ZERO_TOLERANCE, "x = " + x);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void closestPoint() {
+        assertEquals(new FloatPoint(1f, 0f), segment1.closestPoint(0f, 0f));
+        assertEquals(new FloatPoint(1f, 1f), segment1.closestPoint(3f, 4f));
+        assertEquals(new FloatPoint(1f, -1f), segment1.closestPoint(0f, -2f));
+    }
+
+    @Test
+    public void sweepPoint() {
+        final FloatPoint from = new FloatPoint(-3f, 0f);
+        final FloatPoint to = new FloatPoint(1f, 0f);
+        assertEquals(0.5f, SegmentLike.sweep(from, to, ZERO, 1f), FLT_EPSILON);
+        assertEquals(0f, SegmentLike.sweep(from, to, new FloatPoint(-3f, 0.5f), 1f), FLT_EPSILON);
+        assertEquals(Float.NaN, SegmentLike.sweep(from, to, new FloatPoint(0f, 2f), 1f));
+        assertEquals(Float.NaN, SegmentLike.sweep(to, from, new FloatPoint(3f, 0f), 1f));
+        assertEquals(Float.NaN, SegmentLike.sweep(from, to, new FloatPoint(3f, 0f), 1f));
+    }
+
+    @Test
+    public void sweepSegment() {
+        // moving towards the interior
+        assertEquals(0.25f, segment3.sweep(ZERO, new FloatPoint(4f, 0f), 1f), FLT_EPSILON);
+        // moving towards an end point
+        assertEquals(0.5f, segment1.sweep(new FloatPoint(1f, 4f), new FloatPoint(1f, 0f), 1f), FLT_EPSILON);
+        // moving in parallel
+        assertEquals(Float.NaN, segment1.sweep(new FloatPoint(-1f, -2f), new FloatPoint(-1f, 2f), 1f));
+        // starting with contact
+        assertEquals(0f, segment1.sweep(new FloatPoint(0.5f, 0f), new FloatPoint(-1f, 0f), 1f));
+    }
+
+    @Test
+    public void sweepSegmentRandom() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 1000; i++) {
+            final Segment segment = new Segment(new FloatPoint(4f * random.nextFloat(), 4f * random.nextFloat()),
+                                                new FloatPoint(4f * random.nextFloat(), 4f * random.nextFloat()));
+            final Segment move = new Segment(new FloatPoint(4f * random.nextFloat(), 4f * random.nextFloat()),
+                                             new FloatPoint(4f * random.nextFloat(), 4f * random.nextFloat()));
+            final float radius = random.nextFloat();
+            final float t = segment.sweep(move.from(), move.to(), radius);
+            if (Float.isNaN(t)) {
+                assertTrue(move.minDistanceSquared(segment) > sqr(radius) - ZERO_TOLERANCE, "move " + i);
+                continue;
+            }
+            assertTrue(t >= 0f && t <= 1f, "move " + i);
+            assertTrue(segment.distanceTo(move.pointAt(t)) <= radius + ZERO_TOLERANCE, "move " + i);
+            // the circle does not touch the segment before
+            for (float s = 0f; s < t - ZERO_TOLERANCE; s += 0.01f)
+                assertTrue(segment.distanceTo(move.pointAt(s)) > radius - ZERO_TOLERANCE, "move " + i);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util;
+
+import org.junit.jupiter.api.Test;
+import pp.util.triangulation.Polygon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static pp.util.FloatPoint.p;
+
+/**
+ * Compares {@linkplain TriangleLocator} with a linear scan of all triangles.
+ */
+public class TriangleLocatorTest {
+    private static final float EPS = 1e-6f;
+    private static final int NUM_QUERIES = 2000;
+
+    private final Random random = new Random(17);
+
+    /**
+     * Returns the triangles of a spiral-shaped polygon with a hole.
+     */
+    private static List<Triangle> makeTriangles() {
+        final List<Position> outer = new ArrayList<>();
+        final List<Position> inner = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            final float angle = FloatMath.TWO_PI * i / 60f;
+            final float r = 10f + 0.1f * i;
+            outer.add(p(r * FloatMath.cos(angle), r * FloatMath.sin(angle)));
+            inner.add(0, p(3f * FloatMath.cos(angle), 3f * FloatMath.sin(angle)));
+        }
+        final Polygon polygon = new Polygon(outer);
+        polygon.addHole(inner);
+        return polygon.triangulate();
+    }
+
+    private static Triangle linearScan(List<Triangle> triangles, float x, float y) {
+        for (Triangle t : triangles)
+            if (t.contains(x, y, EPS))
+                return t;
+        return null;
+    }
+
+    @Test
+    public void emptyLocator() {
+        assertNull(new TriangleLocator<>(List.of(), EPS).locate(0f, 0f));
+    }
+
+    @Test
+    public void sameAsLinearScan() {
+        final List<Triangle> triangles = makeTriangles();
+        final TriangleLocator<Triangle> locator = new TriangleLocator<>(triangles, EPS);
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            final float x = 40f * random.nextFloat() - 20f;
+            final float y = 40f * random.nextFloat() - 20f;
+            assertSame(linearScan(triangles, x, y), locator.locate(x, y));
+        }
+        // vertices of the triangles lie on several triangles
+        for (Triangle t : triangles)
+            for (Position p : List.of(t.a(), t.b(), t.c()))
+                assertSame(linearScan(triangles, p.getX(), p.getY()), locator.locate(p.getX(), p.getY()));
+    }
+
+    @Test
+    public void hint() {
+        final List<Triangle> triangles = makeTriangles();
+        final TriangleLocator<Triangle> locator = new TriangleLocator<>(triangles, EPS);
+        final Triangle t = triangles.get(triangles.size() / 2);
+        final float x = (t.a().getX() + t.b().getX() + t.c().getX()) / 3f;
+        final float y = (t.a().getY() + t.b().getY() + t.c().getY()) / 3f;
+        assertSame(t, locator.locate(x, y, t));
+        assertSame(t, locator.locate(x, y, triangles.get(0)));
+        assertNull(locator.locate(100f, 100f, t));
+    }
+}
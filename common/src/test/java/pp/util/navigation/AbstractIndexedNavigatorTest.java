@@ -0,0 +1,213 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.navigation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AbstractIndexedNavigatorTest {
+    private static final int[] DX = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final int[] DY = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    /**
+     * A grid with blocked cells where moves in all 8 directions are allowed.
+     */
+    private record Grid(int width, int height, boolean[] blocked) {
+        static Grid random(int width, int height, float density, long seed) {
+            final Random random = new Random(seed);
+            final boolean[] blocked = new boolean[width * height];
+            for (int i = 0; i < blocked.length; i++)
+                blocked[i] = random.nextFloat() < density;
+            blocked[0] = blocked[blocked.length - 1] = false;
+            return new Grid(width, height, blocked);
+        }
+
+        boolean free(int x, int y) {
+            return x >= 0 && y >= 0 && x < width && y < height && !blocked[y * width + x];
+        }
+
+        float distance(int from, int to) {
+            final int dx = to % width - from % width;
+            final int dy = to / width - from / width;
+            return (float) Math.sqrt(dx * dx + dy * dy);
+        }
+
+        float length(int[] path) {
+            float len = 0f;
+            for (int i = 1; i < path.length; i++)
+                len += distance(path[i - 1], path[i]);
+            return len;
+        }
+    }
+
+    private static class IndexedGridNavigator extends AbstractIndexedNavigator {
+        private final Grid grid;
+        private final int target;
+
+        IndexedGridNavigator(Grid grid, int target) {
+            super(DX.length);
+            this.grid = grid;
+            this.target = target;
+        }
+
+        @Override
+        protected int getNumPositions() {
+            return grid.width * grid.height;
+        }
+
+        @Override
+        protected boolean isTargetPosition(int pos) {
+            return pos == target;
+        }
+
+        @Override
+        protected int reachablePositions(int pos, int[] reachable) {
+            int num = 0;
+            final int x = pos % grid.width;
+            final int y = pos / grid.width;
+            for (int dir = 0; dir < DX.length; dir++)
+                if (grid.free(x + DX[dir], y + DY[dir]))
+                    reachable[num++] = (y + DY[dir]) * grid.width + x + DX[dir];
+            return num;
+        }
+
+        @Override
+        protected float costsForStep(int prevPos, int nextPos) {
+            return prevPos == NONE ? 0f : grid.distance(prevPos, nextPos);
+        }
+
+        @Override
+        protected float estimateCostsToTarget(int pos) {
+            return grid.distance(pos, target);
+        }
+    }
+
+    private static class GridNavigator extends AbstractNavigator<Integer> {
+        private final Grid grid;
+        private final int target;
+
+        GridNavigator(Grid grid, int target) {
+            this.grid = grid;
+            this.target = target;
+        }
+
+        @Override
+        protected boolean isTargetPosition(Integer pos) {
+            return pos == target;
+        }
+
+        @Override
+        protected Collection<Integer> reachablePositions(Integer pos) {
+            final int[] reachable = new int[DX.length];
+            final int num = new IndexedGridNavigator(grid, target).reachablePositions(pos, reachable);
+            final List<Integer> list = new ArrayList<>(num);
+            for (int i = 0; i < num; i++)
+                list.add(reachable[i]);
+            return list;
+        }
+
+        @Override
+        protected float costsForStep(Integer prevPos, Integer nextPos) {
+            return prevPos == null ? 0f : grid.distance(prevPos, nextPos);
+        }
+
+        @Override
+        protected float estimateCostsToTarget(Integer pos) {
+            return grid.distance(pos, target);
+        }
+    }
+
+    @Test
+    public void straightPath() {
+        final Grid grid = new Grid(5, 3, new boolean[15]);
+        assertArrayEquals(new int[]{5, 6, 7, 8, 9}, new IndexedGridNavigator(grid, 9).findPathFrom(5));
+    }
+
+    @Test
+    public void noPath() {
+        final boolean[] blocked = new boolean[15];
+        blocked[2] = blocked[7] = blocked[12] = true;
+        final Grid grid = new Grid(5, 3, blocked);
+        assertEquals(0, new IndexedGridNavigator(grid, 9).findPathFrom(5).length);
+    }
+
+    @Test
+    public void startIsTarget() {
+        final Grid grid = new Grid(5, 3, new boolean[15]);
+        assertArrayEquals(new int[]{7}, new IndexedGridNavigator(grid, 7).findPathFrom(7));
+    }
+
+    @Test
+    public void sameCostsAsAbstractNavigator() {
+        // grids of different sizes make subsequent searches reuse and grow the arrays
+        for (int i = 0; i < 20; i++) {
+            final int size = 10 + 7 * i;
+            final Grid grid = Grid.random(size, size / 2 + 3, 0.3f, i);
+            final int target = grid.width * grid.height - 1;
+            final int[] path = new IndexedGridNavigator(grid, target).findPathFrom(0);
+            final List<Integer> expected = new GridNavigator(grid, target).findPathFrom(0);
+            assertEquals(expected.isEmpty(), path.length == 0, "grid " + i);
+            if (path.length > 0) {
+                assertEquals(0, path[0]);
+                assertEquals(target, path[path.length - 1]);
+                for (int k = 1; k < path.length; k++)
+                    assertTrue(grid.distance(path[k - 1], path[k]) < 1.5f, "grid " + i);
+                final int[] expectedPath = expected.stream().mapToInt(Integer::intValue).toArray();
+                assertEquals(grid.length(expectedPath), grid.length(path), 1e-3f, "grid " + i);
+            }
+        }
+    }
+
+    @Test
+    public void marksAreResetForEachSearch() {
+        final Grid grid = Grid.random(20, 10, 0.2f, 7);
+        final int target = grid.width * grid.height - 1;
+        final int[] marked = new int[1];
+        for (int i = 0; i < 3; i++) {
+            marked[0] = 0;
+            new IndexedGridNavigator(grid, target) {
+                @Override
+                protected int reachablePositions(int pos, int[] reachable) {
+                    // each position is expanded once per search
+                    assertEquals(0, getMark(pos));
+                    setMark(pos, (byte) 1);
+                    marked[0]++;
+                    return super.reachablePositions(pos, reachable);
+                }
+            }.findPathFrom(0);
+            assertTrue(marked[0] > 0);
+        }
+    }
+
+    @Test
+    public void nestedSearch() {
+        final Grid grid = Grid.random(30, 20, 0.25f, 42);
+        final int target = grid.width * grid.height - 1;
+        final int[] expected = new IndexedGridNavigator(grid, target).findPathFrom(0);
+        // a search that starts further searches while it is running must not share its arrays with them
+        final int[][] inner = new int[1][];
+        final int[] outer = new IndexedGridNavigator(grid, target) {
+            @Override
+            protected float estimateCostsToTarget(int pos) {
+                if (inner[0] == null)
+                    inner[0] = new IndexedGridNavigator(grid, target).findPathFrom(0);
+                return super.estimateCostsToTarget(pos);
+            }
+        }.findPathFrom(0);
+        assertArrayEquals(expected, outer);
+        assertArrayEquals(expected, inner[0]);
+    }
+}
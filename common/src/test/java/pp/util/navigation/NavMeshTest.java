@@ -0,0 +1,116 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.navigation;
+
+import org.junit.jupiter.api.Test;
+import pp.util.FloatMath;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.SimpleTriangle;
+import pp.util.Triangle;
+import pp.util.triangulation.Polygon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.util.FloatPoint.p;
+import static pp.util.navigation.Util.U_SHAPE;
+import static pp.util.navigation.Util.assertClearance;
+import static pp.util.navigation.Util.length;
+import static pp.util.navigation.Util.ring;
+
+public class NavMeshTest {
+    private static final float EPS = 1e-4f;
+
+    private static NavMesh<Triangle> makeMesh(List<Position> outer) {
+        return new NavMesh<>(new Polygon(outer).triangulate());
+    }
+
+    private static Triangle locate(NavMesh<Triangle> mesh, Position p) {
+        for (Triangle t : mesh.getTriangles())
+            if (t.contains(p, EPS))
+                return t;
+        throw new IllegalArgumentException(p + " is not in the mesh");
+    }
+
+    private static List<Position> findPath(NavMesh<Triangle> mesh, Position from, Position to, float radius) {
+        return mesh.findPath(from, locate(mesh, from), to, locate(mesh, to), radius);
+    }
+
+    @Test
+    public void straightLineInConvexPolygon() {
+        final NavMesh<Triangle> mesh = makeMesh(List.of(p(0f, 0f), p(10f, 0f), p(12f, 5f), p(10f, 10f), p(0f, 10f)));
+        final Position from = p(1f, 1f);
+        final Position to = p(11f, 5f);
+        assertEquals(List.of(from, to), findPath(mesh, from, to, 0.5f));
+    }
+
+    @Test
+    public void aroundCorners() {
+        final NavMesh<Triangle> mesh = makeMesh(U_SHAPE);
+        final Position from = p(1.5f, 8f);
+        final Position to = p(7.5f, 8f);
+        final List<Position> path = findPath(mesh, from, to, 0f);
+        assertEquals(List.of(from, p(3f, 3f), p(6f, 3f), to), path);
+
+        // a wider item keeps away from the corners and needs a longer path
+        final List<Position> widePath = findPath(mesh, from, to, 0.5f);
+        assertEquals(from, widePath.get(0));
+        assertEquals(to, widePath.get(widePath.size() - 1));
+        assertTrue(length(widePath) > length(path));
+        assertClearance(widePath, ring(U_SHAPE), 0.5f - EPS);
+    }
+
+    @Test
+    public void narrowPortal() {
+        // two triangles sharing a portal of length 1
+        final List<Triangle> triangles = List.of(new SimpleTriangle(p(0f, 0f), p(5f, 0f), p(5f, 1f)),
+                                                 new SimpleTriangle(p(5f, 1f), p(5f, 0f), p(10f, 0.5f)));
+        final NavMesh<Triangle> mesh = new NavMesh<>(triangles);
+        final Position from = p(3f, 0.5f);
+        final Position to = p(8f, 0.5f);
+        assertEquals(List.of(from, to), findPath(mesh, from, to, 0.4f));
+        assertTrue(findPath(mesh, from, to, 0.6f).isEmpty());
+    }
+
+    @Test
+    public void unknownTriangle() {
+        final NavMesh<Triangle> mesh = makeMesh(U_SHAPE);
+        final Triangle other = new SimpleTriangle(p(0f, 0f), p(1f, 0f), p(0f, 1f));
+        final Position from = p(0.2f, 0.2f);
+        assertTrue(mesh.findPath(from, other, from, locate(mesh, from), 0f).isEmpty());
+    }
+
+    @Test
+    public void spiral() {
+        // a spiral corridor of width 1 that winds around the origin
+        final List<Position> outer = new ArrayList<>();
+        final List<Position> inner = new ArrayList<>();
+        for (int i = 0; i <= 50; i++) {
+            final float angle = 4f * FloatMath.PI * i / 50f;
+            final float r = 2f + 0.5f * angle;
+            outer.add(p((r + 0.5f) * FloatMath.cos(angle), (r + 0.5f) * FloatMath.sin(angle)));
+            inner.add(0, p((r - 0.5f) * FloatMath.cos(angle), (r - 0.5f) * FloatMath.sin(angle)));
+        }
+        final List<Position> polygon = new ArrayList<>(outer);
+        polygon.addAll(inner);
+        final NavMesh<Triangle> mesh = makeMesh(polygon);
+        final Position from = p(2f, 0.2f);
+        final Position to = new FloatPoint((2f + 2f * FloatMath.PI) * FloatMath.cos(-0.1f),
+                                           (2f + 2f * FloatMath.PI) * FloatMath.sin(-0.1f));
+        final List<Position> path = findPath(mesh, from, to, 0.2f);
+        assertEquals(from, path.get(0));
+        assertEquals(to, path.get(path.size() - 1));
+        // the path does not touch the walls, but it may cut the curved inner wall
+        assertClearance(path, ring(polygon), 0.01f);
+        // the path cannot be much longer than the center line of the corridor
+        assertTrue(length(path) < 4f * FloatMath.PI * (2f + FloatMath.PI), "path length " + length(path));
+    }
+}
@@ -0,0 +1,58 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.navigation;
+
+import pp.util.Position;
+import pp.util.Segment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.util.FloatPoint.p;
+
+/**
+ * Provides utility methods for testing.
+ */
+class Util {
+    private Util() { /* don't instantiate */ }
+
+    /**
+     * A U-shaped polygon with its opening at the top, in counterclockwise order.
+     */
+    static final List<Position> U_SHAPE = List.of(p(0f, 0f), p(9f, 0f), p(9f, 9f), p(6f, 9f),
+                                                  p(6f, 3f), p(3f, 3f), p(3f, 9f), p(0f, 9f));
+
+    /**
+     * Returns the segments of the closed ring through the specified points.
+     */
+    static List<Segment> ring(List<Position> points) {
+        final List<Segment> segments = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++)
+            segments.add(new Segment(points.get(i), points.get((i + 1) % points.size())));
+        return segments;
+    }
+
+    static float length(List<Position> path) {
+        float len = 0f;
+        for (int i = 1; i < path.size(); i++)
+            len += path.get(i - 1).distanceTo(path.get(i));
+        return len;
+    }
+
+    /**
+     * Checks that no segment of the specified path is closer to any of the specified walls than the clearance.
+     */
+    static void assertClearance(List<Position> path, List<Segment> walls, float clearance) {
+        for (int i = 1; i < path.size(); i++) {
+            final Segment s = new Segment(path.get(i - 1), path.get(i));
+            for (Segment w : walls)
+                assertTrue(s.minDistanceSquared(w) >= clearance * clearance, s + " too close to " + w);
+        }
+    }
+}
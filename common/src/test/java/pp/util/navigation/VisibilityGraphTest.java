@@ -0,0 +1,140 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.navigation;
+
+import org.junit.jupiter.api.Test;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.Segment;
+import pp.util.planar.Face;
+import pp.util.planar.PlanarMap;
+import pp.util.planar.Vertex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.util.FloatPoint.p;
+import static pp.util.navigation.Util.U_SHAPE;
+import static pp.util.navigation.Util.assertClearance;
+import static pp.util.navigation.Util.length;
+import static pp.util.navigation.Util.ring;
+
+public class VisibilityGraphTest {
+    private static final float EPS = 1e-3f;
+    private static final float RADIUS = 0.5f;
+
+    private static List<Vertex> vertices(String prefix, Position... points) {
+        final List<Vertex> list = new ArrayList<>();
+        for (Position p : points)
+            list.add(new Vertex(prefix + list.size(), p));
+        return list;
+    }
+
+    /**
+     * A square room with a square pillar in the middle.
+     */
+    private static VisibilityGraph roomWithPillar(float radius) {
+        final PlanarMap map = new PlanarMap();
+        final Face room = map.addPolygon(vertices("r", p(0f, 0f), p(10f, 0f), p(10f, 10f), p(0f, 10f)), //NON-NLS
+                                         map.getOuter(), "room"); //NON-NLS
+        map.addPolygon(vertices("p", p(4f, 4f), p(6f, 4f), p(6f, 6f), p(4f, 6f)), room, "pillar"); //NON-NLS
+        return VisibilityGraph.of(map, f -> f == room, radius);
+    }
+
+    @Test
+    public void straightLine() {
+        final VisibilityGraph graph = new VisibilityGraph(ring(U_SHAPE), RADIUS);
+        final Position from = p(1f, 1f);
+        final Position to = p(8f, 1f);
+        assertEquals(List.of(from, to), graph.findPath(from, to));
+    }
+
+    @Test
+    public void aroundTheNotch() {
+        final VisibilityGraph graph = new VisibilityGraph(ring(U_SHAPE), RADIUS);
+        assertEquals(2, graph.getNumNodes());
+        final Position from = p(1.5f, 8f);
+        final Position to = p(7.5f, 8f);
+        final List<Position> path = graph.findPath(from, to);
+        assertEquals(4, path.size());
+        final float d = RADIUS + 0.001f;
+        final Position left = p(3f - d, 3f - d);
+        final Position right = p(6f + d, 3f - d);
+        assertEquals(left.getX(), path.get(1).getX(), EPS);
+        assertEquals(left.getY(), path.get(1).getY(), EPS);
+        assertEquals(right.getX(), path.get(2).getX(), EPS);
+        assertEquals(right.getY(), path.get(2).getY(), EPS);
+        assertEquals(from.distanceTo(left) + left.distanceTo(right) + right.distanceTo(to), length(path), EPS);
+        assertClearance(path, ring(U_SHAPE), RADIUS);
+    }
+
+    @Test
+    public void aroundPillar() {
+        final VisibilityGraph graph = roomWithPillar(RADIUS);
+        // only the corners of the pillar are reflex corners of the free space
+        assertEquals(4, graph.getNumNodes());
+        // the pillar corners are connected along the sides of the pillar only
+        assertEquals(4, graph.getNumEdges());
+        final Position from = p(1f, 5f);
+        final Position to = p(9f, 5f);
+        final List<Position> path = graph.findPath(from, to);
+        final float d = RADIUS + 0.001f;
+        final Position corner = p(4f - d, 6f + d);
+        assertEquals(2f * from.distanceTo(corner) + 2f + 2f * d, length(path), EPS);
+        // the target is within the pillar
+        assertTrue(graph.findPath(from, p(5f, 5f)).isEmpty());
+    }
+
+    @Test
+    public void tooNarrow() {
+        // the pillar leaves passages of width 4 only
+        final VisibilityGraph graph = roomWithPillar(2.1f);
+        assertTrue(graph.findPath(p(2.15f, 5f), p(7.85f, 5f)).isEmpty());
+    }
+
+    @Test
+    public void openWall() {
+        // a single wall from (5, 2) to (5, 8) in a room of size 10
+        final List<Segment> walls = new ArrayList<>(ring(List.of(p(0f, 0f), p(10f, 0f), p(10f, 10f), p(0f, 10f))));
+        walls.add(new Segment(p(5f, 2f), p(5f, 8f)));
+        final VisibilityGraph graph = new VisibilityGraph(walls, RADIUS);
+        assertEquals(4, graph.getNumNodes());
+        final List<Position> path = graph.findPath(p(2f, 6f), p(8f, 6f));
+        assertEquals(4, path.size());
+        assertTrue(path.get(1).getY() > 8f);
+        assertClearance(path, walls, RADIUS);
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        final VisibilityGraph graph = new VisibilityGraph(ring(U_SHAPE), RADIUS);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        graph.write(new DataOutputStream(bytes));
+        final VisibilityGraph copy = VisibilityGraph.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                                                          ring(U_SHAPE), RADIUS);
+        final Position from = p(1.5f, 8f);
+        final Position to = p(7.5f, 8f);
+        assertEquals(graph.findPath(from, to), copy.findPath(from, to));
+        assertEquals(graph.getNumEdges(), copy.getNumEdges());
+        // the graph does not fit other walls or another radius
+        assertNull(VisibilityGraph.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                                        ring(U_SHAPE), 2f * RADIUS));
+        final List<Position> moved = new ArrayList<>(U_SHAPE);
+        moved.set(4, new FloatPoint(6f, 4f));
+        assertNull(VisibilityGraph.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                                        ring(moved), RADIUS));
+    }
+}
@@ -0,0 +1,125 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.planar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class EdgeGridTest {
+    private static final int HOLES = 8;
+
+    /**
+     * A square that contains a grid of square holes, each of them split by a diagonal.
+     */
+    private final PlanarMap map = new PlanarMap();
+    private final Face square = map.addPolygon(List.of(new Vertex("o1", 0f, 0f), //NON-NLS
+                                                       new Vertex("o2", HOLES, 0f), //NON-NLS
+                                                       new Vertex("o3", HOLES, HOLES), //NON-NLS
+                                                       new Vertex("o4", 0f, HOLES)), //NON-NLS
+                                               map.getOuter(), "square"); //NON-NLS
+
+    public EdgeGridTest() {
+        for (int i = 0; i < HOLES; i++)
+            for (int j = 0; j < HOLES; j++) {
+                final String id = i + "/" + j;
+                final Vertex a = new Vertex("a" + id, i + 0.25f, j + 0.25f); //NON-NLS
+                final Vertex c = new Vertex("c" + id, i + 0.75f, j + 0.75f); //NON-NLS
+                map.addPolygon(List.of(a,
+                                       new Vertex("b" + id, i + 0.25f, j + 0.75f), //NON-NLS
+                                       c,
+                                       new Vertex("d" + id, i + 0.75f, j + 0.25f)), //NON-NLS
+                               square, "hole" + id); //NON-NLS
+                map.addDiagonal(a, c);
+            }
+    }
+
+    private Face locateLinearly(float x, float y) {
+        return findHitLinearly(new Ray(x, y, 1f, 0f), true).face;
+    }
+
+    private HitInfo findHitLinearly(Ray ray, boolean includeStart) {
+        return ray.findHit(map, map.getVertices(), map.getHalfEdges(), includeStart);
+    }
+
+    private void assertSameHit(Ray ray, boolean includeStart) {
+        final HitInfo expected = findHitLinearly(ray, includeStart);
+        final HitInfo actual = ray.findHit(map, includeStart);
+        final String msg = ray + ", includeStart = " + includeStart; //NON-NLS
+        assertSame(expected.halfEdge, actual.halfEdge, msg);
+        assertSame(expected.face, actual.face, msg);
+        assertEquals(expected.mu, actual.mu, msg);
+        assertEquals(expected.lambda, actual.lambda, msg);
+    }
+
+    @Test
+    public void sameAsLinearScan() {
+        final Random random = new Random(1);
+        for (int k = 0; k < 2000; k++) {
+            final float x = -1f + (HOLES + 2f) * random.nextFloat();
+            final float y = -1f + (HOLES + 2f) * random.nextFloat();
+            assertSame(locateLinearly(x, y), map.locate(x, y), "at " + x + ", " + y); //NON-NLS
+        }
+    }
+
+    @Test
+    public void verticesAndEdges() {
+        // points on vertices, on edges, and on the horizontal lines through vertices
+        for (int i = -1; i <= 4 * HOLES + 1; i++)
+            for (int j = -1; j <= 4 * HOLES + 1; j++) {
+                final float x = 0.25f * i;
+                final float y = 0.25f * j;
+                assertSame(locateLinearly(x, y), map.locate(x, y), "at " + x + ", " + y); //NON-NLS
+            }
+    }
+
+    @Test
+    public void raysSameAsLinearScan() {
+        final Random random = new Random(2);
+        for (int k = 0; k < 2000; k++) {
+            final float x = -1f + (HOLES + 2f) * random.nextFloat();
+            final float y = -1f + (HOLES + 2f) * random.nextFloat();
+            final float angle = 6.2831855f * random.nextFloat();
+            final float length = 0.5f + 4f * random.nextFloat();
+            final Ray ray = new Ray(x, y, length * (float) Math.cos(angle), length * (float) Math.sin(angle));
+            assertSameHit(ray, true);
+            assertSameHit(ray, false);
+        }
+    }
+
+    @Test
+    public void raysThroughVertices() {
+        // rays from the corners of the holes in the axis directions, the diagonal directions, and almost axis-parallel
+        final float[][] directions = {{1f, 0f}, {0f, -1f}, {1f, 1f}, {-2f, -2f}, {1f, 1e-6f}, {-1e-6f, 1f}, {0.1f, 0.1f}};
+        for (int i = 0; i < HOLES; i++)
+            for (int j = 0; j < HOLES; j++)
+                for (float[] d : directions) {
+                    assertSameHit(new Ray(i + 0.25f, j + 0.25f, d[0], d[1]), true);
+                    assertSameHit(new Ray(i + 0.75f, j + 0.25f, d[0], d[1]), false);
+                    assertSameHit(new Ray(i + 0.5f, j - 0.25f, d[0], d[1]), false);
+                }
+    }
+
+    @Test
+    public void invalidatedByNewPolygons() {
+        assertSame(square, map.locate(0.1f, 0.1f));
+        assertEquals(map.getOuter(), map.locate(HOLES + 1.5f, 0.5f));
+        final Face added = map.addPolygon(List.of(new Vertex("p1", HOLES + 1f, 0f), //NON-NLS
+                                                  new Vertex("p2", HOLES + 2f, 0f), //NON-NLS
+                                                  new Vertex("p3", HOLES + 2f, 1f), //NON-NLS
+                                                  new Vertex("p4", HOLES + 1f, 1f)), //NON-NLS
+                                          map.getOuter(), "added"); //NON-NLS
+        assertEquals(added, map.locate(HOLES + 1.5f, 0.5f));
+        assertSameHit(new Ray(-1f, 0.5f, 1f, 0f), false);
+        assertSameHit(new Ray(HOLES + 3f, 0.5f, -1f, 0f), true);
+    }
+}
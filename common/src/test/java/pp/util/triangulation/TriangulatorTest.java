@@ -0,0 +1,261 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.util.triangulation;
+
+import org.junit.jupiter.api.Test;
+import pp.util.FloatMath;
+import pp.util.Position;
+import pp.util.Triangle;
+import pp.util.triangulation.Triangulator.Outline;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.util.FloatPoint.p;
+
+/**
+ * Compares {@linkplain Triangulator} with {@linkplain Polygon}.
+ */
+public class TriangulatorTest {
+    private final Random random = new Random(5);
+
+    /**
+     * A wavy polygon with the specified number of vertices and a grid of square holes.
+     */
+    private static Outline wavy(int vertices, int holesPerSide) {
+        final List<Position> outer = new ArrayList<>();
+        for (int i = 0; i < vertices; i++) {
+            final float angle = FloatMath.TWO_PI * i / vertices;
+            final float r = 20f + 2f * FloatMath.sin(9f * angle);
+            outer.add(p(r * FloatMath.cos(angle), r * FloatMath.sin(angle)));
+        }
+        final List<List<Position>> holes = new ArrayList<>();
+        final float cell = 24f / holesPerSide;
+        final float size = 0.5f * cell;
+        for (int i = 0; i < holesPerSide; i++)
+            for (int j = 0; j < holesPerSide; j++) {
+                final float x = -12f + i * cell;
+                final float y = -12f + j * cell;
+                holes.add(List.of(p(x, y), p(x, y + size), p(x + size, y + size), p(x + size, y)));
+            }
+        return new Outline(outer, holes);
+    }
+
+    /**
+     * A star-shaped polygon with random radii.
+     */
+    private Outline star(int vertices) {
+        final List<Position> outer = new ArrayList<>();
+        for (int i = 0; i < vertices; i++) {
+            final float angle = FloatMath.TWO_PI * i / vertices;
+            final float r = 5f + 10f * random.nextFloat();
+            outer.add(p(r * FloatMath.cos(angle), r * FloatMath.sin(angle)));
+        }
+        return new Outline(outer, List.of(List.of(p(-1f, -1f), p(1f, -1f), p(1f, 1f), p(-1f, 1f))));
+    }
+
+    private static List<Triangle> triangulateByPolygon(Outline outline) {
+        final Polygon polygon = new Polygon(outline.outer());
+        outline.holes().forEach(polygon::addHole);
+        return polygon.triangulate();
+    }
+
+    private static float area(List<Triangle> triangles) {
+        float sum = 0f;
+        for (Triangle t : triangles)
+            sum += FloatMath.abs((t.b().getX() - t.a().getX()) * (t.c().getY() - t.a().getY()) -
+                                 (t.b().getY() - t.a().getY()) * (t.c().getX() - t.a().getX()));
+        return 0.5f * sum;
+    }
+
+    private static float area(Triangle t) {
+        return 0.5f * ((t.b().getX() - t.a().getX()) * (t.c().getY() - t.a().getY()) -
+                       (t.b().getY() - t.a().getY()) * (t.c().getX() - t.a().getX()));
+    }
+
+    /**
+     * Returns true if the specified point is clearly within the circumcircle of the specified triangle.
+     */
+    private static boolean inCircumcircle(Triangle t, Position p) {
+        final double adx = t.a().getX() - p.getX();
+        final double ady = t.a().getY() - p.getY();
+        final double bdx = t.b().getX() - p.getX();
+        final double bdy = t.b().getY() - p.getY();
+        final double cdx = t.c().getX() - p.getX();
+        final double cdy = t.c().getY() - p.getY();
+        final double ad = adx * adx + ady * ady;
+        final double bd = bdx * bdx + bdy * bdy;
+        final double cd = cdx * cdx + cdy * cdy;
+        final double det = adx * (bdy * cd - bd * cdy) - ady * (bdx * cd - bd * cdx) + ad * (bdx * cdy - bdy * cdx);
+        return det > 1e-4 * Math.max(ad, Math.max(bd, cd));
+    }
+
+    /**
+     * Returns the edges of the specified triangles as strings that do not depend on the edge direction.
+     */
+    private static Set<String> edges(List<Triangle> triangles) {
+        final Set<String> edges = new HashSet<>();
+        for (Triangle t : triangles) {
+            edges.add(edge(t.a(), t.b()));
+            edges.add(edge(t.b(), t.c()));
+            edges.add(edge(t.c(), t.a()));
+        }
+        return edges;
+    }
+
+    private static String edge(Position p, Position q) {
+        final String s1 = p.getX() + "," + p.getY(); //NON-NLS
+        final String s2 = q.getX() + "," + q.getY(); //NON-NLS
+        return s1.compareTo(s2) < 0 ? s1 + "-" + s2 : s2 + "-" + s1; //NON-NLS
+    }
+
+    /**
+     * Checks that each point of the specified list that is shared by two adjacent triangles does not lie
+     * within the circumcircle of the other triangle unless they are separated by a segment of the polygon.
+     */
+    private static void assertDelaunay(Outline outline, List<Triangle> triangles) {
+        final Set<String> segments = new HashSet<>();
+        final List<List<? extends Position>> rings = new ArrayList<>(outline.holes());
+        rings.add(outline.outer());
+        for (List<? extends Position> ring : rings)
+            for (int i = 0; i < ring.size(); i++)
+                segments.add(edge(ring.get(i), ring.get((i + 1) % ring.size())));
+        for (Triangle t : triangles) {
+            assertTrue(area(t) >= 0f, t + " is inverted");
+            for (Triangle u : triangles) {
+                if (t == u) continue;
+                final List<Position> common = new ArrayList<>();
+                Position other = null;
+                for (Position p : List.of(u.a(), u.b(), u.c()))
+                    if (p.equals(t.a()) || p.equals(t.b()) || p.equals(t.c()))
+                        common.add(p);
+                    else
+                        other = p;
+                if (common.size() == 2 && !segments.contains(edge(common.get(0), common.get(1))))
+                    assertFalse(inCircumcircle(t, other), other + " in circumcircle of " + t);
+            }
+        }
+    }
+
+    @Test
+    public void delaunay() {
+        final Triangulator triangulator = new Triangulator().setDelaunay(true);
+        for (Outline outline : List.of(wavy(100, 1), star(50), wavy(200, 3), star(200))) {
+            final List<Triangle> monotone = triangulateByPolygon(outline);
+            final List<Triangle> triangles = triangulator.triangulate(outline);
+            // flipping edges keeps the number of triangles and the segments of the polygon
+            assertEquals(monotone.size(), triangles.size());
+            assertEquals(area(monotone), area(triangles), 1e-2f);
+            final Set<String> edges = edges(triangles);
+            for (List<? extends Position> ring : List.of(outline.outer(), outline.holes().get(0)))
+                for (int i = 0; i < ring.size(); i++)
+                    assertTrue(edges.contains(edge(ring.get(i), ring.get((i + 1) % ring.size()))));
+            assertDelaunay(outline, triangles);
+        }
+    }
+
+    private static float minAngle(Triangle t) {
+        final List<Position> corners = List.of(t.a(), t.b(), t.c());
+        float min = 180f;
+        for (int i = 0; i < 3; i++) {
+            final Position p = corners.get(i);
+            final Position q = corners.get((i + 1) % 3);
+            final Position r = corners.get((i + 2) % 3);
+            final float dot = (q.getX() - p.getX()) * (r.getX() - p.getX()) +
+                              (q.getY() - p.getY()) * (r.getY() - p.getY());
+            min = Math.min(min, FloatMath.acos(dot / p.distanceTo(q) / p.distanceTo(r)) * FloatMath.RAD_TO_DEG);
+        }
+        return min;
+    }
+
+    @Test
+    public void refinement() {
+        final Outline square = new Outline(List.of(p(0f, 0f), p(10f, 0f), p(10f, 10f), p(0f, 10f)),
+                                           List.of(List.of(p(4f, 4f), p(6f, 4f), p(6f, 6f), p(4f, 6f))));
+        final List<Position> created = new ArrayList<>();
+        final Triangulator triangulator = new Triangulator().setDelaunay(true).setRefinement(2f, 25f)
+                                                            .setPointFactory((x, y, host) -> {
+                                                                assertTrue(host.contains(x, y, 1e-4f));
+                                                                final Position p = p(x, y);
+                                                                created.add(p);
+                                                                return p;
+                                                            });
+        final List<Triangle> triangles = triangulator.triangulate(square);
+        assertFalse(created.isEmpty());
+        assertEquals(96f, area(triangles), 1e-3f);
+        for (Triangle t : triangles) {
+            assertTrue(area(t) <= 2f, t + " too large");
+            assertTrue(minAngle(t) >= 25f, t + " too thin");
+            for (Position p : List.of(t.a(), t.b(), t.c()))
+                assertTrue(created.contains(p) || square.outer().contains(p) || square.holes().get(0).contains(p));
+        }
+        assertDelaunay(square, triangles);
+    }
+
+    @Test
+    public void fixedSegments() {
+        final Outline square = new Outline(List.of(p(0f, 0f), p(10f, 0f), p(10f, 10f), p(0f, 10f)), List.of());
+        // the left segment must not be split
+        final Triangulator triangulator = new Triangulator().setDelaunay(true)
+                                                            .setRefinement(1f, 0f)
+                                                            .setFixedSegments((p, q) -> p.getX() + q.getX() == 0f);
+        final List<Triangle> triangles = triangulator.triangulate(square);
+        assertEquals(100f, area(triangles), 1e-3f);
+        for (Triangle t : triangles)
+            assertTrue(area(t) <= 1f, t + " too large");
+        // the left segment has not been split, the others have been
+        final Set<String> edges = edges(triangles);
+        assertTrue(edges.contains(edge(p(0f, 0f), p(0f, 10f))));
+        assertFalse(edges.contains(edge(p(0f, 0f), p(10f, 0f))));
+        assertDelaunay(square, triangles);
+    }
+
+    @Test
+    public void refineStar() {
+        final Triangulator triangulator = new Triangulator().setDelaunay(true).setRefinement(1f, 20f);
+        final Outline outline = star(200);
+        final List<Triangle> triangles = triangulator.triangulate(outline);
+        assertEquals(area(triangulateByPolygon(outline)), area(triangles), 1e-2f);
+        for (Triangle t : triangles)
+            assertTrue(area(t) > 0f && area(t) <= 1f, t + " has a wrong area");
+    }
+
+    @Test
+    public void sameAsPolygon() {
+        final Triangulator triangulator = new Triangulator();
+        final List<Outline> outlines = List.of(wavy(100, 1), wavy(1000, 7), star(50), wavy(200, 3), star(500));
+        for (Outline outline : outlines) {
+            final List<Triangle> expected = triangulateByPolygon(outline);
+            final List<Triangle> actual = triangulator.triangulate(outline);
+            assertEquals(expected, actual);
+            int numPoints = outline.outer().size();
+            for (List<? extends Position> hole : outline.holes())
+                numPoints += hole.size();
+            // a polygon with n vertices and h holes consists of n + 2h - 2 triangles
+            assertEquals(numPoints + 2 * outline.holes().size() - 2, actual.size());
+        }
+    }
+
+    @Test
+    public void triangulateAll() {
+        final List<Outline> outlines = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            outlines.add(i % 2 == 0 ? star(100 + i) : wavy(100 * i, i % 4));
+        final List<List<Triangle>> sequential = Triangulator.triangulateAll(outlines, false);
+        final List<List<Triangle>> parallel = Triangulator.triangulateAll(outlines, true);
+        assertEquals(sequential, parallel);
+        for (int i = 0; i < outlines.size(); i++)
+            assertEquals(area(triangulateByPolygon(outlines.get(i))), area(parallel.get(i)), 1e-2f);
+    }
+}
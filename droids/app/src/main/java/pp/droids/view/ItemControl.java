@@ -21,7 +21,7 @@ import static pp.droids.view.CoordinateTransformation.modelToViewZ;
  * Class to control missiles
  */
 class ItemControl<T extends Item> extends AbstractControl {
-    final T item;
+    T item;
     private final float height;
 
     /**
@@ -35,6 +35,16 @@ class ItemControl<T extends Item> extends AbstractControl {
         this.height = height;
     }
 
+    /**
+     * Lets this control move its spatial according to the specified item from now on.
+     * This is used when the spatial is reused for another item.
+     *
+     * @param item the new item
+     */
+    void setItem(T item) {
+        this.item = item;
+    }
+
     /**
      * Updates the missile position.
      *
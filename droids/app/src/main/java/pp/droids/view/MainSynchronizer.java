@@ -39,9 +39,13 @@ import pp.util.Segment;
 import pp.util.SegmentLike;
 import pp.view.ModelViewSynchronizer;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.jme3.math.ColorRGBA.Red;
 import static com.jme3.math.ColorRGBA.White;
@@ -75,8 +79,29 @@ public class MainSynchronizer extends ModelViewSynchronizer<Item> implements Vis
     private static final String FAKE_LIGHT = "Common/MatDefs/Misc/fakeLighting.j3md"; //NON-NLS
     private static final String COLOR = "Color"; //NON-NLS
     private static final Vector3f NEG_UNIT_Y = new Vector3f(0, -1, 0);
+
+    /**
+     * The maximum number of projectile geometries that are kept for being reused.
+     */
+    private static final int MAX_FREE_BULLETS = 64;
+
     private final Application app;
 
+    /**
+     * The sphere meshes of projectiles, shared by all projectiles with the same radius.
+     */
+    private final Map<Float, Sphere> bulletMeshes = new HashMap<>();
+
+    /**
+     * The material shared by all projectiles, or null if it has not been created yet.
+     */
+    private Material bulletMaterial;
+
+    /**
+     * The geometries of projectiles that have been deleted and can be reused for new projectiles.
+     */
+    private final Deque<Geometry> freeBullets = new ArrayDeque<>();
+
     /**
      * Creates a new synchronizer.
      *
@@ -126,15 +151,38 @@ public class MainSynchronizer extends ModelViewSynchronizer<Item> implements Vis
      */
     @Override
     public Spatial visit(Projectile projectile) {
-        final Sphere sphere = new Sphere(20, 20, projectile.getRadius());
+        final Sphere sphere = bulletMeshes.computeIfAbsent(projectile.getRadius(), r -> new Sphere(20, 20, r));
+        final Geometry reused = freeBullets.poll();
+        if (reused != null) {
+            reused.setMesh(sphere);
+            @SuppressWarnings("unchecked")
+            final ItemControl<Item> control = reused.getControl(ItemControl.class);
+            control.setItem(projectile);
+            return reused;
+        }
+        if (bulletMaterial == null)
+            bulletMaterial = predefMaterial(FAKE_LIGHT, Yellow);
         final Geometry bullet = new Geometry(PROJECTILE, sphere);
-        final Material material = predefMaterial(FAKE_LIGHT, Yellow);
-        bullet.setMaterial(material);
+        bullet.setMaterial(bulletMaterial);
         bullet.setShadowMode(ShadowMode.Cast);
         bullet.addControl(new ItemControl<>(projectile, 0.8f));
         return bullet;
     }
 
+    /**
+     * Removes the spatial of the specified item from the scene graph. The geometry of a projectile
+     * is kept for being reused by the next projectile.
+     *
+     * @param item the model item to remove
+     */
+    @Override
+    public void delete(Item item) {
+        final Spatial spatial = getSpatial(item);
+        super.delete(item);
+        if (item instanceof Projectile && spatial instanceof Geometry bullet && freeBullets.size() < MAX_FREE_BULLETS)
+            freeBullets.push(bullet);
+    }
+
     /**
      * Visit method for any object of the type {@link pp.droids.model.item.Obstacle}.
      *
@@ -320,10 +368,16 @@ public class MainSynchronizer extends ModelViewSynchronizer<Item> implements Vis
      * @return Geometry (extending {@link com.jme3.scene.Spatial})
      */
     private static Geometry createPolygonTopBottom(Polygon poly, MaterialSpec mat) {
-        final List<ElevatedPoint> points = poly.getAllSegments().stream()
-                                               .map(ElevatedSegment::from)
-                                               .toList();
         final List<ElevatedTriangle> triangles = poly.getTriangles();
+        // triangles of Delaunay triangulations may have Steiner points as corners
+        final Set<ElevatedPoint> points = new LinkedHashSet<>();
+        for (ElevatedSegment seg : poly.getAllSegments())
+            points.add(seg.from());
+        for (ElevatedTriangle t : triangles) {
+            points.add(t.a());
+            points.add(t.b());
+            points.add(t.c());
+        }
         final int n = points.size();
         final Vector3f[] normals = new Vector3f[2 * n];
         final Vector3f[] vertices = new Vector3f[2 * n];
@@ -17,6 +17,7 @@ import pp.droids.model.DroidsMap;
 import pp.droids.model.DroidsModel;
 import pp.droids.model.MapType;
 import pp.droids.model.item.Item;
+import pp.droids.model.item.Polygon;
 import pp.droids.model.item.Robot;
 
 import java.io.File;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static pp.droids.model.json.ItemDTO.get;
 
@@ -117,8 +119,12 @@ class DroidsMapDTO {
         final DroidsMap map = new DroidsMap(getMapType(errors));
         final Map<String, Item> id2item = new HashMap<>();
         final List<Item> newItems = new ArrayList<>();
-        for (ItemDTO itemDTO : items) {
-            final Item item = itemDTO.makeItem(model);
+        final Polygon[] polygons = model.getConfig().isParallelLoading() ? makePolygons(model) : null;
+        for (int i = 0; i < items.size(); i++) {
+            final ItemDTO itemDTO = items.get(i);
+            final Item item = polygons != null && polygons[i] != null
+                              ? ((PolygonDTO) itemDTO).completePolygon(polygons[i])
+                              : itemDTO.makeItem(model);
             id2item.put(itemDTO.id, item);
             newItems.add(item);
         }
@@ -133,4 +139,28 @@ class DroidsMapDTO {
         throw new IOException(String.join("\n", errors));
     }
 
+    /**
+     * Creates the polygons of all polygon DTOs concurrently. Polygons are independent of each other and of
+     * all other items, and creating them does not change the state of the model. The polygon of the i-th
+     * item DTO is stored at index i of the returned array; all other array elements remain null, in
+     * particular if the polygon cannot be created. In this case, {@linkplain #toMap(DroidsModel)} tries
+     * again in item order and reports the error as if the map were loaded sequentially.
+     *
+     * @param model the game model that will be used for creating the polygons
+     * @return the array of created polygons
+     */
+    private Polygon[] makePolygons(DroidsModel model) {
+        final Polygon[] polygons = new Polygon[items.size()];
+        IntStream.range(0, items.size()).parallel().forEach(i -> {
+            if (items.get(i) instanceof PolygonDTO polygonDTO)
+                try {
+                    polygons[i] = polygonDTO.makePolygon(model);
+                }
+                catch (RuntimeException ex) {
+                    // reported when the polygon is created again in item order
+                }
+        });
+        return polygons;
+    }
+
 }
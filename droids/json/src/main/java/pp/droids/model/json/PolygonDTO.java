@@ -174,6 +174,18 @@ class PolygonDTO extends ItemDTO {
      */
     @Override
     Item makeItem(DroidsModel model) {
+        return completePolygon(makePolygon(model));
+    }
+
+    /**
+     * Creates the polygon represented by this DTO without changing the state of the model or any other
+     * item. This method may therefore be called concurrently for several polygon DTOs. The polygon must
+     * then be completed by {@linkplain #completePolygon(Polygon)}.
+     *
+     * @param model the model
+     * @return the created polygon
+     */
+    Polygon makePolygon(DroidsModel model) {
         if (points.length % 4 != 0)
             throw new RuntimeException(format("points must have a multiple of 4 of values, but polygon %s has %d",
                                               id, points.length));
@@ -183,6 +195,18 @@ class PolygonDTO extends ItemDTO {
         return new Maker(model).makeItem();
     }
 
+    /**
+     * Completes a polygon that has been created by {@linkplain #makePolygon(DroidsModel)}.
+     *
+     * @param polygon the created polygon
+     * @return the completed polygon
+     */
+    Polygon completePolygon(Polygon polygon) {
+        if (destroyed)
+            polygon.destroy();
+        return polygon;
+    }
+
     /**
      * Auxiliary class for creating a polygon from its representations.
      */
@@ -204,15 +228,12 @@ class PolygonDTO extends ItemDTO {
                 for (int[] hole : inner)
                     holeList.add(makePointList(hole));
             final List<ElevatedSegment> diags = makeSegmentList(diagonals);
-            final Polygon polygon = new Polygon.Builder().setModel(model)
-                                                         .setSpec(spec)
-                                                         .setOuter(outerPoints)
-                                                         .setInner(holeList)
-                                                         .setDiagonals(diags)
-                                                         .build();
-            if (destroyed)
-                polygon.destroy();
-            return polygon;
+            return new Polygon.Builder().setModel(model)
+                                        .setSpec(spec)
+                                        .setOuter(outerPoints)
+                                        .setInner(holeList)
+                                        .setDiagonals(diags)
+                                        .build();
         }
 
         private List<ElevatedPoint> makePointList(int[] indices) {
@@ -12,11 +12,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pp.droids.model.DroidsModel;
 import pp.droids.model.item.Obstacle;
+import pp.droids.model.item.Polygon;
 import pp.droids.model.item.Robot;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static pp.droids.model.json.Util.EPS;
@@ -59,9 +64,33 @@ public class SaveLoadTest {
         assertPositionEquals(game.getDroidsMap().getDroid(), game2.getDroidsMap().getDroid(), EPS);
     }
 
+    @Test
+    public void saveAndLoadInParallel() throws IOException {
+        game.saveMap(file);
+        final DroidsModel game2 = new DroidsModel(new JsonSerializer());
+        final Properties props = new Properties();
+        props.setProperty("map.parallel-loading", "true"); //NON-NLS
+        game2.getConfig().readFrom(props);
+        game2.loadMap(file);
+
+        final List<Polygon> expected = getItems(game, Polygon.class);
+        final List<Polygon> actual = getItems(game2, Polygon.class);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getSpec(), actual.get(i).getSpec());
+            assertEquals(expected.get(i).getTriangles(), actual.get(i).getTriangles());
+        }
+        checkEqualPositions(getItems(game, Robot.class),
+                            getItems(game2, Robot.class));
+        game2.shutdown();
+    }
+
     @AfterEach
     public void tearDown() {
-        file.deleteOnExit();
+        // delete the file right away such that the next test can write it again
+        if (!file.delete())
+            file.deleteOnExit();
         game.shutdown();
     }
 }
@@ -0,0 +1,101 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.FinishLine;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.Polygon;
+import pp.droids.model.item.Robot;
+import pp.droids.model.item.ShooterBehavior;
+import pp.util.ElevatedTriangle;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Provides the maps shipped in droids/app/maps for benchmarks.
+ */
+class BenchmarkMaps {
+    /**
+     * The directory of the maps relative to the working directory of the benchmarks, i.e., droids/model.
+     */
+    private static final File MAP_DIR = new File("../app/maps"); //NON-NLS
+
+    private BenchmarkMaps() { /* don't instantiate */ }
+
+    /**
+     * Returns the contents of the specified map file.
+     *
+     * @param name the file name of the map, e.g., "track1.json"
+     */
+    static byte[] readMap(String name) throws IOException {
+        return Files.readAllBytes(new File(MAP_DIR, name).toPath());
+    }
+
+    /**
+     * Returns a serializer that can load the maps.
+     *
+     * @throws IllegalStateException if the JSON serializer is not on the class path
+     */
+    static Serializer serializer() {
+        final Serializer serializer = Serializer.getInstance();
+        if (serializer instanceof NoopSerializer)
+            throw new IllegalStateException("JSON serializer is missing");
+        return serializer;
+    }
+
+    /**
+     * Creates a game model and loads the specified map.
+     *
+     * @param map the contents of a map file
+     */
+    static DroidsModel load(byte[] map) throws IOException {
+        final DroidsModel model = new DroidsModel(serializer());
+        model.loadMap(new ByteArrayInputStream(map));
+        return model;
+    }
+
+    /**
+     * Returns the finish line of the current map of the specified model, or null if there is none.
+     */
+    static FinishLine finishLine(DroidsModel model) {
+        for (Item item : model.getDroidsMap().getItems())
+            if (item instanceof FinishLine line)
+                return line;
+        return null;
+    }
+
+    /**
+     * Adds the specified number of shooting robots on the droid's ground. The robots are placed at the
+     * centroids of triangles of the ground that are selected with a fixed seed, i.e., the same map always
+     * gets the same robots.
+     */
+    static void addShooters(DroidsModel model, int number) {
+        final Robot droid = model.getDroidsMap().getDroid();
+        final Polygon ground = droid.getGround();
+        final List<ElevatedTriangle> triangles = ground.getTriangles();
+        final Random random = new Random(42);
+        for (int i = 0, tries = 0; i < number && tries < 100 * number; tries++) {
+            final ElevatedTriangle t = triangles.get(random.nextInt(triangles.size()));
+            final float x = (t.a().getX() + t.b().getX() + t.c().getX()) / 3f;
+            final float y = (t.a().getY() + t.b().getY() + t.c().getY()) / 3f;
+            final Robot robot = new Robot(model);
+            robot.setGround(ground);
+            if (robot.canBePlacedAt(x, y) && droid.distanceTo(x, y) > 5f) {
+                robot.setPos(x, y);
+                robot.setBehavior(new ShooterBehavior(robot));
+                model.getDroidsMap().add(robot);
+                i++;
+            }
+        }
+    }
+}
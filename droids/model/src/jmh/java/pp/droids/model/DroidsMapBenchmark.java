@@ -0,0 +1,84 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pp.droids.model.item.FinishLine;
+import pp.droids.model.item.PathfinderBehavior;
+import pp.droids.model.item.Robot;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@linkplain DroidsMap#update(float)} on the shipped maps. The droid follows its path to the
+ * finish line while additional robots shoot at it. Each benchmark invocation simulates {@value #FRAMES}
+ * frames of a freshly loaded map, i.e., the first seconds of a game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DroidsMapBenchmark {
+    private static final int FRAMES = 100;
+    private static final float DELTA = 0.02f;
+
+    @Param({"track1.json", "track4.json", "spiral3.json", "wall-spiral3.json"})
+    public String map;
+
+    /**
+     * The number of robots added to the map that shoot at the droid.
+     */
+    @Param({"0", "20"})
+    public int shooters;
+
+    private byte[] mapContents;
+    private DroidsModel model;
+
+    @Setup(Level.Trial)
+    public void readMap() throws IOException {
+        mapContents = BenchmarkMaps.readMap(map);
+    }
+
+    @Setup(Level.Invocation)
+    public void loadMap() throws IOException {
+        model = BenchmarkMaps.load(mapContents);
+        BenchmarkMaps.addShooters(model, shooters);
+        final Robot droid = model.getDroidsMap().getDroid();
+        final FinishLine line = BenchmarkMaps.finishLine(model);
+        if (line != null)
+            droid.setBehavior(new PathfinderBehavior(droid, droid.getNavigator().findPathTo(line)));
+    }
+
+    @TearDown(Level.Invocation)
+    public void shutdown() {
+        model.shutdown();
+    }
+
+    @Benchmark
+    public DroidsMap update() {
+        final DroidsMap droidsMap = model.getDroidsMap();
+        for (int i = 0; i < FRAMES; i++)
+            droidsMap.update(DELTA);
+        return droidsMap;
+    }
+}
@@ -0,0 +1,77 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pp.droids.model.item.FinishLine;
+import pp.droids.model.item.Robot;
+import pp.util.Position;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the path computation of {@linkplain Robot#navigateTo(Position)} from the droid's start position
+ * to the finish line of the shipped maps. Like {@code navigateTo}, each invocation creates a new navigator.
+ * The computation is called synchronously, whereas {@code navigateTo} runs it in a background thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NavigationBenchmark {
+    @Param({"track1.json", "track4.json", "spiral3.json", "wall-spiral3.json"})
+    public String map;
+
+    /**
+     * Whether the navigation mesh of the ground is tried before the grid search.
+     */
+    @Param({"false", "true"})
+    public boolean navMesh;
+
+    private DroidsModel model;
+    private Robot droid;
+    private FinishLine target;
+
+    @Setup
+    public void loadMap() throws IOException {
+        model = BenchmarkMaps.load(BenchmarkMaps.readMap(map));
+        final Properties props = new Properties();
+        props.setProperty("navigation.nav-mesh", String.valueOf(navMesh)); //NON-NLS
+        model.getConfig().readFrom(props);
+        droid = model.getDroidsMap().getDroid();
+        target = BenchmarkMaps.finishLine(model);
+        if (target == null)
+            throw new IllegalStateException(map + " has no finish line");
+    }
+
+    @TearDown
+    public void shutdown() {
+        model.shutdown();
+    }
+
+    @Benchmark
+    public List<Position> findPath() {
+        return droid.getNavigator().findPathTo(target);
+    }
+}
@@ -0,0 +1,61 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the shipped maps by the JSON serializer, which includes triangulating all polygons.
+ * The map files are read into memory beforehand such that file I/O is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+    @Param({"track1.json", "track4.json", "spiral3.json", "wall-spiral3.json"})
+    public String map;
+
+    private byte[] mapContents;
+    private Serializer serializer;
+    private DroidsModel model;
+
+    @Setup
+    public void setup() throws IOException {
+        mapContents = BenchmarkMaps.readMap(map);
+        serializer = BenchmarkMaps.serializer();
+        model = new DroidsModel(serializer);
+    }
+
+    @TearDown
+    public void shutdown() {
+        model.shutdown();
+    }
+
+    @Benchmark
+    public DroidsMap loadMap() throws IOException {
+        return serializer.loadMap(new ByteArrayInputStream(mapContents), model);
+    }
+}
@@ -0,0 +1,107 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An open-addressing hash table from the keys of grid cells, as computed by {@linkplain ItemGrid#key(int, int)},
+ * to the lists of their elements. Keys are primitive long values, so looking up a cell does not allocate memory.
+ * The lists of cells that become empty are kept, so elements moving back and forth between cells do not
+ * allocate memory either.
+ * <p>
+ * In addition, each cell has a stamp, which users of the table may set whenever the contents of the cell change.
+ * </p>
+ *
+ * @param <T> the type of the elements
+ */
+class CellTable<T> {
+    private long[] keys = new long[64];
+    private List<T>[] lists = newLists(64);
+    private long[] stamps = new long[64];
+    private int size;
+
+    /**
+     * Returns the list of elements of the cell with the specified key, or null if the cell has never
+     * been occupied.
+     */
+    List<T> get(long key) {
+        final int i = indexOf(key);
+        return i < 0 ? null : lists[i];
+    }
+
+    /**
+     * Returns the stamp of the cell with the specified key, or 0 if the cell has never been occupied.
+     */
+    long getStamp(long key) {
+        final int i = indexOf(key);
+        return i < 0 ? 0L : stamps[i];
+    }
+
+    /**
+     * Sets the stamp of the cell with the specified key, which must have been created before.
+     */
+    void setStamp(long key, long stamp) {
+        stamps[indexOf(key)] = stamp;
+    }
+
+    private int indexOf(long key) {
+        final int mask = keys.length - 1;
+        for (int i = slot(key, mask); lists[i] != null; i = (i + 1) & mask)
+            if (keys[i] == key)
+                return i;
+        return -1;
+    }
+
+    /**
+     * Returns the list of elements of the cell with the specified key and creates it if necessary.
+     */
+    List<T> getOrCreate(long key) {
+        final List<T> list = get(key);
+        if (list != null) return list;
+        if (2 * (size + 1) > keys.length)
+            rehash(2 * keys.length);
+        final List<T> created = new ArrayList<>();
+        put(key, created, 0L);
+        size++;
+        return created;
+    }
+
+    private void put(long key, List<T> list, long stamp) {
+        final int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (lists[i] != null)
+            i = (i + 1) & mask;
+        keys[i] = key;
+        lists[i] = list;
+        stamps[i] = stamp;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final List<T>[] oldLists = lists;
+        final long[] oldStamps = stamps;
+        keys = new long[capacity];
+        lists = newLists(capacity);
+        stamps = new long[capacity];
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldLists[i] != null)
+                put(oldKeys[i], oldLists[i], oldStamps[i]);
+    }
+
+    private static int slot(long key, int mask) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T>[] newLists(int capacity) {
+        return (List<T>[]) new List<?>[capacity];
+    }
+}
@@ -0,0 +1,532 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.CircularItem;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.Obstacle;
+import pp.droids.model.item.Projectile;
+import pp.droids.model.item.Robot;
+import pp.util.ElevatedTriangle;
+import pp.util.Position;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static pp.util.FloatMath.cos;
+import static pp.util.FloatMath.sin;
+
+/**
+ * A structure-of-arrays copy of all circular items of a {@linkplain DroidsMap}.
+ * Each item occupies a slot, and the position, rotation, radius, kind, and speed of all items
+ * are kept in parallel arrays indexed by slot. Slots are in the same order as
+ * {@linkplain DroidsMap#getItems()}. The map keeps this store up to date whenever items are
+ * added, removed, moved, or changed.
+ * The items themselves keep their state; the arrays are just a copy of it.
+ * <p>
+ * Before the items of the map are updated, {@linkplain #prepareProjectiles(float)} prepares the update of
+ * all projectiles by means of bulk kernels working on the arrays: the movement of all projectiles is
+ * integrated, the projectiles that are still on their ground are determined, and a broadphase determines
+ * the projectiles that may hit another item on their way. The map then updates each projectile at its
+ * usual position among the other items using {@linkplain #updateProjectile(Projectile, float)}. Only
+ * projectiles that may hit an item look for hits using the spatial index of the map; all other projectiles
+ * are just moved. The broadphase result of a projectile is not used if an item has changed near the way of
+ * the projectile in the meantime. This way, the game states are exactly the same as without this store.
+ * </p>
+ * <p>
+ * Slots of removed items are marked as removed and reclaimed by {@linkplain #compact()}, which keeps
+ * the order of the remaining slots.
+ * </p>
+ */
+class CircularItemStore {
+    /**
+     * The kind of robots.
+     */
+    static final int ROBOT = 0;
+    /**
+     * The kind of obstacles.
+     */
+    static final int OBSTACLE = 1;
+    /**
+     * The kind of projectiles.
+     */
+    static final int PROJECTILE = 2;
+    /**
+     * The kind of all other circular items.
+     */
+    static final int OTHER = 3;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * A projectile whose way covers more cells than this is assumed to hit an item
+     * without checking the cells.
+     */
+    private static final int MAX_QUERY_CELLS = 64;
+
+    /**
+     * The spatial index of the map, used for checking polygonal items.
+     */
+    private final ItemGrid grid;
+
+    private final SlotTable slots = new SlotTable();
+    private CircularItem[] items = new CircularItem[INITIAL_CAPACITY];
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] rotation = new float[INITIAL_CAPACITY];
+    private float[] radius = new float[INITIAL_CAPACITY];
+    private float[] speed = new float[INITIAL_CAPACITY];
+    private int[] kind = new int[INITIAL_CAPACITY];
+
+    /**
+     * The slots of items that have been removed from the map, but not yet reclaimed.
+     */
+    private final BitSet removed = new BitSet();
+    private int size;
+
+    /**
+     * The target positions of projectiles computed by {@linkplain #integrate(float)}.
+     */
+    private float[] toX = new float[INITIAL_CAPACITY];
+    private float[] toY = new float[INITIAL_CAPACITY];
+
+    /**
+     * The slots of projectiles whose update has been prepared by {@linkplain #prepareProjectiles(float)}
+     * and that have neither been updated nor changed since.
+     */
+    private final BitSet prepared = new BitSet();
+
+    /**
+     * The corners of the triangle of its ground that has contained each projectile when it has been
+     * checked last, such that the corners make a right turn. The first x-coordinate is NaN if there is
+     * no such triangle.
+     */
+    private float[] x1 = new float[INITIAL_CAPACITY];
+    private float[] y1 = new float[INITIAL_CAPACITY];
+    private float[] x2 = new float[INITIAL_CAPACITY];
+    private float[] y2 = new float[INITIAL_CAPACITY];
+    private float[] x3 = new float[INITIAL_CAPACITY];
+    private float[] y3 = new float[INITIAL_CAPACITY];
+
+    /**
+     * The slots of projectiles that are on their ground, computed by {@linkplain #checkGround()}.
+     */
+    private final BitSet onGround = new BitSet();
+
+    /**
+     * The slots of projectiles that may hit another item, computed by {@linkplain #broadphase()}.
+     */
+    private final BitSet mayHit = new BitSet();
+
+    /**
+     * The number of changes of the spatial index when the broadphase has been computed.
+     */
+    private long broadphaseChanges;
+
+    /**
+     * The slots of all items except projectiles, sorted by hashed grid cells. The slots of bucket
+     * {@code b} are stored from index {@code bucketStart[b]} (inclusive) to {@code bucketStart[b + 1]}
+     * (exclusive) of {@code bucketSlots}.
+     */
+    private int[] bucketStart = new int[2];
+    private int[] bucketSlots = new int[0];
+    private int bucketMask;
+
+    /**
+     * The maximum radius of all items except projectiles.
+     */
+    private float maxRadius;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param grid the spatial index of the map containing the items of this store
+     */
+    CircularItemStore(ItemGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Returns the number of slots, including slots of removed items that have not yet been reclaimed.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the item in the specified slot.
+     */
+    CircularItem getItem(int slot) {
+        return items[slot];
+    }
+
+    /**
+     * Returns the x-coordinate of the item in the specified slot.
+     */
+    float getX(int slot) {
+        return x[slot];
+    }
+
+    /**
+     * Returns the y-coordinate of the item in the specified slot.
+     */
+    float getY(int slot) {
+        return y[slot];
+    }
+
+    /**
+     * Returns the rotation of the item in the specified slot.
+     */
+    float getRotation(int slot) {
+        return rotation[slot];
+    }
+
+    /**
+     * Returns the radius of the item in the specified slot.
+     */
+    float getRadius(int slot) {
+        return radius[slot];
+    }
+
+    /**
+     * Returns the kind of the item in the specified slot, i.e., one of {@linkplain #ROBOT},
+     * {@linkplain #OBSTACLE}, {@linkplain #PROJECTILE}, and {@linkplain #OTHER}.
+     */
+    int getKind(int slot) {
+        return kind[slot];
+    }
+
+    /**
+     * Returns whether the item in the specified slot has been removed from the map.
+     */
+    boolean isRemoved(int slot) {
+        return removed.get(slot);
+    }
+
+    /**
+     * Adds the specified item to a new slot after all other slots.
+     *
+     * @param item the item that has been added to the map
+     */
+    void add(CircularItem item) {
+        if (slots.get(item) != SlotTable.NONE) return;
+        if (size == items.length)
+            grow();
+        final int slot = size++;
+        items[slot] = item;
+        kind[slot] = kindOf(item);
+        read(slot);
+        slots.put(item, slot);
+    }
+
+    /**
+     * Marks the slot of the specified item as removed.
+     *
+     * @param item the item that has been removed from the map
+     */
+    void remove(Item item) {
+        final int slot = slots.remove(item);
+        if (slot == SlotTable.NONE) return;
+        removed.set(slot);
+        prepared.clear(slot);
+    }
+
+    /**
+     * Copies the position of the specified item after it has been moved.
+     * Items that are not contained in this store are ignored.
+     *
+     * @param item the moved item
+     */
+    void moved(Item item) {
+        final int slot = slots.get(item);
+        if (slot == SlotTable.NONE) return;
+        x[slot] = item.getX();
+        y[slot] = item.getY();
+        prepared.clear(slot);
+    }
+
+    /**
+     * Copies the rotation and speed of the specified item after they have been changed.
+     * Items that are not contained in this store are ignored.
+     *
+     * @param item the changed item
+     */
+    void changed(Item item) {
+        final int slot = slots.get(item);
+        if (slot == SlotTable.NONE) return;
+        read(slot);
+        prepared.clear(slot);
+    }
+
+    /**
+     * Reclaims the slots of all removed items. The remaining slots keep their order.
+     * Prepared updates of projectiles are discarded.
+     */
+    void compact() {
+        prepared.clear();
+        if (removed.isEmpty()) return;
+        int j = 0;
+        for (int i = 0; i < size; i++)
+            if (!removed.get(i)) {
+                if (i != j) {
+                    items[j] = items[i];
+                    x[j] = x[i];
+                    y[j] = y[i];
+                    rotation[j] = rotation[i];
+                    radius[j] = radius[i];
+                    speed[j] = speed[i];
+                    kind[j] = kind[i];
+                    x1[j] = x1[i];
+                    y1[j] = y1[i];
+                    x2[j] = x2[i];
+                    y2[j] = y2[i];
+                    x3[j] = x3[i];
+                    y3[j] = y3[i];
+                    slots.put(items[j], j);
+                }
+                j++;
+            }
+        Arrays.fill(items, j, size, null);
+        size = j;
+        removed.clear();
+    }
+
+    /**
+     * Prepares the update of all projectiles of the map. This must be called before the items of the map are
+     * updated; projectiles added afterwards are updated as usual.
+     *
+     * @param delta time in seconds since the last update call
+     * @see #updateProjectile(Projectile, float)
+     */
+    void prepareProjectiles(float delta) {
+        compact();
+        integrate(delta);
+        checkGround();
+        broadphase();
+        broadphaseChanges = grid.getChanges();
+    }
+
+    /**
+     * Updates the specified projectile using the results of {@linkplain #prepareProjectiles(float)}.
+     * The projectile is updated as usual if its update has not been prepared or if it has been changed since.
+     *
+     * @param projectile a projectile of the map
+     * @param delta      time in seconds since the last update call, which must be the same as
+     *                   when the update has been prepared
+     * @see Projectile#update(float, float, float, boolean, boolean)
+     */
+    void updateProjectile(Projectile projectile, float delta) {
+        final int i = slots.get(projectile);
+        if (i == SlotTable.NONE || !prepared.get(i)) {
+            projectile.update(delta);
+            return;
+        }
+        prepared.clear(i);
+        projectile.update(delta, toX[i], toY[i], mayHit.get(i) || !isWayUnchanged(i), onGround.get(i));
+    }
+
+    /**
+     * Computes the target position of each projectile from its speed and rotation.
+     */
+    private void integrate(float delta) {
+        for (int i = 0; i < size; i++)
+            if (kind[i] == PROJECTILE) {
+                final float distance = speed[i] * delta;
+                toX[i] = x[i] + distance * cos(rotation[i]);
+                toY[i] = y[i] + distance * sin(rotation[i]);
+                prepared.set(i);
+            }
+    }
+
+    /**
+     * Determines the projectiles that are on their ground. This is the case if a projectile is still
+     * within the triangle that has contained it when it has been checked last; only projectiles that
+     * have left their triangle look for the triangle of their ground containing them.
+     */
+    private void checkGround() {
+        onGround.clear();
+        for (int i = 0; i < size; i++)
+            if (kind[i] == PROJECTILE && (isInTriangle(i) || findTriangle(i)))
+                onGround.set(i);
+    }
+
+    /**
+     * Checks whether the projectile in the specified slot is within the triangle it has been found in.
+     * This is the same check as {@linkplain pp.util.Triangle#contains(float, float, float)}, but without
+     * tolerance. A projectile that passes this check is therefore contained in a triangle of its ground.
+     */
+    private boolean isInTriangle(int i) {
+        return isRight(x[i], y[i], x1[i], y1[i], x2[i], y2[i]) &&
+               isRight(x[i], y[i], x2[i], y2[i], x3[i], y3[i]) &&
+               isRight(x[i], y[i], x3[i], y3[i], x1[i], y1[i]);
+    }
+
+    /**
+     * Looks for the triangle of its ground containing the projectile in the specified slot and keeps
+     * its corners.
+     *
+     * @return true if there is such a triangle
+     */
+    private boolean findTriangle(int i) {
+        final ElevatedTriangle t = items[i].getTriangle();
+        if (t == null) {
+            x1[i] = Float.NaN;
+            return false;
+        }
+        final Position a = t.a();
+        final Position b = t.turnsLeft() ? t.c() : t.b();
+        final Position c = t.turnsLeft() ? t.b() : t.c();
+        x1[i] = a.getX();
+        y1[i] = a.getY();
+        x2[i] = b.getX();
+        y2[i] = b.getY();
+        x3[i] = c.getX();
+        y3[i] = c.getY();
+        return true;
+    }
+
+    /**
+     * Returns true if the segment from (x1,y1) to (x2,y2) makes a right turn to the point (x,y).
+     * This is false if any coordinate is NaN.
+     */
+    private static boolean isRight(float x, float y, float x1, float y1, float x2, float y2) {
+        return (y2 - y1) * (x - x1) - (x2 - x1) * (y - y1) < 0f;
+    }
+
+    /**
+     * Determines the projectiles whose way to their target position may touch the bounding box of
+     * any other item except their ground and other projectiles.
+     */
+    private void broadphase() {
+        fillBuckets();
+        mayHit.clear();
+        for (int i = 0; i < size; i++)
+            if (kind[i] == PROJECTILE && mayHit(i))
+                mayHit.set(i);
+    }
+
+    /**
+     * Sorts the slots of all items except projectiles into the buckets of their grid cells.
+     */
+    private void fillBuckets() {
+        int num = 0;
+        maxRadius = 0f;
+        for (int i = 0; i < size; i++)
+            if (kind[i] != PROJECTILE) {
+                num++;
+                maxRadius = max(maxRadius, radius[i]);
+            }
+        final int numBuckets = Integer.highestOneBit(max(num, 1)) * 2;
+        if (bucketStart.length <= numBuckets)
+            bucketStart = new int[numBuckets + 1];
+        else
+            Arrays.fill(bucketStart, 0, numBuckets + 1, 0);
+        if (bucketSlots.length < num)
+            bucketSlots = new int[num];
+        bucketMask = numBuckets - 1;
+        // count the slots of each bucket, and let bucketStart[b] point behind bucket b
+        for (int i = 0; i < size; i++)
+            if (kind[i] != PROJECTILE)
+                bucketStart[bucket(cell(x[i]), cell(y[i]))]++;
+        for (int b = 1; b <= numBuckets; b++)
+            bucketStart[b] += bucketStart[b - 1];
+        // fill each bucket from its end, leaving bucketStart[b] at the start of bucket b
+        for (int i = 0; i < size; i++)
+            if (kind[i] != PROJECTILE)
+                bucketSlots[--bucketStart[bucket(cell(x[i]), cell(y[i]))]] = i;
+    }
+
+    /**
+     * Checks whether no item has been added, removed, or moved near the way of the projectile in the
+     * specified slot since the broadphase has been computed.
+     */
+    private boolean isWayUnchanged(int i) {
+        final float r = radius[i];
+        return grid.isUnchangedSince(broadphaseChanges,
+                                     min(x[i], toX[i]) - r, min(y[i], toY[i]) - r,
+                                     max(x[i], toX[i]) + r, max(y[i], toY[i]) + r);
+    }
+
+    /**
+     * Checks whether the projectile in the specified slot may touch the bounding box of any
+     * other item except its ground and other projectiles on its way to its target position.
+     */
+    private boolean mayHit(int i) {
+        final float r = radius[i];
+        final float minX = min(x[i], toX[i]) - r;
+        final float minY = min(y[i], toY[i]) - r;
+        final float maxX = max(x[i], toX[i]) + r;
+        final float maxY = max(y[i], toY[i]) + r;
+        if (grid.anyLargeIntersects(minX, minY, maxX, maxY, items[i].getGround()))
+            return true;
+        // items are sorted by their centers; their radius must be considered when looking for cells
+        final int cellMinX = cell(minX - maxRadius);
+        final int cellMinY = cell(minY - maxRadius);
+        final int cellMaxX = cell(maxX + maxRadius);
+        final int cellMaxY = cell(maxY + maxRadius);
+        if ((long) (cellMaxX - cellMinX + 1) * (cellMaxY - cellMinY + 1) > MAX_QUERY_CELLS)
+            return true;
+        for (int cx = cellMinX; cx <= cellMaxX; cx++)
+            for (int cy = cellMinY; cy <= cellMaxY; cy++) {
+                final int b = bucket(cx, cy);
+                for (int k = bucketStart[b]; k < bucketStart[b + 1]; k++) {
+                    final int j = bucketSlots[k];
+                    if (x[j] - radius[j] <= maxX && minX <= x[j] + radius[j] &&
+                        y[j] - radius[j] <= maxY && minY <= y[j] + radius[j])
+                        return true;
+                }
+            }
+        return false;
+    }
+
+    private void read(int slot) {
+        final CircularItem item = items[slot];
+        x[slot] = item.getX();
+        y[slot] = item.getY();
+        rotation[slot] = item.getRotation();
+        radius[slot] = item.getRadius();
+        speed[slot] = item instanceof Projectile projectile ? projectile.getSpeed() : 0f;
+        x1[slot] = Float.NaN;
+    }
+
+    private void grow() {
+        final int capacity = 2 * items.length;
+        items = Arrays.copyOf(items, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        rotation = Arrays.copyOf(rotation, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        toX = Arrays.copyOf(toX, capacity);
+        toY = Arrays.copyOf(toY, capacity);
+        x1 = Arrays.copyOf(x1, capacity);
+        y1 = Arrays.copyOf(y1, capacity);
+        x2 = Arrays.copyOf(x2, capacity);
+        y2 = Arrays.copyOf(y2, capacity);
+        x3 = Arrays.copyOf(x3, capacity);
+        y3 = Arrays.copyOf(y3, capacity);
+    }
+
+    private static int kindOf(CircularItem item) {
+        if (item instanceof Projectile) return PROJECTILE;
+        if (item instanceof Robot) return ROBOT;
+        if (item instanceof Obstacle) return OBSTACLE;
+        return OTHER;
+    }
+
+    private int bucket(int cx, int cy) {
+        return (cx * 73856093 ^ cy * 19349663) & bucketMask;
+    }
+
+    private static int cell(float coord) {
+        return (int) Math.floor(coord / ItemGrid.CELL_SIZE);
+    }
+}
@@ -68,6 +68,90 @@ public class DroidsConfig extends Config {
     @Property("droid.speed.turn") //NON-NLS
     private float droidTurningSpeed = 1f;
 
+    /**
+     * true, if the think phase of each frame runs in parallel.
+     */
+    @Property("model.parallel-update") //NON-NLS
+    private boolean parallelUpdate = false;
+
+    /**
+     * The maximum number of destroyed projectiles that are kept for being reused.
+     */
+    @Property("model.projectile-pool") //NON-NLS
+    private int projectilePoolSize = 0;
+
+    /**
+     * true, if game events are delivered at the end of each update.
+     */
+    @Property("model.event-batching") //NON-NLS
+    private boolean eventBatching = false;
+
+    /**
+     * true, if maps keep a structure-of-arrays copy of their circular items for updating projectiles.
+     */
+    @Property("map.circular-item-store") //NON-NLS
+    private boolean circularItemStore = false;
+
+    /**
+     * true, if the faces of polygons are triangulated in parallel when polygons are created.
+     */
+    @Property("map.parallel-triangulation") //NON-NLS
+    private boolean parallelTriangulation = false;
+
+    /**
+     * true, if the polygons of a map are created in parallel when the map is loaded.
+     */
+    @Property("map.parallel-loading") //NON-NLS
+    private boolean parallelLoading = false;
+
+    /**
+     * true, if the faces of polygons are triangulated by constrained Delaunay triangulations.
+     */
+    @Property("map.delaunay-triangulation") //NON-NLS
+    private boolean delaunayTriangulation = false;
+
+    /**
+     * The maximum area of a triangle of a Delaunay triangulation, or 0 if the area is not limited.
+     */
+    @Property("map.triangulation.max-area") //NON-NLS
+    private float triangulationMaxArea = 0f;
+
+    /**
+     * The minimum angle (in degrees) of a triangle of a Delaunay triangulation, or 0 if angles are not limited.
+     */
+    @Property("map.triangulation.min-angle") //NON-NLS
+    private float triangulationMinAngle = 0f;
+
+    /**
+     * true, if robots look for paths in the navigation mesh of their ground first.
+     */
+    @Property("navigation.nav-mesh") //NON-NLS
+    private boolean navMeshEnabled = false;
+
+    /**
+     * true, if robots look for paths in the visibility graph of their ground first.
+     */
+    @Property("navigation.visibility-graph") //NON-NLS
+    private boolean visibilityGraphEnabled = false;
+
+    /**
+     * The number of threads computing paths in the background.
+     */
+    @Property("navigation.planner-threads") //NON-NLS
+    private int plannerThreads = 2;
+
+    /**
+     * The computation time (in milliseconds) of path requests that may be started per frame.
+     */
+    @Property("navigation.planner-budget") //NON-NLS
+    private float plannerBudget = 20f;
+
+    /**
+     * The distance an observer or a target may move before a cached line-of-sight result is recomputed.
+     */
+    @Property("model.visibility-tolerance") //NON-NLS
+    private float visibilityTolerance = 0.05f;
+
     /**
      * Returns the width of the map.
      */
@@ -131,4 +215,118 @@ public class DroidsConfig extends Config {
     public float getDroidTurningSpeed() {
         return droidTurningSpeed;
     }
+
+    /**
+     * Returns true, if the think phase of each frame runs in parallel.
+     * The results are the same as without parallel updates.
+     */
+    public boolean isParallelUpdate() {
+        return parallelUpdate;
+    }
+
+    /**
+     * Returns the maximum number of destroyed projectiles that are kept for being reused by weapons
+     * instead of creating a new projectile for each shot, or 0 if projectiles are never reused.
+     */
+    public int getProjectilePoolSize() {
+        return projectilePoolSize;
+    }
+
+    /**
+     * Returns true, if game events published while the model is updated are collected and delivered to
+     * synchronous listeners at the end of the update, i.e., listeners do not interrupt the update.
+     */
+    public boolean isEventBatching() {
+        return eventBatching;
+    }
+
+    /**
+     * Returns true, if maps keep a structure-of-arrays copy of their circular items such that the
+     * updates of all projectiles are prepared in one pass.
+     *
+     * @see DroidsMap#useCircularItemStore()
+     */
+    public boolean isCircularItemStore() {
+        return circularItemStore;
+    }
+
+    /**
+     * Returns true, if the faces of polygons are triangulated in parallel when polygons are created.
+     * The triangles are the same as without parallel triangulation.
+     */
+    public boolean isParallelTriangulation() {
+        return parallelTriangulation;
+    }
+
+    /**
+     * Returns true, if the polygons of a map are created in parallel when the map is loaded.
+     * The loaded map, including the order of its items and the reported errors, is the same as
+     * without parallel loading.
+     */
+    public boolean isParallelLoading() {
+        return parallelLoading;
+    }
+
+    /**
+     * Returns true, if the faces of polygons are triangulated by constrained Delaunay triangulations,
+     * which avoid thin triangles, instead of the triangulations of their monotone sub-polygons.
+     */
+    public boolean isDelaunayTriangulation() {
+        return delaunayTriangulation;
+    }
+
+    /**
+     * Returns the maximum area of a triangle of a Delaunay triangulation, or 0 if the area is not limited.
+     * Larger triangles are refined by Steiner points.
+     */
+    public float getTriangulationMaxArea() {
+        return triangulationMaxArea;
+    }
+
+    /**
+     * Returns the minimum angle (in degrees) of a triangle of a Delaunay triangulation, or 0 if angles are
+     * not limited. Thinner triangles are refined by Steiner points unless they are within small angles of
+     * the polygon.
+     */
+    public float getTriangulationMinAngle() {
+        return triangulationMinAngle;
+    }
+
+    /**
+     * Returns true, if robots look for paths in the navigation mesh of their ground first
+     * and use the grid search only if the mesh does not yield a collision-free path.
+     */
+    public boolean isNavMeshEnabled() {
+        return navMeshEnabled;
+    }
+
+    /**
+     * Returns true, if robots look for paths in the visibility graph of their ground first
+     * and use the grid search only if the graph does not yield a collision-free path.
+     * Visibility graphs are then computed when a map is loaded and cached next to the map file.
+     */
+    public boolean isVisibilityGraphEnabled() {
+        return visibilityGraphEnabled;
+    }
+
+    /**
+     * Returns the number of threads computing paths in the background.
+     */
+    public int getPlannerThreads() {
+        return plannerThreads;
+    }
+
+    /**
+     * Returns the estimated computation time (in milliseconds) of path requests that may be started per frame.
+     */
+    public float getPlannerBudget() {
+        return plannerBudget;
+    }
+
+    /**
+     * Returns the distance an observer or a target may move before a cached line-of-sight result is recomputed.
+     */
+    public float getVisibilityTolerance() {
+        return visibilityTolerance;
+    }
 }
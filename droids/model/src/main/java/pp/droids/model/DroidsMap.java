@@ -7,13 +7,38 @@
 
 package pp.droids.model;
 
+import pp.droids.model.item.CircularItem;
 import pp.droids.model.item.Item;
+import pp.droids.model.item.Navigable;
+import pp.droids.model.item.Polygon;
+import pp.droids.model.item.PolygonItem;
+import pp.droids.model.item.Projectile;
+import pp.droids.model.item.Ray;
 import pp.droids.model.item.Robot;
 import pp.droids.notifications.ItemAddedEvent;
+import pp.util.ElevatedSegment;
+import pp.util.FloatRectangle;
+import pp.util.Position;
+import pp.util.Segment;
+import pp.util.SegmentLike;
+import pp.util.navigation.VisibilityGraph;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * Represents the entire game map. The game map must not contain more than one droid. The droid may be an
@@ -22,6 +47,7 @@ import java.util.ListIterator;
  * droid may be moved over the map in order to change the view point.
  */
 public class DroidsMap {
+    private static final Logger LOGGER = System.getLogger(DroidsMap.class.getName());
     private final MapType mapType;
 
     /**
@@ -30,9 +56,84 @@ public class DroidsMap {
     private Robot droid;
 
     /**
-     * A list of all items contained in this droids map.
+     * All items contained in this droids map.
      */
-    private final List<Item> items = new ArrayList<>();
+    private final ItemStore items = new ItemStore();
+
+    /**
+     * The items of this map that have been destroyed since the last update. They are removed at the end
+     * of the next update.
+     *
+     * @see #itemDestroyed(Item)
+     */
+    private final List<Item> destroyedItems = new ArrayList<>();
+
+    /**
+     * Indicates whether this map is being updated. The item store is not compacted then.
+     */
+    private boolean updating;
+
+    /**
+     * A spatial index of all items contained in {@linkplain #items}.
+     */
+    private final ItemGrid grid = new ItemGrid();
+
+    /**
+     * A structure-of-arrays copy of all circular items contained in {@linkplain #items},
+     * or null if it is not used.
+     *
+     * @see #useCircularItemStore()
+     */
+    private CircularItemStore circularItems;
+
+    /**
+     * Navigation grids by the radius of the moving items. They are discarded whenever a polygon is added or removed.
+     *
+     * @see #getNavigationGrid(float)
+     */
+    private final Map<Float, NavigationGrid> navigationGrids = new HashMap<>();
+
+    /**
+     * Added to the radius of items when computing visibility graphs. Paths that just touch a wall count
+     * as collisions and would be rejected otherwise.
+     */
+    private static final float VISIBILITY_MARGIN = 0.01f;
+
+    /**
+     * The ground and the radius of the moving items of a visibility graph.
+     */
+    private record GraphKey(Polygon ground, float radius) {}
+
+    /**
+     * Visibility graphs by ground and radius. They are discarded whenever a polygon is added or removed.
+     *
+     * @see #getVisibilityGraph(CircularItem)
+     */
+    private final Map<GraphKey, VisibilityGraph> visibilityGraphs = new LinkedHashMap<>();
+
+    /**
+     * Counts frames and changes of the items.
+     *
+     * @see #getSnapshot()
+     */
+    private long version;
+
+    /**
+     * The last snapshot returned by {@linkplain #getSnapshot()}.
+     */
+    private WorldSnapshot snapshot;
+
+    /**
+     * Cached line-of-sight results between items of this map.
+     */
+    private final VisibilityCache visibilityCache = new VisibilityCache(this);
+
+    /**
+     * The objects used for casting rays, one per thread.
+     *
+     * @see #getFirstHit(Position, float, float, Item)
+     */
+    private final ThreadLocal<FirstHitTest> firstHitTests = ThreadLocal.withInitial(FirstHitTest::new);
 
     /**
      * Creates an empty map with the specified map type.
@@ -57,10 +158,32 @@ public class DroidsMap {
     }
 
     /**
-     * Returns the list of all items (and all levels) of this map.
+     * Returns the list of all items (and all levels) of this map in the order of their addition.
+     * The list is unmodifiable and reflects later changes of this map.
      */
     public List<Item> getItems() {
-        return items;
+        return items.asList();
+    }
+
+    /**
+     * Lets this map keep a structure-of-arrays copy of all its circular items from now on. The updates of
+     * all projectiles are then prepared in one pass by {@linkplain #update(float, boolean)}, and only
+     * projectiles that may hit an item on their way look for hits using the spatial index. Items are still
+     * updated in the same order, and the result is the same as without the copy.
+     */
+    public void useCircularItemStore() {
+        if (circularItems != null) return;
+        circularItems = new CircularItemStore(grid);
+        for (Item item : getItems())
+            if (item instanceof CircularItem circular)
+                circularItems.add(circular);
+    }
+
+    /**
+     * Returns the structure-of-arrays copy of all circular items of this map, or null if it is not used.
+     */
+    CircularItemStore getCircularItemStore() {
+        return circularItems;
     }
 
     /**
@@ -79,29 +202,269 @@ public class DroidsMap {
      * @param deltaTime time in seconds since the last update call
      */
     public void update(float deltaTime) {
+        update(deltaTime, false);
+    }
+
+    /**
+     * Called once per frame. This method calls the update method of each item in this map and removes items that
+     * cease to exist.
+     * <p>
+     * Each item may precompute results in a think phase before it is updated. The think phase does not
+     * change any item, but it may fill caches of the map like its {@linkplain #getVisibilityCache() visibility cache}.
+     * The think phase of all items runs after the droid has been updated and before any other item is
+     * updated. It runs in parallel if {@code parallel} is true. The items are then updated sequentially,
+     * and each item must check whether the results of its think phase are still valid. Therefore,
+     * the result of this method does not depend on the value of {@code parallel}, and it is the same
+     * as without any think phase.
+     * </p>
+     *
+     * @param deltaTime time in seconds since the last update call
+     * @param parallel  whether the think phase runs in parallel
+     * @see Item#think(float)
+     */
+    public void update(float deltaTime, boolean parallel) {
+        update(deltaTime, parallel, true);
+    }
+
+    /**
+     * Like {@linkplain #update(float, boolean)}, but the think phase may be skipped. The result does not
+     * depend on whether the think phase runs, which tests check this way.
+     *
+     * @param deltaTime time in seconds since the last update call
+     * @param parallel  whether the think phase runs in parallel
+     * @param think     whether the think phase runs at all
+     */
+    void update(float deltaTime, boolean parallel, boolean think) {
         // save the reference to the droid just in case update-calls change this.droid
         final Robot droidCopy = droid;
-        // and the same for the list of items...
-        final ArrayList<Item> itemsCopy = new ArrayList<>(items);
+        // and the same for the items; items added during this update get
+        // slots after end and are not updated before the next frame
+        final int end = items.getEnd();
+        updating = true;
+        try {
+            // Update the droid even if it has been destroyed and has
+            // been removed from the list of items. That way one
+            // can still navigate the camera if the droid has been
+            // destroyed.
+            if (droid != null)
+                droid.update(deltaTime);
 
-        // Update the droid even if it has been destroyed and has
-        // been removed from the list of items. That way one
-        // can still navigate the camera if the droid has been
-        // destroyed.
-        if (droid != null)
-            droid.update(deltaTime);
-        // Update all the other items
-        // Iterate through items in reverse order
-        // so that projectiles are moved before the shooter
-        final ListIterator<Item> it = itemsCopy.listIterator(itemsCopy.size());
-        while (it.hasPrevious()) {
-            final Item item = it.previous();
-            if (item != droidCopy)
-                item.update(deltaTime);
+            // The think phase does not change any item, but only fills caches; the order does not matter
+            if (think && parallel)
+                IntStream.range(0, end).parallel()
+                         .mapToObj(items::get)
+                         .filter(item -> item != null && item != droidCopy)
+                         .forEach(item -> item.think(deltaTime));
+            else if (think)
+                for (int i = 0; i < end; i++) {
+                    final Item item = items.get(i);
+                    if (item != null && item != droidCopy)
+                        item.think(deltaTime);
+                }
+
+            // Update all the other items
+            // Iterate through items in reverse order
+            // so that projectiles are moved before the shooter
+            final CircularItemStore store = circularItems;
+            if (store != null)
+                store.prepareProjectiles(deltaTime);
+            for (int i = end - 1; i >= 0; i--) {
+                final Item item = items.get(i);
+                if (item == null || item == droidCopy)
+                    continue;
+                if (store != null && item instanceof Projectile projectile)
+                    store.updateProjectile(projectile, deltaTime);
+                else
+                    item.update(deltaTime);
+            }
+
+            // remove all destroyed items; destroyed projectiles may then be reused
+            for (Item item : destroyedItems)
+                if (item.isDestroyed() && items.remove(item)) {
+                    detach(item);
+                    recycle(item);
+                }
+            destroyedItems.clear();
+        }
+        finally {
+            updating = false;
+        }
+        items.compact();
+        if (circularItems != null)
+            circularItems.compact();
+        visibilityCache.frameEnded();
+        version++;
+    }
+
+    /**
+     * Puts the specified item into the projectile pool of its model if it is a projectile.
+     *
+     * @param item the destroyed item that has just been removed from this map
+     */
+    private static void recycle(Item item) {
+        if (item instanceof Projectile projectile)
+            projectile.getModel().getProjectilePool().release(projectile);
+    }
+
+    /**
+     * Discards all navigation grids if the specified added or removed item is a polygon.
+     */
+    private void polygonsChanged(Item item) {
+        if (item instanceof Polygon) {
+            navigationGrids.clear();
+            visibilityGraphs.clear();
+        }
+    }
+
+    /**
+     * Returns the visibility graph for items like the specified one, i.e., for items with its radius
+     * moving on its ground. The walls of the graph are the boundary of the ground and all other polygons
+     * of this map. The graph is computed when it is requested for the first time and kept until polygons
+     * are added or removed.
+     * <p>
+     * This method must be called by the thread that updates this map, whereas the returned graph
+     * may be used by any thread.
+     *
+     * @param item a circular item
+     * @return the visibility graph, or null if the item has no ground
+     */
+    public VisibilityGraph getVisibilityGraph(CircularItem item) {
+        final Polygon ground = item.getGround();
+        if (ground == null)
+            return null;
+        return visibilityGraphs.computeIfAbsent(new GraphKey(ground, item.getRadius() + VISIBILITY_MARGIN),
+                                                key -> new VisibilityGraph(visibilityWalls(key.ground), key.radius));
+    }
+
+    /**
+     * Computes the visibility graphs of all navigable items of this map unless they are already known.
+     *
+     * @return true if any graph has been computed
+     * @see #getVisibilityGraph(CircularItem)
+     */
+    public boolean prepareVisibilityGraphs() {
+        final int known = visibilityGraphs.size();
+        for (Item item : getItems())
+            if (item instanceof Navigable && item instanceof CircularItem circular)
+                getVisibilityGraph(circular);
+        return visibilityGraphs.size() > known;
+    }
+
+    /**
+     * Writes all visibility graphs computed so far to the specified file.
+     *
+     * @param file the file
+     * @throws IOException if writing fails
+     * @see #loadVisibilityGraphs(File)
+     */
+    public void saveVisibilityGraphs(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(visibilityGraphs.size());
+            for (Map.Entry<GraphKey, VisibilityGraph> entry : visibilityGraphs.entrySet()) {
+                out.writeInt(getItems().indexOf(entry.getKey().ground));
+                out.writeFloat(entry.getKey().radius);
+                entry.getValue().write(out);
+            }
         }
+        LOGGER.log(Level.INFO, "wrote {0} visibility graphs to {1}", visibilityGraphs.size(), file); //NON-NLS
+    }
+
+    /**
+     * Reads visibility graphs written by {@linkplain #saveVisibilityGraphs(File)}. Graphs that do not fit
+     * the current polygons of this map are ignored.
+     *
+     * @param file the file
+     * @throws IOException if reading fails or the file does not contain visibility graphs of this map
+     */
+    public void loadVisibilityGraphs(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            final int num = in.readInt();
+            for (int i = 0; i < num; i++) {
+                final int index = in.readInt();
+                final float radius = in.readFloat();
+                if (index < 0 || index >= items.size() || !(getItems().get(index) instanceof Polygon ground))
+                    throw new IOException("no ground at index " + index); //NON-NLS
+                final VisibilityGraph graph = VisibilityGraph.read(in, visibilityWalls(ground), radius);
+                if (graph != null)
+                    visibilityGraphs.putIfAbsent(new GraphKey(ground, radius), graph);
+            }
+        }
+        LOGGER.log(Level.INFO, "read {0} visibility graphs from {1}", visibilityGraphs.size(), file); //NON-NLS
+    }
+
+    /**
+     * Returns the walls of the visibility graph of the specified ground, i.e., the boundary of the ground
+     * with the ground on the left and the boundaries of all other polygons with the polygon on the right.
+     */
+    private List<Segment> visibilityWalls(Polygon ground) {
+        final List<Segment> walls = new ArrayList<>();
+        for (Item item : getItems())
+            if (item instanceof Polygon polygon) {
+                addRing(polygon.getOuterSegmentList(), polygon == ground, walls);
+                for (List<ElevatedSegment> hole : polygon.getHoleSegmentLists())
+                    addRing(hole, polygon != ground, walls);
+            }
+        return walls;
+    }
 
-        // remove all destroyed items
-        items.removeIf(Item::isDestroyed);
+    /**
+     * Adds the segments of the specified closed ring such that the inside of the ring is on their left side
+     * if {@code leftInside} is true, and on their right side otherwise.
+     */
+    private static void addRing(List<? extends SegmentLike> ring, boolean leftInside, List<Segment> walls) {
+        float area = 0f;
+        for (SegmentLike s : ring)
+            area += s.from().getX() * s.to().getY() - s.to().getX() * s.from().getY();
+        // the inside of a counterclockwise ring is on the left
+        final boolean reverse = area > 0f != leftInside;
+        for (SegmentLike s : ring)
+            walls.add(reverse ? new Segment(s.to(), s.from()) : new Segment(s.from(), s.to()));
+    }
+
+    /**
+     * Returns the cache of line-of-sight results between items of this map.
+     */
+    public VisibilityCache getVisibilityCache() {
+        return visibilityCache;
+    }
+
+    /**
+     * Returns the navigation grid of this map for circular items with the specified radius. The grid
+     * refers to all polygons currently contained in this map and is shared by all navigators for items
+     * of that radius. The map creates a new grid when polygons are added or removed; existing grids are
+     * not changed then.
+     * <p>
+     * This method must be called by the thread that updates this map, whereas the returned grid
+     * may be used by any thread.
+     *
+     * @param radius the radius of the moving items
+     * @return the navigation grid
+     */
+    public NavigationGrid getNavigationGrid(float radius) {
+        return navigationGrids.computeIfAbsent(radius, r -> {
+            final List<PolygonItem> polygons = new ArrayList<>();
+            for (Item item : getItems())
+                if (item instanceof Polygon polygon)
+                    polygons.add(polygon);
+            return new NavigationGrid(polygons, r);
+        });
+    }
+
+    /**
+     * Returns a snapshot of all items of this map that background threads may read while this map is updated.
+     * A new snapshot is taken at most once per frame unless items are added, removed, or moved between
+     * updates; it shares the {@linkplain Item#getSnapshot() snapshots} of all unchanged items with the
+     * previous snapshot. Items that are turned between updates are not noticed before the next frame.
+     * <p>
+     * This method must be called by the thread that updates this map, whereas the returned snapshot
+     * may be used by any thread.
+     *
+     * @return the snapshot
+     */
+    public WorldSnapshot getSnapshot() {
+        if (snapshot == null || snapshot.version() != version)
+            snapshot = new WorldSnapshot(version, getItems().stream().map(Item::getSnapshot).toList());
+        return snapshot;
     }
 
     /**
@@ -116,13 +479,25 @@ public class DroidsMap {
     }
 
     /**
-     * Adds the specified item to the list of items.
+     * Adds the specified item to the list of items. Items that are already contained are not added again.
      *
      * @param item the item to be added
      * @throws IllegalArgumentException if the specified item is a droid and there is already a droid in this map
      */
     public void add(Item item) {
-        items.add(item);
+        if (!items.add(item)) {
+            LOGGER.log(Level.WARNING, "{0} has already been added", item); //NON-NLS
+            return;
+        }
+        if (item.isDestroyed())
+            destroyedItems.add(item);
+        grid.add(item);
+        if (circularItems != null && item instanceof CircularItem circular)
+            circularItems.add(circular);
+        item.setMap(this);
+        polygonsChanged(item);
+        visibilityCache.added(item);
+        version++;
         item.getModel().notifyListeners(new ItemAddedEvent(item, this));
     }
 
@@ -135,6 +510,264 @@ public class DroidsMap {
     public boolean remove(Item item) {
         if (item instanceof Robot)
             this.droid = null;
-        return items.remove(item);
+        if (!items.remove(item)) return false;
+        detach(item);
+        if (!updating)
+            items.compact();
+        return true;
+    }
+
+    /**
+     * Removes the specified item from the spatial index of this map.
+     *
+     * @param item the item that is no longer contained in this map
+     */
+    private void detach(Item item) {
+        grid.remove(item);
+        if (circularItems != null)
+            circularItems.remove(item);
+        item.setMap(null);
+        polygonsChanged(item);
+        visibilityCache.removed(item);
+        version++;
+    }
+
+    /**
+     * Informs this map that the specified item has been destroyed. Items call this method
+     * when they are destroyed so that they can be removed at the end of the next update
+     * without looking at all other items.
+     *
+     * @param item the destroyed item
+     */
+    public void itemDestroyed(Item item) {
+        if (items.contains(item))
+            destroyedItems.add(item);
+    }
+
+    /**
+     * Informs this map that the specified item has been moved. Items call this method
+     * whenever their position has changed so that the spatial index can be kept up to date.
+     *
+     * @param item the moved item
+     */
+    public void itemMoved(Item item) {
+        grid.moved(item);
+        if (circularItems != null)
+            circularItems.moved(item);
+        visibilityCache.moved(item);
+        version++;
+    }
+
+    /**
+     * Informs this map that properties of the specified item other than its position, e.g., its rotation,
+     * have changed. Items call this method whenever such a property has changed.
+     *
+     * @param item the changed item
+     */
+    public void itemChanged(Item item) {
+        if (circularItems != null)
+            circularItems.changed(item);
+    }
+
+    /**
+     * Returns all items whose bounding box is closer than the specified distance
+     * to the specified position, i.e., all items that may overlap with a circle around
+     * that position. The returned list may contain further items, but it contains
+     * them in the same order as {@linkplain #getItems()}.
+     *
+     * @param pos    the center of the query circle
+     * @param radius the radius of the query circle
+     * @return a new list of items
+     */
+    public List<Item> getItemsNear(Position pos, float radius) {
+        return getItemsIn(pos.getX() - radius, pos.getY() - radius, pos.getX() + radius, pos.getY() + radius);
+    }
+
+    /**
+     * Returns the number of changes of the items of this map so far. Each addition, removal and
+     * movement of an item counts as a change.
+     *
+     * @see #isUnchangedNear(float, float, float, long)
+     */
+    public long getChanges() {
+        return grid.getChanges();
+    }
+
+    /**
+     * Checks whether the items that {@linkplain #getItemsNear(Position, float)} returns for the specified
+     * position and radius have neither changed nor moved after the specified number of changes. Results computed
+     * from these items at that time are then still valid. The check is conservative, i.e., it may fail even if
+     * the items have not changed.
+     *
+     * @param x       x-coordinate of the center of the query circle
+     * @param y       y-coordinate of the center of the query circle
+     * @param radius  the radius of the query circle
+     * @param changes the number of changes as returned by {@linkplain #getChanges()} before
+     */
+    public boolean isUnchangedNear(float x, float y, float radius, long changes) {
+        return grid.isUnchangedSince(changes, x - radius, y - radius, x + radius, y + radius);
+    }
+
+    /**
+     * Returns all items whose bounding box intersects the specified rectangle.
+     * The returned list may contain further items, but it contains them in the same order
+     * as {@linkplain #getItems()}.
+     *
+     * @param rect the query rectangle
+     * @return a new list of items
+     */
+    public List<Item> getItemsIn(FloatRectangle rect) {
+        return getItemsIn(rect.getMinX(), rect.getMinY(), rect.getMaxX(), rect.getMaxY());
+    }
+
+    private List<Item> getItemsIn(float minX, float minY, float maxX, float maxY) {
+        final List<Item> result = new ArrayList<>();
+        grid.collectInRectangle(minX, minY, maxX, maxY, result);
+        return result;
+    }
+
+    /**
+     * Returns all items whose bounding box may be closer than the specified distance to the
+     * straight line segment between the specified positions, i.e., all items that may be touched
+     * by a circle with that radius when moving along the segment. The returned list may contain
+     * further items, but it contains them in the same order as {@linkplain #getItems()}.
+     *
+     * @param from   start position of the segment
+     * @param to     end position of the segment
+     * @param radius the radius of the moving circle
+     * @return a new list of items
+     */
+    public List<Item> getItemsAlong(Position from, Position to, float radius) {
+        final List<Item> result = new ArrayList<>();
+        grid.collectAlongSegment(from.getX(), from.getY(), to.getX(), to.getY(), radius, result);
+        return result;
+    }
+
+    /**
+     * Returns all items that may be hit by the ray starting at the specified position in the
+     * specified direction. The returned list may contain further items, but it contains them
+     * in the same order as {@linkplain #getItems()}.
+     *
+     * @param start the start position of the ray
+     * @param dx    x-component of the ray direction
+     * @param dy    y-component of the ray direction
+     * @return a new list of items
+     */
+    public List<Item> getItemsOnRay(Position start, float dx, float dy) {
+        final List<Item> result = new ArrayList<>();
+        grid.collectAlongRay(start.getX(), start.getY(), dx, dy, result);
+        return result;
+    }
+
+    /**
+     * Returns the item that is hit first by the ray starting at the specified position in the
+     * specified direction, i.e., the item that {@linkplain Item#getHits(float, float)} would report first.
+     * Projectiles are never hit. Unlike {@linkplain Item#getHits(float, float)}, this method stops at
+     * the first occluder and does not collect the other items along the ray. It does not allocate memory.
+     *
+     * @param start  the start position of the ray
+     * @param dx     x-component of the ray direction
+     * @param dy     y-component of the ray direction
+     * @param ignore an item that cannot be hit, typically the item casting the ray; may be null
+     * @return the first item hit by the ray, or null if the ray does not hit any item
+     */
+    public Item getFirstHit(Position start, float dx, float dy, Item ignore) {
+        final FirstHitTest test = firstHitTests.get();
+        try {
+            return test.cast(start, dx, dy, ignore);
+        }
+        finally {
+            test.clear();
+        }
+    }
+
+    /**
+     * Checks whether the specified observer can see the specified target, i.e., whether the target is
+     * the first item hit by the ray from the observer towards the target.
+     *
+     * @param observer the observing item, which is not considered as an occluder
+     * @param target   the item to be seen
+     * @return true if no other item hides the target from the observer
+     */
+    public boolean canSee(Item observer, Item target) {
+        return getFirstHit(observer, target.getX() - observer.getX(), target.getY() - observer.getY(), observer) == target;
+    }
+
+    /**
+     * Computes the first hits of many rays at once. The i-th ray starts at the i-th observer and points
+     * in direction ({@code directions[2 * i]}, {@code directions[2 * i + 1]}); the observer itself is not
+     * hit. The item hit first by the i-th ray, or null if there is none, is stored in {@code hits[i]}.
+     * <p>
+     * All rays are cast with the same ray object, and no memory is allocated per ray. Like
+     * {@linkplain #getFirstHit(Position, float, float, Item)}, this method may be called concurrently,
+     * e.g., in the think phase.
+     * </p>
+     *
+     * @param observers  the start positions of the rays
+     * @param directions the direction vectors of the rays, two components per ray
+     * @param hits       receives the first hits; must be at least as long as {@code observers}
+     */
+    public void getFirstHits(List<? extends Item> observers, float[] directions, Item[] hits) {
+        final FirstHitTest test = firstHitTests.get();
+        try {
+            for (int i = 0; i < observers.size(); i++) {
+                final Item observer = observers.get(i);
+                hits[i] = test.cast(observer, directions[2 * i], directions[2 * i + 1], observer);
+            }
+        }
+        finally {
+            test.clear();
+        }
+    }
+
+    /**
+     * Checks for each of the specified observers whether it can see the specified target, like
+     * {@linkplain #canSee(Item, Item)}, and stores the result for the i-th observer in {@code visible[i]}.
+     * No memory is allocated per observer.
+     *
+     * @param observers the observing items
+     * @param target    the item to be seen
+     * @param visible   receives the results; must be at least as long as {@code observers}
+     */
+    public void canSee(List<? extends Item> observers, Item target, boolean[] visible) {
+        final FirstHitTest test = firstHitTests.get();
+        try {
+            for (int i = 0; i < observers.size(); i++) {
+                final Item observer = observers.get(i);
+                visible[i] = test.cast(observer, target.getX() - observer.getX(),
+                                       target.getY() - observer.getY(), observer) == target;
+            }
+        }
+        finally {
+            test.clear();
+        }
+    }
+
+    /**
+     * Casts rays through the spatial index of this map without allocating memory. Each thread uses
+     * its own instance.
+     */
+    private class FirstHitTest implements ItemGrid.RayTest {
+        private final Ray ray = new Ray(null, 1f, 0f);
+        private Item ignore;
+
+        Item cast(Position start, float dx, float dy, Item ignore) {
+            this.ignore = ignore;
+            ray.set(start, dx, dy);
+            return grid.firstAlongRay(start.getX(), start.getY(), dx, dy, this);
+        }
+
+        /**
+         * Drops the references to the items of the last ray.
+         */
+        void clear() {
+            ignore = null;
+            ray.set(null, 1f, 0f);
+        }
+
+        @Override
+        public float distance(Item item) {
+            return item == ignore ? Float.NaN : ray.distance(item);
+        }
     }
 }
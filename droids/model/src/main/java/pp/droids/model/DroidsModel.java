@@ -8,10 +8,13 @@
 package pp.droids.model;
 
 import pp.droids.model.item.Item;
+import pp.droids.model.item.ProjectilePool;
 import pp.droids.model.item.Robot;
 import pp.droids.notifications.GameEvent;
+import pp.droids.notifications.GameEventBus;
 import pp.droids.notifications.GameEventListener;
 import pp.droids.notifications.MapChangedEvent;
+import pp.droids.notifications.Subscription;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -19,10 +22,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Represents the main game model managing the configuration, map state,
@@ -35,9 +38,14 @@ public class DroidsModel {
     private static final Logger LOGGER = System.getLogger(DroidsModel.class.getName());
 
     /**
-     * List of all listeners subscribed to game events.
+     * Appended to the name of a map file to get the name of the file caching its visibility graphs.
      */
-    private final List<GameEventListener> listeners = new ArrayList<>();
+    public static final String VISIBILITY_GRAPH_SUFFIX = ".vis"; //NON-NLS
+
+    /**
+     * Delivers game events to all listeners subscribed to them.
+     */
+    private final GameEventBus eventBus = new GameEventBus();
 
     /**
      * Configuration parameters for this game instance.
@@ -59,11 +67,21 @@ public class DroidsModel {
      */
     private ExecutorService executor;
 
+    /**
+     * The service computing paths in the background, or {@code null} if it has not been used yet.
+     */
+    private PathPlanner pathPlanner;
+
     /**
      * Serializer used to save and load game maps.
      */
     private final Serializer serializer;
 
+    /**
+     * The projectiles that have been destroyed and can be reused by weapons.
+     */
+    private final ProjectilePool projectilePool = new ProjectilePool(this);
+
     /**
      * Constructs a new game model using the given serializer and configuration.
      *
@@ -110,6 +128,15 @@ public class DroidsModel {
         return droidsMap;
     }
 
+    /**
+     * Returns the pool of projectiles that have been destroyed and can be reused by weapons.
+     *
+     * @return the projectile pool
+     */
+    public ProjectilePool getProjectilePool() {
+        return projectilePool;
+    }
+
     /**
      * Returns a lazily initialized thread pool executor for background tasks.
      *
@@ -122,12 +149,26 @@ public class DroidsModel {
     }
 
     /**
-     * Shuts down the executor service if it has been initialized.
+     * Returns the lazily initialized service computing paths in the background.
+     *
+     * @return the path planner
+     */
+    public synchronized PathPlanner getPathPlanner() {
+        if (pathPlanner == null)
+            pathPlanner = new PathPlanner(config);
+        return pathPlanner;
+    }
+
+    /**
+     * Shuts down the executor service and the path planner if they have been initialized.
      */
     public void shutdown() {
         LOGGER.log(Level.INFO, "called DroidsModel::shutdown"); //NON-NLS
         if (executor != null)
             executor.shutdown();
+        if (pathPlanner != null)
+            pathPlanner.shutdown();
+        eventBus.shutdown();
     }
 
     /**
@@ -139,6 +180,9 @@ public class DroidsModel {
         final DroidsMap oldMap = this.droidsMap;
         this.droidsMap = droidsMap;
         winner = null;
+        projectilePool.clear();
+        if (config.isCircularItemStore())
+            droidsMap.useCircularItemStore();
         notifyListeners(new MapChangedEvent(oldMap, droidsMap));
     }
 
@@ -159,6 +203,33 @@ public class DroidsModel {
         try (InputStream stream = new FileInputStream(file)) {
             loadMap(stream);
         }
+        if (config.isVisibilityGraphEnabled())
+            prepareVisibilityGraphs(new File(file.getPath() + VISIBILITY_GRAPH_SUFFIX));
+    }
+
+    /**
+     * Provides the visibility graphs of the current map, reading them from the specified cache file
+     * if possible, and writes them to the cache file if some of them had to be computed.
+     *
+     * @param cache the cache file
+     */
+    private void prepareVisibilityGraphs(File cache) {
+        if (cache.exists()) {
+            try {
+                droidsMap.loadVisibilityGraphs(cache);
+            }
+            catch (IOException e) {
+                LOGGER.log(Level.WARNING, "cannot read visibility graphs from {0}: {1}", cache, e.getMessage()); //NON-NLS
+            }
+        }
+        if (droidsMap.prepareVisibilityGraphs()) {
+            try {
+                droidsMap.saveVisibilityGraphs(cache);
+            }
+            catch (IOException e) {
+                LOGGER.log(Level.WARNING, "cannot write visibility graphs to {0}: {1}", cache, e.getMessage()); //NON-NLS
+            }
+        }
     }
 
     /**
@@ -187,7 +258,16 @@ public class DroidsModel {
      * @param deltaTime time since the last frame, in seconds
      */
     public void update(float deltaTime) {
-        droidsMap.update(deltaTime);
+        if (config.isEventBatching())
+            eventBus.startBatch();
+        try {
+            if (pathPlanner != null)
+                pathPlanner.update();
+            droidsMap.update(deltaTime, config.isParallelUpdate());
+        }
+        finally {
+            eventBus.endBatch();
+        }
     }
 
     /**
@@ -197,7 +277,47 @@ public class DroidsModel {
      */
     public void addGameEventListener(GameEventListener receiver) {
         LOGGER.log(Level.DEBUG, "add listener {0}", receiver); //NON-NLS
-        listeners.add(receiver);
+        eventBus.addListener(receiver);
+    }
+
+    /**
+     * Registers a new game event listener that receives events in a separate thread.
+     * Such a listener must not access this model.
+     *
+     * @param receiver the listener to add
+     * @see GameEventBus#addAsyncListener(GameEventListener)
+     */
+    public void addAsyncGameEventListener(GameEventListener receiver) {
+        LOGGER.log(Level.DEBUG, "add asynchronous listener {0}", receiver); //NON-NLS
+        eventBus.addAsyncListener(receiver);
+    }
+
+    /**
+     * Subscribes to game events of the specified class. Unlike a listener, the handler is never
+     * invoked for events of other classes.
+     *
+     * @param type    the class of the events
+     * @param handler the handler receiving the events
+     * @param <E>     the class of the events
+     * @return the subscription, which can be cancelled
+     */
+    public <E extends GameEvent> Subscription<E> subscribe(Class<E> type, Consumer<? super E> handler) {
+        return eventBus.subscribe(type, handler);
+    }
+
+    /**
+     * Subscribes to game events of the specified class that are accepted by the specified filter,
+     * e.g., to events about a certain item only.
+     *
+     * @param type    the class of the events
+     * @param filter  only events accepted by this filter are passed to the handler
+     * @param handler the handler receiving the events
+     * @param <E>     the class of the events
+     * @return the subscription, which can be cancelled
+     */
+    public <E extends GameEvent> Subscription<E> subscribe(Class<E> type, Predicate<? super E> filter,
+                                                           Consumer<? super E> handler) {
+        return eventBus.subscribe(type, filter, handler);
     }
 
     /**
@@ -207,17 +327,18 @@ public class DroidsModel {
      */
     public void removeGameEventListener(GameEventListener receiver) {
         LOGGER.log(Level.DEBUG, "remove listener {0}", receiver); //NON-NLS
-        listeners.remove(receiver);
+        eventBus.removeListener(receiver);
     }
 
     /**
-     * Notifies all registered listeners about a game event.
+     * Notifies all registered listeners about a game event. If events are batched, synchronous
+     * listeners are notified at the end of the current update.
      *
      * @param event the event to dispatch
+     * @see DroidsConfig#isEventBatching()
      */
     public void notifyListeners(GameEvent event) {
-        for (GameEventListener listener : new ArrayList<>(listeners))
-            event.notify(listener);
+        eventBus.publish(event);
     }
 
     /**
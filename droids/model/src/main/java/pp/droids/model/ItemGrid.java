@@ -0,0 +1,518 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.CircularItem;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.PolygonItem;
+import pp.util.SegmentLike;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * A uniform grid of the bounding boxes of all items of a {@linkplain DroidsMap}.
+ * <p>
+ * Circular items are stored in every grid cell their bounding box overlaps with and are
+ * moved between cells whenever their position changes. Polygonal items are typically
+ * large and never move; they are therefore kept in a separate list together with their
+ * bounding box, and they are only reported if their bounding box meets the query region.
+ * </p>
+ * <p>
+ * All queries are conservative, i.e., they may report items that do not actually touch
+ * the query region, but they never miss an item that does. Reported items are sorted
+ * in the order in which they have been added to the grid.
+ * </p>
+ * <p>
+ * Queries do not modify the grid. They may therefore be run concurrently as long as
+ * no item is added, removed or moved at the same time.
+ * </p>
+ */
+class ItemGrid {
+    /**
+     * The width and height of each grid cell.
+     */
+    static final float CELL_SIZE = 2f;
+
+    /**
+     * Orders entries in the order in which they have been added.
+     */
+    private static final Comparator<Entry> BY_SEQ = Comparator.comparingInt(e -> e.seq);
+
+    /**
+     * Bookkeeping information of an item contained in the grid.
+     */
+    private static class Entry {
+        private final Item item;
+        private final int seq;
+        private final boolean large;
+        private float minX;
+        private float minY;
+        private float maxX;
+        private float maxY;
+        private int cellMinX;
+        private int cellMinY;
+        private int cellMaxX;
+        private int cellMaxY;
+
+        Entry(Item item, int seq, boolean large) {
+            this.item = item;
+            this.seq = seq;
+            this.large = large;
+        }
+
+        boolean intersects(float x1, float y1, float x2, float y2) {
+            return minX <= x2 && x1 <= maxX && minY <= y2 && y1 <= maxY;
+        }
+    }
+
+    private final Map<Item, Entry> entries = new IdentityHashMap<>();
+    /**
+     * The entries of the cells, by the key of the cell.
+     */
+    private final CellTable<Entry> cells = new CellTable<>();
+    private final List<Entry> largeEntries = new ArrayList<>();
+    private int nextSeq;
+
+    /**
+     * Counts the changes of this grid. Each cell is stamped with the count of the last change of an item
+     * in that cell, and {@linkplain #largeStamp} with the count of the last change of a large item.
+     *
+     * @see #isUnchangedSince(long, float, float, float, float)
+     */
+    private long changes;
+    private long largeStamp;
+
+    /**
+     * The range of cell indices that have ever been occupied. Used for clipping rays.
+     */
+    private int boundsMinX = Integer.MAX_VALUE;
+    private int boundsMinY = Integer.MAX_VALUE;
+    private int boundsMaxX = Integer.MIN_VALUE;
+    private int boundsMaxY = Integer.MIN_VALUE;
+
+    /**
+     * Adds the specified item to this grid.
+     *
+     * @param item the item to be added
+     */
+    void add(Item item) {
+        if (entries.containsKey(item)) return;
+        final Entry entry = new Entry(item, nextSeq++, item instanceof PolygonItem);
+        entries.put(item, entry);
+        changes++;
+        if (entry.large) {
+            computeBounds(entry, (PolygonItem) item);
+            largeEntries.add(entry);
+            largeStamp = changes;
+        }
+        else {
+            computeBounds(entry);
+            insertIntoCells(entry);
+        }
+    }
+
+    /**
+     * Removes the specified item from this grid.
+     *
+     * @param item the item to be removed
+     */
+    void remove(Item item) {
+        final Entry entry = entries.remove(item);
+        if (entry == null) return;
+        changes++;
+        if (entry.large) {
+            largeEntries.remove(entry);
+            largeStamp = changes;
+        }
+        else
+            removeFromCells(entry);
+    }
+
+    /**
+     * Updates the cells of the specified item after it has been moved.
+     * Items that are not contained in this grid are ignored.
+     *
+     * @param item the moved item
+     */
+    void moved(Item item) {
+        final Entry entry = entries.get(item);
+        if (entry == null || entry.large) return;
+        changes++;
+        computeBounds(entry);
+        if (cellIndex(entry.minX) == entry.cellMinX && cellIndex(entry.maxX) == entry.cellMaxX &&
+            cellIndex(entry.minY) == entry.cellMinY && cellIndex(entry.maxY) == entry.cellMaxY) {
+            for (int cx = entry.cellMinX; cx <= entry.cellMaxX; cx++)
+                for (int cy = entry.cellMinY; cy <= entry.cellMaxY; cy++)
+                    cells.setStamp(key(cx, cy), changes);
+            return;
+        }
+        removeFromCells(entry);
+        insertIntoCells(entry);
+    }
+
+    /**
+     * Returns the number of changes of this grid so far. Each addition, removal and movement of an item
+     * counts as a change.
+     */
+    long getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks whether no item has been added to, removed from, or moved within or out of any cell intersecting
+     * the specified rectangle after the specified number of changes. The items found by
+     * {@linkplain #collectInRectangle(float, float, float, float, List)} for the rectangle are then still the same
+     * and at the same positions. The check is conservative, i.e., it may fail even if these items have not changed.
+     *
+     * @param changes the number of changes as returned by {@linkplain #getChanges()} before
+     * @param minX    minimal x-coordinate of the rectangle
+     * @param minY    minimal y-coordinate of the rectangle
+     * @param maxX    maximal x-coordinate of the rectangle
+     * @param maxY    maximal y-coordinate of the rectangle
+     */
+    boolean isUnchangedSince(long changes, float minX, float minY, float maxX, float maxY) {
+        if (largeStamp > changes) return false;
+        for (int cx = cellIndex(minX); cx <= cellIndex(maxX); cx++)
+            for (int cy = cellIndex(minY); cy <= cellIndex(maxY); cy++)
+                if (cells.getStamp(key(cx, cy)) > changes) return false;
+        return true;
+    }
+
+    /**
+     * Collects all items whose bounding box intersects the specified rectangle.
+     *
+     * @param minX   minimal x-coordinate of the rectangle
+     * @param minY   minimal y-coordinate of the rectangle
+     * @param maxX   maximal x-coordinate of the rectangle
+     * @param maxY   maximal y-coordinate of the rectangle
+     * @param result the list where the found items are added to
+     */
+    void collectInRectangle(float minX, float minY, float maxX, float maxY, List<Item> result) {
+        final List<Entry> found = new ArrayList<>();
+        collectLarge(minX, minY, maxX, maxY, found);
+        for (int cx = cellIndex(minX); cx <= cellIndex(maxX); cx++)
+            for (int cy = cellIndex(minY); cy <= cellIndex(maxY); cy++)
+                collectCell(cx, cy, minX, minY, maxX, maxY, found);
+        flush(found, result);
+    }
+
+    /**
+     * Collects all items whose bounding box may be closer than the specified distance to
+     * the straight line segment between the specified points.
+     *
+     * @param x1     x-coordinate of the start point of the segment
+     * @param y1     y-coordinate of the start point of the segment
+     * @param x2     x-coordinate of the end point of the segment
+     * @param y2     y-coordinate of the end point of the segment
+     * @param radius the distance from the segment
+     * @param result the list where the found items are added to
+     */
+    void collectAlongSegment(float x1, float y1, float x2, float y2, float radius, List<Item> result) {
+        final List<Entry> found = new ArrayList<>();
+        collectLarge(min(x1, x2) - radius, min(y1, y2) - radius, max(x1, x2) + radius, max(y1, y2) + radius, found);
+        walkSegment(x1, y1, x2, y2, radius, found);
+        flush(found, result);
+    }
+
+    /**
+     * Collects all items whose bounding box may be hit by the ray starting at the specified
+     * position in the specified direction.
+     *
+     * @param x      x-coordinate of the start point of the ray
+     * @param y      y-coordinate of the start point of the ray
+     * @param dx     x-component of the ray direction
+     * @param dy     y-component of the ray direction
+     * @param result the list where the found items are added to
+     */
+    void collectAlongRay(float x, float y, float dx, float dy, List<Item> result) {
+        // large items are few; all of them are considered
+        final List<Entry> found = new ArrayList<>(largeEntries);
+        final float len = (float) Math.sqrt(dx * dx + dy * dy);
+        if (boundsMinX <= boundsMaxX && len > 0f) {
+            // the ray need not be followed further than to the farthest corner of the occupied cells
+            final float farX = max(Math.abs(boundsMinX * CELL_SIZE - x), Math.abs((boundsMaxX + 1) * CELL_SIZE - x));
+            final float farY = max(Math.abs(boundsMinY * CELL_SIZE - y), Math.abs((boundsMaxY + 1) * CELL_SIZE - y));
+            final float scale = (float) Math.sqrt(farX * farX + farY * farY) / len;
+            walkSegment(x, y, x + scale * dx, y + scale * dy, 0f, found);
+        }
+        flush(found, result);
+    }
+
+    /**
+     * Checks whether the bounding box of any polygonal item other than the specified one
+     * intersects the specified rectangle. Circular items are not considered.
+     *
+     * @param minX   minimal x-coordinate of the rectangle
+     * @param minY   minimal y-coordinate of the rectangle
+     * @param maxX   maximal x-coordinate of the rectangle
+     * @param maxY   maximal y-coordinate of the rectangle
+     * @param ignore an item that is not considered; may be null
+     * @return true if there is such an item
+     */
+    boolean anyLargeIntersects(float minX, float minY, float maxX, float maxY, Item ignore) {
+        for (Entry e : largeEntries)
+            if (e.item != ignore && e.intersects(minX, minY, maxX, maxY))
+                return true;
+        return false;
+    }
+
+    /**
+     * Computes the distance of the point where a ray hits an item.
+     */
+    interface RayTest {
+        /**
+         * Returns the distance from the start of the ray to the point where the ray hits the
+         * specified item, or {@code Float.NaN} if the ray does not hit the item. The hit point
+         * must lie within the bounding box of the item.
+         *
+         * @param item an item whose bounding box may be hit by the ray
+         * @return the distance of the hit point or NaN
+         */
+        float distance(Item item);
+    }
+
+    /**
+     * Returns the item that is hit first by the ray starting at the specified position in the
+     * specified direction. If several items are hit at the same distance, the one added first wins.
+     * <p>
+     * Unlike {@linkplain #collectAlongRay(float, float, float, float, List)}, this method does not
+     * collect the items along the ray. It visits the cells along the ray in the order in which the ray
+     * passes them and stops as soon as the ray enters a cell behind the closest hit found so far.
+     * Items that occupy several cells are tested only once: the cells of such an item that the ray
+     * passes follow each other, so the item is skipped if the previous cell also contains it.
+     * The method itself does not allocate memory; whether the test does is up to the caller.
+     * </p>
+     *
+     * @param x    x-coordinate of the start point of the ray
+     * @param y    y-coordinate of the start point of the ray
+     * @param dx   x-component of the ray direction
+     * @param dy   y-component of the ray direction
+     * @param test computes the hit distance for a single item
+     * @return the first item hit by the ray, or null if there is none
+     */
+    Item firstAlongRay(float x, float y, float dx, float dy, RayTest test) {
+        final float len = (float) Math.sqrt(dx * dx + dy * dy);
+        if (len == 0f) return null;
+        Entry best = null;
+        float bestDistance = Float.POSITIVE_INFINITY;
+        for (Entry e : largeEntries) {
+            final float d = test.distance(e.item);
+            if (isCloser(d, e, bestDistance, best)) {
+                best = e;
+                bestDistance = d;
+            }
+        }
+        if (boundsMinX > boundsMaxX) return best == null ? null : best.item;
+        // clip the ray to the occupied cells
+        final float minX = boundsMinX * CELL_SIZE;
+        final float maxX = (boundsMaxX + 1) * CELL_SIZE;
+        final float minY = boundsMinY * CELL_SIZE;
+        final float maxY = (boundsMaxY + 1) * CELL_SIZE;
+        float tEnter = 0f;
+        float tExit = Float.POSITIVE_INFINITY;
+        if (dx != 0f) {
+            final float ta = (minX - x) / dx;
+            final float tb = (maxX - x) / dx;
+            tEnter = max(tEnter, min(ta, tb));
+            tExit = min(tExit, max(ta, tb));
+        }
+        else if (x < minX || x > maxX)
+            return best == null ? null : best.item;
+        if (dy != 0f) {
+            final float ta = (minY - y) / dy;
+            final float tb = (maxY - y) / dy;
+            tEnter = max(tEnter, min(ta, tb));
+            tExit = min(tExit, max(ta, tb));
+        }
+        else if (y < minY || y > maxY)
+            return best == null ? null : best.item;
+        if (tEnter > tExit) return best == null ? null : best.item;
+        // walk along the cells in the order in which the ray passes them
+        int cx = clamp(cellIndex(x + tEnter * dx), boundsMinX, boundsMaxX);
+        int cy = clamp(cellIndex(y + tEnter * dy), boundsMinY, boundsMaxY);
+        final int stepX = dx > 0f ? 1 : -1;
+        final int stepY = dy > 0f ? 1 : -1;
+        final float deltaX = dx == 0f ? Float.POSITIVE_INFINITY : CELL_SIZE / Math.abs(dx);
+        final float deltaY = dy == 0f ? Float.POSITIVE_INFINITY : CELL_SIZE / Math.abs(dy);
+        float nextX = dx == 0f ? Float.POSITIVE_INFINITY : ((dx > 0f ? cx + 1 : cx) * CELL_SIZE - x) / dx;
+        float nextY = dy == 0f ? Float.POSITIVE_INFINITY : ((dy > 0f ? cy + 1 : cy) * CELL_SIZE - y) / dy;
+        float t = tEnter;
+        // the previous cell on the ray; there is none before the first one
+        int prevX = Integer.MIN_VALUE;
+        int prevY = Integer.MIN_VALUE;
+        while (t * len <= bestDistance &&
+               boundsMinX <= cx && cx <= boundsMaxX && boundsMinY <= cy && cy <= boundsMaxY) {
+            final List<Entry> list = cells.get(key(cx, cy));
+            if (list != null)
+                for (int i = 0; i < list.size(); i++) {
+                    final Entry e = list.get(i);
+                    if (e.cellMinX <= prevX && prevX <= e.cellMaxX && e.cellMinY <= prevY && prevY <= e.cellMaxY)
+                        // already tested in the previous cell
+                        continue;
+                    final float d = test.distance(e.item);
+                    if (isCloser(d, e, bestDistance, best)) {
+                        best = e;
+                        bestDistance = d;
+                    }
+                }
+            prevX = cx;
+            prevY = cy;
+            if (nextX < nextY) {
+                t = nextX;
+                nextX += deltaX;
+                cx += stepX;
+            }
+            else {
+                t = nextY;
+                nextY += deltaY;
+                cy += stepY;
+            }
+        }
+        return best == null ? null : best.item;
+    }
+
+    /**
+     * Collects all circular items in cells that may be closer than the specified distance to
+     * the specified segment. The segment is processed row by row: it is clipped to the
+     * horizontal slab of each row of cells, and only the cells covered by the clipped part
+     * are visited.
+     */
+    private void walkSegment(float x1, float y1, float x2, float y2, float radius, List<Entry> found) {
+        final float minX = min(x1, x2) - radius;
+        final float maxX = max(x1, x2) + radius;
+        final float minY = min(y1, y2) - radius;
+        final float maxY = max(y1, y2) + radius;
+        final float dx = x2 - x1;
+        final float dy = y2 - y1;
+        for (int cy = cellIndex(minY); cy <= cellIndex(maxY); cy++) {
+            final float slabMin = cy * CELL_SIZE - radius;
+            final float slabMax = (cy + 1) * CELL_SIZE + radius;
+            float t1 = 0f;
+            float t2 = 1f;
+            if (dy != 0f) {
+                final float ta = (slabMin - y1) / dy;
+                final float tb = (slabMax - y1) / dy;
+                t1 = max(t1, min(ta, tb));
+                t2 = min(t2, max(ta, tb));
+                if (t1 > t2) continue;
+            }
+            else if (y1 < slabMin || y1 > slabMax)
+                continue;
+            final float xa = x1 + t1 * dx;
+            final float xb = x1 + t2 * dx;
+            final int cxMin = cellIndex(min(xa, xb) - radius);
+            final int cxMax = cellIndex(max(xa, xb) + radius);
+            for (int cx = cxMin; cx <= cxMax; cx++)
+                collectCell(cx, cy, minX, minY, maxX, maxY, found);
+        }
+    }
+
+    private void collectLarge(float minX, float minY, float maxX, float maxY, List<Entry> found) {
+        for (Entry e : largeEntries)
+            if (e.intersects(minX, minY, maxX, maxY))
+                found.add(e);
+    }
+
+    private void collectCell(int cx, int cy, float minX, float minY, float maxX, float maxY, List<Entry> found) {
+        final List<Entry> list = cells.get(key(cx, cy));
+        if (list == null) return;
+        for (Entry e : list)
+            if (e.intersects(minX, minY, maxX, maxY))
+                found.add(e);
+    }
+
+    /**
+     * Sorts the found entries in the order of their addition and adds their items to the
+     * result list. Items that have been found in several cells are added only once.
+     */
+    private static void flush(List<Entry> found, List<Item> result) {
+        found.sort(BY_SEQ);
+        Entry prev = null;
+        for (Entry e : found)
+            if (e != prev) {
+                result.add(e.item);
+                prev = e;
+            }
+    }
+
+    private void insertIntoCells(Entry entry) {
+        entry.cellMinX = cellIndex(entry.minX);
+        entry.cellMinY = cellIndex(entry.minY);
+        entry.cellMaxX = cellIndex(entry.maxX);
+        entry.cellMaxY = cellIndex(entry.maxY);
+        boundsMinX = min(boundsMinX, entry.cellMinX);
+        boundsMinY = min(boundsMinY, entry.cellMinY);
+        boundsMaxX = max(boundsMaxX, entry.cellMaxX);
+        boundsMaxY = max(boundsMaxY, entry.cellMaxY);
+        for (int cx = entry.cellMinX; cx <= entry.cellMaxX; cx++)
+            for (int cy = entry.cellMinY; cy <= entry.cellMaxY; cy++) {
+                final long key = key(cx, cy);
+                cells.getOrCreate(key).add(entry);
+                cells.setStamp(key, changes);
+            }
+    }
+
+    private void removeFromCells(Entry entry) {
+        for (int cx = entry.cellMinX; cx <= entry.cellMaxX; cx++)
+            for (int cy = entry.cellMinY; cy <= entry.cellMaxY; cy++) {
+                final long key = key(cx, cy);
+                final List<Entry> list = cells.get(key);
+                if (list != null) {
+                    list.remove(entry);
+                    cells.setStamp(key, changes);
+                }
+            }
+    }
+
+    private static void computeBounds(Entry entry) {
+        final Item item = entry.item;
+        final float r = item instanceof CircularItem c ? c.getRadius() : 0f;
+        entry.minX = item.getX() - r;
+        entry.minY = item.getY() - r;
+        entry.maxX = item.getX() + r;
+        entry.maxY = item.getY() + r;
+    }
+
+    private static void computeBounds(Entry entry, PolygonItem item) {
+        entry.minX = entry.minY = Float.POSITIVE_INFINITY;
+        entry.maxX = entry.maxY = Float.NEGATIVE_INFINITY;
+        for (SegmentLike s : item.getAllSegments()) {
+            entry.minX = min(entry.minX, min(s.from().getX(), s.to().getX()));
+            entry.minY = min(entry.minY, min(s.from().getY(), s.to().getY()));
+            entry.maxX = max(entry.maxX, max(s.from().getX(), s.to().getX()));
+            entry.maxY = max(entry.maxY, max(s.from().getY(), s.to().getY()));
+        }
+    }
+
+    /**
+     * Checks whether a hit of the specified entry at the specified distance replaces the best hit so far.
+     * Ties are broken by the order of addition.
+     */
+    private static boolean isCloser(float distance, Entry entry, float bestDistance, Entry best) {
+        return distance < bestDistance || distance == bestDistance && best != null && entry.seq < best.seq;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    static int cellIndex(float coord) {
+        return (int) Math.floor(coord / CELL_SIZE);
+    }
+
+    static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+}
@@ -0,0 +1,220 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.Item;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The items of a {@linkplain DroidsMap} in the order of their addition.
+ * Each item occupies a slot, and new items are always put into a new slot after all other slots.
+ * Removing an item just clears the slot of the item in constant time. Cleared slots are reclaimed by
+ * {@linkplain #compact()}, which keeps the order of the remaining slots, but only if at least half of
+ * the slots have been cleared. Slots of the items are therefore stable until the store is compacted,
+ * and items added in the meantime never take the slot of another item.
+ * <p>
+ * The list returned by {@linkplain #asList()} is a view of the slots that skips cleared slots.
+ * Its iterators fail fast like those of {@linkplain java.util.ArrayList}.
+ * </p>
+ */
+class ItemStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Cleared slots are not reclaimed before there are at least that many.
+     */
+    private static final int MIN_CLEARED = 32;
+
+    private final SlotTable slots = new SlotTable();
+    private Item[] items = new Item[INITIAL_CAPACITY];
+
+    /**
+     * The number of slots, including cleared slots that have not yet been reclaimed.
+     */
+    private int end;
+
+    /**
+     * An unmodifiable view of the slots that have not been cleared, whose iterators fail fast if this
+     * store changes.
+     */
+    private final View view = new View();
+
+    private class View extends AbstractList<Item> {
+        /**
+         * Returns the item at the specified position. This takes constant time unless there are cleared
+         * slots that have not yet been reclaimed; the slots are searched linearly then.
+         */
+        @Override
+        public Item get(int index) {
+            if (index < 0 || index >= size())
+                throw new IndexOutOfBoundsException(index);
+            if (end == size())
+                return items[index];
+            for (int i = 0; ; i++)
+                if (items[i] != null && index-- == 0)
+                    return items[i];
+        }
+
+        @Override
+        public int size() {
+            return slots.size();
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            int index = 0;
+            for (int i = 0; i < end; i++)
+                if (items[i] != null) {
+                    if (items[i].equals(o)) return index;
+                    index++;
+                }
+            return -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Item item && ItemStore.this.contains(item);
+        }
+
+        @Override
+        public Iterator<Item> iterator() {
+            return new Iterator<>() {
+                private int next = skipCleared(0);
+                private final int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return next < end;
+                }
+
+                @Override
+                public Item next() {
+                    if (modCount != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    if (next >= end)
+                        throw new NoSuchElementException();
+                    final Item item = items[next];
+                    next = skipCleared(next + 1);
+                    return item;
+                }
+            };
+        }
+
+        private int skipCleared(int slot) {
+            while (slot < end && items[slot] == null)
+                slot++;
+            return slot;
+        }
+
+        void changed() {
+            modCount++;
+        }
+    }
+
+    /**
+     * Returns an unmodifiable list of all items of this store in the order of their addition.
+     * The list reflects later changes of this store.
+     */
+    List<Item> asList() {
+        return view;
+    }
+
+    /**
+     * Returns the number of items of this store.
+     */
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * Returns the number of slots, including cleared slots that have not yet been reclaimed.
+     * Slots of items added later have a greater number.
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the item in the specified slot, or null if the slot has been cleared.
+     *
+     * @param slot the slot, which must be less than {@linkplain #getEnd()}
+     */
+    Item get(int slot) {
+        return items[slot];
+    }
+
+    /**
+     * Returns whether the specified item is contained in this store.
+     *
+     * @param item an item
+     */
+    boolean contains(Item item) {
+        return slots.get(item) != SlotTable.NONE;
+    }
+
+    /**
+     * Puts the specified item into a new slot after all other slots.
+     *
+     * @param item the item to be added
+     * @return false if the item has already been contained in this store, true otherwise
+     */
+    boolean add(Item item) {
+        if (contains(item)) return false;
+        if (end == items.length)
+            items = Arrays.copyOf(items, 2 * end);
+        slots.put(item, end);
+        items[end++] = item;
+        view.changed();
+        return true;
+    }
+
+    /**
+     * Clears the slot of the specified item.
+     *
+     * @param item the item to be removed
+     * @return false if the item has not been contained in this store, true otherwise
+     */
+    boolean remove(Item item) {
+        final int slot = slots.remove(item);
+        if (slot == SlotTable.NONE) return false;
+        items[slot] = null;
+        view.changed();
+        return true;
+    }
+
+    /**
+     * Reclaims all cleared slots, keeping the order of the remaining slots, if at least half of the slots
+     * have been cleared. This changes the slots of the items; it must therefore not be called while
+     * the caller iterates over the slots.
+     *
+     * @return true if the slots have been compacted
+     */
+    boolean compact() {
+        final int cleared = end - size();
+        if (cleared < MIN_CLEARED || cleared < size()) return false;
+        int j = 0;
+        for (int i = 0; i < end; i++)
+            if (items[i] != null) {
+                if (i != j) {
+                    items[j] = items[i];
+                    slots.put(items[j], j);
+                }
+                j++;
+            }
+        Arrays.fill(items, j, end, null);
+        end = j;
+        view.changed();
+        return true;
+    }
+}
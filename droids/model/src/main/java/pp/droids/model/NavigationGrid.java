@@ -0,0 +1,227 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.PolygonItem;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.Segment;
+import pp.util.SegmentLike;
+
+import java.util.List;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Caches for a circular item of a fixed radius whether it can move along the edges between
+ * neighboring points of the integer lattice without colliding with any polygon of a map.
+ * These are the moves considered by path finding, and polygons typically cause the most
+ * expensive collision checks.
+ * <p>
+ * The state of each edge is computed on demand and then kept. Polygons cannot be moved;
+ * the map therefore creates a new grid whenever a polygon is added or removed. Concurrent
+ * use by several navigators is safe: polygons are not modified, and an edge state that is
+ * computed by several threads at the same time is the same for all of them.
+ * </p>
+ */
+public class NavigationGrid {
+    /**
+     * The maximal number of lattice points covered by a grid. Moves outside are not cached.
+     */
+    private static final int MAX_POINTS = 1 << 22;
+    private static final byte UNKNOWN = 0;
+    private static final byte FREE = 1;
+    private static final byte BLOCKED = 2;
+    /**
+     * The edge directions stored at each lattice point: east, north-east, north, and north-west.
+     * The opposite directions are stored at the respective neighbor.
+     */
+    private static final int[] DIR_X = {1, 1, 0, -1};
+    private static final int[] DIR_Y = {0, 1, 1, 1};
+
+    private final List<PolygonItem> polygons;
+    private final float radius;
+    private final int minX;
+    private final int minY;
+    private final int numX;
+    private final int numY;
+    private final byte[] edges;
+
+    /**
+     * Creates an empty grid for the specified polygons. The grid covers the bounding box of the polygons.
+     *
+     * @param polygons the polygons that obstruct moves
+     * @param radius   the radius of the moving item
+     */
+    NavigationGrid(List<PolygonItem> polygons, float radius) {
+        this.polygons = polygons;
+        this.radius = radius;
+        float x1 = Float.POSITIVE_INFINITY;
+        float y1 = Float.POSITIVE_INFINITY;
+        float x2 = Float.NEGATIVE_INFINITY;
+        float y2 = Float.NEGATIVE_INFINITY;
+        for (PolygonItem polygon : polygons)
+            for (SegmentLike s : polygon.getAllSegments()) {
+                x1 = min(x1, min(s.from().getX(), s.to().getX()));
+                y1 = min(y1, min(s.from().getY(), s.to().getY()));
+                x2 = max(x2, max(s.from().getX(), s.to().getX()));
+                y2 = max(y2, max(s.from().getY(), s.to().getY()));
+            }
+        if (x1 > x2 || (double) (x2 - x1 + 3f) * (y2 - y1 + 3f) > MAX_POINTS) {
+            minX = minY = numX = numY = 0;
+            edges = new byte[0];
+            return;
+        }
+        minX = (int) Math.floor(x1) - 1;
+        minY = (int) Math.floor(y1) - 1;
+        numX = (int) Math.ceil(x2) + 2 - minX;
+        numY = (int) Math.ceil(y2) + 2 - minY;
+        edges = new byte[4 * numX * numY];
+    }
+
+    /**
+     * Returns the radius of the moving item this grid has been created for.
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    /**
+     * Returns the number of lattice points covered by this grid. They are numbered from 0 to this number - 1.
+     */
+    public int getLatticeSize() {
+        return numX * numY;
+    }
+
+    /**
+     * Returns the number of the specified lattice point, or -1 if it is not covered by this grid.
+     *
+     * @param x x-coordinate of the lattice point
+     * @param y y-coordinate of the lattice point
+     */
+    public int latticeIndex(int x, int y) {
+        x -= minX;
+        y -= minY;
+        if (x < 0 || y < 0 || x >= numX || y >= numY)
+            return -1;
+        return y * numX + x;
+    }
+
+    /**
+     * Returns the x-coordinate of the lattice point with the specified number.
+     */
+    public int latticeX(int index) {
+        return minX + index % numX;
+    }
+
+    /**
+     * Returns the y-coordinate of the lattice point with the specified number.
+     */
+    public int latticeY(int index) {
+        return minY + index / numX;
+    }
+
+    /**
+     * Checks whether an item with the radius of this grid collides with any polygon when it
+     * moves from the lattice point with the specified number to its neighbor at the specified offset.
+     * This is the same as {@link #isBlocked(Position, Position)}, but avoids converting coordinates.
+     *
+     * @param index the number of the start point
+     * @param dx    x-offset of the neighbor, i.e., -1, 0, or 1
+     * @param dy    y-offset of the neighbor, i.e., -1, 0, or 1
+     * @return true if the move collides with a polygon
+     */
+    public boolean isBlocked(int index, int dx, int dy) {
+        final int x = index % numX;
+        final int y = index / numX;
+        final int edge = edgeIndex(x, y, dx, dy);
+        if (edge >= 0 && edges[edge] != UNKNOWN)
+            return edges[edge] == BLOCKED;
+        final Position from = new FloatPoint(minX + x, minY + y);
+        final Position to = new FloatPoint(minX + x + dx, minY + y + dy);
+        final boolean blocked = computeBlocked(from, to);
+        if (edge >= 0)
+            edges[edge] = blocked ? BLOCKED : FREE;
+        return blocked;
+    }
+
+    /**
+     * Checks whether an item with the radius of this grid collides with any polygon when it
+     * moves from {@code from} to {@code to}. The result is taken from the cache if both positions
+     * are neighboring lattice points within the grid.
+     *
+     * @param from start position
+     * @param to   end position
+     * @return true if the move collides with a polygon
+     */
+    public boolean isBlocked(Position from, Position to) {
+        return isBlocked(from.getX(), from.getY(), to.getX(), to.getY());
+    }
+
+    /**
+     * Checks whether an item with the radius of this grid collides with any polygon when it
+     * moves from (fx, fy) to (tx, ty). This is the same as {@link #isBlocked(Position, Position)},
+     * but does not create any objects if the result is taken from the cache.
+     *
+     * @param fx x-coordinate of the start position
+     * @param fy y-coordinate of the start position
+     * @param tx x-coordinate of the end position
+     * @param ty y-coordinate of the end position
+     * @return true if the move collides with a polygon
+     */
+    public boolean isBlocked(float fx, float fy, float tx, float ty) {
+        final int index = edgeIndex(fx, fy, tx, ty);
+        if (index < 0)
+            return computeBlocked(new FloatPoint(fx, fy), new FloatPoint(tx, ty));
+        final byte state = edges[index];
+        if (state != UNKNOWN)
+            return state == BLOCKED;
+        final boolean blocked = computeBlocked(new FloatPoint(fx, fy), new FloatPoint(tx, ty));
+        edges[index] = blocked ? BLOCKED : FREE;
+        return blocked;
+    }
+
+    /**
+     * Returns the index of the edge between the specified positions, or -1 if they are not
+     * neighboring lattice points within the grid.
+     */
+    private int edgeIndex(float fx, float fy, float tx, float ty) {
+        if (fx != (int) fx || fy != (int) fy || tx != (int) tx || ty != (int) ty)
+            return -1;
+        return edgeIndex((int) fx - minX, (int) fy - minY, (int) tx - (int) fx, (int) ty - (int) fy);
+    }
+
+    /**
+     * Returns the index of the edge from the lattice point (x, y), relative to the grid origin, to its
+     * neighbor at offset (dx, dy), or -1 if they are not neighboring lattice points within the grid.
+     */
+    private int edgeIndex(int x, int y, int dx, int dy) {
+        // store edges pointing downwards or westwards at the other end point
+        if (dy < 0 || dy == 0 && dx < 0) {
+            x += dx;
+            y += dy;
+            dx = -dx;
+            dy = -dy;
+        }
+        if (x < 0 || y < 0 || x >= numX || y >= numY)
+            return -1;
+        for (int dir = 0; dir < DIR_X.length; dir++)
+            if (DIR_X[dir] == dx && DIR_Y[dir] == dy)
+                return 4 * (y * numX + x) + dir;
+        return -1;
+    }
+
+    private boolean computeBlocked(Position from, Position to) {
+        final Segment segment = new Segment(from, to);
+        for (PolygonItem polygon : polygons)
+            if (!polygon.isDestroyed() && polygon.hasSegmentWithin(segment, radius))
+                return true;
+        return false;
+    }
+}
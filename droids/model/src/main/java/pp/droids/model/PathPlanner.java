@@ -0,0 +1,293 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.Navigable;
+import pp.util.Position;
+import pp.util.navigation.Navigator;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes paths of {@linkplain Navigable navigable} items in a bounded pool of background threads.
+ * <p>
+ * Each item has at most one path request. A new request of an item cancels its previous request unless
+ * both requests have the same start and target; in that case, the previous request is returned again.
+ * Requests wait in a queue until a thread is idle. Per frame, only requests whose estimated computation
+ * time fits into the {@linkplain DroidsConfig#getPlannerBudget() budget} are started, where the estimate is
+ * the average computation time of the previous requests.
+ * </p>
+ * All methods may be called from any thread.
+ */
+public class PathPlanner {
+    private static final Logger LOGGER = System.getLogger(PathPlanner.class.getName());
+
+    /**
+     * The weight of the latest computation time in the average computation time.
+     */
+    private static final float AVERAGE_WEIGHT = 0.1f;
+
+    private final ExecutorService executor;
+    private final int numThreads;
+    private final float budget;
+
+    /**
+     * The current request of each item, in the order of the requests.
+     * Requests are removed when they are completed or cancelled.
+     */
+    private final Map<Navigable, Request> requests = new LinkedHashMap<>();
+
+    /**
+     * The number of requests that are currently computed.
+     */
+    private int running;
+
+    /**
+     * The remaining budget (in milliseconds) of the current frame.
+     */
+    private float remainingBudget;
+
+    /**
+     * The number of requests started in the current frame.
+     */
+    private int startedInFrame;
+
+    /**
+     * The average computation time (in milliseconds) of a request.
+     */
+    private float averageTime;
+
+    private int submitted;
+    private int coalesced;
+    private int cancelled;
+    private int completed;
+
+    /**
+     * A path request of an item.
+     */
+    private static class Request {
+        final Navigable item;
+        final float startX;
+        final float startY;
+        final float startRot;
+        final Position target;
+        final Navigator navigator;
+        final CompletableFuture<List<Position>> future = new CompletableFuture<>();
+        /**
+         * The number of callers that have received this request and not yet released it.
+         */
+        int holders = 1;
+        boolean started;
+
+        Request(Navigable item, Position target) {
+            this.item = item;
+            this.startX = item.getX();
+            this.startY = item.getY();
+            this.startRot = item.getRotation();
+            this.target = target;
+            this.navigator = item.getNavigator();
+        }
+
+        boolean isSameAs(Navigable otherItem, Position otherTarget) {
+            return startX == otherItem.getX() && startY == otherItem.getY() && startRot == otherItem.getRotation() &&
+                   target.getX() == otherTarget.getX() && target.getY() == otherTarget.getY();
+        }
+    }
+
+    /**
+     * Creates a path planner with the number of threads and the budget specified in the configuration.
+     *
+     * @param config the game configuration
+     */
+    PathPlanner(DroidsConfig config) {
+        this.numThreads = Math.max(1, config.getPlannerThreads());
+        this.budget = config.getPlannerBudget();
+        this.remainingBudget = budget;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(numThreads, r -> {
+            final Thread thread = new Thread(r, "path-planner-" + threadCount.incrementAndGet()); //NON-NLS
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Requests a path from the current position of the specified item to the specified target. The path is
+     * computed by the {@linkplain Navigable#getNavigator() navigator} of the item, which is created immediately.
+     * The previous request of the item is cancelled unless it has the same start and target.
+     *
+     * @param item   the item looking for a path
+     * @param target the target position
+     * @return the future path, which is cancelled if the request is cancelled
+     */
+    public synchronized Future<List<Position>> requestPath(Navigable item, Position target) {
+        submitted++;
+        final Request previous = requests.get(item);
+        if (previous != null && !previous.future.isDone() && previous.isSameAs(item, target)) {
+            LOGGER.log(Level.DEBUG, "coalesce path request of {0}", item); //NON-NLS
+            coalesced++;
+            previous.holders++;
+            return previous.future;
+        }
+        if (previous != null)
+            cancel(previous);
+        final Request request = new Request(item, target);
+        requests.put(item, request);
+        dispatch();
+        return request.future;
+    }
+
+    /**
+     * Releases a future path returned by {@linkplain #requestPath(Navigable, Position)} because the caller is
+     * no longer interested in the path. The request is cancelled once all callers that received it have
+     * released it.
+     *
+     * @param item       the item that has requested the path
+     * @param futurePath the future path
+     */
+    public synchronized void release(Navigable item, Future<List<Position>> futurePath) {
+        final Request request = requests.get(item);
+        if (request != null && request.future == futurePath && --request.holders <= 0)
+            cancel(request);
+    }
+
+    /**
+     * Cancels the specified request, which is removed from the queue. A running computation completes,
+     * but its result is discarded.
+     */
+    private void cancel(Request request) {
+        if (request.future.cancel(false))
+            cancelled++;
+        requests.remove(request.item, request);
+    }
+
+    /**
+     * Starts a new frame with the full budget and starts waiting requests. Called once per frame.
+     */
+    public synchronized void update() {
+        remainingBudget = budget;
+        startedInFrame = 0;
+        dispatch();
+        final int waiting = getQueueDepth();
+        if (waiting > 0)
+            LOGGER.log(Level.DEBUG, "{0} path requests waiting, {1} running", waiting, running); //NON-NLS
+    }
+
+    /**
+     * Starts waiting requests in the order of their requests while threads are idle and the budget allows.
+     * The first request of a frame is started even if its estimated time exceeds the budget.
+     */
+    private void dispatch() {
+        final Iterator<Request> it = requests.values().iterator();
+        while (running < numThreads && it.hasNext() && (startedInFrame == 0 || remainingBudget >= averageTime)) {
+            final Request request = it.next();
+            if (request.started)
+                continue;
+            request.started = true;
+            running++;
+            startedInFrame++;
+            remainingBudget -= averageTime;
+            executor.execute(() -> compute(request));
+        }
+    }
+
+    /**
+     * Computes the path of the specified request in a background thread.
+     */
+    private void compute(Request request) {
+        final long startTime = System.nanoTime();
+        List<Position> path = null;
+        Throwable error = null;
+        try {
+            path = request.navigator.findPathTo(request.target);
+        }
+        catch (RuntimeException | Error e) {
+            error = e;
+        }
+        final float time = (System.nanoTime() - startTime) * 1e-6f;
+        synchronized (this) {
+            running--;
+            completed++;
+            averageTime = completed == 1 ? time : averageTime + AVERAGE_WEIGHT * (time - averageTime);
+            requests.remove(request.item, request);
+            dispatch();
+        }
+        if (error != null)
+            request.future.completeExceptionally(error);
+        else
+            request.future.complete(path);
+    }
+
+    /**
+     * Cancels all requests and stops the background threads.
+     */
+    public synchronized void shutdown() {
+        for (Request request : List.copyOf(requests.values()))
+            cancel(request);
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the number of requests that wait for an idle thread.
+     */
+    public synchronized int getQueueDepth() {
+        return (int) requests.values().stream().filter(r -> !r.started).count();
+    }
+
+    /**
+     * Returns the number of requests that are currently computed.
+     */
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the number of calls of {@linkplain #requestPath(Navigable, Position)}.
+     */
+    public synchronized int getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * Returns the number of requests that have been answered by an equal previous request.
+     */
+    public synchronized int getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Returns the number of cancelled requests.
+     */
+    public synchronized int getCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns the number of computed paths, including paths of requests cancelled while they were computed.
+     */
+    public synchronized int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Returns the average computation time (in milliseconds) of a request.
+     */
+    public synchronized float getAverageTime() {
+        return averageTime;
+    }
+}
@@ -0,0 +1,99 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.Item;
+
+/**
+ * Maps items to their slots in the stores of a {@linkplain DroidsMap} without boxing the slots.
+ * The table uses open addressing with linear probing and compares items by identity.
+ */
+class SlotTable {
+    /**
+     * Returned for items that are not contained.
+     */
+    static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    private Item[] keys = new Item[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the slot of the specified item, or {@value #NONE} if the item is not contained.
+     */
+    int get(Item item) {
+        final int mask = keys.length - 1;
+        for (int i = index(item, mask); keys[i] != null; i = (i + 1) & mask)
+            if (keys[i] == item)
+                return values[i];
+        return NONE;
+    }
+
+    /**
+     * Sets the slot of the specified item, which may or may not be contained already.
+     */
+    void put(Item item, int slot) {
+        if (2 * (size + 1) > keys.length)
+            rehash(2 * keys.length);
+        final int mask = keys.length - 1;
+        int i = index(item, mask);
+        while (keys[i] != null && keys[i] != item)
+            i = (i + 1) & mask;
+        if (keys[i] == null) size++;
+        keys[i] = item;
+        values[i] = slot;
+    }
+
+    /**
+     * Removes the specified item and returns its slot, or {@value #NONE} if the item is not contained.
+     * Subsequent entries of the probe sequence are shifted back so that no tombstones are necessary.
+     */
+    int remove(Item item) {
+        final int mask = keys.length - 1;
+        int i = index(item, mask);
+        while (keys[i] != item) {
+            if (keys[i] == null) return NONE;
+            i = (i + 1) & mask;
+        }
+        final int slot = values[i];
+        size--;
+        for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            final int home = index(keys[j], mask);
+            // move the entry at j to the gap at i unless its home index lies cyclically in (i, j]
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = null;
+        return slot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        final Item[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new Item[capacity];
+        values = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null)
+                put(oldKeys[i], oldValues[i]);
+    }
+
+    private static int index(Item item, int mask) {
+        final int h = System.identityHashCode(item) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,385 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.CircularItem;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.PolygonItem;
+import pp.droids.model.item.Projectile;
+import pp.util.FloatPoint;
+import pp.util.Segment;
+import pp.util.SegmentLike;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static pp.droids.model.ItemGrid.CELL_SIZE;
+import static pp.droids.model.ItemGrid.cellIndex;
+import static pp.droids.model.ItemGrid.key;
+
+/**
+ * Caches line-of-sight results of {@linkplain DroidsMap#canSee(Item, Item)} between pairs of items.
+ * <p>
+ * A result remains valid while the observer and the target stay within the
+ * {@linkplain DroidsConfig#getVisibilityTolerance() tolerance} of the positions it has been computed for.
+ * In addition, the map invalidates results when an item is added, removed, or moved: a visible target
+ * becomes hidden only if an item enters the line of sight, and a hidden target may become visible only
+ * if the item hiding it moves or is removed. Therefore, results between resting items are never computed
+ * again as long as no other item crosses their line of sight.
+ * </p>
+ * <p>
+ * Results are kept per observer, and looking up a valid result does not allocate memory. Hidden results
+ * are indexed by the item hiding the target, and visible results by the grid cells their line of sight
+ * crosses, so a moving item only looks at the results it may actually affect. Results that have not been
+ * looked up during an update of the map are discarded at its end.
+ * </p>
+ * Lookups may run concurrently, e.g., in the think phase, but not concurrently with changes of the map.
+ */
+public class VisibilityCache {
+    /**
+     * Added to the bounding box of items when looking for lines of sight they may cross. This way,
+     * items that just touch a line of sight at the border of a cell are not missed.
+     */
+    private static final float MARGIN = 1e-3f;
+
+    /**
+     * A cached result together with the positions it has been computed for.
+     */
+    private static class Entry {
+        private final Item observer;
+        private final Item target;
+        private float observerX;
+        private float observerY;
+        private float targetX;
+        private float targetY;
+
+        /**
+         * The first item hit by the ray from the observer towards the target; the target is visible
+         * if and only if this is the target itself.
+         */
+        private Item blocker;
+
+        /**
+         * Whether this result may still be used.
+         */
+        private boolean valid;
+
+        /**
+         * The last frame in which this result has been looked up.
+         */
+        private long frame;
+
+        /**
+         * The keys of the cells this result has been put into if it is a visible result.
+         */
+        private long[] cells = new long[8];
+        private int numCells;
+
+        /**
+         * Whether this result is contained in the index of hidden results or of visible results.
+         */
+        private boolean indexed;
+
+        Entry(Item observer, Item target) {
+            this.observer = observer;
+            this.target = target;
+        }
+
+        boolean isVisible() {
+            return blocker == target;
+        }
+
+        void addCell(long key) {
+            if (numCells == cells.length)
+                cells = Arrays.copyOf(cells, 2 * numCells);
+            cells[numCells++] = key;
+        }
+    }
+
+    /**
+     * The results of a single observer. Lookups for the same observer are synchronized on this object.
+     */
+    private static class Observer {
+        private final List<Entry> entries = new ArrayList<>(2);
+
+        Entry find(Item target) {
+            for (int i = 0; i < entries.size(); i++)
+                if (entries.get(i).target == target)
+                    return entries.get(i);
+            return null;
+        }
+    }
+
+    private final DroidsMap map;
+    private final Map<Item, Observer> observers = new ConcurrentHashMap<>();
+
+    /**
+     * Hidden results by the item hiding the target.
+     */
+    private final Map<Item, List<Entry>> hidden = new IdentityHashMap<>();
+
+    /**
+     * Visible results by the cells their line of sight crosses.
+     */
+    private final CellTable<Entry> visible = new CellTable<>();
+
+    private final AtomicLong computed = new AtomicLong();
+    private int size;
+    private long frame;
+
+    /**
+     * Creates an empty cache for the specified map.
+     *
+     * @param map the map whose items are looked at
+     */
+    VisibilityCache(DroidsMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Checks whether the specified observer can see the specified target. The result is computed by
+     * {@linkplain DroidsMap#canSee(Item, Item)} unless there is a valid cached result.
+     *
+     * @param observer the observing item
+     * @param target   the item to be seen
+     * @return true if no other item hides the target from the observer
+     */
+    public boolean canSee(Item observer, Item target) {
+        final Observer results = observers.computeIfAbsent(observer, k -> new Observer());
+        synchronized (results) {
+            Entry entry = results.find(target);
+            final float tolerance = observer.getModel().getConfig().getVisibilityTolerance();
+            if (entry != null && entry.valid &&
+                observer.distanceTo(entry.observerX, entry.observerY) <= tolerance &&
+                target.distanceTo(entry.targetX, entry.targetY) <= tolerance) {
+                entry.frame = frame;
+                return entry.isVisible();
+            }
+            computed.incrementAndGet();
+            final Item blocker = map.getFirstHit(observer, target.getX() - observer.getX(),
+                                                 target.getY() - observer.getY(), observer);
+            synchronized (this) {
+                if (entry == null) {
+                    entry = new Entry(observer, target);
+                    results.entries.add(entry);
+                    size++;
+                }
+                else
+                    unindex(entry);
+                entry.observerX = observer.getX();
+                entry.observerY = observer.getY();
+                entry.targetX = target.getX();
+                entry.targetY = target.getY();
+                entry.blocker = blocker;
+                entry.valid = true;
+                entry.frame = frame;
+                index(entry);
+            }
+            return blocker == target;
+        }
+    }
+
+    /**
+     * Returns the number of results that have been computed because there was no valid cached result.
+     */
+    public long getComputed() {
+        return computed.get();
+    }
+
+    /**
+     * Returns the number of cached results.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Called by the map at the end of each update. Results that have not been looked up since the end
+     * of the previous update are discarded.
+     */
+    void frameEnded() {
+        for (Iterator<Observer> it = observers.values().iterator(); it.hasNext(); ) {
+            final List<Entry> entries = it.next().entries;
+            for (int i = entries.size() - 1; i >= 0; i--)
+                if (entries.get(i).frame != frame) {
+                    unindex(entries.get(i));
+                    entries.remove(i);
+                    size--;
+                }
+            if (entries.isEmpty())
+                it.remove();
+        }
+        frame++;
+    }
+
+    /**
+     * Called by the map when the specified item has been added. Visible targets may be hidden by it.
+     */
+    void added(Item item) {
+        if (!(item instanceof Projectile))
+            hideBy(item);
+    }
+
+    /**
+     * Called by the map when the specified item has been moved. Visible targets may be hidden by it at its
+     * new position, and targets hidden by it may become visible. Results where the item is the observer or
+     * the target are checked against the tolerance when they are looked up.
+     */
+    void moved(Item item) {
+        if (item instanceof Projectile) return;
+        invalidateHiddenBy(item);
+        hideBy(item);
+    }
+
+    /**
+     * Called by the map when the specified item has been removed. All results of the item as observer are
+     * discarded, and results where the target is hidden by it become invalid.
+     */
+    void removed(Item item) {
+        if (item instanceof Projectile) return;
+        invalidateHiddenBy(item);
+        final Observer results = observers.remove(item);
+        if (results != null)
+            for (Entry entry : results.entries) {
+                unindex(entry);
+                size--;
+            }
+        // results with the item as target are no longer looked up and are discarded by frameEnded()
+    }
+
+    /**
+     * Invalidates all results where the target is hidden by the specified item.
+     */
+    private void invalidateHiddenBy(Item item) {
+        final List<Entry> entries = hidden.remove(item);
+        if (entries != null)
+            for (Entry entry : entries) {
+                entry.indexed = false;
+                entry.valid = false;
+            }
+    }
+
+    /**
+     * Invalidates all visible results whose line of sight is touched by the specified item, unless the
+     * item is the observer or the target.
+     */
+    private void hideBy(Item item) {
+        if (item instanceof CircularItem circular) {
+            final float reach = circular.getRadius() + MARGIN;
+            final int cxMax = cellIndex(item.getX() + reach);
+            final int cyMax = cellIndex(item.getY() + reach);
+            for (int cx = cellIndex(item.getX() - reach); cx <= cxMax; cx++)
+                for (int cy = cellIndex(item.getY() - reach); cy <= cyMax; cy++) {
+                    final List<Entry> list = visible.get(key(cx, cy));
+                    if (list == null) continue;
+                    // invalidating an entry removes it from this list
+                    for (int i = list.size() - 1; i >= 0; i--)
+                        hideBy(item, list.get(i));
+                }
+        }
+        else
+            // polygonal items are large and rarely change; check all visible results
+            for (Observer results : observers.values())
+                for (Entry entry : results.entries)
+                    if (entry.valid && entry.isVisible())
+                        hideBy(item, entry);
+    }
+
+    private void hideBy(Item item, Entry entry) {
+        if (entry.observer != item && entry.target != item && isInSight(item, entry)) {
+            unindex(entry);
+            entry.valid = false;
+        }
+    }
+
+    /**
+     * Puts the specified valid result into the index of hidden results or of visible results.
+     */
+    private void index(Entry entry) {
+        if (entry.isVisible()) {
+            putIntoCells(entry);
+            entry.indexed = true;
+        }
+        else if (entry.blocker != null) {
+            hidden.computeIfAbsent(entry.blocker, k -> new ArrayList<>()).add(entry);
+            entry.indexed = true;
+        }
+    }
+
+    /**
+     * Removes the specified result from the index it has been put into by {@linkplain #index(Entry)}.
+     */
+    private void unindex(Entry entry) {
+        if (!entry.indexed) return;
+        entry.indexed = false;
+        if (entry.isVisible()) {
+            for (int i = 0; i < entry.numCells; i++)
+                visible.get(entry.cells[i]).remove(entry);
+            entry.numCells = 0;
+        }
+        else {
+            final List<Entry> list = hidden.get(entry.blocker);
+            list.remove(entry);
+            if (list.isEmpty())
+                hidden.remove(entry.blocker);
+        }
+    }
+
+    /**
+     * Puts the specified visible result into all cells its line of sight crosses. The line of sight is
+     * processed row by row: it is clipped to the horizontal slab of each row of cells, and the result is
+     * put into the cells covered by the clipped part.
+     */
+    private void putIntoCells(Entry entry) {
+        final float x1 = entry.observerX;
+        final float y1 = entry.observerY;
+        final float dx = entry.targetX - x1;
+        final float dy = entry.targetY - y1;
+        final int cyMax = cellIndex(max(y1, entry.targetY));
+        for (int cy = cellIndex(min(y1, entry.targetY)); cy <= cyMax; cy++) {
+            float t1 = 0f;
+            float t2 = 1f;
+            if (dy != 0f) {
+                final float ta = (cy * CELL_SIZE - y1) / dy;
+                final float tb = ((cy + 1) * CELL_SIZE - y1) / dy;
+                t1 = max(t1, min(ta, tb));
+                t2 = min(t2, max(ta, tb));
+                if (t1 > t2) continue;
+            }
+            final float xa = x1 + t1 * dx;
+            final float xb = x1 + t2 * dx;
+            final int cxMax = cellIndex(max(xa, xb));
+            for (int cx = cellIndex(min(xa, xb)); cx <= cxMax; cx++) {
+                final long key = key(cx, cy);
+                entry.addCell(key);
+                visible.getOrCreate(key).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the specified item touches the line of sight of the specified result.
+     */
+    private static boolean isInSight(Item item, Entry entry) {
+        if (item instanceof CircularItem circular)
+            return SegmentLike.distance(entry.observerX, entry.observerY, entry.targetX, entry.targetY,
+                                        circular.getX(), circular.getY()) <= circular.getRadius();
+        if (item instanceof PolygonItem polygon)
+            return polygon.hasSegmentWithin(new Segment(new FloatPoint(entry.observerX, entry.observerY),
+                                                        new FloatPoint(entry.targetX, entry.targetY)), 0f);
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import pp.droids.model.item.Item;
+
+import java.util.List;
+
+/**
+ * An immutable view of the items of a {@linkplain DroidsMap} at a certain point in time, which may be
+ * read by background threads while the map is updated. It consists of the
+ * {@linkplain Item#getSnapshot() snapshots} of the items; snapshots of items that have not changed are
+ * shared with earlier world snapshots, and polygons are contained by reference.
+ *
+ * @param version the {@linkplain DroidsMap#getSnapshot() version} of the map when the snapshot was taken
+ * @param items   the unmodifiable list of the snapshots of all items of the map in the order of
+ *                {@linkplain DroidsMap#getItems()}
+ */
+public record WorldSnapshot(long version, List<Item> items) {}
@@ -13,8 +13,6 @@ import pp.util.Position;
 import pp.util.Segment;
 import pp.util.SegmentLike;
 
-import static pp.util.FloatMath.sqr;
-
 /**
  * A visitor class that creates a specific visitor for a moving circular item. The former visitor
  * checks for overlaps when that item is moved on a straight line.
@@ -49,9 +47,6 @@ class MoveCircularItemVisitor extends AbstractOverlapVisitor<Boolean> {
     Boolean handle(PolygonItem poly) {
         if (item.isDestroyed() || poly.isDestroyed())
             return Boolean.FALSE;
-        final Segment seg = new Segment(from, to);
-        final float dist2 = sqr(item.getRadius());
-        return poly.getAllSegments().stream()
-                   .anyMatch(cur -> seg.minDistanceSquared(cur) <= dist2);
+        return poly.hasSegmentWithin(new Segment(from, to), item.getRadius());
     }
 }
@@ -34,8 +34,7 @@ class PolygonOverlapVisitor extends AbstractOverlapVisitor<Boolean> {
         final float x = other.getX() + dx;
         final float y = other.getY() + dy;
         final float radius = other.getRadius();
-        return polygon.getAllSegments().stream()
-                      .anyMatch(cur -> cur.distanceTo(x, y) <= radius);
+        return polygon.hasSegmentWithin(x, y, radius);
     }
 
     /**
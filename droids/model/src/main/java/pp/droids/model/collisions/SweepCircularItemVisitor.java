@@ -0,0 +1,51 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model.collisions;
+
+import pp.droids.model.item.CircularItem;
+import pp.droids.model.item.PolygonItem;
+import pp.util.Position;
+import pp.util.SegmentLike;
+
+/**
+ * A visitor class that creates a specific visitor for a moving circular item. The former visitor
+ * returns the fraction of the movement after which the item touches the visited item for the first time,
+ * or {@code Float.NaN} if it does not touch it.
+ */
+class SweepCircularItemVisitor extends AbstractOverlapVisitor<Float> {
+    private final CircularItem item;
+    private final Position from;
+    private final Position to;
+
+    /**
+     * Creates a visitor for circular items moved on a straight line between the specified positions.
+     *
+     * @param item visiting item
+     * @param from start position for movement
+     * @param to   end position for movement
+     */
+    public SweepCircularItemVisitor(CircularItem item, Position from, Position to) {
+        this.item = item;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    Float handle(CircularItem other) {
+        if (item == other || item.isDestroyed() || other.isDestroyed())
+            return Float.NaN;
+        return SegmentLike.sweep(from, to, other, item.getRadius() + other.getRadius());
+    }
+
+    @Override
+    Float handle(PolygonItem poly) {
+        if (item.isDestroyed() || poly.isDestroyed())
+            return Float.NaN;
+        return poly.sweep(from, to, item.getRadius());
+    }
+}
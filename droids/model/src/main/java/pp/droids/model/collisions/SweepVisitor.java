@@ -0,0 +1,43 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model.collisions;
+
+import pp.droids.model.item.CircularItem;
+import pp.droids.model.item.PolygonItem;
+import pp.droids.model.item.Visitor;
+import pp.util.Position;
+
+/**
+ * A visitor class that creates a specific visitor for each item. The former visitor
+ * computes when that item, moved on a straight line, touches the visited item for the first time.
+ */
+public class SweepVisitor extends AbstractOverlapVisitor<Visitor<Float>> {
+    private final Position from;
+    private final Position to;
+
+    /**
+     * Creates a visitor for items moved on a straight line between the specified positions.
+     *
+     * @param from start of movement
+     * @param to   end of movement
+     */
+    public SweepVisitor(Position from, Position to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    Visitor<Float> handle(CircularItem item) {
+        return new SweepCircularItemVisitor(item, from, to);
+    }
+
+    @Override
+    Visitor<Float> handle(PolygonItem polygon) {
+        throw new UnsupportedOperationException("cannot move a polygon");
+    }
+}
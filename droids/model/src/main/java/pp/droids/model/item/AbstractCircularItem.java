@@ -8,6 +8,11 @@
 package pp.droids.model.item;
 
 import pp.droids.model.DroidsModel;
+import pp.util.FloatPoint;
+import pp.util.Position;
+
+import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Abstract base class of all items with a (roughly) circular shape in a {@linkplain pp.droids.model.DroidsMap}
@@ -40,4 +45,62 @@ public abstract class AbstractCircularItem extends AbstractItem implements Circu
     public float getRadius() {
         return boundingRadius;
     }
+
+    /**
+     * Returns all items of the map whose bounding box meets the bounding circle of this
+     * item when this item is (virtually) moved to the specified position.
+     *
+     * @param pos position where this item is (virtually) moved
+     * @return the candidate items
+     */
+    @Override
+    protected List<Item> getItemsNear(Position pos) {
+        return model.getDroidsMap().getItemsNear(pos, boundingRadius);
+    }
+
+    /**
+     * Computes the first contact of this item with any other item of the map that satisfies the
+     * specified predicate when this item is moved from its position to the specified position on
+     * a straight line. Only the items along the movement found by the spatial index of the map are checked.
+     *
+     * @param to     target position of the straight movement
+     * @param accept only items accepted by this predicate are considered
+     * @return the earliest contact, or null if this item does not touch any accepted item
+     */
+    public Impact firstImpact(Position to, Predicate<Item> accept) {
+        Item first = null;
+        float fraction = Float.NaN;
+        for (Item item : model.getDroidsMap().getItemsAlong(this, to, boundingRadius))
+            if (accept.test(item)) {
+                final float t = timeOfImpact(this, to, item);
+                if (t < fraction || Float.isNaN(fraction) && !Float.isNaN(t)) {
+                    fraction = t;
+                    first = item;
+                }
+            }
+        if (first == null)
+            return null;
+        final Position pos = new FloatPoint(getX() + fraction * (to.getX() - getX()),
+                                            getY() + fraction * (to.getY() - getY()));
+        return new Impact(first, fraction, pos, contactPoint(pos, first));
+    }
+
+    /**
+     * Returns the point where this item at the specified position touches the specified item.
+     */
+    private Position contactPoint(Position pos, Item other) {
+        if (other instanceof PolygonItem polygon) {
+            final Position closest = polygon.closestPoint(pos.getX(), pos.getY());
+            return closest == null ? pos : closest;
+        }
+        if (other instanceof CircularItem circular) {
+            final float distance = pos.distanceTo(circular);
+            if (distance > 0f) {
+                final float q = boundingRadius / (boundingRadius + circular.getRadius());
+                return new FloatPoint(pos.getX() + q * (circular.getX() - pos.getX()),
+                                      pos.getY() + q * (circular.getY() - pos.getY()));
+            }
+        }
+        return pos;
+    }
 }
\ No newline at end of file
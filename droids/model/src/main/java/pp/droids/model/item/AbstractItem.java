@@ -7,10 +7,12 @@
 
 package pp.droids.model.item;
 
+import pp.droids.model.DroidsMap;
 import pp.droids.model.DroidsModel;
 import pp.droids.model.collisions.CollisionPredicate;
 import pp.droids.model.collisions.MoveOverlapVisitor;
 import pp.droids.model.collisions.OverlapVisitor;
+import pp.droids.model.collisions.SweepVisitor;
 import pp.droids.notifications.ItemDestroyedEvent;
 import pp.util.ElevatedTriangle;
 import pp.util.FloatPoint;
@@ -18,7 +20,9 @@ import pp.util.Position;
 
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
+import java.util.List;
 import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.function.Predicate;
 
 import static java.util.Objects.requireNonNull;
@@ -38,6 +42,11 @@ public abstract class AbstractItem implements Item, Cloneable {
      */
     protected final DroidsModel model;
 
+    /**
+     * The map containing this item, or null if it is not contained in any map.
+     */
+    private DroidsMap map;
+
     /**
      * Indicates whether the object is destroyed.
      */
@@ -67,10 +76,22 @@ public abstract class AbstractItem implements Item, Cloneable {
      */
     private ElevatedTriangle triangle;
 
+    /**
+     * The triangle that contained this item's previous position. Items
+     * typically move only a little, so it is checked first when looking
+     * for the triangle of the current position.
+     */
+    private ElevatedTriangle lastTriangle;
+
     private float elevation;
 
     private boolean elevationComputed;
 
+    /**
+     * The copy returned by {@linkplain #getSnapshot()}, or null if this item has changed since.
+     */
+    private Item snapshot;
+
     /**
      * Creates a new item.
      *
@@ -101,6 +122,11 @@ public abstract class AbstractItem implements Item, Cloneable {
         return model;
     }
 
+    @Override
+    public void setMap(DroidsMap map) {
+        this.map = map;
+    }
+
     /**
      * Moves the item to the specified position.
      *
@@ -112,8 +138,13 @@ public abstract class AbstractItem implements Item, Cloneable {
         if (x != this.x || y != this.y) {
             this.x = x;
             this.y = y;
+            snapshot = null;
+            if (triangle != null)
+                lastTriangle = triangle;
             triangle = null;
             elevationComputed = false;
+            if (map != null)
+                map.itemMoved(this);
         }
     }
 
@@ -176,6 +207,19 @@ public abstract class AbstractItem implements Item, Cloneable {
     @Override
     public void setRotation(float rotation) {
         this.rotation = normalizeAngle(rotation);
+        changed();
+    }
+
+    /**
+     * Informs the map containing this item that properties of this item other than its
+     * position have changed, and discards the snapshot of this item.
+     *
+     * @see DroidsMap#itemChanged(Item)
+     */
+    protected void changed() {
+        snapshot = null;
+        if (map != null)
+            map.itemChanged(this);
     }
 
     /**
@@ -185,9 +229,24 @@ public abstract class AbstractItem implements Item, Cloneable {
     public void destroy() {
         LOGGER.log(Level.INFO, "{0} destroyed", this); //NON-NLS
         destroyed = true;
+        snapshot = null;
+        if (map != null)
+            map.itemDestroyed(this);
         model.notifyListeners(new ItemDestroyedEvent(this));
     }
 
+    /**
+     * Brings this destroyed item back to life such that it can be reused instead of
+     * creating a new item. The item must not be contained in any map.
+     */
+    protected void revive() {
+        destroyed = false;
+        snapshot = null;
+        triangle = null;
+        lastTriangle = null;
+        elevationComputed = false;
+    }
+
     /**
      * Creates and returns a copy of this item by cloning it.
      *
@@ -197,13 +256,30 @@ public abstract class AbstractItem implements Item, Cloneable {
     @Override
     public Item copy() {
         try {
-            return (Item) clone();
+            final AbstractItem copy = (AbstractItem) clone();
+            // the copy is not contained in any map
+            copy.map = null;
+            copy.snapshot = null;
+            return copy;
         }
         catch (CloneNotSupportedException ex) {
             throw new RuntimeException(ex.getMessage());
         }
     }
 
+    /**
+     * Returns a copy of this item that is shared until this item is moved, rotated, destroyed,
+     * or placed on another ground.
+     *
+     * @see #copy()
+     */
+    @Override
+    public Item getSnapshot() {
+        if (snapshot == null)
+            snapshot = copy();
+        return snapshot;
+    }
+
     /**
      * Returns whether this item has been destroyed
      *
@@ -222,6 +298,7 @@ public abstract class AbstractItem implements Item, Cloneable {
     @Override
     public void setGround(Polygon ground) {
         this.ground = ground;
+        snapshot = null;
     }
 
     @Override
@@ -243,7 +320,7 @@ public abstract class AbstractItem implements Item, Cloneable {
         if (ground == null)
             return null;
         if (triangle == null)
-            triangle = ground.findTriangle(x, y);
+            triangle = ground.findTriangle(x, y, lastTriangle);
         return triangle;
     }
 
@@ -290,6 +367,21 @@ public abstract class AbstractItem implements Item, Cloneable {
         return other.accept(accept(new MoveOverlapVisitor(from, to)));
     }
 
+    /**
+     * Computes when this item touches the specified one for the first time
+     * when this item is moved from the specified position to
+     * the other specified position on a straight line.
+     *
+     * @param from  start position of the straight movement
+     * @param to    target position of the straight movement
+     * @param other the other item
+     * @return the fraction of the movement in [0,1] when they touch, or {@code Float.NaN} if they do not touch.
+     */
+    @Override
+    public float timeOfImpact(Position from, Position to, Item other) {
+        return other.accept(accept(new SweepVisitor(from, to)));
+    }
+
     /**
      * Checks whether this item (when virtually moved to the specified position)
      * collides with any other item in the same map
@@ -316,11 +408,24 @@ public abstract class AbstractItem implements Item, Cloneable {
      */
     @Override
     public boolean overlapWithAnyOtherItem(Position pos, Predicate<Item> accept) {
-        for (Item item : model.getDroidsMap().getItems())
+        for (Item item : getItemsNear(pos))
             if (accept.test(item) && overlap(pos, item)) return true;
         return false;
     }
 
+    /**
+     * Returns all items of the map that may overlap with this item when this item is
+     * (virtually) moved to the specified position. This implementation returns all items;
+     * subclasses with known bounds should narrow this down using the spatial index of
+     * the map.
+     *
+     * @param pos position where this item is (virtually) moved
+     * @return the candidate items
+     */
+    protected List<Item> getItemsNear(Position pos) {
+        return model.getDroidsMap().getItems();
+    }
+
     /**
      * Casts a ray from the position of this item in the given direction,
      * collecting items intersected by the ray sorted by their hit distance.
@@ -335,9 +440,13 @@ public abstract class AbstractItem implements Item, Cloneable {
     @Override
     public SortedSet<DistanceItem> getHits(float dx, float dy) {
         final Ray ray = new Ray(this, dx, dy);
-        for (Item item : getModel().getDroidsMap().getItems())
-            if (item != this)
-                item.accept(ray);
-        return ray.getItems();
+        final SortedSet<DistanceItem> hits = new TreeSet<>();
+        for (Item item : getModel().getDroidsMap().getItemsOnRay(this, dx, dy))
+            if (item != this) {
+                final float distance = item.accept(ray);
+                if (!Float.isNaN(distance))
+                    hits.add(new DistanceItem(distance, item));
+            }
+        return hits;
     }
 }
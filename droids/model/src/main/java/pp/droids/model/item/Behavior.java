@@ -35,6 +35,25 @@ public interface Behavior {
      */
     void update(float delta);
 
+    /**
+     * Called once per frame before {@linkplain #update(float)} in the think phase of the robot,
+     * which must not change any item.
+     *
+     * @param delta the time elapsed since the last frame update, in seconds
+     * @see Item#think(float)
+     */
+    default void think(float delta) {
+        // do nothing
+    }
+
+    /**
+     * Called when the robot replaces this behavior by another one. This behavior is not updated anymore
+     * and may release pending computations.
+     */
+    default void stop() {
+        // do nothing
+    }
+
     /**
      * Returns the current navigation path the robot is following, if applicable.
      * <p>
@@ -7,9 +7,15 @@
 
 package pp.droids.model.item;
 
+import pp.droids.model.DroidsMap;
+import pp.droids.model.NavigationGrid;
+import pp.droids.model.WorldSnapshot;
 import pp.droids.model.collisions.NavigablePredicate;
+import pp.util.FloatMath;
 import pp.util.FloatPoint;
 import pp.util.Position;
+import pp.util.SegmentLike;
+import pp.util.navigation.AbstractIndexedNavigator;
 import pp.util.navigation.AbstractNavigator;
 import pp.util.navigation.Navigator;
 
@@ -18,7 +24,9 @@ import java.lang.System.Logger.Level;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -31,6 +39,8 @@ import static pp.util.FloatMath.normalizeAngle;
  * <p>
  * The pathfinding uses an orientation-aware A* algorithm and avoids collisions
  * with static and dynamic obstacles by checking against copies of other items.
+ * Collisions of circular items with polygons are looked up in the
+ * {@linkplain NavigationGrid navigation grid} of the map instead.
  */
 class DroidsNavigator implements Navigator {
     /**
@@ -39,9 +49,28 @@ class DroidsNavigator implements Navigator {
     private static final Logger LOGGER = System.getLogger(DroidsNavigator.class.getName());
 
     /**
-     * The item being navigated.
+     * The maximal number of positions of a {@link LatticeNavigator}. Larger maps use {@link LocalNavigator}.
+     * The arrays of searches with at most that many positions are reused by later searches.
      */
-    private final Navigable item;
+    private static final int MAX_LATTICE_POSITIONS = AbstractIndexedNavigator.MAX_CACHED_POSITIONS;
+
+    private static final float EPS = 1e-4f;
+    private static final float EPS2 = EPS * EPS;
+
+    /**
+     * The {@linkplain Item#getSnapshot() snapshot} of the item being navigated.
+     */
+    private final Item self;
+
+    /**
+     * The walking speed of the item.
+     */
+    private final float walkingSpeed;
+
+    /**
+     * The turning speed of the item.
+     */
+    private final float turningSpeed;
 
     /**
      * The starting position (with orientation) at the time this navigator was created.
@@ -49,25 +78,56 @@ class DroidsNavigator implements Navigator {
     private final OrientedPosition start;
 
     /**
-     * A copy of all relevant map items that might obstruct the navigating item.
+     * The snapshot of the map at the time this navigator was created.
+     */
+    private final WorldSnapshot world;
+
+    /**
+     * All items of {@linkplain #world} that might obstruct the navigating item, or null if they have not
+     * been collected yet.
      */
-    private final List<Item> itemListCopy;
+    private List<Item> obstacles;
+
+    /**
+     * The navigation grid of the map for the radius of the item, or null if the item is not circular.
+     */
+    private final NavigationGrid grid;
+
+    /**
+     * The items in {@linkplain #obstacles} that must be checked in addition to {@linkplain #grid}
+     * when the item moves.
+     */
+    private List<Item> movingObstacles;
 
     /**
      * Constructs a new {@code DroidsNavigator} instance for the given item.
-     * Copies all potential collision items in the map for safe offline path evaluation.
+     * It takes the {@linkplain DroidsMap#getSnapshot() snapshot} of the map for safe offline path evaluation,
+     * which does not copy any items that have not changed since the last snapshot.
+     * This constructor must be called by the thread that updates the map.
      *
      * @param item the item to navigate
      */
     public DroidsNavigator(Navigable item) {
-        this.item = item;
+        final DroidsMap map = item.getModel().getDroidsMap();
+        this.world = map.getSnapshot();
+        this.self = item.getSnapshot();
         this.start = new OrientedPosition(item);
-        this.itemListCopy = new ArrayList<>();
+        this.walkingSpeed = item.getWalkingSpeed();
+        this.turningSpeed = item.getTurningSpeed();
+        this.grid = item instanceof CircularItem c ? map.getNavigationGrid(c.getRadius()) : null;
+    }
 
-        final var pred = new NavigablePredicate(item);
-        for (Item it : item.getModel().getDroidsMap().getItems())
-            if (it != item && pred.test(it))
-                itemListCopy.add(it.copy());
+    /**
+     * Collects the items that might obstruct the navigating item when they are needed for the first time.
+     * This happens in the thread computing the path.
+     */
+    private void collectObstacles() {
+        if (obstacles != null)
+            return;
+        final var pred = new NavigablePredicate(self);
+        obstacles = world.items().stream().filter(it -> it != self && pred.test(it)).toList();
+        // polygons are covered by the navigation grid
+        movingObstacles = grid == null ? obstacles : obstacles.stream().filter(it -> !(it instanceof Polygon)).toList();
     }
 
     /**
@@ -82,8 +142,12 @@ class DroidsNavigator implements Navigator {
         LOGGER.log(Level.TRACE,
                    () -> String.format("look for path from (%f|%f) to (%f|%f)",
                                        start.getX(), start.getY(), target.getX(), target.getY()));
+        collectObstacles();
 
-        final List<Position> path = new ArrayList<>(new LocalNavigator(target).findPathFrom(start));
+        final List<OrientedPosition> latticePath = useLattice() ? new LatticeNavigator(target).findPathFrom(start) : null;
+        final List<Position> path = new ArrayList<>(latticePath != null
+                                                    ? latticePath
+                                                    : new LocalNavigator(target).findPathFrom(start));
 
         LOGGER.log(Level.TRACE,
                    () -> "found path: " +
@@ -94,6 +158,55 @@ class DroidsNavigator implements Navigator {
         return path;
     }
 
+    /**
+     * Returns true if the search can use {@link LatticeNavigator}, i.e., if the navigation grid
+     * covers all lattice points that the item can reach.
+     */
+    private boolean useLattice() {
+        return grid != null && grid.getLatticeSize() > 0 &&
+               (long) grid.getLatticeSize() * LatticeNavigator.SLOTS <= MAX_LATTICE_POSITIONS;
+    }
+
+    /**
+     * Checks whether the item can follow the specified path, which starts at the current position of the item,
+     * without colliding with any other item.
+     *
+     * @param path the path to check
+     * @return true if the path is free of collisions
+     */
+    boolean isFree(List<Position> path) {
+        if (path.isEmpty())
+            return false;
+        collectObstacles();
+        final LocalNavigator navigator = new LocalNavigator(path.get(path.size() - 1));
+        if (navigator.collisionAt(path.get(path.size() - 1)))
+            return false;
+        for (int i = 1; i < path.size(); i++)
+            if (navigator.collision(path.get(i - 1), path.get(i)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Computes cost for walking a given distance.
+     *
+     * @param distance the distance to walk
+     * @return cost based on walking speed
+     */
+    private float walkCosts(float distance) {
+        return distance / walkingSpeed;
+    }
+
+    /**
+     * Computes cost for rotating by a given angle.
+     *
+     * @param delta angle in radians
+     * @return cost based on turning speed
+     */
+    private float turnCosts(float delta) {
+        return turningSpeed <= 0f ? 0f : Math.abs(normalizeAngle(delta) / turningSpeed);
+    }
+
     /**
      * A position including orientation (angle in radians), used during pathfinding.
      */
@@ -117,19 +230,20 @@ class DroidsNavigator implements Navigator {
      * Inner class implementing an orientation-aware A* search for the robot's path.
      */
     private class LocalNavigator extends AbstractNavigator<OrientedPosition> {
-        private static final float EPS = 1e-4f;
-        private static final float EPS2 = EPS * EPS;
-
-        private final Item itemCopy;
         private final Position target;
 
+        /**
+         * Caches whether moving from a position to the target collides with any polygon. Moves to the
+         * target are checked for every expanded position, but the positions differ just by rotation.
+         */
+        private final Map<FloatPoint, Boolean> blockedToTarget = new HashMap<>();
+
         /**
          * Creates a new search instance toward the given target.
          *
          * @param target the goal position
          */
         public LocalNavigator(Position target) {
-            this.itemCopy = item.copy();
             this.target = target;
         }
 
@@ -190,27 +304,6 @@ class DroidsNavigator implements Navigator {
             return outgoing;
         }
 
-        /**
-         * Computes cost for walking a given distance.
-         *
-         * @param distance the distance to walk
-         * @return cost based on walking speed
-         */
-        private float walkCosts(float distance) {
-            return distance / item.getWalkingSpeed();
-        }
-
-        /**
-         * Computes cost for rotating by a given angle.
-         *
-         * @param delta angle in radians
-         * @return cost based on turning speed
-         */
-        private float turnCosts(float delta) {
-            float turningSpeed = item.getTurningSpeed();
-            return turningSpeed <= 0f ? 0f : Math.abs(normalizeAngle(delta) / turningSpeed);
-        }
-
         /**
          * Attempts to create a new reachable position with heading.
          * Filters out illegal or colliding transitions.
@@ -237,7 +330,7 @@ class DroidsNavigator implements Navigator {
          * @return true if a collision would occur
          */
         private boolean collisionAt(Position p) {
-            return itemListCopy.stream().anyMatch(it -> itemCopy.overlap(p, it));
+            return obstacles.stream().anyMatch(it -> self.overlap(p, it));
         }
 
         /**
@@ -248,7 +341,232 @@ class DroidsNavigator implements Navigator {
          * @return true if a collision would occur during movement
          */
         private boolean collision(Position from, Position to) {
-            return itemListCopy.stream().anyMatch(it -> itemCopy.overlapWhenMoving(from, to, it));
+            return grid != null && isBlocked(from, to) ||
+                   movingObstacles.stream().anyMatch(it -> self.overlapWhenMoving(from, to, it));
+        }
+
+        /**
+         * Checks by the navigation grid whether moving from {@code from} to {@code to} collides with any polygon.
+         */
+        private boolean isBlocked(Position from, Position to) {
+            if (to != target)
+                return grid.isBlocked(from, to);
+            return blockedToTarget.computeIfAbsent(new FloatPoint(from.getX(), from.getY()),
+                                                   p -> grid.isBlocked(p, target));
+        }
+    }
+
+    /**
+     * An orientation-aware A* search like {@link LocalNavigator}, but with numbered positions, which avoids
+     * creating objects during the search. The positions are the lattice points of the navigation grid combined
+     * with the direction of the last move, the start, and the target. Moves between lattice points are
+     * looked up in the navigation grid.
+     */
+    private class LatticeNavigator extends AbstractIndexedNavigator {
+        /**
+         * The number of positions per lattice point: one for each direction of a move from a neighboring
+         * lattice point, and one for a move from the start.
+         */
+        static final int SLOTS = 9;
+        private static final int FROM_START = 8;
+        private static final int[] DIR_X = {1, 1, 0, -1, -1, -1, 0, 1};
+        private static final int[] DIR_Y = {0, 1, 1, 1, 0, -1, -1, -1};
+        private static final float[] DIR_ROT = new float[DIR_X.length];
+        private static final byte UNKNOWN = 0;
+        private static final byte FREE = 1;
+        private static final byte BLOCKED = 2;
+
+        static {
+            for (int dir = 0; dir < DIR_X.length; dir++)
+                DIR_ROT[dir] = normalizeAngle(atan2(DIR_Y[dir], DIR_X[dir]));
+        }
+
+        private final Position target;
+        private final int startPos;
+        private final int targetPos;
+        private final float radius;
+
+        /**
+         * Set if the search has reached a lattice point outside the navigation grid.
+         */
+        private boolean leftGrid;
+
+        /**
+         * Creates a new search instance toward the given target.
+         *
+         * @param target the goal position
+         */
+        LatticeNavigator(Position target) {
+            super(SLOTS + 1);
+            this.target = target;
+            this.startPos = grid.getLatticeSize() * SLOTS;
+            this.targetPos = startPos + 1;
+            this.radius = grid.getRadius();
+        }
+
+        /**
+         * Computes the path from the specified start position, which must be the start of this navigator.
+         *
+         * @return the path, or null if the item may leave the navigation grid, and the path must be computed
+         *         by {@link LocalNavigator} instead
+         */
+        List<OrientedPosition> findPathFrom(OrientedPosition start) {
+            if (start.distanceSquaredTo(target) < EPS2 ||
+                obstacles.stream().anyMatch(it -> self.overlap(start, it)) ||
+                obstacles.stream().anyMatch(it -> self.overlap(target, it)))
+                return Collections.emptyList();
+            final int[] positions = findPathFrom(startPos);
+            if (leftGrid) {
+                LOGGER.log(Level.DEBUG, "path search left the navigation grid"); //NON-NLS
+                return null;
+            }
+            final List<OrientedPosition> path = new ArrayList<>(positions.length);
+            for (int i = 0; i < positions.length; i++)
+                path.add(i == 0 ? start : new OrientedPosition(x(positions[i]), y(positions[i]),
+                                                               rot(positions[i - 1], positions[i])));
+            return path;
+        }
+
+        private float x(int pos) {
+            if (pos == startPos) return start.getX();
+            if (pos == targetPos) return target.getX();
+            return grid.latticeX(pos / SLOTS);
+        }
+
+        private float y(int pos) {
+            if (pos == startPos) return start.getY();
+            if (pos == targetPos) return target.getY();
+            return grid.latticeY(pos / SLOTS);
+        }
+
+        /**
+         * Returns the orientation at {@code pos}. The predecessor {@code prev} is needed only for the target.
+         */
+        private float rot(int prev, int pos) {
+            if (pos == startPos)
+                return start.rot();
+            if (pos == targetPos)
+                return normalizeAngle(atan2(y(pos) - y(prev), x(pos) - x(prev)));
+            final int slot = pos % SLOTS;
+            if (slot != FROM_START)
+                return DIR_ROT[slot];
+            return normalizeAngle(atan2(y(pos) - start.getY(), x(pos) - start.getX()));
+        }
+
+        @Override
+        protected int getNumPositions() {
+            return targetPos + 1;
+        }
+
+        @Override
+        protected boolean isTargetPosition(int pos) {
+            if (pos == targetPos)
+                return true;
+            final float dx = target.getX() - x(pos);
+            final float dy = target.getY() - y(pos);
+            return dx * dx + dy * dy < EPS2;
+        }
+
+        @Override
+        protected float costsForStep(int prevPos, int nextPos) {
+            if (prevPos == NONE)
+                return 0f;
+            final float dx = x(nextPos) - x(prevPos);
+            final float dy = y(nextPos) - y(prevPos);
+            return turnCosts(rot(prevPos, nextPos) - rot(NONE, prevPos)) + walkCosts(FloatMath.sqrt(dx * dx + dy * dy));
+        }
+
+        @Override
+        protected float estimateCostsToTarget(int pos) {
+            final float dx = target.getX() - x(pos);
+            final float dy = target.getY() - y(pos);
+            return walkCosts(FloatMath.sqrt(dx * dx + dy * dy));
+        }
+
+        /**
+         * Computes all reachable positions from a given one, considering 8-way movement and the target.
+         */
+        @Override
+        protected int reachablePositions(int pos, int[] reachable) {
+            final float fromX = x(pos);
+            final float fromY = y(pos);
+            final int lattice = pos == startPos ? -1 : pos / SLOTS;
+            final int x = Math.round(fromX);
+            final int y = Math.round(fromY);
+            int num = 0;
+            for (int toX = x - 1; toX <= x + 1; toX++)
+                for (int toY = y - 1; toY <= y + 1; toY++) {
+                    final float dx = toX - fromX;
+                    final float dy = toY - fromY;
+                    final int to = grid.latticeIndex(toX, toY);
+                    if (dx * dx + dy * dy < EPS2)
+                        continue;
+                    if (to < 0) {
+                        leftGrid |= !grid.isBlocked(fromX, fromY, toX, toY) &&
+                                    !movingCollision(fromX, fromY, toX, toY);
+                        continue;
+                    }
+                    final boolean blocked = lattice >= 0
+                                            ? grid.isBlocked(lattice, toX - x, toY - y)
+                                            : grid.isBlocked(fromX, fromY, toX, toY);
+                    if (!blocked && !movingCollision(fromX, fromY, toX, toY))
+                        reachable[num++] = to * SLOTS + slot(dx, dy);
+                }
+            if (!blockedToTarget(pos, lattice, fromX, fromY))
+                reachable[num++] = targetPos;
+            return num;
+        }
+
+        /**
+         * Returns the slot of a lattice point reached by the specified move.
+         */
+        private int slot(float dx, float dy) {
+            for (int dir = 0; dir < DIR_X.length; dir++)
+                if (DIR_X[dir] == dx && DIR_Y[dir] == dy)
+                    return dir;
+            return FROM_START;
+        }
+
+        /**
+         * Checks whether moving from the specified position to the target is impossible.
+         * Whether the move from a lattice point collides with any polygon is kept as the
+         * {@linkplain #getMark(int) mark} of the lattice point during the search.
+         */
+        private boolean blockedToTarget(int pos, int lattice, float fromX, float fromY) {
+            final float toX = target.getX();
+            final float toY = target.getY();
+            final float dx = toX - fromX;
+            final float dy = toY - fromY;
+            if (pos == targetPos || dx * dx + dy * dy < EPS2)
+                return true;
+            final boolean blocked;
+            if (lattice < 0)
+                blocked = grid.isBlocked(fromX, fromY, toX, toY);
+            else {
+                if (getMark(lattice) == UNKNOWN)
+                    setMark(lattice, grid.isBlocked(fromX, fromY, toX, toY) ? BLOCKED : FREE);
+                blocked = getMark(lattice) == BLOCKED;
+            }
+            return blocked || movingCollision(fromX, fromY, toX, toY);
+        }
+
+        /**
+         * Checks whether the item collides with any item that is not covered by the grid when it moves.
+         * Circular items are checked without creating any objects.
+         */
+        private boolean movingCollision(float fromX, float fromY, float toX, float toY) {
+            for (int i = 0; i < movingObstacles.size(); i++) {
+                final Item other = movingObstacles.get(i);
+                if (other instanceof CircularItem circular) {
+                    if (!circular.isDestroyed() &&
+                        SegmentLike.distance(fromX, fromY, toX, toY, circular.getX(), circular.getY()) <=
+                        radius + circular.getRadius())
+                        return true;
+                }
+                else if (self.overlapWhenMoving(new FloatPoint(fromX, fromY), new FloatPoint(toX, toY), other))
+                    return true;
+            }
+            return false;
         }
     }
 }
@@ -0,0 +1,21 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model.item;
+
+import pp.util.Position;
+
+/**
+ * The first contact of a moving circular item with another item.
+ *
+ * @param item     the item that is hit
+ * @param fraction the fraction of the movement in [0,1] when the contact happens
+ * @param position the center of the moving item at the time of the contact
+ * @param contact  the point where the items touch
+ * @see AbstractCircularItem#firstImpact(Position, java.util.function.Predicate)
+ */
+public record Impact(Item item, float fraction, Position position, Position contact) {}
@@ -7,6 +7,7 @@
 
 package pp.droids.model.item;
 
+import pp.droids.model.DroidsMap;
 import pp.droids.model.DroidsModel;
 import pp.util.ElevatedTriangle;
 import pp.util.Position;
@@ -25,6 +26,15 @@ public interface Item extends Position {
      */
     DroidsModel getModel();
 
+    /**
+     * Sets the map that contains this item. This method is called by
+     * {@linkplain DroidsMap#add(Item)} and {@linkplain DroidsMap#remove(Item)}.
+     * The item must inform this map about each change of its position.
+     *
+     * @param map the map containing this item, or null if it is not contained in any map
+     */
+    void setMap(DroidsMap map);
+
     /**
      * Moves the item to the specified position.
      *
@@ -68,6 +78,15 @@ public interface Item extends Position {
      */
     Item copy();
 
+    /**
+     * Returns a copy of this item that is not changed anymore and can therefore be read by any thread.
+     * The same copy is returned until the position, rotation, ground, or destroyed state of this item
+     * changes. Snapshots are meant for collision checks; other state of the item is not tracked.
+     *
+     * @see pp.droids.model.DroidsMap#getSnapshot()
+     */
+    Item getSnapshot();
+
     /**
      * Returns whether this item has been destroyed
      *
@@ -97,6 +116,22 @@ public interface Item extends Position {
      */
     ElevatedTriangle getTriangle();
 
+    /**
+     * Called once per frame before {@linkplain #update(float)} and after the droid has been updated.
+     * An item may precompute results for its next update here. This method must not change the state of
+     * any item or the map except for thread-safe caches of the map, e.g., its
+     * {@linkplain pp.droids.model.DroidsMap#getVisibilityCache() visibility cache}, and it may be called
+     * concurrently for different items. Since other items
+     * may change between this call and {@linkplain #update(float)}, the update method must check whether
+     * precomputed results are still valid, and recompute them otherwise.
+     *
+     * @param delta time in seconds since the last update call
+     * @see pp.droids.model.DroidsMap#update(float, boolean)
+     */
+    default void think(float delta) {
+        // do nothing
+    }
+
     /**
      * Called once per frame. Used for updating this item's position etc.
      *
@@ -132,6 +167,18 @@ public interface Item extends Position {
      */
     boolean overlapWhenMoving(Position from, Position to, Item other);
 
+    /**
+     * Computes when this item touches the specified one for the first time
+     * when this item is moved from the specified position to
+     * the other specified position on a straight line.
+     *
+     * @param from  start position of the straight movement
+     * @param to    target position of the straight movement
+     * @param other the other item
+     * @return the fraction of the movement in [0,1] when they touch, or {@code Float.NaN} if they do not touch.
+     */
+    float timeOfImpact(Position from, Position to, Item other);
+
     /**
      * Checks whether this item (when virtually moved to the specified position)
      * collides with any other item in the same map
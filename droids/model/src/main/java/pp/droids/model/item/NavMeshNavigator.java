@@ -0,0 +1,95 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model.item;
+
+import pp.util.ElevatedTriangle;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.navigation.NavMesh;
+import pp.util.navigation.Navigator;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A navigator that looks for a path of a {@link Navigable} item in the
+ * {@linkplain Polygon#getNavMesh() navigation mesh} of its ground.
+ * <p>
+ * The navigation mesh only knows the ground of the item; walls, obstacles, and other robots
+ * are ignored, and turning costs are not taken into account. The path found in the mesh is
+ * therefore checked for collisions, and the navigator falls back to a {@link DroidsNavigator}
+ * if the mesh does not yield a collision-free path.
+ */
+class NavMeshNavigator implements Navigator {
+    private static final Logger LOGGER = System.getLogger(NavMeshNavigator.class.getName());
+
+    /**
+     * Added to the radius of the item when looking for a path in the mesh. Paths that just touch a wall
+     * count as collisions and would be rejected otherwise.
+     */
+    private static final float MARGIN = 0.01f;
+
+    /**
+     * The navigator that checks paths and computes paths if the mesh does not yield a path.
+     */
+    private final DroidsNavigator fallback;
+
+    /**
+     * The ground of the item at the time this navigator was created, or null if the item is not circular
+     * or has no ground.
+     */
+    private final Polygon ground;
+
+    /**
+     * The position of the item at the time this navigator was created.
+     */
+    private final Position start;
+
+    /**
+     * The radius of the item including {@linkplain #MARGIN}.
+     */
+    private final float radius;
+
+    /**
+     * Creates a navigator for the specified item. Like {@link DroidsNavigator}, it copies all
+     * items that might obstruct the navigating item.
+     *
+     * @param item the item to navigate
+     */
+    NavMeshNavigator(Navigable item) {
+        this.fallback = new DroidsNavigator(item);
+        this.ground = item instanceof CircularItem ? item.getGround() : null;
+        this.start = new FloatPoint(item.getX(), item.getY());
+        this.radius = item instanceof CircularItem c ? c.getRadius() + MARGIN : 0f;
+    }
+
+    /**
+     * Computes a path from the position of the item to the specified target. The path starts
+     * with the position of the item.
+     *
+     * @param target the target destination
+     * @return the path; empty if unreachable
+     */
+    @Override
+    public List<Position> findPathTo(Position target) {
+        if (ground != null) {
+            final ElevatedTriangle from = ground.findTriangle(start.getX(), start.getY());
+            final ElevatedTriangle to = ground.findTriangle(target.getX(), target.getY());
+            if (from != null && to != null) {
+                final NavMesh<ElevatedTriangle> mesh = ground.getNavMesh();
+                final List<Position> path = mesh.findPath(start, from, target, to, radius);
+                if (path.size() > 1 && fallback.isFree(path))
+                    return new ArrayList<>(path);
+                LOGGER.log(Level.DEBUG, "no collision-free path in navigation mesh from {0} to {1}", start, target); //NON-NLS
+            }
+        }
+        return fallback.findPathTo(target);
+    }
+}
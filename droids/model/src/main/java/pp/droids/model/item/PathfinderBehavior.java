@@ -15,7 +15,6 @@ import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -31,9 +30,9 @@ import static pp.util.FloatMath.sin;
  * A {@link Behavior} implementation that follows a predefined or asynchronously computed path.
  * <p>
  * The item (must implement {@link Navigable}) will turn and walk toward each successive
- * {@link Position} in the path list, subject to its walking and turning speeds.  If the path
- * was provided as a {@link Callable}, it will be retrieved asynchronously via the model’s
- * executor service.
+ * {@link Position} in the path list, subject to its walking and turning speeds.  If only the
+ * target was provided, the path will be computed asynchronously by the model’s
+ * {@linkplain pp.droids.model.PathPlanner path planner}.
  * </p>
  */
 public class PathfinderBehavior implements Behavior {
@@ -54,6 +53,16 @@ public class PathfinderBehavior implements Behavior {
      */
     private Future<List<Position>> futurePath;
 
+    /**
+     * The position of the first placement check of the next update as expected by {@linkplain #think(float)},
+     * or NaN if there is none, together with the result of the check and the number of changes of the map
+     * when it has been computed.
+     */
+    private float plannedX = Float.NaN;
+    private float plannedY = Float.NaN;
+    private boolean plannedPlaceable;
+    private long plannedChanges;
+
     /**
      * Constructs a path-following behavior with an already-computed path.
      *
@@ -69,9 +78,10 @@ public class PathfinderBehavior implements Behavior {
      * Constructs a path-following behavior that will compute its path asynchronously
      * to the specified target position.
      * <p>
-     * Internally, this submits a callable to the model’s executor which invokes
+     * Internally, this requests the path from the model’s path planner, which invokes
      * {@link Navigator#findPathTo(Position)} on the item’s navigator. Once the
      * future completes, the resulting path is used for movement in subsequent updates.
+     * The request is cancelled when the behavior is {@linkplain #stop() stopped} before.
      * </p>
      *
      * @param item   the navigable item whose behavior is being controlled
@@ -79,8 +89,7 @@ public class PathfinderBehavior implements Behavior {
      */
     public PathfinderBehavior(Navigable item, Position target) {
         this.item = item;
-        final Navigator nav = item.getNavigator();
-        futurePath = item.getModel().getExecutor().submit(() -> nav.findPathTo(target));
+        futurePath = item.getModel().getPathPlanner().requestPath(item, target);
     }
 
     /**
@@ -111,6 +120,68 @@ public class PathfinderBehavior implements Behavior {
         return futurePath == null && path.isEmpty();
     }
 
+    /**
+     * Releases the path request if the path has not been computed yet.
+     */
+    @Override
+    public void stop() {
+        if (futurePath != null) {
+            item.getModel().getPathPlanner().release(item, futurePath);
+            futurePath = null;
+        }
+    }
+
+    /**
+     * Checks in advance whether the item can be placed where {@linkplain #update(float)} will move it first,
+     * assuming that the path does not change. This check, which looks for collisions with other items,
+     * is the expensive part of following a path. {@linkplain #update(float)} only uses the result if it checks
+     * the same position and no item near that position has changed in the meantime.
+     *
+     * @param delta time elapsed since last update, in seconds
+     */
+    @Override
+    public void think(float delta) {
+        plannedX = plannedY = Float.NaN;
+        if (futurePath != null || path.isEmpty() || !(item instanceof CircularItem)) return;
+        final Position target = path.get(0);
+        float x = target.getX();
+        float y = target.getY();
+        // mirror the first step of followPath
+        if (item.distanceTo(target) >= FLT_EPSILON) {
+            final float bearing = atan2(target.getY() - item.getY(),
+                                        target.getX() - item.getX());
+            final float turnNeeded = normalizeAngle(bearing - item.getRotation());
+            if (abs(turnNeeded) >= delta * item.getTurningSpeed())
+                // the item only turns
+                return;
+            final float rotation = normalizeAngle(bearing);
+            final float maxWalk = (delta - Math.abs(turnNeeded) / item.getTurningSpeed()) * item.getWalkingSpeed();
+            if (item.distanceTo(target) > maxWalk) {
+                x = item.getX() + maxWalk * cos(rotation);
+                y = item.getY() + maxWalk * sin(rotation);
+            }
+        }
+        plannedChanges = item.getModel().getDroidsMap().getChanges();
+        plannedPlaceable = item.canBePlacedAt(x, y);
+        plannedX = x;
+        plannedY = y;
+    }
+
+    /**
+     * Checks whether the item can be placed at the specified position. The result of
+     * {@linkplain #think(float)} is used if it is still valid.
+     */
+    private boolean canBePlacedAt(float x, float y) {
+        boolean planned = x == plannedX && y == plannedY;
+        if (planned) {
+            final float radius = ((CircularItem) item).getRadius();
+            planned = item.getModel().getDroidsMap().isUnchangedNear(x, y, radius, plannedChanges);
+        }
+        // the result is used at most once
+        plannedX = plannedY = Float.NaN;
+        return planned ? plannedPlaceable : item.canBePlacedAt(x, y);
+    }
+
     /**
      * Called once per frame to update the behavior.
      * <p>
@@ -136,6 +207,11 @@ public class PathfinderBehavior implements Behavior {
     private void checkFuture() {
         if (futurePath == null || !futurePath.isDone())
             return;
+        if (futurePath.isCancelled()) {
+            // superseded by another request of the item
+            futurePath = null;
+            return;
+        }
         try {
             setPath(futurePath.get());
             item.getModel().notifyListeners(new PathComputed(this));
@@ -178,7 +254,7 @@ public class PathfinderBehavior implements Behavior {
 
         // If already at the target (within epsilon), snap to it and remove from path
         if (item.distanceTo(target) < FLT_EPSILON) {
-            if (item.canBePlacedAt(target.getX(), target.getY()))
+            if (canBePlacedAt(target.getX(), target.getY()))
                 item.setPos(target.getX(), target.getY());
             path.remove(0);
             return delta;
@@ -207,7 +283,7 @@ public class PathfinderBehavior implements Behavior {
             // Move partway toward the target
             final float newX = item.getX() + maxWalk * cos(item.getRotation());
             final float newY = item.getY() + maxWalk * sin(item.getRotation());
-            if (item.canBePlacedAt(newX, newY))
+            if (canBePlacedAt(newX, newY))
                 item.setPos(newX, newY);
             else
                 path.clear();  // collision or invalid placement, abort path
@@ -215,7 +291,7 @@ public class PathfinderBehavior implements Behavior {
         }
 
         // Reach the waypoint
-        if (item.canBePlacedAt(target.getX(), target.getY()))
+        if (canBePlacedAt(target.getX(), target.getY()))
             item.setPos(target.getX(), target.getY());
         else {
             path.clear();
@@ -7,25 +7,36 @@
 
 package pp.droids.model.item;
 
+import pp.droids.model.DroidsConfig;
 import pp.droids.model.DroidsModel;
 import pp.util.ElevatedPoint;
 import pp.util.ElevatedSegment;
 import pp.util.ElevatedTriangle;
+import pp.util.FloatPoint;
 import pp.util.Position;
+import pp.util.SegmentIndex;
+import pp.util.SegmentIndex.HitFunction;
+import pp.util.SegmentLike;
 import pp.util.Triangle;
+import pp.util.TriangleLocator;
+import pp.util.navigation.NavMesh;
 import pp.util.planar.Face;
 import pp.util.planar.HalfEdge;
 import pp.util.planar.PlanarMap;
 import pp.util.planar.Vertex;
+import pp.util.triangulation.Triangulator;
+import pp.util.triangulation.Triangulator.Outline;
 
 import java.lang.System.Logger.Level;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
@@ -122,6 +133,28 @@ public class Polygon extends AbstractItem implements PolygonItem {
     private final List<ElevatedTriangle> triangles = new ArrayList<>();
     private final List<ElevatedSegment> diagonals;
 
+    /**
+     * A bounding volume hierarchy over all segments. The polygon never moves; the index is
+     * therefore built once.
+     */
+    private final SegmentIndex<ElevatedSegment> segmentIndex;
+
+    /**
+     * A point location structure for the triangles of this polygon. It is built when it is needed
+     * for the first time.
+     *
+     * @see #getTriangleLocator()
+     */
+    private volatile TriangleLocator<ElevatedTriangle> triangleLocator;
+
+    /**
+     * The navigation mesh consisting of the triangles of this polygon. It is built when it is needed
+     * for the first time, i.e., only if robots navigate on this polygon using navigation meshes.
+     *
+     * @see #getNavMesh()
+     */
+    private volatile NavMesh<ElevatedTriangle> navMesh;
+
     private Polygon(DroidsModel model, String spec,
                     List<ElevatedPoint> outer, List<List<ElevatedPoint>> inner,
                     List<ElevatedSegment> diagonals) {
@@ -146,18 +179,37 @@ public class Polygon extends AbstractItem implements PolygonItem {
             map.addDiagonal(requireNonNull(p2v.get(diagonal.from())),
                             requireNonNull(p2v.get(diagonal.to())));
         // triangulate each face that is neither the outer face nor a hole
+        final List<Outline> outlines = new ArrayList<>();
         for (Face f : map.getFaces())
             if (!nonPolyFaces.contains(f)) {
-                final var polygon = new pp.util.triangulation.Polygon(pointList(f.getOuter()));
+                final List<List<Position>> holes = new ArrayList<>();
                 for (HalfEdge hole : f.getInner())
-                    polygon.addHole(pointList(hole));
-                for (Triangle t : polygon.triangulate()) {
-                    final ElevatedPoint a = requireNonNull(v2p.get(t.a()));
-                    final ElevatedPoint b = requireNonNull(v2p.get(t.b()));
-                    final ElevatedPoint c = requireNonNull(v2p.get(t.c()));
-                    triangles.add(new ElevatedTriangle(a, b, c));
-                }
+                    holes.add(pointList(hole));
+                outlines.add(new Outline(pointList(f.getOuter()), holes));
             }
+        final DroidsConfig config = model.getConfig();
+        final List<List<Triangle>> faceTriangulations;
+        if (config.isDelaunayTriangulation()) {
+            // diagonals separate faces that are triangulated separately; Steiner points must not split them
+            final Set<List<Vertex>> fixed = new HashSet<>();
+            for (ElevatedSegment diagonal : diagonals) {
+                fixed.add(List.of(p2v.get(diagonal.from()), p2v.get(diagonal.to())));
+                fixed.add(List.of(p2v.get(diagonal.to()), p2v.get(diagonal.from())));
+            }
+            final float maxArea = config.getTriangulationMaxArea();
+            final float minAngle = config.getTriangulationMinAngle();
+            final Supplier<Triangulator> triangulator =
+                    () -> new Triangulator().setDelaunay(true)
+                                            .setRefinement(maxArea, minAngle)
+                                            .setFixedSegments((p, q) -> fixed.contains(List.of(p, q)))
+                                            .setPointFactory((x, y, host) -> steinerPoint(x, y, host, v2p));
+            faceTriangulations = Triangulator.triangulateAll(outlines, config.isParallelTriangulation(), triangulator);
+        }
+        else
+            faceTriangulations = Triangulator.triangulateAll(outlines, config.isParallelTriangulation());
+        for (List<Triangle> faceTriangles : faceTriangulations)
+            for (Triangle t : faceTriangles)
+                triangles.add(new ElevatedTriangle(elevated(t.a(), v2p), elevated(t.b(), v2p), elevated(t.c(), v2p)));
 
         assert map.getOuter().getInner().size() == 1;
         outerSegments = segmentList(map.getOuter().getInner().get(0), v2p);
@@ -166,6 +218,7 @@ public class Polygon extends AbstractItem implements PolygonItem {
                 holeSegments.add(segmentList(f.getOuter(), v2p));
         allSegments.addAll(outerSegments);
         holeSegments.forEach(allSegments::addAll);
+        segmentIndex = new SegmentIndex<>(allSegments);
     }
 
     private static List<Vertex> vertexList(List<ElevatedPoint> points, String prefix,
@@ -180,6 +233,46 @@ public class Polygon extends AbstractItem implements PolygonItem {
         return list;
     }
 
+    /**
+     * Returns the point corresponding to the specified vertex, or the point itself if it is a Steiner point
+     * of a Delaunay triangulation.
+     */
+    private static ElevatedPoint elevated(Position p, Map<Vertex, ElevatedPoint> v2p) {
+        return p instanceof ElevatedPoint e ? e : requireNonNull(v2p.get(p));
+    }
+
+    /**
+     * Creates a Steiner point of a Delaunay triangulation whose elevation is interpolated within the
+     * triangle containing it.
+     */
+    private static ElevatedPoint steinerPoint(float x, float y, Triangle host, Map<Vertex, ElevatedPoint> v2p) {
+        final ElevatedPoint a = elevated(host.a(), v2p);
+        final ElevatedPoint b = elevated(host.b(), v2p);
+        final ElevatedPoint c = elevated(host.c(), v2p);
+        final Position p = new FloatPoint(x, y);
+        final ElevatedTriangle triangle = new ElevatedTriangle(a, b, c);
+        final float bottom = triangle.bottom(p);
+        final float top = triangle.top(p);
+        if (Float.isFinite(bottom) && Float.isFinite(top))
+            return new ElevatedPoint(x, y, bottom, top);
+        // the triangle is degenerate; interpolate along its longest side, which contains the point
+        ElevatedPoint from = a;
+        ElevatedPoint to = b;
+        if (b.distanceSquaredTo(c) > from.distanceSquaredTo(to)) {
+            from = b;
+            to = c;
+        }
+        if (c.distanceSquaredTo(a) > from.distanceSquaredTo(to)) {
+            from = c;
+            to = a;
+        }
+        final float len = from.distanceTo(to);
+        final float s = len > 0f ? from.distanceTo(p) / len : 0f;
+        return new ElevatedPoint(x, y,
+                                 from.bottom() + s * (to.bottom() - from.bottom()),
+                                 from.top() + s * (to.top() - from.top()));
+    }
+
     private static List<Position> pointList(HalfEdge e) {
         List<Position> list = new ArrayList<>();
         for (var it = e.cycleIterator(); it.hasNext(); )
@@ -197,6 +290,14 @@ public class Polygon extends AbstractItem implements PolygonItem {
         throw new UnsupportedOperationException("Cannot turn a polygon");
     }
 
+    /**
+     * Returns this polygon because polygons can neither be moved nor turned.
+     */
+    @Override
+    public Item getSnapshot() {
+        return this;
+    }
+
     public String getSpec() {
         return spec;
     }
@@ -227,6 +328,63 @@ public class Polygon extends AbstractItem implements PolygonItem {
         return allSegments;
     }
 
+    /**
+     * Returns the segment bounding this polygon that is closest to the specified point.
+     *
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return the closest segment, or null if there are no segments
+     */
+    public ElevatedSegment nearestSegment(float x, float y) {
+        return segmentIndex.nearest(x, y);
+    }
+
+    /**
+     * Returns all segments bounding this polygon that are at most the specified distance
+     * away from the specified point.
+     *
+     * @param x      x-coordinate of the point
+     * @param y      y-coordinate of the point
+     * @param radius the maximal distance
+     * @return a new list of all such segments
+     */
+    public List<ElevatedSegment> getSegmentsWithin(float x, float y, float radius) {
+        return segmentIndex.segmentsWithin(x, y, radius);
+    }
+
+    @Override
+    public boolean hasSegmentWithin(float x, float y, float radius) {
+        return segmentIndex.anyWithin(x, y, radius);
+    }
+
+    @Override
+    public boolean hasSegmentWithin(SegmentLike segment, float distance) {
+        return segmentIndex.anyWithin(segment, distance);
+    }
+
+    @Override
+    public float firstHit(float x, float y, float dx, float dy, HitFunction<SegmentLike> hit) {
+        return segmentIndex.firstHit(x, y, dx, dy, hit);
+    }
+
+    /**
+     * Only checks the segments that are close to the movement, i.e., segments within the circle
+     * around the middle of the movement that contains the entire swept circle.
+     */
+    @Override
+    public float sweep(Position from, Position to, float radius) {
+        final float midX = 0.5f * (from.getX() + to.getX());
+        final float midY = 0.5f * (from.getY() + to.getY());
+        final float reach = 0.5f * from.distanceTo(to) + radius;
+        return PolygonItem.sweep(segmentIndex.segmentsWithin(midX, midY, reach), from, to, radius);
+    }
+
+    @Override
+    public Position closestPoint(float x, float y) {
+        final ElevatedSegment segment = segmentIndex.nearest(x, y);
+        return segment == null ? null : segment.closestPoint(x, y);
+    }
+
     private static List<ElevatedSegment> segmentList(HalfEdge e, Map<Vertex, ElevatedPoint> v2p) {
         List<ElevatedSegment> segList = new ArrayList<>();
         HalfEdge cur = e;
@@ -244,10 +402,49 @@ public class Polygon extends AbstractItem implements PolygonItem {
      * or null if there is no such triangle.
      */
     public ElevatedTriangle findTriangle(float x, float y) {
-        for (var t : getTriangles())
-            if (t.contains(x, y, EPS))
-                return t;
-        return null;
+        return getTriangleLocator().locate(x, y);
+    }
+
+    /**
+     * Returns a triangle that contains the specified position, or null if there is no such
+     * triangle. The specified hint, typically the triangle of a nearby position, is checked first.
+     *
+     * @param x    x-coordinate of the position
+     * @param y    y-coordinate of the position
+     * @param hint a triangle that likely contains the position, or null
+     */
+    public ElevatedTriangle findTriangle(float x, float y, ElevatedTriangle hint) {
+        return getTriangleLocator().locate(x, y, hint);
+    }
+
+    /**
+     * Returns the point location structure for the triangles of this polygon and builds it if necessary.
+     * Polygons are used by several threads; the structure is built only once nevertheless.
+     */
+    private TriangleLocator<ElevatedTriangle> getTriangleLocator() {
+        TriangleLocator<ElevatedTriangle> locator = triangleLocator;
+        if (locator == null)
+            synchronized (this) {
+                locator = triangleLocator;
+                if (locator == null)
+                    triangleLocator = locator = new TriangleLocator<>(triangles, EPS);
+            }
+        return locator;
+    }
+
+    /**
+     * Returns the navigation mesh consisting of the triangles of this polygon. The mesh is built when it is
+     * requested for the first time. Polygons are used by several threads; the mesh is built only once nevertheless.
+     */
+    public NavMesh<ElevatedTriangle> getNavMesh() {
+        NavMesh<ElevatedTriangle> mesh = navMesh;
+        if (mesh == null)
+            synchronized (this) {
+                mesh = navMesh;
+                if (mesh == null)
+                    navMesh = mesh = new NavMesh<>(triangles);
+            }
+        return mesh;
     }
 
     /**
@@ -7,10 +7,127 @@
 
 package pp.droids.model.item;
 
+import pp.util.Position;
+import pp.util.SegmentIndex.HitFunction;
 import pp.util.SegmentLike;
 
 import java.util.List;
 
+import static pp.util.FloatMath.sqr;
+
+/**
+ * Interface of all items with a polygonal shape given by a list of segments.
+ * <p>
+ * The segment queries of this interface are implemented by scanning all segments.
+ * Items with many segments should override them using a spatial index.
+ * </p>
+ */
 public interface PolygonItem extends Item {
+    /**
+     * Returns the list of all segments bounding this item.
+     */
     List<? extends SegmentLike> getAllSegments();
+
+    /**
+     * Checks whether any segment of this item is at most the specified distance away
+     * from the specified point.
+     *
+     * @param x      x-coordinate of the point
+     * @param y      y-coordinate of the point
+     * @param radius the maximal distance
+     * @return true if there is such a segment
+     */
+    default boolean hasSegmentWithin(float x, float y, float radius) {
+        for (SegmentLike segment : getAllSegments())
+            if (segment.distanceTo(x, y) <= radius)
+                return true;
+        return false;
+    }
+
+    /**
+     * Checks whether any segment of this item is at most the specified distance away
+     * from the specified segment.
+     *
+     * @param segment  the segment, e.g., the path of a moving circular item
+     * @param distance the maximal distance
+     * @return true if there is such a segment
+     */
+    default boolean hasSegmentWithin(SegmentLike segment, float distance) {
+        final float dist2 = sqr(distance);
+        for (SegmentLike cur : getAllSegments())
+            if (segment.minDistanceSquared(cur) <= dist2)
+                return true;
+        return false;
+    }
+
+    /**
+     * Shoots a ray from the specified point in the specified direction and returns the
+     * smallest distance reported by the specified hit function for any segment of this item,
+     * or {@code Float.NaN} if there is no hit.
+     *
+     * @param x   x-coordinate of the start point of the ray
+     * @param y   y-coordinate of the start point of the ray
+     * @param dx  x-component of the ray direction
+     * @param dy  y-component of the ray direction
+     * @param hit computes the distance of the hit point for a single segment
+     * @return the distance to the closest hit point, or NaN
+     */
+    default float firstHit(float x, float y, float dx, float dy, HitFunction<SegmentLike> hit) {
+        float distance = Float.NaN;
+        for (SegmentLike segment : getAllSegments()) {
+            final float d = hit.distance(segment);
+            if (Float.isNaN(distance) || d < distance)
+                distance = d;
+        }
+        return distance;
+    }
+
+    /**
+     * Returns the fraction of the straight movement from {@code from} to {@code to} after which a circle
+     * with the specified radius that moves along it touches any segment of this item for the first time.
+     *
+     * @param from   start of the movement
+     * @param to     end of the movement
+     * @param radius the radius of the moving circle
+     * @return the fraction, or {@code Float.NaN} if the circle does not touch this item
+     * @see SegmentLike#sweep(Position, Position, float)
+     */
+    default float sweep(Position from, Position to, float radius) {
+        return sweep(getAllSegments(), from, to, radius);
+    }
+
+    /**
+     * Returns the least fraction computed by {@linkplain SegmentLike#sweep(Position, Position, float)}
+     * for the specified segments, or {@code Float.NaN} if the circle does not touch any of them.
+     */
+    static float sweep(List<? extends SegmentLike> segments, Position from, Position to, float radius) {
+        float fraction = Float.NaN;
+        for (SegmentLike segment : segments) {
+            final float t = segment.sweep(from, to, radius);
+            if (Float.isNaN(fraction) || t < fraction)
+                fraction = t;
+        }
+        return fraction;
+    }
+
+    /**
+     * Returns the point on the segments of this item that is closest to the specified point,
+     * or null if this item has no segments.
+     *
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return the closest point or null
+     */
+    default Position closestPoint(float x, float y) {
+        SegmentLike closest = null;
+        float distance = Float.POSITIVE_INFINITY;
+        for (SegmentLike segment : getAllSegments()) {
+            final float d = segment.distanceTo(x, y);
+            if (d < distance) {
+                distance = d;
+                closest = segment;
+            }
+        }
+        return closest == null ? null : closest.closestPoint(x, y);
+    }
 }
@@ -9,9 +9,10 @@ package pp.droids.model.item;
 
 import pp.droids.model.DroidsModel;
 import pp.droids.model.collisions.CollisionPredicate;
-import pp.util.FloatPoint;
 import pp.util.Position;
 
+import java.lang.System.Logger.Level;
+
 import static pp.util.FloatMath.cos;
 import static pp.util.FloatMath.sin;
 
@@ -30,6 +31,17 @@ public class Projectile extends AbstractCircularItem {
      */
     private float lifeTime = Float.POSITIVE_INFINITY;
 
+    /**
+     * The position this projectile goes to in the current time step. It is reused
+     * in each time step such that moving a projectile does not allocate any points.
+     */
+    private Target target = new Target();
+
+    /**
+     * The predicate selecting the items that this projectile can hit.
+     */
+    private CollisionPredicate hitPredicate = new CollisionPredicate(this);
+
     /**
      * Creates a projectile
      *
@@ -40,6 +52,30 @@ public class Projectile extends AbstractCircularItem {
         super(model, boundingRadius);
     }
 
+    /**
+     * Resets this destroyed projectile such that it looks like a newly created projectile.
+     *
+     * @see ProjectilePool#obtain(float)
+     */
+    void reuse() {
+        revive();
+        setGround(null);
+        speed = 0f;
+        lifeTime = Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns a copy of this projectile. The copy gets its own target position and hit predicate,
+     * which refers to the copy instead of this projectile.
+     */
+    @Override
+    public Projectile copy() {
+        final Projectile copy = (Projectile) super.copy();
+        copy.target = new Target();
+        copy.hitPredicate = new CollisionPredicate(copy);
+        return copy;
+    }
+
     /**
      * Sets the specific speed.
      *
@@ -47,6 +83,14 @@ public class Projectile extends AbstractCircularItem {
      */
     public void setSpeed(float speed) {
         this.speed = speed;
+        changed();
+    }
+
+    /**
+     * Returns the specific speed of the projectile.
+     */
+    public float getSpeed() {
+        return speed;
     }
 
     /**
@@ -72,31 +116,52 @@ public class Projectile extends AbstractCircularItem {
      */
     @Override
     public void update(float delta) {
+        final float distance = speed * delta;
+        update(delta, getX() + distance * cos(getRotation()), getY() + distance * sin(getRotation()), true, false);
+    }
+
+    /**
+     * Updates the projectile like {@linkplain #update(float)}, but with a target position that has
+     * already been computed from the speed and rotation of this projectile. This allows for computing
+     * the targets of many projectiles at once.
+     *
+     * @param delta    time in seconds since the last update call
+     * @param toX      x-coordinate of the position where this projectile goes in this time step
+     * @param toY      y-coordinate of the position where this projectile goes in this time step
+     * @param mayHit   false if it is known that this projectile cannot hit any item on its way,
+     *                 in which case hits are not checked at all
+     * @param onGround true if it is known that this projectile is within a triangle of its ground,
+     *                 in which case the triangle is not looked for
+     */
+    public void update(float delta, float toX, float toY, boolean mayHit, boolean onGround) {
         lifeTime -= delta;
-        if (lifeTime <= 0f || getTriangle() == null)
+        if (lifeTime <= 0f || !onGround && getTriangle() == null)
             destroy();
+        else if (!mayHit)
+            setPos(toX, toY);
         else {
-            final float distance = speed * delta;
-            final Position to = new FloatPoint(getX() + distance * cos(getRotation()),
-                                               getY() + distance * sin(getRotation()));
-            processHits(to);
-            setPos(to);
+            target.x = toX;
+            target.y = toY;
+            setPos(processHits(target));
         }
     }
 
     /**
-     * Checks if the projectile hits an obstacle or an enemy. Projectiles are destroyed that way.
+     * Checks if the projectile hits an obstacle or an enemy on its way to the specified position.
+     * Only the first item that is hit is affected, and the projectile is destroyed that way.
      *
      * @param to the position where this projectile goes in this time step
+     * @return the position where the projectile hits an item, or {@code to} if it does not hit any item
      */
-    public void processHits(Position to) {
-        final var pred = new CollisionPredicate(this);
-        for (Item item : getModel().getDroidsMap().getItems())
-            if (pred.test(item) && overlapWhenMoving(this, to, item)) {
-                if (item instanceof DamageReceiver hitItem)
-                    hitItem.hitBy(this);
-                destroy();
-            }
+    public Position processHits(Position to) {
+        final Impact impact = firstImpact(to, hitPredicate);
+        if (impact == null)
+            return to;
+        LOGGER.log(Level.DEBUG, "{0} hits {1} at {2}", this, impact.item(), impact.contact()); //NON-NLS
+        if (impact.item() instanceof DamageReceiver hitItem)
+            hitItem.hitBy(this);
+        destroy();
+        return impact.position();
     }
 
     /**
@@ -114,4 +179,22 @@ public class Projectile extends AbstractCircularItem {
     public void accept(VoidVisitor v) {
         v.visit(this);
     }
+
+    /**
+     * A mutable position used as the target of a projectile in a time step.
+     */
+    private static class Target implements Position {
+        private float x;
+        private float y;
+
+        @Override
+        public float getX() {
+            return x;
+        }
+
+        @Override
+        public float getY() {
+            return y;
+        }
+    }
 }
@@ -0,0 +1,105 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model.item;
+
+import pp.droids.model.DroidsModel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A pool of projectiles that have been destroyed and removed from their map, and that
+ * can be reused by weapons instead of creating new projectiles for each shot.
+ * The pool keeps at most as many projectiles as specified by
+ * {@linkplain pp.droids.model.DroidsConfig#getProjectilePoolSize()}, separately for each bounding radius.
+ */
+public class ProjectilePool {
+    /**
+     * The pooled projectiles with the same bounding radius.
+     */
+    private record Bucket(float radius, Deque<Projectile> projectiles) {}
+
+    private final DroidsModel model;
+
+    /**
+     * The buckets of all bounding radii that have been released so far. There are typically just a few.
+     */
+    private final List<Bucket> free = new ArrayList<>();
+    private int size;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param model the game model containing the pooled projectiles
+     */
+    public ProjectilePool(DroidsModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Returns a projectile with the specified bounding radius that is not contained in any map.
+     * It is taken from this pool if possible, and its state is reset such that it looks like a
+     * newly created projectile. A new projectile is created otherwise.
+     *
+     * @param boundingRadius the size of the projectile in terms of the radius of its bounding circle
+     */
+    public Projectile obtain(float boundingRadius) {
+        final Bucket bucket = bucket(boundingRadius);
+        final Projectile projectile = bucket == null ? null : bucket.projectiles.poll();
+        if (projectile == null)
+            return new Projectile(model, boundingRadius);
+        size--;
+        projectile.reuse();
+        return projectile;
+    }
+
+    /**
+     * Puts the specified projectile into this pool unless the pool is full.
+     * The projectile must have been destroyed and removed from its map.
+     *
+     * @param projectile the projectile that is no longer used
+     */
+    public void release(Projectile projectile) {
+        if (size < model.getConfig().getProjectilePoolSize()) {
+            Bucket bucket = bucket(projectile.getRadius());
+            if (bucket == null) {
+                bucket = new Bucket(projectile.getRadius(), new ArrayDeque<>());
+                free.add(bucket);
+            }
+            bucket.projectiles.push(projectile);
+            size++;
+        }
+    }
+
+    /**
+     * Returns the bucket of projectiles with the specified bounding radius, or null if there is none.
+     */
+    private Bucket bucket(float radius) {
+        for (int i = 0; i < free.size(); i++)
+            if (free.get(i).radius == radius)
+                return free.get(i);
+        return null;
+    }
+
+    /**
+     * Removes all projectiles from this pool.
+     */
+    public void clear() {
+        free.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the number of projectiles in this pool.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -8,24 +8,21 @@
 package pp.droids.model.item;
 
 import pp.util.Position;
+import pp.util.SegmentIndex.HitFunction;
 import pp.util.SegmentLike;
 
-import java.util.SortedSet;
-import java.util.TreeSet;
-
 import static pp.util.FloatMath.sqr;
 import static pp.util.FloatMath.sqrt;
 
 /**
- * Represents a ray cast from a starting position in a given direction,
- * collecting items intersected by the ray sorted by their hit distance.
+ * Represents a ray cast from a starting position in a given direction.
  * <p>
- * The ray visits circular items and polygonal items, computing the
- * closest intersection point along the ray. Results are available
- * as a sorted set of {@link DistanceItem} by ascending distance.
+ * The ray visits circular items and polygonal items and returns the distance
+ * of the closest intersection point along the ray, or {@code Float.NaN} if the
+ * ray does not hit the visited item. Projectiles are never hit.
  * </p>
  */
-class Ray implements VoidVisitor {
+public class Ray implements Visitor<Float> {
     /**
      * Small epsilon to filter out numerically unstable intersections.
      */
@@ -34,24 +31,24 @@ class Ray implements VoidVisitor {
     /**
      * Starting point of the ray.
      */
-    private final Position start;
+    private Position start;
 
     /**
      * Direction vector components (dx, dy) of the ray.
      */
-    private final float dx;
-    private final float dy;
+    private float dx;
+    private float dy;
 
     /**
      * Length and squared length of the direction vector.
      */
-    private final float len;
-    private final float lenSq;
+    private float len;
+    private float lenSq;
 
     /**
-     * Sorted set of intersected items paired with their hit distances.
+     * Computes the hit distance of single segments of polygonal items.
      */
-    private final TreeSet<DistanceItem> items = new TreeSet<>();
+    private final HitFunction<SegmentLike> segmentHit = this::hitDistance;
 
     /**
      * Constructs a new ray from the given start in direction (dx, dy).
@@ -61,56 +58,85 @@ class Ray implements VoidVisitor {
      * @param dy    the y-component of the ray direction
      */
     public Ray(Position start, float dx, float dy) {
+        set(start, dx, dy);
+    }
+
+    /**
+     * Lets this ray start at the specified position and point in direction (dx, dy). This way, a single
+     * ray can be used for casting many rays one after the other.
+     *
+     * @param start the origin position of the ray
+     * @param dx    the x-component of the ray direction
+     * @param dy    the y-component of the ray direction
+     * @return this ray
+     */
+    public Ray set(Position start, float dx, float dy) {
         this.start = start;
         this.dx = dx;
         this.dy = dy;
         this.lenSq = sqr(dx) + sqr(dy);
         this.len = sqrt(lenSq);
+        return this;
     }
 
     /**
-     * Returns a sorted set of items intersected by the ray, each
-     * paired with its distance from the start.
+     * Returns the distance along this ray to the point where it hits the specified item, or
+     * {@code Float.NaN} if it does not hit the item. This is the same as {@code item.accept(this)},
+     * but it does not box the distance.
      *
-     * @return sorted set of {@link DistanceItem}
+     * @param item the item to test
+     * @return distance along ray to intersection point, or NaN if none
      */
-    public SortedSet<DistanceItem> getItems() {
-        return items;
+    public float distance(Item item) {
+        if (item instanceof Projectile)
+            return Float.NaN;
+        if (item instanceof CircularItem circular)
+            return handle(circular);
+        if (item instanceof PolygonItem polygon)
+            return handle(polygon);
+        return item.accept(this);
     }
 
     /**
-     * Visits a circular item and computes intersection distance.
+     * Computes the intersection distance with a circular item.
      *
      * @param item the circular item to test
+     * @return distance along ray to intersection point, or NaN if none
      */
-    private void handle(CircularItem item) {
+    private float handle(CircularItem item) {
         final float x = start.getX() - item.getX();
         final float y = start.getY() - item.getY();
         final float b = x * dx + y * dy;
         final float d = b * b - lenSq * (x * x + y * y - sqr(item.getRadius()));
-        if (d < 0f) return;
+        if (d < 0f) return Float.NaN;
         final float sqrd = sqrt(d);
         final float distance2 = (sqrd - b) / len;
-        if (distance2 <= 0f) return;
+        if (distance2 <= 0f) return Float.NaN;
         final float distance1 = (-sqrd - b) / len;
-        add(distance1 > 0f ? distance1 : distance2, item);
+        return distance1 > 0f ? distance1 : distance2;
     }
 
     /**
-     * Visits a polygonal item and computes the nearest segment intersection.
+     * Computes the nearest segment intersection with a polygonal item.
      *
      * @param item the polygon item to test
+     * @return distance along ray to intersection point, or NaN if none
      */
-    private void handle(PolygonItem item) {
-        float distance = -1f;
-        for (SegmentLike segment : item.getAllSegments()) {
-            final float d = distanceTo(segment);
-            if (Float.isNaN(d) || d < EPS) continue;
-            if (distance < 0 || d < distance)
-                distance = d;
-        }
-        if (distance > 0f)
-            add(distance, item);
+    private float handle(PolygonItem item) {
+        final float distance = item.firstHit(start.getX(), start.getY(), dx, dy, segmentHit);
+        return distance > 0f ? distance : Float.NaN;
+    }
+
+    /**
+     * Computes the intersection distance from start to a segment, ignoring hits
+     * too close to the start.
+     *
+     * @param segment the segment to test
+     * @return distance along ray to intersection point, or NaN if none
+     */
+    private float hitDistance(SegmentLike segment) {
+        final float d = distanceTo(segment);
+        return d < EPS ? Float.NaN : d;
     }
 
     /**
@@ -123,44 +149,41 @@ class Ray implements VoidVisitor {
         final float q = segment.quotient(start, dx, dy);
         if (Float.isNaN(q) || q < 0f || q > 1f)
             return Float.NaN;
-        final Position p = segment.pointAt(q);
-        if ((p.getX() - start.getX()) * dx + (p.getY() - start.getY()) * dy < 0f)
+        // the point at q, computed like SegmentLike.pointAt, but without creating it
+        final float px = q == 0f ? segment.from().getX() : q == 1f ? segment.to().getX()
+                       : (1f - q) * segment.from().getX() + q * segment.to().getX();
+        final float py = q == 0f ? segment.from().getY() : q == 1f ? segment.to().getY()
+                       : (1f - q) * segment.from().getY() + q * segment.to().getY();
+        final float vx = px - start.getX();
+        final float vy = py - start.getY();
+        if (vx * dx + vy * dy < 0f)
             return Float.NaN;
-        return p.distanceTo(start);
-    }
-
-    /**
-     * Adds an item with its intersection distance to the result set.
-     *
-     * @param distance the distance from start to intersection
-     * @param item     the item intersected
-     */
-    private void add(float distance, Item item) {
-        items.add(new DistanceItem(distance, item));
+        return sqrt(vx * vx + vy * vy);
     }
 
     @Override
-    public void visit(Robot robot) {
-        handle(robot);
+    public Float visit(Robot robot) {
+        return handle(robot);
     }
 
     @Override
-    public void visit(Obstacle obstacle) {
-        handle(obstacle);
+    public Float visit(Obstacle obstacle) {
+        return handle(obstacle);
     }
 
     @Override
-    public void visit(Projectile proj) {
+    public Float visit(Projectile proj) {
         // ignore projectiles
+        return Float.NaN;
     }
 
     @Override
-    public void visit(Polygon poly) {
-        handle(poly);
+    public Float visit(Polygon poly) {
+        return handle(poly);
     }
 
     @Override
-    public void visit(FinishLine line) {
-        handle(line);
+    public Float visit(FinishLine line) {
+        return handle(line);
     }
 }
@@ -172,13 +172,28 @@ public class Robot extends AbstractCircularItem implements DamageReceiver, Navig
     }
 
     /**
-     * Assigns a new behavior to the robot, replacing the previous one.
+     * Assigns a new behavior to the robot, replacing the previous one, which is {@linkplain Behavior#stop() stopped}.
      *
      * @param behavior the behavior to set, or {@code null} to clear
      */
     public void setBehavior(Behavior behavior) {
         LOGGER.log(Level.TRACE, "new behavior {0} of {1}", behavior, this); //NON-NLS
+        final Behavior previous = this.behavior;
         this.behavior = behavior;
+        if (previous != null && previous != behavior)
+            previous.stop();
+    }
+
+    /**
+     * Lets the current behavior precompute results for the next update.
+     *
+     * @param delta time since the last frame, in seconds
+     */
+    @Override
+    public void think(float delta) {
+        final Behavior current = behavior;
+        if (current != null)
+            current.think(delta);
     }
 
     /**
@@ -202,17 +217,23 @@ public class Robot extends AbstractCircularItem implements DamageReceiver, Navig
      * and applies a termination visitor if so.
      */
     private void checkTermination() {
-        for (Item item : getModel().getDroidsMap().getItems())
+        for (Item item : getModel().getDroidsMap().getItemsNear(this, getRadius()))
             item.accept(terminator);
     }
 
     /**
      * Returns a navigator object that can compute paths from this robot to other locations.
      *
-     * @return a new {@link DroidsNavigator} for pathfinding
+     * @return a new {@link VisibilityGraphNavigator} if visibility graphs are enabled in the configuration,
+     *         a new {@link NavMeshNavigator} if navigation meshes are enabled, and a new
+     *         {@link DroidsNavigator} otherwise
      */
     @Override
     public Navigator getNavigator() {
+        if (getModel().getConfig().isVisibilityGraphEnabled())
+            return new VisibilityGraphNavigator(this);
+        if (getModel().getConfig().isNavMeshEnabled())
+            return new NavMeshNavigator(this);
         return new DroidsNavigator(this);
     }
 
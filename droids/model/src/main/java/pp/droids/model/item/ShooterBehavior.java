@@ -7,8 +7,6 @@
 
 package pp.droids.model.item;
 
-import java.util.SortedSet;
-
 import static pp.util.FloatMath.FLT_EPSILON;
 import static pp.util.FloatMath.abs;
 import static pp.util.FloatMath.atan2;
@@ -38,6 +36,29 @@ public class ShooterBehavior implements Behavior {
         this.shooter = shooter;
     }
 
+    /**
+     * Computes in advance whether the shooter can see the droid. This is the expensive part of
+     * {@linkplain #update(float)}, and it only reads the map. The result is kept in the
+     * {@linkplain pp.droids.model.VisibilityCache visibility cache} of the map, which
+     * {@linkplain #update(float)} consults again.
+     *
+     * @param delta time in seconds since the last update
+     */
+    @Override
+    public void think(float delta) {
+        final Robot droid = shooter.getModel().getDroidsMap().getDroid();
+        if (shooter != droid && shooter.distanceTo(droid) >= FLT_EPSILON)
+            isVisible(droid);
+    }
+
+    /**
+     * Checks whether the shooter can see the droid, i.e., whether the droid is the first item hit
+     * by a ray from the shooter towards the droid.
+     */
+    private boolean isVisible(Robot droid) {
+        return shooter.getModel().getDroidsMap().getVisibilityCache().canSee(shooter, droid);
+    }
+
     /**
      * Called once per frame to update the shooter's aiming and firing logic.
      * <p>
@@ -56,14 +77,8 @@ public class ShooterBehavior implements Behavior {
         if (shooter == droid || shooter.distanceTo(droid) < FLT_EPSILON)
             return;
 
-        // check whether the shooter can see the Droid
-        final SortedSet<DistanceItem> hits = shooter.getHits(droid.getX() - shooter.getX(),
-                                                             droid.getY() - shooter.getY());
-        if (hits.isEmpty())
-            throw new IllegalStateException("Shooter must have at least one hit");
-
         // If the droid is hidden by anything, do nothing
-        if (hits.first().item() != droid)
+        if (!isVisible(droid))
             return;
 
         // Compute bearing to the player droid
@@ -0,0 +1,77 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model.item;
+
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.navigation.Navigator;
+import pp.util.navigation.VisibilityGraph;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A navigator that looks for a shortest path of a {@link Navigable} item in the
+ * {@linkplain pp.droids.model.DroidsMap#getVisibilityGraph(CircularItem) visibility graph} of its ground.
+ * <p>
+ * The visibility graph only knows the polygons of the map; obstacles and other robots are ignored,
+ * and turning costs are not taken into account. The path found in the graph is therefore checked for
+ * collisions, and the navigator falls back to a {@link DroidsNavigator} if the graph does not yield a
+ * collision-free path.
+ */
+class VisibilityGraphNavigator implements Navigator {
+    private static final Logger LOGGER = System.getLogger(VisibilityGraphNavigator.class.getName());
+
+    /**
+     * The navigator that checks paths and computes paths if the graph does not yield a path.
+     */
+    private final DroidsNavigator fallback;
+
+    /**
+     * The visibility graph at the time this navigator was created, or null if the item is not circular
+     * or has no ground.
+     */
+    private final VisibilityGraph graph;
+
+    /**
+     * The position of the item at the time this navigator was created.
+     */
+    private final Position start;
+
+    /**
+     * Creates a navigator for the specified item. Like {@link DroidsNavigator}, it takes a snapshot
+     * of all items that might obstruct the navigating item.
+     *
+     * @param item the item to navigate
+     */
+    VisibilityGraphNavigator(Navigable item) {
+        this.fallback = new DroidsNavigator(item);
+        this.graph = item instanceof CircularItem c ? item.getModel().getDroidsMap().getVisibilityGraph(c) : null;
+        this.start = new FloatPoint(item.getX(), item.getY());
+    }
+
+    /**
+     * Computes a path from the position of the item to the specified target. The path starts
+     * with the position of the item.
+     *
+     * @param target the target destination
+     * @return the path; empty if unreachable
+     */
+    @Override
+    public List<Position> findPathTo(Position target) {
+        if (graph != null) {
+            final List<Position> path = graph.findPath(start, target);
+            if (path.size() > 1 && fallback.isFree(path))
+                return new ArrayList<>(path);
+            LOGGER.log(Level.DEBUG, "no collision-free path in visibility graph from {0} to {1}", start, target); //NON-NLS
+        }
+        return fallback.findPathTo(target);
+    }
+}
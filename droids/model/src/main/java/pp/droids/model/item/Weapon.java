@@ -65,11 +65,13 @@ public class Weapon {
 
     /**
      * Creates a projectile. This method is called whenever this weapon is fired.
+     * The projectile is taken from the projectile pool of the model if possible.
      *
      * @return the new projectile
+     * @see pp.droids.model.DroidsModel#getProjectilePool()
      */
     public Item makeProjectile() {
-        final Projectile projectile = new Projectile(shooter.getModel(), PROJECTILE_BOUNDING_RADIUS);
+        final Projectile projectile = shooter.getModel().getProjectilePool().obtain(PROJECTILE_BOUNDING_RADIUS);
         if (shooter.getGround() != null)
             projectile.setGround(shooter.getGround());
         projectile.setSpeed(PROJECTILE_SPEED);
@@ -0,0 +1,361 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.notifications;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Delivers game events to the registered listeners and subscriptions.
+ * <p>
+ * Listeners and subscriptions are kept in tables that are replaced whenever a listener or subscription
+ * is added or removed, so that publishing an event does not copy anything. Listeners and subscriptions
+ * that are added or removed while an event is delivered do not affect the delivery of this event.
+ * Each table keeps an array of receivers per class of events. An event is therefore only passed to the
+ * subscriptions for its class and to the listeners that override the {@code received} method for its
+ * class, without looking at any other listener or subscription.
+ * </p>
+ * <p>
+ * Synchronous listeners receive each event in the thread publishing the event. While a batch is open,
+ * see {@linkplain #startBatch()}, events are collected and delivered to synchronous listeners in their
+ * order of publication when the batch is closed by {@linkplain #endBatch()}.
+ * </p>
+ * <p>
+ * Asynchronous listeners receive events in a separate consumer thread, which is started when the first
+ * asynchronous listener is added. Events are passed to the consumer thread through a lock-free ring
+ * buffer, so publishing an event does not wait for asynchronous listeners unless the buffer is full.
+ * Asynchronous listeners run concurrently with the thread publishing events. They must therefore not
+ * access the game model, and items referenced by events may have changed in the meantime.
+ * </p>
+ * <p>
+ * Events must be published by a single thread, typically the thread updating the game model.
+ * </p>
+ */
+public class GameEventBus {
+    private static final Logger LOGGER = System.getLogger(GameEventBus.class.getName());
+
+    /**
+     * The default number of events the ring buffer of asynchronous listeners can take.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * All synchronous listeners and subscriptions in the order of their registration.
+     */
+    private final List<Receiver> receivers = new ArrayList<>();
+
+    /**
+     * All asynchronous listeners and subscriptions in the order of their registration.
+     */
+    private final List<Receiver> asyncReceivers = new ArrayList<>();
+
+    private volatile ReceiverTable table = ReceiverTable.EMPTY;
+    private volatile ReceiverTable asyncTable = ReceiverTable.EMPTY;
+
+    /**
+     * The events published since the current batch has been opened, or null if no batch is open.
+     */
+    private List<GameEvent> batch;
+
+    /**
+     * The events collected by the last batch. The list is reused for the next batch.
+     */
+    private List<GameEvent> spare = new ArrayList<>();
+
+    /**
+     * The ring buffer passing events to the consumer thread. Its size is a power of two.
+     */
+    private final AtomicReferenceArray<GameEvent> ring;
+    private final int mask;
+
+    /**
+     * The number of events ever taken from the ring buffer by the consumer thread.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The number of events ever put into the ring buffer by the publishing thread.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile Thread consumer;
+    private volatile boolean running = true;
+
+    /**
+     * Creates an event bus whose ring buffer can take {@linkplain #DEFAULT_CAPACITY} events.
+     */
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an event bus whose ring buffer can take at least the specified number of events.
+     *
+     * @param capacity the minimum number of events the ring buffer can take
+     */
+    public GameEventBus(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive"); //NON-NLS
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) * 2;
+        ring = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Adds a listener that receives events in the thread publishing them.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addListener(GameEventListener listener) {
+        receivers.add(new ListenerReceiver(listener));
+        table = new ReceiverTable(receivers);
+    }
+
+    /**
+     * Adds a listener that receives events in the consumer thread of this bus.
+     * The consumer thread is started if it is not yet running.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addAsyncListener(GameEventListener listener) {
+        startConsumer();
+        asyncReceivers.add(new ListenerReceiver(listener));
+        asyncTable = new ReceiverTable(asyncReceivers);
+    }
+
+    /**
+     * Subscribes to events of the specified class. The handler receives these events in the thread
+     * publishing them.
+     *
+     * @param type    the class of the events; events of subclasses are received, too
+     * @param handler the handler receiving the events
+     * @param <E>     the class of the events
+     * @return the subscription, which can be cancelled
+     */
+    public <E extends GameEvent> Subscription<E> subscribe(Class<E> type, Consumer<? super E> handler) {
+        return subscribe(type, e -> true, handler);
+    }
+
+    /**
+     * Subscribes to events of the specified class that are accepted by the specified filter. The handler
+     * receives these events in the thread publishing them.
+     *
+     * @param type    the class of the events; events of subclasses are received, too
+     * @param filter  only events accepted by this filter are passed to the handler
+     * @param handler the handler receiving the events
+     * @param <E>     the class of the events
+     * @return the subscription, which can be cancelled
+     */
+    public synchronized <E extends GameEvent> Subscription<E> subscribe(Class<E> type, Predicate<? super E> filter,
+                                                                        Consumer<? super E> handler) {
+        final Subscription<E> subscription = new Subscription<>(this, type, filter, handler);
+        receivers.add(subscription);
+        table = new ReceiverTable(receivers);
+        return subscription;
+    }
+
+    /**
+     * Subscribes to events of the specified class that are accepted by the specified filter. The filter
+     * and the handler are called in the consumer thread of this bus, which is started if it is not yet running.
+     *
+     * @param type    the class of the events; events of subclasses are received, too
+     * @param filter  only events accepted by this filter are passed to the handler
+     * @param handler the handler receiving the events
+     * @param <E>     the class of the events
+     * @return the subscription, which can be cancelled
+     */
+    public synchronized <E extends GameEvent> Subscription<E> subscribeAsync(Class<E> type, Predicate<? super E> filter,
+                                                                             Consumer<? super E> handler) {
+        startConsumer();
+        final Subscription<E> subscription = new Subscription<>(this, type, filter, handler);
+        asyncReceivers.add(subscription);
+        asyncTable = new ReceiverTable(asyncReceivers);
+        return subscription;
+    }
+
+    /**
+     * Removes the specified listener, no matter whether it is synchronous or asynchronous.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeListener(GameEventListener listener) {
+        if (removeFirst(receivers, r -> r instanceof ListenerReceiver lr && lr.getListener().equals(listener)))
+            table = new ReceiverTable(receivers);
+        if (removeFirst(asyncReceivers, r -> r instanceof ListenerReceiver lr && lr.getListener().equals(listener)))
+            asyncTable = new ReceiverTable(asyncReceivers);
+    }
+
+    /**
+     * Removes the specified subscription.
+     *
+     * @param subscription the subscription to remove
+     * @see Subscription#cancel()
+     */
+    synchronized void remove(Subscription<?> subscription) {
+        if (removeFirst(receivers, r -> r == subscription))
+            table = new ReceiverTable(receivers);
+        if (removeFirst(asyncReceivers, r -> r == subscription))
+            asyncTable = new ReceiverTable(asyncReceivers);
+    }
+
+    /**
+     * Publishes the specified event. It is delivered to all synchronous listeners right away
+     * unless a batch is open, and it is passed to the consumer thread if there are asynchronous listeners.
+     *
+     * @param event the event to publish
+     */
+    public void publish(GameEvent event) {
+        if (batch != null)
+            batch.add(event);
+        else
+            deliver(event);
+    }
+
+    /**
+     * Opens a batch. Events published until {@linkplain #endBatch()} is called are delivered then.
+     * Opening a batch while a batch is open has no effect.
+     */
+    public void startBatch() {
+        if (batch == null) {
+            batch = spare;
+            spare = null;
+        }
+    }
+
+    /**
+     * Closes the open batch and delivers all events published since the batch has been opened,
+     * in the order of their publication. Events published while these events are delivered are
+     * delivered right away. Closing a batch while no batch is open has no effect.
+     */
+    public void endBatch() {
+        final List<GameEvent> events = batch;
+        if (events == null) return;
+        batch = null;
+        try {
+            for (GameEvent event : events)
+                deliver(event);
+        }
+        finally {
+            events.clear();
+            spare = events;
+        }
+    }
+
+    /**
+     * Returns whether a batch is open.
+     */
+    public boolean isBatching() {
+        return batch != null;
+    }
+
+    /**
+     * Stops the consumer thread after it has delivered all events that have already been published.
+     * Asynchronous listeners do not receive any events after this method has returned.
+     */
+    public void shutdown() {
+        final Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = consumer;
+        }
+        if (thread == null) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(GameEvent event) {
+        for (Receiver receiver : table.get(event.getClass()))
+            receiver.receive(event);
+        if (!asyncTable.isEmpty() && running && asyncTable.get(event.getClass()).length > 0)
+            offer(event);
+    }
+
+    /**
+     * Puts the specified event into the ring buffer. If the buffer is full, this method waits until
+     * the consumer thread has taken an event. The event is dropped if the consumer thread has stopped.
+     */
+    private void offer(GameEvent event) {
+        final long t = tail.get();
+        if (t - head.get() > mask) {
+            LOGGER.log(Level.DEBUG, "event buffer full, waiting for asynchronous listeners"); //NON-NLS
+            while (t - head.get() > mask) {
+                if (!consumer.isAlive()) return;
+                LockSupport.unpark(consumer);
+                Thread.yield();
+            }
+        }
+        ring.lazySet((int) t & mask, event);
+        tail.lazySet(t + 1);
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * The loop of the consumer thread. It delivers the events of the ring buffer to all
+     * asynchronous listeners and waits if the buffer is empty.
+     */
+    private void consume() {
+        long h = head.get();
+        while (true) {
+            if (h == tail.get()) {
+                if (!running) break;
+                LockSupport.park(this);
+                continue;
+            }
+            final int index = (int) h & mask;
+            final GameEvent event = ring.get(index);
+            ring.lazySet(index, null);
+            head.lazySet(++h);
+            for (Receiver receiver : asyncTable.get(event.getClass()))
+                try {
+                    receiver.receive(event);
+                }
+                catch (RuntimeException e) {
+                    LOGGER.log(Level.ERROR, "asynchronous listener failed", e); //NON-NLS
+                }
+        }
+        LOGGER.log(Level.DEBUG, "consumer thread stopped"); //NON-NLS
+    }
+
+    /**
+     * Starts the consumer thread unless it is running or this bus has been shut down.
+     */
+    private void startConsumer() {
+        if (consumer == null && running) {
+            final Thread thread = new Thread(this::consume, "game-events"); //NON-NLS
+            thread.setDaemon(true);
+            consumer = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Removes the first receiver of the specified list that satisfies the specified predicate.
+     *
+     * @return true if a receiver has been removed
+     */
+    private static boolean removeFirst(List<Receiver> list, Predicate<Receiver> predicate) {
+        for (int i = 0; i < list.size(); i++)
+            if (predicate.test(list.get(i))) {
+                list.remove(i);
+                return true;
+            }
+        return false;
+    }
+}
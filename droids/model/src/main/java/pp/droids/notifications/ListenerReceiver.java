@@ -0,0 +1,71 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.notifications;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Lets a {@linkplain GameEventListener} receive events. The listener only receives events
+ * whose {@code received} method it overrides, because the default methods do nothing anyway.
+ * Events of other classes, which are not known to {@linkplain GameEventListener}, are always received.
+ */
+class ListenerReceiver implements Receiver {
+    /**
+     * The classes of events that {@linkplain GameEventListener} has a {@code received} method for.
+     */
+    private static final Set<Class<?>> LISTENER_TYPES = new HashSet<>();
+
+    static {
+        for (Method method : GameEventListener.class.getMethods())
+            if (method.getName().equals("received") && method.getParameterCount() == 1) //NON-NLS
+                LISTENER_TYPES.add(method.getParameterTypes()[0]);
+    }
+
+    private final GameEventListener listener;
+
+    /**
+     * The classes of events whose {@code received} method is overridden by the listener.
+     */
+    private final Set<Class<?>> overridden = new HashSet<>();
+
+    /**
+     * Creates a receiver for the specified listener.
+     *
+     * @param listener the listener
+     */
+    ListenerReceiver(GameEventListener listener) {
+        this.listener = listener;
+        for (Class<?> type : LISTENER_TYPES)
+            try {
+                if (listener.getClass().getMethod("received", type).getDeclaringClass() != GameEventListener.class) //NON-NLS
+                    overridden.add(type);
+            }
+            catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+    }
+
+    /**
+     * Returns the listener of this receiver.
+     */
+    GameEventListener getListener() {
+        return listener;
+    }
+
+    @Override
+    public boolean accepts(Class<?> eventType) {
+        return !LISTENER_TYPES.contains(eventType) || overridden.contains(eventType);
+    }
+
+    @Override
+    public void receive(GameEvent event) {
+        event.notify(listener);
+    }
+}
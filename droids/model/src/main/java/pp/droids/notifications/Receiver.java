@@ -0,0 +1,27 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.notifications;
+
+/**
+ * Something registered at a {@linkplain GameEventBus} that receives game events of certain types.
+ */
+interface Receiver {
+    /**
+     * Returns whether this receiver wants to receive events of the specified class.
+     *
+     * @param eventType the class of an event
+     */
+    boolean accepts(Class<?> eventType);
+
+    /**
+     * Receives the specified event, whose class has been accepted by {@linkplain #accepts(Class)}.
+     *
+     * @param event the event
+     */
+    void receive(GameEvent event);
+}
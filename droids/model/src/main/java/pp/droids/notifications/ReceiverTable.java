@@ -0,0 +1,63 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.notifications;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable list of receivers together with the receivers of each class of events.
+ * The receivers of a class of events are determined when an event of this class is delivered
+ * for the first time, and they keep the order of the list.
+ */
+class ReceiverTable {
+    /**
+     * The table without any receivers.
+     */
+    static final ReceiverTable EMPTY = new ReceiverTable(List.of());
+
+    private final Receiver[] receivers;
+    private final Map<Class<?>, Receiver[]> byType = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a table of the specified receivers.
+     *
+     * @param receivers the receivers in the order in which they receive events
+     */
+    ReceiverTable(List<Receiver> receivers) {
+        this.receivers = receivers.toArray(new Receiver[0]);
+    }
+
+    /**
+     * Returns all receivers of events of the specified class.
+     *
+     * @param eventType the class of an event
+     */
+    Receiver[] get(Class<?> eventType) {
+        final Receiver[] result = byType.get(eventType);
+        return result != null ? result : byType.computeIfAbsent(eventType, this::find);
+    }
+
+    /**
+     * Returns whether this table has any receivers.
+     */
+    boolean isEmpty() {
+        return receivers.length == 0;
+    }
+
+    private Receiver[] find(Class<?> eventType) {
+        int num = 0;
+        final Receiver[] found = new Receiver[receivers.length];
+        for (Receiver receiver : receivers)
+            if (receiver.accepts(eventType))
+                found[num++] = receiver;
+        return num == found.length ? found : Arrays.copyOf(found, num);
+    }
+}
@@ -0,0 +1,68 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.notifications;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A subscription to game events of a certain class at a {@linkplain GameEventBus}.
+ * The handler of the subscription receives all events of this class or its subclasses
+ * that are accepted by the filter of the subscription.
+ *
+ * @param <E> the class of the events
+ * @see GameEventBus#subscribe(Class, Predicate, Consumer)
+ */
+public class Subscription<E extends GameEvent> implements Receiver {
+    private final GameEventBus bus;
+    private final Class<E> type;
+    private final Predicate<? super E> filter;
+    private final Consumer<? super E> handler;
+
+    /**
+     * Creates a subscription.
+     *
+     * @param bus     the event bus delivering the events
+     * @param type    the class of the events
+     * @param filter  only events accepted by this filter are passed to the handler
+     * @param handler the handler receiving the events
+     */
+    Subscription(GameEventBus bus, Class<E> type, Predicate<? super E> filter, Consumer<? super E> handler) {
+        this.bus = bus;
+        this.type = type;
+        this.filter = filter;
+        this.handler = handler;
+    }
+
+    /**
+     * Returns the class of the events of this subscription.
+     */
+    public Class<E> getType() {
+        return type;
+    }
+
+    /**
+     * Cancels this subscription. The handler does not receive any events afterwards
+     * unless events are being delivered right now.
+     */
+    public void cancel() {
+        bus.remove(this);
+    }
+
+    @Override
+    public boolean accepts(Class<?> eventType) {
+        return type.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public void receive(GameEvent event) {
+        final E e = type.cast(event);
+        if (filter.test(e))
+            handler.accept(e);
+    }
+}
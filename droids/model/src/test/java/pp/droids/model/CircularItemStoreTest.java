@@ -0,0 +1,192 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.CircularItem;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.Obstacle;
+import pp.droids.model.item.PathfinderBehavior;
+import pp.droids.model.item.Polygon;
+import pp.droids.model.item.Projectile;
+import pp.droids.model.item.Robot;
+import pp.util.FloatPoint;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.droids.model.Util.BATTLE_HEIGHT;
+import static pp.droids.model.Util.BATTLE_WIDTH;
+import static pp.droids.model.Util.assertSameState;
+import static pp.droids.model.Util.makeBattle;
+import static pp.droids.model.Util.makeGround;
+import static pp.droids.model.Util.makeItem;
+import static pp.droids.model.Util.moveDroid;
+
+/**
+ * Checks that updating projectiles using the {@linkplain CircularItemStore} of a map
+ * yields exactly the same game states as updating them one by one.
+ */
+class CircularItemStoreTest {
+    private static final float DELTA = 0.02f;
+    private static final int FRAMES = 300;
+
+    /**
+     * Creates a game model with a droid, many shooting robots, walls, and obstacles between them.
+     * The same seed always yields the same game model.
+     */
+    private static DroidsModel makeModel(long seed, boolean store) {
+        final DroidsModel model = makeBattle(seed, 40, true);
+        if (store)
+            model.getDroidsMap().useCircularItemStore();
+        return model;
+    }
+
+    @Test
+    void sameStatesAsWithoutStore() {
+        final DroidsModel plain = makeModel(5, false);
+        final DroidsModel stored = makeModel(5, true);
+        int projectiles = 0;
+        try {
+            for (int frame = 0; frame < FRAMES; frame++) {
+                final float angle = 0.02f * frame;
+                moveDroid(plain, angle);
+                moveDroid(stored, angle);
+                plain.getDroidsMap().update(DELTA);
+                stored.getDroidsMap().update(DELTA);
+                assertSameState(plain.getDroidsMap(), stored.getDroidsMap(), frame);
+                assertMirrored(stored.getDroidsMap(), frame);
+                projectiles = Math.max(projectiles, (int) stored.getDroidsMap().getItems().stream()
+                                                                     .filter(Projectile.class::isInstance)
+                                                                     .count());
+            }
+        }
+        finally {
+            plain.shutdown();
+            stored.shutdown();
+        }
+        assertTrue(projectiles > 0, "no projectiles"); //NON-NLS
+    }
+
+    /**
+     * Items added after projectiles are updated before them, and the order matters if they walk
+     * into the way of a projectile.
+     */
+    @Test
+    void sameStatesWithRobotsAddedAfterProjectiles() {
+        final DroidsModel plain = makeModel(7, false);
+        final DroidsModel stored = makeModel(7, true);
+        final Random random = new Random(11);
+        int added = 0;
+        try {
+            for (int frame = 0; frame < FRAMES; frame++) {
+                if (frame % 5 == 0 && hasProjectiles(stored)) {
+                    final List<Item> items = stored.getDroidsMap().getItems();
+                    final List<Item> projectiles = items.stream().filter(Projectile.class::isInstance).toList();
+                    final int index = items.indexOf(projectiles.get(random.nextInt(projectiles.size())));
+                    addInWay(plain, index);
+                    addInWay(stored, index);
+                    added++;
+                }
+                final float angle = 0.02f * frame;
+                moveDroid(plain, angle);
+                moveDroid(stored, angle);
+                plain.getDroidsMap().update(DELTA);
+                stored.getDroidsMap().update(DELTA);
+                assertSameState(plain.getDroidsMap(), stored.getDroidsMap(), frame);
+                assertMirrored(stored.getDroidsMap(), frame);
+            }
+        }
+        finally {
+            plain.shutdown();
+            stored.shutdown();
+        }
+        assertTrue(added > 0, "no robots added"); //NON-NLS
+    }
+
+    @Test
+    void slotsFollowItems() {
+        final DroidsModel model = new DroidsModel();
+        final DroidsMap map = model.getDroidsMap();
+        final Polygon ground = makeGround(model, BATTLE_WIDTH, BATTLE_HEIGHT);
+        map.add(ground);
+        final Obstacle first = makeItem(Obstacle.class, ground, 1f, 1f);
+        final Obstacle second = makeItem(Obstacle.class, ground, 2f, 2f);
+        map.add(first);
+        map.add(second);
+        map.useCircularItemStore();
+        final CircularItemStore store = map.getCircularItemStore();
+        assertEquals(2, store.size());
+        assertEquals(CircularItemStore.OBSTACLE, store.getKind(0));
+        second.setPos(5f, 6f);
+        second.setRotation(1f);
+        assertEquals(5f, store.getX(1), 0f);
+        assertEquals(6f, store.getY(1), 0f);
+        assertEquals(1f, store.getRotation(1), 0f);
+        assertTrue(map.remove(first));
+        assertTrue(store.isRemoved(0));
+        final Projectile projectile = new Projectile(model, 0.1f);
+        projectile.setGround(ground);
+        projectile.setPos(3f, 3f);
+        map.add(projectile);
+        map.update(0f);
+        assertEquals(2, store.size());
+        assertSame(second, store.getItem(0));
+        assertSame(projectile, store.getItem(1));
+        assertEquals(CircularItemStore.PROJECTILE, store.getKind(1));
+        assertFalse(store.isRemoved(1));
+        model.shutdown();
+    }
+
+    private static boolean hasProjectiles(DroidsModel model) {
+        return model.getDroidsMap().getItems().stream().anyMatch(Projectile.class::isInstance);
+    }
+
+    /**
+     * Adds a robot to the map of the specified model that walks towards the projectile at the specified
+     * index of the items of the map. The robot is placed such that the projectile hits it in the next
+     * update if and only if the robot walks before the projectile moves.
+     */
+    private static void addInWay(DroidsModel model, int index) {
+        final DroidsMap map = model.getDroidsMap();
+        final Projectile projectile = (Projectile) map.getItems().get(index);
+        final Robot robot = new Robot(model);
+        final float dx = (float) Math.cos(projectile.getRotation());
+        final float dy = (float) Math.sin(projectile.getRotation());
+        final float dist = projectile.getSpeed() * DELTA + projectile.getRadius() + robot.getRadius() +
+                           0.5f * robot.getWalkingSpeed() * DELTA;
+        robot.setGround(projectile.getGround());
+        robot.setPos(projectile.getX() + dist * dx, projectile.getY() + dist * dy);
+        robot.setRotation(projectile.getRotation() + (float) Math.PI);
+        robot.setBehavior(new PathfinderBehavior(robot, List.of(new FloatPoint(projectile.getX(), projectile.getY()))));
+        map.add(robot);
+    }
+
+    /**
+     * Checks that the store contains exactly the circular items of the map in the same order.
+     */
+    private static void assertMirrored(DroidsMap map, int frame) {
+        final CircularItemStore store = map.getCircularItemStore();
+        int slot = 0;
+        for (Item item : map.getItems())
+            if (item instanceof CircularItem circular) {
+                final String msg = "slot " + slot + " in frame " + frame; //NON-NLS
+                assertSame(circular, store.getItem(slot), msg);
+                assertEquals(circular.getX(), store.getX(slot), 0f, msg);
+                assertEquals(circular.getY(), store.getY(slot), 0f, msg);
+                assertEquals(circular.getRotation(), store.getRotation(slot), 0f, msg);
+                assertEquals(circular.getRadius(), store.getRadius(slot), 0f, msg);
+                slot++;
+            }
+        assertEquals(slot, store.size(), "number of slots in frame " + frame); //NON-NLS
+    }
+}
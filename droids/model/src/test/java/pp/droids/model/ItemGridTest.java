@@ -0,0 +1,189 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.CircularItem;
+import pp.droids.model.item.DistanceItem;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.Obstacle;
+import pp.droids.model.item.Polygon;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.SegmentLike;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.droids.model.Util.makeGround;
+import static pp.droids.model.Util.makeItem;
+
+/**
+ * Checks the spatial queries of {@linkplain DroidsMap} against a brute-force search.
+ */
+class ItemGridTest {
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 30;
+    private static final int NUM_OBSTACLES = 200;
+
+    private final Random random = new Random(4711);
+    private DroidsModel model;
+    private DroidsMap map;
+    private Polygon ground;
+    private final List<Obstacle> obstacles = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        model = new DroidsModel();
+        ground = makeGround(model, WIDTH, HEIGHT);
+        map = new DroidsMap();
+        map.add(ground);
+        for (int i = 0; i < NUM_OBSTACLES; i++) {
+            final Obstacle obstacle = makeItem(Obstacle.class, ground, randomX(), randomY());
+            obstacles.add(obstacle);
+            map.add(obstacle);
+        }
+        model.setDroidsMap(map);
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    @Test
+    void itemsNear() {
+        for (int i = 0; i < 100; i++) {
+            final Position pos = new FloatPoint(randomX(), randomY());
+            final float radius = 3f * random.nextFloat();
+            final List<Item> found = map.getItemsNear(pos, radius);
+            for (Item item : map.getItems())
+                if (item instanceof CircularItem c && c.distanceTo(pos) <= c.getRadius() + radius)
+                    assertTrue(found.contains(item), () -> item + " near " + pos + " not found");
+            assertTrue(found.contains(ground));
+            assertInMapOrder(found);
+        }
+    }
+
+    @Test
+    void itemsAlong() {
+        for (int i = 0; i < 100; i++) {
+            final Position from = new FloatPoint(randomX(), randomY());
+            final Position to = new FloatPoint(randomX(), randomY());
+            final float radius = random.nextFloat();
+            final List<Item> found = map.getItemsAlong(from, to, radius);
+            for (Item item : map.getItems())
+                if (item instanceof CircularItem c &&
+                    SegmentLike.distance(from, to, c) <= c.getRadius() + radius)
+                    assertTrue(found.contains(item), () -> item + " along " + from + "-" + to + " not found");
+            assertInMapOrder(found);
+        }
+    }
+
+    @Test
+    void itemsOnRay() {
+        for (int i = 0; i < 100; i++) {
+            final Position start = new FloatPoint(randomX(), randomY());
+            final float dx = random.nextFloat() - 0.5f;
+            final float dy = random.nextFloat() - 0.5f;
+            final Position far = new FloatPoint(start.getX() + 1000f * dx, start.getY() + 1000f * dy);
+            final List<Item> found = map.getItemsOnRay(start, dx, dy);
+            for (Item item : map.getItems())
+                if (item instanceof CircularItem c && SegmentLike.distance(start, far, c) <= c.getRadius())
+                    assertTrue(found.contains(item), () -> item + " on ray from " + start + " not found");
+        }
+    }
+
+    @Test
+    void firstHit() {
+        for (int i = 0; i < 200; i++) {
+            final Obstacle observer = obstacles.get(random.nextInt(NUM_OBSTACLES));
+            // every fourth ray is axis-parallel
+            final float dx = i % 4 == 0 ? 0f : random.nextFloat() - 0.5f;
+            final float dy = i % 4 == 1 ? 0f : random.nextFloat() - 0.5f;
+            final SortedSet<DistanceItem> hits = observer.getHits(dx, dy);
+            final Item expected = hits.isEmpty() ? null : hits.first().item();
+            assertEquals(expected, map.getFirstHit(observer, dx, dy, observer),
+                         "ray from " + observer + " in direction " + dx + ", " + dy);
+        }
+    }
+
+    @Test
+    void canSee() {
+        final Obstacle target = obstacles.get(0);
+        final List<Obstacle> observers = obstacles.subList(1, NUM_OBSTACLES);
+        int numVisible = 0;
+        for (Obstacle observer : observers) {
+            final SortedSet<DistanceItem> hits = observer.getHits(target.getX() - observer.getX(),
+                                                                  target.getY() - observer.getY());
+            final boolean expected = !hits.isEmpty() && hits.first().item() == target;
+            final boolean visible = map.canSee(observer, target);
+            assertEquals(expected, visible, observer.toString());
+            if (visible) numVisible++;
+        }
+        assertTrue(numVisible > 0);
+    }
+
+    @Test
+    void batchedQueries() {
+        final Obstacle target = obstacles.get(0);
+        final List<Obstacle> observers = obstacles.subList(1, NUM_OBSTACLES);
+        final boolean[] visible = new boolean[observers.size()];
+        map.canSee(observers, target, visible);
+        final float[] directions = new float[2 * observers.size()];
+        for (int i = 0; i < observers.size(); i++) {
+            assertEquals(map.canSee(observers.get(i), target), visible[i], observers.get(i).toString());
+            directions[2 * i] = random.nextFloat() - 0.5f;
+            directions[2 * i + 1] = random.nextFloat() - 0.5f;
+        }
+        final Item[] hits = new Item[observers.size()];
+        map.getFirstHits(observers, directions, hits);
+        for (int i = 0; i < observers.size(); i++) {
+            final Obstacle observer = observers.get(i);
+            assertEquals(map.getFirstHit(observer, directions[2 * i], directions[2 * i + 1], observer), hits[i],
+                         observer.toString());
+        }
+    }
+
+    @Test
+    void movedAndRemovedItems() {
+        for (Obstacle obstacle : obstacles)
+            obstacle.setPos(randomX(), randomY());
+        final Obstacle removed = obstacles.get(0);
+        map.remove(removed);
+        for (Obstacle obstacle : obstacles) {
+            final List<Item> found = map.getItemsNear(obstacle, 0f);
+            assertEquals(obstacle != removed, found.contains(obstacle), obstacle.toString());
+        }
+        // copies are not contained in the map and must not show up after moving them
+        final Item copy = obstacles.get(1).copy();
+        copy.setPos(randomX(), randomY());
+        assertFalse(map.getItemsNear(copy, 0f).contains(copy));
+    }
+
+    private void assertInMapOrder(List<Item> found) {
+        final List<Item> expected = new ArrayList<>(map.getItems());
+        expected.retainAll(found);
+        assertEquals(expected, found);
+    }
+
+    private float randomX() {
+        return WIDTH * random.nextFloat();
+    }
+
+    private float randomY() {
+        return HEIGHT * random.nextFloat();
+    }
+}
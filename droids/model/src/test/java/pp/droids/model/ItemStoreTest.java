@@ -0,0 +1,148 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.Obstacle;
+import pp.droids.model.item.Polygon;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.droids.model.Util.makeGround;
+import static pp.droids.model.Util.makeItem;
+
+class ItemStoreTest {
+    private DroidsModel model;
+    private Polygon ground;
+
+    @BeforeEach
+    void setUp() {
+        model = new DroidsModel();
+        ground = makeGround(model, 20, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    private List<Item> makeObstacles(int num) {
+        final List<Item> obstacles = new ArrayList<>();
+        for (int i = 0; i < num; i++)
+            obstacles.add(makeItem(Obstacle.class, ground, i % 20, i / 20));
+        return obstacles;
+    }
+
+    @Test
+    void compactionKeepsOrder() {
+        final ItemStore store = new ItemStore();
+        final List<Item> expected = makeObstacles(200);
+        for (Item item : expected)
+            assertTrue(store.add(item));
+        assertFalse(store.add(expected.get(0)));
+        for (int i = 0; i < 200; i += 3)
+            assertTrue(store.remove(expected.get(i)));
+        assertFalse(store.remove(expected.get(0)));
+        // cleared slots are kept until at least half of the slots have been cleared
+        assertEquals(200, store.getEnd());
+        assertNull(store.get(0));
+        for (int i = 0; i < 200; i++)
+            if (i % 3 != 0) store.remove(expected.get(i));
+        assertTrue(store.compact());
+        assertEquals(0, store.getEnd());
+        final List<Item> added = makeObstacles(100);
+        for (Item item : added)
+            store.add(item);
+        for (int i = 0; i < 100; i += 2)
+            store.remove(added.get(i));
+        added.removeIf(item -> !store.contains(item));
+        assertEquals(added, store.asList());
+        assertTrue(store.compact());
+        assertEquals(50, store.getEnd());
+        assertEquals(added, store.asList());
+        for (int i = 0; i < store.getEnd(); i++)
+            assertEquals(added.get(i), store.get(i));
+    }
+
+    @Test
+    void listFollowsRemovalsAndFailsFast() {
+        final ItemStore store = new ItemStore();
+        final List<Item> expected = new ArrayList<>(makeObstacles(100));
+        for (Item item : expected)
+            store.add(item);
+        final List<Item> list = store.asList();
+        final Random random = new Random(3);
+        while (!expected.isEmpty()) {
+            final Item item = expected.remove(random.nextInt(expected.size()));
+            assertTrue(store.remove(item));
+            assertEquals(expected, list);
+            store.compact();
+        }
+        for (Item item : makeObstacles(3))
+            store.add(item);
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (Item item : list)
+                store.remove(item);
+        });
+        assertThrows(UnsupportedOperationException.class, () -> list.add(list.get(0)));
+    }
+
+    @Test
+    void slotsOfManyItemsAreFound() {
+        final ItemStore store = new ItemStore();
+        final List<Item> remaining = new ArrayList<>(makeObstacles(2000));
+        for (Item item : remaining)
+            store.add(item);
+        final Random random = new Random(5);
+        final List<Item> removed = new ArrayList<>();
+        for (int i = 0; i < 1500; i++)
+            removed.add(remaining.remove(random.nextInt(remaining.size())));
+        for (Item item : removed)
+            assertTrue(store.remove(item));
+        for (Item item : removed)
+            assertFalse(store.contains(item));
+        assertEquals(remaining.size(), store.size());
+        assertEquals(remaining, store.asList());
+        assertTrue(store.compact());
+        for (int i = 0; i < remaining.size(); i++) {
+            assertEquals(remaining.get(i), store.get(i));
+            assertEquals(i, store.asList().indexOf(remaining.get(i)));
+        }
+        for (Item item : remaining)
+            assertTrue(store.remove(item));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void destroyedItemsAreRemovedByUpdate() {
+        final DroidsMap map = model.getDroidsMap();
+        final List<Item> obstacles = makeObstacles(50);
+        for (Item item : obstacles)
+            map.add(item);
+        for (int i = 0; i < 50; i += 5)
+            obstacles.get(i).destroy();
+        assertEquals(50, map.getItems().size());
+        map.update(0.02f);
+        final List<Item> expected = obstacles.stream().filter(item -> !item.isDestroyed()).toList();
+        assertEquals(expected, map.getItems());
+        // destroyed items are no longer found by the spatial index
+        final List<Item> near = map.getItemsNear(obstacles.get(0), 0.1f);
+        assertFalse(near.contains(obstacles.get(0)));
+    }
+}
@@ -0,0 +1,118 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.Polygon;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.Segment;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.droids.model.Util.makeGround;
+import static pp.droids.model.Util.makePolygon;
+
+/**
+ * Compares the cached moves of {@linkplain NavigationGrid} with direct collision checks.
+ */
+class NavigationGridTest {
+    private static final int WIDTH = 20;
+    private static final int HEIGHT = 15;
+    private static final float RADIUS = 0.4f;
+
+    private final Random random = new Random(1234);
+    private DroidsModel model;
+    private DroidsMap map;
+    private List<Polygon> polygons;
+
+    @BeforeEach
+    void setUp() {
+        model = new DroidsModel();
+        map = model.getDroidsMap();
+        polygons = List.of(makeGround(model, WIDTH, HEIGHT),
+                           makePolygon(model, 3.3f, 6.7f, 2.2f, 9.5f),
+                           makePolygon(model, 10.5f, 11.5f, 4f, 14f));
+        polygons.forEach(map::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    private boolean blocked(Position from, Position to) {
+        final Segment segment = new Segment(from, to);
+        return polygons.stream().anyMatch(p -> p.hasSegmentWithin(segment, RADIUS));
+    }
+
+    @Test
+    void sameAsDirectCheck() {
+        final NavigationGrid grid = map.getNavigationGrid(RADIUS);
+        // query twice such that the second round uses cached results
+        for (int round = 0; round < 2; round++)
+            for (int x = -2; x <= WIDTH + 1; x++)
+                for (int y = -2; y <= HEIGHT + 1; y++)
+                    for (int dx = -1; dx <= 1; dx++)
+                        for (int dy = -1; dy <= 1; dy++) {
+                            final FloatPoint from = new FloatPoint(x, y);
+                            final FloatPoint to = new FloatPoint(x + dx, y + dy);
+                            assertEquals(blocked(from, to), grid.isBlocked(from, to), from + " -> " + to);
+                        }
+    }
+
+    @Test
+    void latticeMoves() {
+        final NavigationGrid grid = map.getNavigationGrid(RADIUS);
+        assertEquals(-1, grid.latticeIndex(-100, 0));
+        for (int index = 0; index < grid.getLatticeSize(); index++) {
+            final int x = grid.latticeX(index);
+            final int y = grid.latticeY(index);
+            assertEquals(index, grid.latticeIndex(x, y));
+            for (int dx = -1; dx <= 1; dx++)
+                for (int dy = -1; dy <= 1; dy++) {
+                    final FloatPoint from = new FloatPoint(x, y);
+                    final FloatPoint to = new FloatPoint(x + dx, y + dy);
+                    assertEquals(blocked(from, to), grid.isBlocked(index, dx, dy), from + " -> " + to);
+                }
+        }
+    }
+
+    @Test
+    void arbitraryMoves() {
+        final NavigationGrid grid = map.getNavigationGrid(RADIUS);
+        for (int i = 0; i < 500; i++) {
+            final FloatPoint from = new FloatPoint(WIDTH * random.nextFloat(), HEIGHT * random.nextFloat());
+            final FloatPoint to = new FloatPoint(WIDTH * random.nextFloat(), HEIGHT * random.nextFloat());
+            assertEquals(blocked(from, to), grid.isBlocked(from, to), from + " -> " + to);
+        }
+    }
+
+    @Test
+    void newGridAfterPolygonChange() {
+        final NavigationGrid grid = map.getNavigationGrid(RADIUS);
+        assertSame(grid, map.getNavigationGrid(RADIUS));
+        assertNotSame(grid, map.getNavigationGrid(2f * RADIUS));
+        map.remove(polygons.get(1));
+        final NavigationGrid newGrid = map.getNavigationGrid(RADIUS);
+        assertNotSame(grid, newGrid);
+        // the old grid still refers to the removed polygon
+        final FloatPoint from = new FloatPoint(2f, 5f);
+        final FloatPoint to = new FloatPoint(3f, 5f);
+        assertTrue(grid.isBlocked(from, to));
+        assertFalse(newGrid.isBlocked(from, to));
+    }
+}
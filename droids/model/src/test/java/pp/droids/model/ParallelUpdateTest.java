@@ -0,0 +1,82 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.PathfinderBehavior;
+import pp.droids.model.item.Polygon;
+import pp.droids.model.item.Robot;
+import pp.util.FloatPoint;
+import pp.util.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static pp.droids.model.Util.BATTLE_HEIGHT;
+import static pp.droids.model.Util.BATTLE_WIDTH;
+import static pp.droids.model.Util.assertSameState;
+import static pp.droids.model.Util.makeBattle;
+import static pp.droids.model.Util.makeItem;
+import static pp.droids.model.Util.moveDroid;
+
+/**
+ * Checks that the think phase of {@linkplain DroidsMap#update(float, boolean)} yields exactly the same
+ * game states as an update without think phase, no matter whether it runs in parallel or not.
+ */
+class ParallelUpdateTest {
+    private static final float DELTA = 0.02f;
+    private static final int FRAMES = 300;
+    private static final int WALKERS = 20;
+
+    @Test
+    void sameStatesAsWithoutThinkPhase() {
+        final DroidsModel plain = makeModel();
+        final DroidsModel sequential = makeModel();
+        final DroidsModel parallel = makeModel();
+        try {
+            for (int frame = 0; frame < FRAMES; frame++) {
+                // let the droid walk along a circle such that visibility keeps changing
+                final float angle = 0.02f * frame;
+                moveDroid(plain, angle);
+                moveDroid(sequential, angle);
+                moveDroid(parallel, angle);
+                plain.getDroidsMap().update(DELTA, false, false);
+                sequential.getDroidsMap().update(DELTA, false);
+                parallel.getDroidsMap().update(DELTA, true);
+                assertSameState(plain.getDroidsMap(), sequential.getDroidsMap(), frame);
+                assertSameState(plain.getDroidsMap(), parallel.getDroidsMap(), frame);
+            }
+        }
+        finally {
+            plain.shutdown();
+            sequential.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    /**
+     * Creates a battle with additional robots that walk along random paths and bump into each other.
+     */
+    private static DroidsModel makeModel() {
+        final DroidsModel model = makeBattle(11, 60, false);
+        final DroidsMap map = model.getDroidsMap();
+        final Polygon ground = (Polygon) map.getItems().get(0);
+        final Random random = new Random(13);
+        for (int i = 0; i < WALKERS; i++) {
+            final Robot walker = makeItem(Robot.class, ground,
+                                          BATTLE_WIDTH * random.nextFloat(), BATTLE_HEIGHT * random.nextFloat());
+            final List<Position> path = new ArrayList<>();
+            for (int j = 0; j < 4; j++)
+                path.add(new FloatPoint(BATTLE_WIDTH * random.nextFloat(), BATTLE_HEIGHT * random.nextFloat()));
+            walker.setBehavior(new PathfinderBehavior(walker, path));
+            map.add(walker);
+        }
+        return model;
+    }
+}
@@ -0,0 +1,159 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.Robot;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.navigation.Navigator;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the request handling of {@linkplain PathPlanner} with navigators that wait until
+ * the test lets them continue.
+ */
+class PathPlannerTest {
+    private static final Position TARGET = new FloatPoint(5f, 5f);
+
+    private final CountDownLatch proceed = new CountDownLatch(1);
+    private DroidsModel model;
+    private PathPlanner planner;
+
+    private void setUp(int threads, float budget) {
+        model = new DroidsModel();
+        final Properties props = new Properties();
+        props.setProperty("navigation.planner-threads", String.valueOf(threads)); //NON-NLS
+        props.setProperty("navigation.planner-budget", String.valueOf(budget)); //NON-NLS
+        model.getConfig().readFrom(props);
+        planner = model.getPathPlanner();
+    }
+
+    @AfterEach
+    void tearDown() {
+        proceed.countDown();
+        model.shutdown();
+    }
+
+    private Robot makeRobot(float x, float y) {
+        final Robot robot = new Robot(model) {
+            @Override
+            public Navigator getNavigator() {
+                final Position start = new FloatPoint(getX(), getY());
+                return target -> {
+                    try {
+                        proceed.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of(start, target);
+                };
+            }
+        };
+        robot.setPos(x, y);
+        return robot;
+    }
+
+    @Test
+    void boundedThreads() throws Exception {
+        setUp(2, 100f);
+        final List<Future<List<Position>>> futures = List.of(planner.requestPath(makeRobot(1f, 1f), TARGET),
+                                                             planner.requestPath(makeRobot(2f, 1f), TARGET),
+                                                             planner.requestPath(makeRobot(3f, 1f), TARGET));
+        assertEquals(2, planner.getRunning());
+        assertEquals(1, planner.getQueueDepth());
+        proceed.countDown();
+        for (int i = 0; i < futures.size(); i++)
+            assertEquals(List.of(new FloatPoint(i + 1f, 1f), TARGET), futures.get(i).get(5, TimeUnit.SECONDS));
+        assertEquals(3, planner.getCompleted());
+        assertEquals(0, planner.getQueueDepth());
+    }
+
+    @Test
+    void newRequestCancelsPreviousRequest() {
+        setUp(1, 100f);
+        planner.requestPath(makeRobot(1f, 1f), TARGET);
+        final Robot robot = makeRobot(2f, 2f);
+        final Future<List<Position>> first = planner.requestPath(robot, TARGET);
+        final Future<List<Position>> second = planner.requestPath(robot, new FloatPoint(6f, 6f));
+        assertTrue(first.isCancelled());
+        assertFalse(second.isDone());
+        assertEquals(1, planner.getCancelled());
+        assertEquals(1, planner.getQueueDepth());
+    }
+
+    @Test
+    void identicalRequestsAreCoalesced() {
+        setUp(1, 100f);
+        planner.requestPath(makeRobot(1f, 1f), TARGET);
+        final Robot robot = makeRobot(2f, 2f);
+        for (int i = 0; i < 10; i++)
+            robot.navigateTo(TARGET);
+        assertEquals(9, planner.getCoalesced());
+        assertEquals(0, planner.getCancelled());
+        assertEquals(1, planner.getQueueDepth());
+        assertSame(planner.requestPath(robot, TARGET), planner.requestPath(robot, new FloatPoint(5f, 5f)));
+    }
+
+    @Test
+    void stoppedBehaviorCancelsRequest() {
+        setUp(1, 100f);
+        planner.requestPath(makeRobot(1f, 1f), TARGET);
+        final Robot robot = makeRobot(2f, 2f);
+        robot.navigateTo(TARGET);
+        assertEquals(1, planner.getQueueDepth());
+        robot.setBehavior(null);
+        assertEquals(1, planner.getCancelled());
+        assertEquals(0, planner.getQueueDepth());
+    }
+
+    @Test
+    void budgetPerFrame() throws Exception {
+        setUp(4, 0f);
+        proceed.countDown();
+        // the first request of a frame is always started
+        planner.requestPath(makeRobot(1f, 1f), TARGET).get(5, TimeUnit.SECONDS);
+        planner.update();
+        final Robot robot = new Robot(model) {
+            @Override
+            public Navigator getNavigator() {
+                return target -> {
+                    try {
+                        Thread.sleep(10);
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of(target);
+                };
+            }
+        };
+        planner.requestPath(robot, TARGET).get(5, TimeUnit.SECONDS);
+        assertTrue(planner.getAverageTime() > 0f);
+        planner.update();
+        final Future<List<Position>> first = planner.requestPath(makeRobot(1f, 2f), TARGET);
+        final Future<List<Position>> second = planner.requestPath(makeRobot(1f, 3f), TARGET);
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(1, planner.getQueueDepth());
+        planner.update();
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(0, planner.getQueueDepth());
+    }
+}
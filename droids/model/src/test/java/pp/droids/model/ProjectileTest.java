@@ -0,0 +1,177 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.collisions.CollisionPredicate;
+import pp.droids.model.item.Impact;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.Polygon;
+import pp.droids.model.item.Projectile;
+import pp.droids.model.item.ProjectilePool;
+import pp.droids.model.item.Robot;
+import pp.droids.model.item.Weapon;
+import pp.droids.notifications.HitEvent;
+import pp.util.FloatPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.droids.model.Util.makeGround;
+import static pp.droids.model.Util.makeItem;
+import static pp.droids.model.Util.makePolygon;
+
+/**
+ * Checks that fast projectiles hit exactly the first item on their way.
+ */
+class ProjectileTest {
+    private static final float EPS = 1e-4f;
+    private static final float RADIUS = 0.1f;
+
+    private DroidsModel model;
+    private DroidsMap map;
+    private Polygon ground;
+
+    @BeforeEach
+    void setUp() {
+        model = new DroidsModel();
+        map = model.getDroidsMap();
+        ground = makeGround(model, 30, 3);
+        map.add(ground);
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    private Projectile shoot(float x, float y, float speed) {
+        final Projectile projectile = new Projectile(model, RADIUS);
+        projectile.setGround(ground);
+        projectile.setPos(x, y);
+        projectile.setSpeed(speed);
+        map.add(projectile);
+        return projectile;
+    }
+
+    @Test
+    void onlyFirstItemIsHit() {
+        final Robot first = makeItem(Robot.class, ground, 5f, 1f);
+        final Robot second = makeItem(Robot.class, ground, 8f, 1f);
+        map.add(second);
+        map.add(first);
+        final int lives = first.getLives();
+        final Projectile projectile = shoot(1f, 1f, 100f);
+        projectile.update(0.1f);
+        assertTrue(projectile.isDestroyed());
+        assertEquals(lives - 1, first.getLives());
+        assertEquals(lives, second.getLives());
+        assertEquals(5f - Robot.BOUNDING_RADIUS - RADIUS, projectile.getX(), EPS);
+        assertEquals(1f, projectile.getY(), EPS);
+    }
+
+    @Test
+    void hitEventsOfSingleRobot() {
+        final Robot first = makeItem(Robot.class, ground, 5f, 1f);
+        final Robot second = makeItem(Robot.class, ground, 5f, 2f);
+        map.add(first);
+        map.add(second);
+        final List<HitEvent> hits = new ArrayList<>();
+        model.subscribe(HitEvent.class, e -> e.damaged() == second, hits::add);
+        shoot(1f, 1f, 100f).update(0.1f);
+        assertTrue(hits.isEmpty());
+        final Projectile projectile = shoot(1f, 2f, 100f);
+        projectile.update(0.1f);
+        assertEquals(1, hits.size());
+        assertSame(projectile, hits.get(0).hittingItem());
+    }
+
+    @Test
+    void noTunnelingThroughThinWall() {
+        final Polygon wall = makePolygon(model, 10f, 10.05f, 0f, 2f);
+        map.add(wall);
+        final Projectile projectile = shoot(1f, 1f, 200f);
+        final Impact impact = projectile.firstImpact(new FloatPoint(21f, 1f), new CollisionPredicate(projectile));
+        assertNotNull(impact);
+        assertSame(wall, impact.item());
+        assertEquals((10f - RADIUS - 1f) / 20f, impact.fraction(), EPS);
+        assertEquals(10f, impact.contact().getX(), EPS);
+        assertEquals(1f, impact.contact().getY(), EPS);
+        projectile.update(0.1f);
+        assertTrue(projectile.isDestroyed());
+        assertEquals(10f - RADIUS, projectile.getX(), EPS);
+    }
+
+    @Test
+    void missingProjectileFliesOn() {
+        map.add(makeItem(Robot.class, ground, 5f, 0f));
+        final Projectile projectile = shoot(1f, 1.5f, 10f);
+        assertNull(projectile.firstImpact(new FloatPoint(11f, 1.5f), new CollisionPredicate(projectile)));
+        projectile.update(0.5f);
+        assertFalse(projectile.isDestroyed());
+        assertEquals(6f, projectile.getX(), EPS);
+    }
+
+    @Test
+    void destroyedProjectileIsReused() {
+        final Properties props = new Properties();
+        props.setProperty("model.projectile-pool", "1"); //NON-NLS
+        model.getConfig().readFrom(props);
+        map.add(makePolygon(model, 10f, 10.05f, 0f, 2f));
+        final Robot shooter = makeItem(Robot.class, ground, 1f, 1f);
+        final Weapon weapon = shooter.getWeapon();
+        final Item first = weapon.makeProjectile();
+        map.add(first);
+        first.update(1f);
+        assertTrue(first.isDestroyed());
+        // the projectile is reused only after it has been removed from the map
+        assertNotSame(first, weapon.makeProjectile());
+        map.update(0f);
+        assertFalse(map.getItems().contains(first));
+        assertEquals(1, model.getProjectilePool().size());
+        final Item second = weapon.makeProjectile();
+        assertSame(first, second);
+        assertEquals(0, model.getProjectilePool().size());
+        assertFalse(second.isDestroyed());
+        assertSame(ground, second.getGround());
+        assertEquals(Weapon.PROJECTILE_LIFE_TIME, ((Projectile) second).getLifeTime(), EPS);
+        assertEquals(1f + Weapon.PROJECTILE_START_DIST, second.getX(), EPS);
+        assertEquals(1f, second.getY(), EPS);
+        map.add(second);
+        second.update(0.1f);
+        assertFalse(second.isDestroyed());
+        assertEquals(2f + 0.1f * Weapon.PROJECTILE_SPEED, second.getX(), EPS);
+    }
+
+    @Test
+    void poolKeepsProjectilesOfOtherRadii() {
+        final Properties props = new Properties();
+        props.setProperty("model.projectile-pool", "2"); //NON-NLS
+        model.getConfig().readFrom(props);
+        final ProjectilePool pool = model.getProjectilePool();
+        final Projectile small = new Projectile(model, 0.1f);
+        small.destroy();
+        pool.release(small);
+        final Projectile large = pool.obtain(0.2f);
+        assertNotSame(small, large);
+        assertEquals(0.2f, large.getRadius(), EPS);
+        assertEquals(1, pool.size());
+        assertSame(small, pool.obtain(0.1f));
+        assertEquals(0, pool.size());
+    }
+}
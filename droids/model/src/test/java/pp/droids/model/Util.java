@@ -8,10 +8,17 @@
 package pp.droids.model;
 
 import pp.droids.model.item.Item;
+import pp.droids.model.item.Obstacle;
 import pp.droids.model.item.Polygon;
+import pp.droids.model.item.Robot;
+import pp.droids.model.item.ShooterBehavior;
 import pp.util.ElevatedPoint;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
  * Provides utility methods for testing.
@@ -19,6 +26,16 @@ import java.util.List;
 class Util {
     private Util() { /* don't instantiate */ }
 
+    /**
+     * The width of the map created by {@linkplain #makeBattle(long, int, boolean)}.
+     */
+    static final int BATTLE_WIDTH = 40;
+
+    /**
+     * The height of the map created by {@linkplain #makeBattle(long, int, boolean)}.
+     */
+    static final int BATTLE_HEIGHT = 30;
+
     static <T extends Item> T makeItem(Class<T> clazz, Polygon ground, float x, float y) {
         try {
             final T item = clazz.getConstructor(DroidsModel.class).newInstance(ground.getModel());
@@ -57,6 +74,68 @@ class Util {
                                     .build();
     }
 
+    /**
+     * Creates a game model with a droid, 30 shooting robots, and the specified number of obstacles
+     * between them. The same seed always yields the same game model.
+     *
+     * @param seed         the seed of the random positions
+     * @param numObstacles the number of obstacles
+     * @param walls        whether two walls are added to the map
+     */
+    static DroidsModel makeBattle(long seed, int numObstacles, boolean walls) {
+        final Random random = new Random(seed);
+        final DroidsModel model = new DroidsModel();
+        final DroidsMap map = model.getDroidsMap();
+        final Polygon ground = makeGround(model, BATTLE_WIDTH, BATTLE_HEIGHT);
+        map.add(ground);
+        if (walls) {
+            map.add(makePolygon(model, 10f, 11f, 5f, 12f));
+            map.add(makePolygon(model, 28f, 29f, 15f, 25f));
+        }
+        final Robot droid = makeItem(Robot.class, ground, BATTLE_WIDTH / 2f, BATTLE_HEIGHT / 2f);
+        map.add(droid);
+        map.setDroid(droid);
+        for (int i = 0; i < numObstacles; i++)
+            map.add(makeItem(Obstacle.class, ground,
+                             BATTLE_WIDTH * random.nextFloat(), BATTLE_HEIGHT * random.nextFloat()));
+        for (int i = 0; i < 30; i++) {
+            final Robot robot = makeItem(Robot.class, ground,
+                                         BATTLE_WIDTH * random.nextFloat(), BATTLE_HEIGHT * random.nextFloat());
+            robot.setBehavior(new ShooterBehavior(robot));
+            map.add(robot);
+        }
+        return model;
+    }
+
+    /**
+     * Moves the droid of a model created by {@linkplain #makeBattle(long, int, boolean)} to the specified
+     * angle on a circle around the center of the map, such that visibility keeps changing.
+     */
+    static void moveDroid(DroidsModel model, float angle) {
+        final Robot droid = model.getDroidsMap().getDroid();
+        droid.setPos(BATTLE_WIDTH / 2f + 8f * (float) Math.cos(angle),
+                     BATTLE_HEIGHT / 2f + 8f * (float) Math.sin(angle));
+    }
+
+    /**
+     * Checks that both maps contain items of the same classes in the same order and in the same state.
+     */
+    static void assertSameState(DroidsMap expected, DroidsMap actual, int frame) {
+        final List<Item> expectedItems = new ArrayList<>(expected.getItems());
+        final List<Item> actualItems = new ArrayList<>(actual.getItems());
+        assertEquals(expectedItems.size(), actualItems.size(), "number of items in frame " + frame); //NON-NLS
+        for (int i = 0; i < expectedItems.size(); i++) {
+            final Item e = expectedItems.get(i);
+            final Item a = actualItems.get(i);
+            final String msg = "item " + i + " in frame " + frame; //NON-NLS
+            assertEquals(e.getClass(), a.getClass(), msg);
+            assertEquals(e.getX(), a.getX(), 0f, msg);
+            assertEquals(e.getY(), a.getY(), 0f, msg);
+            assertEquals(e.getRotation(), a.getRotation(), 0f, msg);
+            assertEquals(e.isDestroyed(), a.isDestroyed(), msg);
+        }
+    }
+
     private static ElevatedPoint pe(float x, float y) {
         return new ElevatedPoint(x, y, -0.5f, 0f);
     }
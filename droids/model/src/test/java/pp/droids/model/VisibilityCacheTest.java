@@ -0,0 +1,119 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.Obstacle;
+import pp.droids.model.item.Polygon;
+import pp.droids.model.item.Robot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.droids.model.Util.makeGround;
+import static pp.droids.model.Util.makeItem;
+
+class VisibilityCacheTest {
+    private DroidsModel model;
+    private DroidsMap map;
+    private VisibilityCache cache;
+    private Polygon ground;
+    private Robot observer;
+    private Robot target;
+    private Obstacle obstacle;
+
+    @BeforeEach
+    void setUp() {
+        model = new DroidsModel();
+        map = model.getDroidsMap();
+        cache = map.getVisibilityCache();
+        ground = makeGround(model, 20, 10);
+        observer = makeItem(Robot.class, ground, 2f, 5f);
+        target = makeItem(Robot.class, ground, 15f, 5f);
+        obstacle = makeItem(Obstacle.class, ground, 8f, 1f);
+        map.add(ground);
+        map.add(observer);
+        map.add(target);
+        map.add(obstacle);
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    private void assertVisible(boolean expected, long computed) {
+        assertEquals(expected, cache.canSee(observer, target));
+        assertEquals(map.canSee(observer, target), cache.canSee(observer, target));
+        assertEquals(computed, cache.getComputed());
+    }
+
+    @Test
+    void restingItems() {
+        assertVisible(true, 1);
+        assertVisible(true, 1);
+        // obstacles far away from the line of sight do not matter
+        obstacle.setPos(8f, 2f);
+        assertVisible(true, 1);
+        map.update(0.1f);
+        assertVisible(true, 1);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void movingEndpoints() {
+        assertVisible(true, 1);
+        final float tolerance = model.getConfig().getVisibilityTolerance();
+        observer.setPos(2f, 5f + 0.5f * tolerance);
+        assertVisible(true, 1);
+        target.setPos(15f, 5f + 2f * tolerance);
+        assertVisible(true, 2);
+    }
+
+    @Test
+    void movingOccluder() {
+        assertVisible(true, 1);
+        obstacle.setPos(8f, 5.2f);
+        assertVisible(false, 2);
+        // an item behind the occluder does not matter
+        map.add(makeItem(Obstacle.class, ground, 10f, 5f));
+        assertVisible(false, 2);
+        obstacle.setPos(8f, 1f);
+        assertVisible(false, 3);
+    }
+
+    @Test
+    void addedAndRemovedOccluder() {
+        assertVisible(true, 1);
+        final Obstacle added = makeItem(Obstacle.class, ground, 10f, 5f);
+        map.add(added);
+        assertVisible(false, 2);
+        map.remove(added);
+        assertVisible(true, 3);
+        map.remove(observer);
+        assertEquals(0, cache.size());
+        assertTrue(cache.canSee(target, obstacle));
+    }
+
+    @Test
+    void unusedResultsAreDiscarded() {
+        assertVisible(true, 1);
+        assertTrue(cache.canSee(target, observer));
+        assertEquals(2, cache.size());
+        map.update(0.1f);
+        // results looked up since the previous update are kept
+        assertEquals(2, cache.size());
+        assertVisible(true, 2);
+        map.update(0.1f);
+        assertEquals(1, cache.size());
+        map.update(0.1f);
+        assertEquals(0, cache.size());
+        assertVisible(true, 3);
+    }
+}
@@ -0,0 +1,90 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.Polygon;
+import pp.droids.model.item.Robot;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.navigation.VisibilityGraph;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pp.droids.model.Util.makeGround;
+import static pp.droids.model.Util.makeItem;
+import static pp.droids.model.Util.makePolygon;
+
+/**
+ * Checks the visibility graphs of a map with a wall between two robots.
+ */
+class VisibilityGraphTest {
+    private final List<DroidsModel> models = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        models.forEach(DroidsModel::shutdown);
+    }
+
+    private DroidsMap makeMap() {
+        final DroidsModel model = new DroidsModel();
+        models.add(model);
+        final DroidsMap map = model.getDroidsMap();
+        final Polygon ground = makeGround(model, 20, 10);
+        map.add(ground);
+        map.add(makePolygon(model, 9f, 11f, 0f, 7f));
+        map.add(makeItem(Robot.class, ground, 2f, 2f));
+        return map;
+    }
+
+    private static Robot robot(DroidsMap map) {
+        return (Robot) map.getItems().stream().filter(Robot.class::isInstance).findFirst().orElseThrow();
+    }
+
+    @Test
+    void aroundTheWall() {
+        final DroidsMap map = makeMap();
+        final Robot robot = robot(map);
+        final VisibilityGraph graph = map.getVisibilityGraph(robot);
+        assertNotNull(graph);
+        assertSame(graph, map.getVisibilityGraph(robot));
+        final Position target = new FloatPoint(18f, 2f);
+        final List<Position> path = graph.findPath(new FloatPoint(robot.getX(), robot.getY()), target);
+        assertEquals(4, path.size());
+        assertTrue(path.get(1).getY() > 7f + robot.getRadius());
+        assertTrue(path.get(2).getY() > 7f + robot.getRadius());
+        assertEquals(target, path.get(3));
+    }
+
+    @Test
+    void saveAndLoad() throws IOException {
+        final DroidsMap map = makeMap();
+        assertTrue(map.prepareVisibilityGraphs());
+        assertFalse(map.prepareVisibilityGraphs());
+        final File file = File.createTempFile("map", DroidsModel.VISIBILITY_GRAPH_SUFFIX); //NON-NLS
+        file.deleteOnExit();
+        map.saveVisibilityGraphs(file);
+
+        final DroidsMap copy = makeMap();
+        copy.loadVisibilityGraphs(file);
+        assertFalse(copy.prepareVisibilityGraphs());
+        final Position from = new FloatPoint(2f, 2f);
+        final Position to = new FloatPoint(18f, 2f);
+        assertEquals(map.getVisibilityGraph(robot(map)).findPath(from, to),
+                     copy.getVisibilityGraph(robot(copy)).findPath(from, to));
+    }
+}
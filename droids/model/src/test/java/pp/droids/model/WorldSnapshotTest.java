@@ -0,0 +1,86 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.Obstacle;
+import pp.droids.model.item.Polygon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static pp.droids.model.Util.makeGround;
+import static pp.droids.model.Util.makeItem;
+
+class WorldSnapshotTest {
+    private DroidsModel model;
+    private DroidsMap map;
+    private Polygon ground;
+    private Obstacle moving;
+    private Obstacle resting;
+
+    @BeforeEach
+    void setUp() {
+        model = new DroidsModel();
+        map = model.getDroidsMap();
+        ground = makeGround(model, 10, 10);
+        moving = makeItem(Obstacle.class, ground, 2f, 2f);
+        resting = makeItem(Obstacle.class, ground, 7f, 7f);
+        map.add(ground);
+        map.add(moving);
+        map.add(resting);
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    @Test
+    void sameSnapshotWithoutChanges() {
+        final WorldSnapshot snapshot = map.getSnapshot();
+        assertSame(snapshot, map.getSnapshot());
+        assertEquals(3, snapshot.items().size());
+        assertSame(ground, snapshot.items().get(0));
+        assertNotSame(moving, snapshot.items().get(1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.items().add(moving));
+    }
+
+    @Test
+    void unchangedItemsAreShared() {
+        final WorldSnapshot before = map.getSnapshot();
+        moving.setPos(3f, 2f);
+        final WorldSnapshot after = map.getSnapshot();
+        assertNotSame(before, after);
+        assertSame(before.items().get(0), after.items().get(0));
+        assertSame(before.items().get(2), after.items().get(2));
+        final Item copy = after.items().get(1);
+        assertNotSame(before.items().get(1), copy);
+        assertEquals(3f, copy.getX());
+        // the snapshot does not change when the item moves on
+        moving.setPos(4f, 2f);
+        assertEquals(3f, copy.getX());
+        assertEquals(4f, map.getSnapshot().items().get(1).getX());
+    }
+
+    @Test
+    void newSnapshotAfterUpdate() {
+        final WorldSnapshot before = map.getSnapshot();
+        map.update(0.1f);
+        final WorldSnapshot after = map.getSnapshot();
+        assertNotSame(before, after);
+        for (int i = 0; i < before.items().size(); i++)
+            assertSame(before.items().get(i), after.items().get(i));
+        map.remove(resting);
+        assertEquals(2, map.getSnapshot().items().size());
+    }
+}
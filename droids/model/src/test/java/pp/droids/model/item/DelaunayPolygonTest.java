@@ -0,0 +1,91 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.DroidsModel;
+import pp.droids.model.Spec;
+import pp.util.ElevatedPoint;
+import pp.util.ElevatedSegment;
+import pp.util.ElevatedTriangle;
+import pp.util.FloatMath;
+import pp.util.FloatPoint;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DelaunayPolygonTest {
+    private static final float EPS = 1e-4f;
+    private static final float MAX_AREA = 2f;
+
+    private DroidsModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new DroidsModel();
+        final Properties props = new Properties();
+        props.setProperty("map.delaunay-triangulation", "true"); //NON-NLS
+        props.setProperty("map.triangulation.max-area", String.valueOf(MAX_AREA)); //NON-NLS
+        props.setProperty("map.triangulation.min-angle", "25"); //NON-NLS
+        model.getConfig().readFrom(props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    /**
+     * A sloped point whose top rises to the right.
+     */
+    private static ElevatedPoint p(float x, float y) {
+        return new ElevatedPoint(new FloatPoint(x, y), 0f, 1f + 0.1f * x);
+    }
+
+    private static float area(ElevatedTriangle t) {
+        return 0.5f * ((t.b().getX() - t.a().getX()) * (t.c().getY() - t.a().getY()) -
+                       (t.b().getY() - t.a().getY()) * (t.c().getX() - t.a().getX()));
+    }
+
+    private static boolean hasEdge(ElevatedTriangle t, ElevatedPoint p, ElevatedPoint q) {
+        final List<ElevatedPoint> corners = List.of(t.a(), t.b(), t.c());
+        return corners.contains(p) && corners.contains(q);
+    }
+
+    @Test
+    void refinedWithDiagonal() {
+        final ElevatedPoint p0 = p(0f, 0f);
+        final ElevatedPoint p1 = p(10f, 10f);
+        final Polygon ground = new Polygon.Builder().setModel(model)
+                                                    .setSpec(Spec.WALL)
+                                                    .setOuter(List.of(p0, p(10f, 0f), p1, p(0f, 10f)))
+                                                    .setDiagonals(List.of(new ElevatedSegment(p0, p1)))
+                                                    .build();
+        final List<ElevatedTriangle> triangles = ground.getTriangles();
+        assertTrue(triangles.size() > 100 / MAX_AREA);
+        float sum = 0f;
+        int onDiagonal = 0;
+        for (ElevatedTriangle t : triangles) {
+            final float area = FloatMath.abs(area(t));
+            assertTrue(area <= MAX_AREA, t + " too large");
+            sum += area;
+            for (ElevatedPoint p : List.of(t.a(), t.b(), t.c()))
+                // Steiner points get interpolated elevations
+                assertEquals(1f + 0.1f * p.getX(), p.top(), EPS);
+            if (hasEdge(t, p0, p1)) onDiagonal++;
+        }
+        assertEquals(100f, sum, 1e-2f);
+        // the diagonal has not been split and is an edge of a triangle on each side
+        assertEquals(2, onDiagonal);
+    }
+}
@@ -0,0 +1,100 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.model.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pp.droids.model.DroidsModel;
+import pp.droids.model.Spec;
+import pp.util.ElevatedPoint;
+import pp.util.FloatPoint;
+import pp.util.Position;
+import pp.util.navigation.Navigator;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NavMeshNavigatorTest {
+    private static final Position TARGET = p(7.5f, 8f);
+
+    private DroidsModel model;
+    private Robot robot;
+
+    private static Position p(float x, float y) {
+        return new FloatPoint(x, y);
+    }
+
+    @BeforeEach
+    void setUp() {
+        model = new DroidsModel();
+        final Properties props = new Properties();
+        props.setProperty("navigation.nav-mesh", "true"); //NON-NLS
+        model.getConfig().readFrom(props);
+        // a U-shaped ground with its opening at the top
+        final var outer = Stream.of(p(0f, 0f), p(9f, 0f), p(9f, 9f), p(6f, 9f), p(6f, 3f), p(3f, 3f), p(3f, 9f), p(0f, 9f))
+                                .map(p -> new ElevatedPoint(p, 0f, 0f))
+                                .toList();
+        final Polygon ground = new Polygon.Builder().setModel(model)
+                                                    .setSpec(Spec.WALL)
+                                                    .setOuter(outer)
+                                                    .build();
+        model.getDroidsMap().add(ground);
+        robot = new Robot(model);
+        robot.setGround(ground);
+        robot.setPos(1.5f, 8f);
+        model.getDroidsMap().add(robot);
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    private static float length(List<Position> path) {
+        float len = 0f;
+        for (int i = 1; i < path.size(); i++)
+            len += path.get(i - 1).distanceTo(path.get(i));
+        return len;
+    }
+
+    @Test
+    void pathInMesh() {
+        final Navigator navigator = robot.getNavigator();
+        assertTrue(navigator instanceof NavMeshNavigator);
+        final List<Position> path = navigator.findPathTo(TARGET);
+        assertEquals(4, path.size());
+        assertEquals(p(1.5f, 8f), path.get(0));
+        assertEquals(TARGET, path.get(3));
+        assertTrue(new DroidsNavigator(robot).isFree(path));
+        assertTrue(length(path) < length(new DroidsNavigator(robot).findPathTo(TARGET)));
+    }
+
+    @Test
+    void fallbackToGridSearch() {
+        // an obstacle right below the inner corners of the U blocks the path in the mesh
+        final Obstacle obstacle = new Obstacle(model);
+        obstacle.setGround(robot.getGround());
+        obstacle.setPos(4.5f, 2.3f);
+        model.getDroidsMap().add(obstacle);
+        final Polygon ground = robot.getGround();
+        final List<Position> meshPath = ground.getNavMesh().findPath(p(1.5f, 8f), ground.findTriangle(1.5f, 8f),
+                                                                     TARGET, ground.findTriangle(7.5f, 8f),
+                                                                     robot.getRadius());
+        final DroidsNavigator grid = new DroidsNavigator(robot);
+        assertFalse(grid.isFree(meshPath));
+        final List<Position> path = robot.getNavigator().findPathTo(TARGET);
+        assertEquals(grid.findPathTo(TARGET), path);
+        assertFalse(path.isEmpty());
+    }
+}
@@ -0,0 +1,184 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.notifications;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEventBusTest {
+    private static final int NUM_EVENTS = 100;
+
+    private final GameEventBus bus = new GameEventBus(16);
+
+    /**
+     * An event that is recorded by {@linkplain Recorder}.
+     */
+    private record TestEvent(int id) implements GameEvent {
+        @Override
+        public void notify(GameEventListener listener) {
+            if (listener instanceof Recorder recorder)
+                recorder.record(this);
+        }
+    }
+
+    /**
+     * A listener recording all test events it receives.
+     */
+    private static class Recorder implements GameEventListener {
+        final List<TestEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+        void record(TestEvent event) {
+            events.add(event);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void batchedEvents() {
+        final Recorder recorder = new Recorder();
+        bus.addListener(recorder);
+        bus.publish(new TestEvent(0));
+        assertEquals(List.of(new TestEvent(0)), recorder.events);
+        bus.startBatch();
+        assertTrue(bus.isBatching());
+        bus.publish(new TestEvent(1));
+        bus.publish(new TestEvent(2));
+        assertEquals(1, recorder.events.size());
+        bus.endBatch();
+        assertFalse(bus.isBatching());
+        assertEquals(List.of(new TestEvent(0), new TestEvent(1), new TestEvent(2)), recorder.events);
+        // the next batch starts empty
+        bus.startBatch();
+        bus.endBatch();
+        assertEquals(3, recorder.events.size());
+    }
+
+    @Test
+    void removeWhileDelivering() {
+        final Recorder second = new Recorder();
+        bus.addListener(new GameEventListener() {
+            @Override
+            public void received(HitEvent event) {
+                bus.removeListener(second);
+            }
+        });
+        bus.addListener(second);
+        bus.publish(new HitEvent(null, null));
+        bus.publish(new TestEvent(0));
+        // the second listener is removed when the first event is delivered
+        assertTrue(second.events.isEmpty());
+    }
+
+    @Test
+    void slowAsyncListener() throws InterruptedException {
+        final Recorder sync = new Recorder();
+        final Recorder async = new Recorder();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(NUM_EVENTS);
+        bus.addListener(sync);
+        bus.addAsyncListener(new GameEventListener() {
+            @Override
+            public void received(HitEvent event) {
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        bus.addAsyncListener(new Recorder() {
+            @Override
+            void record(TestEvent event) {
+                async.record(event);
+                done.countDown();
+            }
+        });
+        // the asynchronous listener blocks, but the publisher can proceed until the buffer is full
+        bus.publish(new HitEvent(null, null));
+        for (int i = 0; i < 10; i++)
+            bus.publish(new TestEvent(i));
+        assertEquals(10, sync.events.size());
+        release.countDown();
+        for (int i = 10; i < NUM_EVENTS; i++)
+            bus.publish(new TestEvent(i));
+        assertTrue(done.await(10, TimeUnit.SECONDS), "events not delivered"); //NON-NLS
+        assertEquals(sync.events, async.events);
+    }
+
+    @Test
+    void shutdownDeliversPublishedEvents() {
+        final Recorder async = new Recorder();
+        bus.addAsyncListener(async);
+        for (int i = 0; i < 10; i++)
+            bus.publish(new TestEvent(i));
+        bus.shutdown();
+        assertEquals(10, async.events.size());
+        bus.publish(new TestEvent(10));
+        assertEquals(10, async.events.size());
+    }
+
+    @Test
+    void typedSubscription() {
+        final List<Object> received = new ArrayList<>();
+        final Subscription<TestEvent> even = bus.subscribe(TestEvent.class, e -> e.id() % 2 == 0, received::add);
+        bus.subscribe(HitEvent.class, received::add);
+        final HitEvent hit = new HitEvent(null, null);
+        for (int i = 0; i < 4; i++)
+            bus.publish(new TestEvent(i));
+        bus.publish(hit);
+        assertEquals(List.of(new TestEvent(0), new TestEvent(2), hit), received);
+        even.cancel();
+        bus.publish(new TestEvent(4));
+        assertEquals(3, received.size());
+    }
+
+    @Test
+    void registrationOrder() {
+        final List<String> received = new ArrayList<>();
+        bus.subscribe(TestEvent.class, e -> received.add("first")); //NON-NLS
+        bus.addListener(new Recorder() {
+            @Override
+            void record(TestEvent event) {
+                received.add("second"); //NON-NLS
+            }
+        });
+        bus.subscribe(GameEvent.class, e -> received.add("third")); //NON-NLS
+        bus.publish(new TestEvent(0));
+        assertEquals(List.of("first", "second", "third"), received); //NON-NLS
+    }
+
+    @Test
+    void listenersOnlyReceiveOverriddenEvents() {
+        final ListenerReceiver receiver = new ListenerReceiver(new GameEventListener() {
+            @Override
+            public void received(HitEvent event) {
+                // counts as overridden
+            }
+        });
+        assertTrue(receiver.accepts(HitEvent.class));
+        assertFalse(receiver.accepts(ItemAddedEvent.class));
+        assertFalse(receiver.accepts(ItemDestroyedEvent.class));
+        // events unknown to GameEventListener may be handled by their notify method
+        assertTrue(receiver.accepts(TestEvent.class));
+    }
+}
@@ -0,0 +1,171 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.sim;
+
+import pp.droids.sim.MatchResult.Outcome;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.LogManager;
+
+/**
+ * The main class of the headless Droids simulation. It plays a number of matches on each specified map
+ * without any rendering and reports the outcome, the simulation speed, and the number of game events
+ * of each match, followed by a summary.
+ * <p>
+ * Usage: {@code droids-sim [-c config.properties] [-t threads] [map.json ...]}.
+ * Random maps are used if no map is specified.
+ */
+public class DroidsSim {
+    private static final Logger LOGGER = System.getLogger(DroidsSim.class.getName());
+    private static final File CONFIG_FILE = new File("config.properties");
+
+    static {
+        // Configure logging
+        LogManager manager = LogManager.getLogManager();
+        try {
+            manager.readConfiguration(new FileInputStream("logging.properties"));
+            LOGGER.log(Level.INFO, "Successfully read logging properties"); //NON-NLS
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.INFO, e.getMessage());
+        }
+    }
+
+    private final SimConfig config = new SimConfig();
+    private final List<File> maps = new ArrayList<>();
+    private int threads = 1;
+
+    /**
+     * Main method of the headless simulation.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        try {
+            final DroidsSim sim = new DroidsSim(args);
+            System.exit(sim.run() ? 0 : 1);
+        }
+        catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            System.err.println("usage: droids-sim [-c config.properties] [-t threads] [map.json ...]"); //NON-NLS
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Creates a simulation as specified by the command line arguments.
+     *
+     * @param args command line arguments
+     * @throws IOException if the configuration file cannot be read
+     */
+    private DroidsSim(String[] args) throws IOException {
+        File configFile = CONFIG_FILE;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-c" -> configFile = new File(argument(args, ++i)); //NON-NLS
+                case "-t" -> threads = Math.max(1, Integer.parseInt(argument(args, ++i))); //NON-NLS
+                default -> maps.add(new File(args[i]));
+            }
+        }
+        if (configFile == CONFIG_FILE)
+            config.readFromIfExists(configFile);
+        else
+            config.readFrom(configFile);
+        LOGGER.log(Level.INFO, "Configuration: {0}", config); //NON-NLS
+    }
+
+    private static String argument(String[] args, int i) {
+        if (i >= args.length)
+            throw new IllegalArgumentException("missing argument of " + args[i - 1]);
+        return args[i];
+    }
+
+    /**
+     * Plays all matches and prints their results.
+     *
+     * @return true if all matches could be played
+     */
+    private boolean run() {
+        final List<Match> matches = new ArrayList<>();
+        final List<File> files = maps.isEmpty() ? Collections.singletonList(null) : maps;
+        for (File file : files)
+            for (int i = 0; i < config.getMatches(); i++)
+                matches.add(new Match(config, file));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<MatchResult>> futures = new ArrayList<>();
+        for (Match match : matches)
+            futures.add(executor.submit(match::play));
+        executor.shutdown();
+
+        final Map<String, Summary> summaries = new TreeMap<>();
+        boolean success = true;
+        for (int i = 0; i < matches.size(); i++) {
+            try {
+                final MatchResult result = futures.get(i).get();
+                System.out.println(result);
+                summaries.computeIfAbsent(result.map(), k -> new Summary()).add(result);
+            }
+            catch (ExecutionException e) {
+                System.err.println(matches.get(i).getMapName() + ": " + e.getCause()); //NON-NLS
+                success = false;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        System.out.println();
+        summaries.forEach((map, summary) -> System.out.println(summary.format(map)));
+        return success;
+    }
+
+    /**
+     * Accumulates the results of all matches on one map.
+     */
+    private static class Summary {
+        private final Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        private final Map<String, Integer> events = new TreeMap<>();
+        private int matches;
+        private double simulatedTime;
+        private double wallTime;
+
+        void add(MatchResult result) {
+            matches++;
+            simulatedTime += result.simulatedTime();
+            wallTime += result.wallTime();
+            outcomes.merge(result.outcome(), 1, Integer::sum);
+            result.events().forEach((k, v) -> events.merge(k, v, Integer::sum));
+        }
+
+        String format(String map) {
+            return String.format(Locale.ROOT, "%-20s %5d matches  won %5d  lost %5d  timeout %5d  %10.1f sim-s/wall-s  %s", //NON-NLS
+                                 map, matches,
+                                 outcomes.getOrDefault(Outcome.WON, 0),
+                                 outcomes.getOrDefault(Outcome.LOST, 0),
+                                 outcomes.getOrDefault(Outcome.TIMEOUT, 0),
+                                 wallTime > 0. ? simulatedTime / wallTime : Double.POSITIVE_INFINITY,
+                                 events);
+        }
+    }
+}
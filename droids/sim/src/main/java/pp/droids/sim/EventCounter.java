@@ -0,0 +1,68 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.sim;
+
+import pp.droids.notifications.GameEvent;
+import pp.droids.notifications.GameEventListener;
+import pp.droids.notifications.HitEvent;
+import pp.droids.notifications.ItemAddedEvent;
+import pp.droids.notifications.ItemDestroyedEvent;
+import pp.droids.notifications.MapChangedEvent;
+import pp.droids.notifications.PathComputed;
+import pp.droids.notifications.WeaponFiredEvent;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A game event listener that just counts the received events, separately for each event type.
+ */
+class EventCounter implements GameEventListener {
+    private final Map<String, Integer> counts = new TreeMap<>();
+
+    /**
+     * Returns the number of received events by the simple class name of the events.
+     */
+    Map<String, Integer> getCounts() {
+        return counts;
+    }
+
+    private void count(GameEvent event) {
+        counts.merge(event.getClass().getSimpleName(), 1, Integer::sum);
+    }
+
+    @Override
+    public void received(MapChangedEvent event) {
+        count(event);
+    }
+
+    @Override
+    public void received(WeaponFiredEvent event) {
+        count(event);
+    }
+
+    @Override
+    public void received(ItemDestroyedEvent event) {
+        count(event);
+    }
+
+    @Override
+    public void received(HitEvent event) {
+        count(event);
+    }
+
+    @Override
+    public void received(ItemAddedEvent added) {
+        count(added);
+    }
+
+    @Override
+    public void received(PathComputed event) {
+        count(event);
+    }
+}
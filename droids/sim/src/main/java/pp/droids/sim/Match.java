@@ -0,0 +1,112 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.sim;
+
+import pp.droids.model.DroidsModel;
+import pp.droids.model.item.FinishLine;
+import pp.droids.model.item.Item;
+import pp.droids.model.item.PathfinderBehavior;
+import pp.droids.model.item.Robot;
+import pp.droids.model.item.ShooterBehavior;
+import pp.droids.model.json.JsonSerializer;
+import pp.droids.sim.MatchResult.Outcome;
+import pp.util.Position;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.List;
+
+/**
+ * A single match played without any view. The droid navigates to the finish line, if there is any,
+ * and all other robots shoot at the droid. The model is updated with a fixed time step as fast as possible
+ * until the game is over or the maximal simulated time has elapsed.
+ */
+class Match {
+    private static final Logger LOGGER = System.getLogger(Match.class.getName());
+
+    private final SimConfig config;
+    private final File mapFile;
+
+    /**
+     * Creates a match.
+     *
+     * @param config  the simulation configuration
+     * @param mapFile the JSON file of the map, or null if a random map shall be used
+     */
+    Match(SimConfig config, File mapFile) {
+        this.config = config;
+        this.mapFile = mapFile;
+    }
+
+    /**
+     * Returns the name of the map of this match.
+     */
+    String getMapName() {
+        return mapFile == null ? "random" : mapFile.getName(); //NON-NLS
+    }
+
+    /**
+     * Plays this match and returns its result.
+     *
+     * @throws IOException if the map cannot be loaded
+     */
+    MatchResult play() throws IOException {
+        final DroidsModel model = new DroidsModel(new JsonSerializer(), config);
+        try {
+            if (mapFile == null)
+                model.loadRandomMap();
+            else
+                model.loadMap(mapFile);
+            final EventCounter counter = new EventCounter();
+            model.addGameEventListener(counter);
+            setupBots(model);
+
+            final float timeStep = config.getTimeStep();
+            final int maxFrames = (int) Math.ceil(config.getMaxTime() / timeStep);
+            int frames = 0;
+            final long start = System.nanoTime();
+            while (frames < maxFrames && !model.isGameOver()) {
+                model.update(timeStep);
+                frames++;
+            }
+            final double wallTime = (System.nanoTime() - start) * 1e-9;
+            return new MatchResult(getMapName(), outcome(model), frames, (double) frames * timeStep,
+                                   wallTime, counter.getCounts());
+        }
+        finally {
+            model.shutdown();
+        }
+    }
+
+    /**
+     * Lets the droid navigate to the finish line and, if configured, all other robots shoot.
+     * The droid's path is computed synchronously such that it is available in the first frame
+     * independent of the speed of the machine.
+     */
+    private void setupBots(DroidsModel model) {
+        final Robot droid = model.getDroidsMap().getDroid();
+        for (Item item : model.getDroidsMap().getItems())
+            if (item instanceof FinishLine line) {
+                final List<Position> path = droid.getNavigator().findPathTo(line);
+                LOGGER.log(Level.DEBUG, "path of the droid to the finish line: {0}", path); //NON-NLS
+                droid.setBehavior(new PathfinderBehavior(droid, path));
+            }
+            else if (config.hasShooters() && item instanceof Robot robot && robot != droid)
+                robot.setBehavior(new ShooterBehavior(robot));
+    }
+
+    private static Outcome outcome(DroidsModel model) {
+        if (model.isGameWon())
+            return Outcome.WON;
+        if (model.isGameLost())
+            return Outcome.LOST;
+        return Outcome.TIMEOUT;
+    }
+}
@@ -0,0 +1,55 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.sim;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The result of a single simulated match.
+ *
+ * @param map           the name of the map the match has been played on
+ * @param outcome       how the match has ended
+ * @param frames        the number of simulated frames
+ * @param simulatedTime the simulated time in seconds
+ * @param wallTime      the wall-clock time in seconds needed for the simulation
+ * @param events        the number of game events by the simple class name of the events
+ */
+public record MatchResult(String map, Outcome outcome, int frames, double simulatedTime, double wallTime,
+                          Map<String, Integer> events) {
+    /**
+     * The possible outcomes of a match.
+     */
+    public enum Outcome {
+        /**
+         * The droid has reached the finish line first.
+         */
+        WON,
+        /**
+         * The droid has been destroyed, or another robot has reached the finish line first.
+         */
+        LOST,
+        /**
+         * The match has been aborted after the maximal simulated time.
+         */
+        TIMEOUT
+    }
+
+    /**
+     * Returns the number of simulated seconds per wall-clock second.
+     */
+    public double speed() {
+        return wallTime > 0. ? simulatedTime / wallTime : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-20s %-7s %8d frames %9.2f sim-s %8.3f wall-s %10.1f sim-s/wall-s  %s", //NON-NLS
+                             map, outcome, frames, simulatedTime, wallTime, speed(), events);
+    }
+}
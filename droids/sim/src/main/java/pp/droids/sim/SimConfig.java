@@ -0,0 +1,68 @@
+//----------------------------------------
+// Programming project code
+// UniBw M, 2022-2025
+// www.unibw.de/inf2
+// (c) Mark Minas (mark.minas@unibw.de)
+//----------------------------------------
+
+package pp.droids.sim;
+
+import pp.droids.model.DroidsConfig;
+
+/**
+ * Class for the configuration of headless simulation runs.
+ */
+@SuppressWarnings("CanBeFinal")
+public class SimConfig extends DroidsConfig {
+    /**
+     * the number of matches played on each map.
+     */
+    @Property("sim.matches") //NON-NLS
+    private int matches = 1;
+
+    /**
+     * the fixed simulation time step in seconds.
+     */
+    @Property("sim.time-step") //NON-NLS
+    private float timeStep = 0.02f;
+
+    /**
+     * the maximal simulated time (in seconds) of a match before it is aborted.
+     */
+    @Property("sim.max-time") //NON-NLS
+    private float maxTime = 300f;
+
+    /**
+     * true, if all enemy robots shall shoot at the droid.
+     */
+    @Property("sim.shooters") //NON-NLS
+    private boolean shooters = true;
+
+    /**
+     * Returns the number of matches played on each map.
+     */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * Returns the fixed simulation time step in seconds.
+     */
+    public float getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * Returns the maximal simulated time (in seconds) of a match before it is aborted.
+     */
+    public float getMaxTime() {
+        return maxTime;
+    }
+
+    /**
+     * Returns true, if all enemy robots shall shoot at the droid.
+     */
+    public boolean hasShooters() {
+        return shooters;
+    }
+}